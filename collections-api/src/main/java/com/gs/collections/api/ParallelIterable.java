@@ -0,0 +1,164 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.api;
+
+import com.gs.collections.api.bag.MutableBag;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.Function0;
+import com.gs.collections.api.block.function.Function2;
+import com.gs.collections.api.block.function.primitive.DoubleFunction;
+import com.gs.collections.api.block.function.primitive.FloatFunction;
+import com.gs.collections.api.block.function.primitive.IntFunction;
+import com.gs.collections.api.block.function.primitive.LongFunction;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.api.map.MapIterable;
+import com.gs.collections.api.multimap.Multimap;
+import com.gs.collections.api.set.MutableSet;
+
+/**
+ * A ParallelIterable is a lazy view of a source collection which evaluates in parallel batches.  Methods that return a
+ * ParallelIterable, like select, reject, collect and flatCollect, only record the operation.  Methods that do not
+ * return a ParallelIterable force evaluation, and every recorded operation is fused into a single pass over each batch
+ * of the source, so no intermediate collections are created.
+ * <p/>
+ * The blocks passed to a ParallelIterable may be evaluated concurrently by several threads, so they must be stateless
+ * or use concurrent aware objects if they are to be shared.
+ *
+ * @since 4.3
+ */
+public interface ParallelIterable<T>
+{
+    /**
+     * Creates a parallel iterable for selecting elements from the current iterable.
+     */
+    ParallelIterable<T> select(Predicate<? super T> predicate);
+
+    /**
+     * Creates a parallel iterable for rejecting elements from the current iterable.
+     */
+    ParallelIterable<T> reject(Predicate<? super T> predicate);
+
+    /**
+     * Creates a parallel iterable for collecting elements from the current iterable.
+     */
+    <V> ParallelIterable<V> collect(Function<? super T, ? extends V> function);
+
+    /**
+     * Creates a parallel flattening iterable for the current iterable.
+     */
+    <V> ParallelIterable<V> flatCollect(Function<? super T, ? extends Iterable<V>> function);
+
+    /**
+     * Evaluates the procedure for each element in parallel.  There is no guarantee about the order or the thread in
+     * which the procedure is evaluated.
+     */
+    void forEach(Procedure<? super T> procedure);
+
+    /**
+     * Returns any element which satisfies the predicate, or null if there is none.  Batches which start after an
+     * element has been found stop evaluating the predicate.  The element returned is not necessarily the first one in
+     * iteration order.
+     */
+    T detect(Predicate<? super T> predicate);
+
+    /**
+     * Returns true if the predicate evaluates to true for any element of the iterable.
+     */
+    boolean anySatisfy(Predicate<? super T> predicate);
+
+    /**
+     * Returns true if the predicate evaluates to true for every element of the iterable or if the iterable is empty.
+     */
+    boolean allSatisfy(Predicate<? super T> predicate);
+
+    /**
+     * Returns true if the predicate evaluates to false for every element of the iterable or if the iterable is empty.
+     */
+    boolean noneSatisfy(Predicate<? super T> predicate);
+
+    /**
+     * Returns the total number of elements that evaluate to true for the specified predicate.
+     */
+    int count(Predicate<? super T> predicate);
+
+    /**
+     * Evaluates the iterable and returns its elements in a new list.
+     */
+    MutableList<T> toList();
+
+    /**
+     * Evaluates the iterable and returns its elements in a new set.
+     */
+    MutableSet<T> toSet();
+
+    /**
+     * Evaluates the iterable and returns its elements in a new bag.
+     */
+    MutableBag<T> toBag();
+
+    /**
+     * Returns the final long result of evaluating function for each element of the iterable and adding the results
+     * together.
+     */
+    long sumOfInt(IntFunction<? super T> function);
+
+    /**
+     * Returns the final double result of evaluating function for each element of the iterable and adding the results
+     * together.
+     */
+    double sumOfFloat(FloatFunction<? super T> function);
+
+    /**
+     * Returns the final long result of evaluating function for each element of the iterable and adding the results
+     * together.
+     */
+    long sumOfLong(LongFunction<? super T> function);
+
+    /**
+     * Returns the final double result of evaluating function for each element of the iterable and adding the results
+     * together.
+     */
+    double sumOfDouble(DoubleFunction<? super T> function);
+
+    /**
+     * For each element of the iterable, the function is evaluated and the results of these evaluations are collected
+     * into a new multimap, where the transformed value is the key and the original values are added to the same (or
+     * similar) species of collection as the source iterable.  Each batch groups into its own multimap and the partial
+     * results are merged once all batches have completed.
+     */
+    <V> Multimap<V, T> groupBy(Function<? super T, ? extends V> function);
+
+    /**
+     * Applies an aggregate procedure over the iterable grouping results into a map based on the specific groupBy
+     * function.  Aggregate results are required to be mutable and thread-safe as they will be changed in place by the
+     * procedure from several threads.
+     *
+     * @see RichIterable#aggregateInPlaceBy(Function, Function0, Procedure2)
+     */
+    <K, V> MapIterable<K, V> aggregateInPlaceBy(Function<? super T, ? extends K> groupBy, Function0<? extends V> zeroValueFactory, Procedure2<? super V, ? super T> mutatingAggregator);
+
+    /**
+     * Applies an aggregate function over the iterable grouping results into a map based on the specific groupBy
+     * function.  Aggregate results are allowed to be immutable as they will be replaced in place in the map.
+     *
+     * @see RichIterable#aggregateBy(Function, Function0, Function2)
+     */
+    <K, V> MapIterable<K, V> aggregateBy(Function<? super T, ? extends K> groupBy, Function0<? extends V> zeroValueFactory, Function2<? super V, ? super T, ? extends V> nonMutatingAggregator);
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.api.list;
+
+import com.gs.collections.api.ParallelIterable;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.multimap.list.ListMultimap;
+
+/**
+ * A ParallelIterable over an ordered source.  Batches are contiguous ranges of the source, so {@link #toList()} and
+ * {@link #groupBy(Function)} preserve the encounter order of the source list.
+ *
+ * @since 4.3
+ */
+public interface ParallelListIterable<T>
+        extends ParallelIterable<T>
+{
+    ParallelListIterable<T> select(Predicate<? super T> predicate);
+
+    ParallelListIterable<T> reject(Predicate<? super T> predicate);
+
+    <V> ParallelListIterable<V> collect(Function<? super T, ? extends V> function);
+
+    <V> ParallelListIterable<V> flatCollect(Function<? super T, ? extends Iterable<V>> function);
+
+    <V> ListMultimap<V, T> groupBy(Function<? super T, ? extends V> function);
+}
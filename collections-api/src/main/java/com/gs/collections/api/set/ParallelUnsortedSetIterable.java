@@ -0,0 +1,38 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.api.set;
+
+import com.gs.collections.api.ParallelIterable;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.multimap.set.SetMultimap;
+
+/**
+ * A ParallelIterable over a source whose items are unique.  Filtering keeps the items unique, while collect and
+ * flatCollect may produce duplicates and so return a plain {@link ParallelIterable}.
+ *
+ * @since 4.3
+ */
+public interface ParallelUnsortedSetIterable<T>
+        extends ParallelIterable<T>
+{
+    ParallelUnsortedSetIterable<T> select(Predicate<? super T> predicate);
+
+    ParallelUnsortedSetIterable<T> reject(Predicate<? super T> predicate);
+
+    <V> SetMultimap<V, T> groupBy(Function<? super T, ? extends V> function);
+}
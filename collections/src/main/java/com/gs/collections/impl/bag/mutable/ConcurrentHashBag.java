@@ -0,0 +1,720 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.bag.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.gs.collections.api.bag.Bag;
+import com.gs.collections.api.bag.ImmutableBag;
+import com.gs.collections.api.bag.MutableBag;
+import com.gs.collections.api.bag.primitive.MutableBooleanBag;
+import com.gs.collections.api.bag.primitive.MutableByteBag;
+import com.gs.collections.api.bag.primitive.MutableCharBag;
+import com.gs.collections.api.bag.primitive.MutableDoubleBag;
+import com.gs.collections.api.bag.primitive.MutableFloatBag;
+import com.gs.collections.api.bag.primitive.MutableIntBag;
+import com.gs.collections.api.bag.primitive.MutableLongBag;
+import com.gs.collections.api.bag.primitive.MutableShortBag;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.Function2;
+import com.gs.collections.api.block.function.primitive.BooleanFunction;
+import com.gs.collections.api.block.function.primitive.ByteFunction;
+import com.gs.collections.api.block.function.primitive.CharFunction;
+import com.gs.collections.api.block.function.primitive.DoubleFunction;
+import com.gs.collections.api.block.function.primitive.FloatFunction;
+import com.gs.collections.api.block.function.primitive.IntFunction;
+import com.gs.collections.api.block.function.primitive.LongFunction;
+import com.gs.collections.api.block.function.primitive.ShortFunction;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.block.predicate.Predicate2;
+import com.gs.collections.api.block.predicate.primitive.IntPredicate;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.api.multimap.bag.MutableBagMultimap;
+import com.gs.collections.api.partition.bag.PartitionMutableBag;
+import com.gs.collections.api.tuple.Pair;
+import com.gs.collections.impl.Counter;
+import com.gs.collections.impl.block.factory.Predicates;
+import com.gs.collections.impl.collection.mutable.AbstractMutableCollection;
+import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import com.gs.collections.impl.utility.Iterate;
+
+/**
+ * ConcurrentHashBag is a thread-safe MutableBag for counting under heavy contention.  Each distinct item is mapped to an
+ * occurrence counter in a {@link ConcurrentHashMap}, and counters are updated with compare-and-set rather than under
+ * a lock, so threads adding different items never wait for each other and threads adding the same item only retry.
+ * The total size is kept in counters striped by thread, in the same way as ConcurrentHashMap's partitioned size.
+ * <p/>
+ * Iteration, {@link #forEachWithOccurrences(ObjectIntProcedure)} and the methods which return a new collection are
+ * weakly consistent: they see every item added before they started and may or may not see concurrent changes.  The
+ * methods which return a new collection, such as select, collect and {@link #toImmutable()}, first copy this bag into
+ * a {@link HashBag} snapshot.  Null items are supported.
+ *
+ * @since 4.3
+ */
+public final class ConcurrentHashBag<T>
+        extends AbstractMutableCollection<T>
+        implements Externalizable, MutableBag<T>
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final Object NULL_KEY = new Object();
+    private static final int REMOVED = -1;
+    private static final int SIZE_STRIPES = 8;
+    private static final int STRIPE_PADDING = 8; // 8 longs keep each stripe on its own 64 byte cache line
+
+    private final ConcurrentHashMap<Object, AtomicInteger> items;
+    private final AtomicLongArray stripedSize = new AtomicLongArray(SIZE_STRIPES * STRIPE_PADDING);
+
+    public ConcurrentHashBag()
+    {
+        this.items = ConcurrentHashMap.newMap();
+    }
+
+    public ConcurrentHashBag(int size)
+    {
+        this.items = ConcurrentHashMap.newMap(size);
+    }
+
+    public static <E> ConcurrentHashBag<E> newBag()
+    {
+        return new ConcurrentHashBag<E>();
+    }
+
+    public static <E> ConcurrentHashBag<E> newBag(int size)
+    {
+        return new ConcurrentHashBag<E>(size);
+    }
+
+    public static <E> ConcurrentHashBag<E> newBag(Bag<? extends E> source)
+    {
+        final ConcurrentHashBag<E> result = ConcurrentHashBag.newBag();
+        source.forEachWithOccurrences(new ObjectIntProcedure<E>()
+        {
+            public void value(E each, int occurrences)
+            {
+                result.addOccurrences(each, occurrences);
+            }
+        });
+        return result;
+    }
+
+    public static <E> ConcurrentHashBag<E> newBag(Iterable<? extends E> source)
+    {
+        return Iterate.addAllTo(source, ConcurrentHashBag.<E>newBag());
+    }
+
+    public static <E> ConcurrentHashBag<E> newBagWith(E... elements)
+    {
+        //noinspection SSBasedInspection
+        return ConcurrentHashBag.newBag(Arrays.asList(elements));
+    }
+
+    private static Object toSentinelIfNull(Object item)
+    {
+        return item == null ? NULL_KEY : item;
+    }
+
+    private static <T> T nonSentinel(Object key)
+    {
+        return key == NULL_KEY ? null : (T) key;
+    }
+
+    /**
+     * Adds delta to counter unless the counter has been retired, in which case its entry is being removed from the map
+     * and the caller must retry with a new counter.
+     */
+    private static boolean increment(AtomicInteger counter, int delta)
+    {
+        while (true)
+        {
+            int count = counter.get();
+            if (count == REMOVED)
+            {
+                return false;
+            }
+            if (counter.compareAndSet(count, count + delta))
+            {
+                return true;
+            }
+        }
+    }
+
+    private void addToSize(int delta)
+    {
+        int h = (int) Thread.currentThread().getId();
+        h ^= (h >>> 18) ^ (h >>> 12);
+        h = (h ^ (h >>> 10)) & (SIZE_STRIPES - 1);
+        this.stripedSize.addAndGet(h * STRIPE_PADDING, delta);
+    }
+
+    public void addOccurrences(T item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot add a negative number of occurrences");
+        }
+        if (occurrences == 0)
+        {
+            return;
+        }
+        Object key = ConcurrentHashBag.toSentinelIfNull(item);
+        while (true)
+        {
+            AtomicInteger counter = this.items.get(key);
+            if (counter == null)
+            {
+                counter = this.items.putIfAbsent(key, new AtomicInteger(occurrences));
+                if (counter == null)
+                {
+                    this.addToSize(occurrences);
+                    return;
+                }
+            }
+            if (ConcurrentHashBag.increment(counter, occurrences))
+            {
+                this.addToSize(occurrences);
+                return;
+            }
+            this.items.remove(key, counter);
+        }
+    }
+
+    public boolean removeOccurrences(Object item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot remove a negative number of occurrences");
+        }
+        if (occurrences == 0)
+        {
+            return false;
+        }
+        Object key = ConcurrentHashBag.toSentinelIfNull(item);
+        AtomicInteger counter = this.items.get(key);
+        if (counter == null)
+        {
+            return false;
+        }
+        while (true)
+        {
+            int count = counter.get();
+            if (count <= 0)
+            {
+                return false;
+            }
+            int removed = Math.min(count, occurrences);
+            if (counter.compareAndSet(count, count - removed))
+            {
+                this.addToSize(-removed);
+                if (count == removed && counter.compareAndSet(0, REMOVED))
+                {
+                    this.items.remove(key, counter);
+                }
+                return true;
+            }
+        }
+    }
+
+    public int occurrencesOf(Object item)
+    {
+        AtomicInteger counter = this.items.get(ConcurrentHashBag.toSentinelIfNull(item));
+        return counter == null ? 0 : Math.max(counter.get(), 0);
+    }
+
+    public void forEachWithOccurrences(final ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        this.items.forEachKeyValue(new Procedure2<Object, AtomicInteger>()
+        {
+            public void value(Object key, AtomicInteger counter)
+            {
+                int count = counter.get();
+                if (count > 0)
+                {
+                    objectIntProcedure.value(ConcurrentHashBag.<T>nonSentinel(key), count);
+                }
+            }
+        });
+    }
+
+    public int sizeDistinct()
+    {
+        final Counter counter = new Counter();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                counter.increment();
+            }
+        });
+        return counter.getCount();
+    }
+
+    @Override
+    public int size()
+    {
+        long size = 0L;
+        for (int i = 0; i < SIZE_STRIPES; i++)
+        {
+            size += this.stripedSize.get(i * STRIPE_PADDING);
+        }
+        return (int) size;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        return this.occurrencesOf(o) > 0;
+    }
+
+    @Override
+    public boolean add(T item)
+    {
+        this.addOccurrences(item, 1);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object item)
+    {
+        return this.removeOccurrences(item, 1);
+    }
+
+    @Override
+    public void clear()
+    {
+        this.removeMatching(Predicates.alwaysTrue());
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> collection)
+    {
+        return this.removeAllIterable(collection);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> collection)
+    {
+        return this.retainAllIterable(collection);
+    }
+
+    @Override
+    public boolean removeAllIterable(Iterable<?> iterable)
+    {
+        boolean changed = false;
+        for (Object each : iterable)
+        {
+            changed |= this.removeOccurrences(each, Integer.MAX_VALUE);
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean retainAllIterable(Iterable<?> iterable)
+    {
+        return this.removeMatching(Predicates.notIn(UnifiedSet.newSet(iterable)));
+    }
+
+    @Override
+    public void removeIf(Predicate<? super T> predicate)
+    {
+        this.removeMatching(predicate);
+    }
+
+    @Override
+    public <P> void removeIfWith(final Predicate2<? super T, ? super P> predicate, final P parameter)
+    {
+        this.removeMatching(new Predicate<T>()
+        {
+            public boolean accept(T each)
+            {
+                return predicate.accept(each, parameter);
+            }
+        });
+    }
+
+    /**
+     * Removes every occurrence of each item which satisfies predicate, returning true if anything was removed.
+     */
+    private boolean removeMatching(final Predicate<? super T> predicate)
+    {
+        final boolean[] changed = new boolean[1];
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (predicate.accept(each))
+                {
+                    changed[0] |= ConcurrentHashBag.this.removeOccurrences(each, Integer.MAX_VALUE);
+                }
+            }
+        });
+        return changed[0];
+    }
+
+    @Override
+    public void forEach(final Procedure<? super T> procedure)
+    {
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                for (int i = 0; i < occurrences; i++)
+                {
+                    procedure.value(each);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void forEachWithIndex(final ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        final Counter index = new Counter();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                for (int i = 0; i < occurrences; i++)
+                {
+                    objectIntProcedure.value(each, index.getCount());
+                    index.increment();
+                }
+            }
+        });
+    }
+
+    @Override
+    public <P> void forEachWith(final Procedure2<? super T, ? super P> procedure, final P parameter)
+    {
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                for (int i = 0; i < occurrences; i++)
+                {
+                    procedure.value(each, parameter);
+                }
+            }
+        });
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new InternalIterator();
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other)
+        {
+            return true;
+        }
+        if (!(other instanceof Bag))
+        {
+            return false;
+        }
+        return this.snapshot().equals(other);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.snapshot().hashCode();
+    }
+
+    /**
+     * Returns a copy of the items and occurrences in this bag, taken with {@link #forEachWithOccurrences(ObjectIntProcedure)}.
+     */
+    public HashBag<T> snapshot()
+    {
+        return HashBag.newBag(this);
+    }
+
+    public ImmutableBag<T> toImmutable()
+    {
+        return this.snapshot().toImmutable();
+    }
+
+    public MutableMap<T, Integer> toMapOfItemToCount()
+    {
+        return this.snapshot().toMapOfItemToCount();
+    }
+
+    public String toStringOfItemToCount()
+    {
+        return this.snapshot().toStringOfItemToCount();
+    }
+
+    @Override
+    public MutableBag<T> newEmpty()
+    {
+        return ConcurrentHashBag.newBag();
+    }
+
+    public ConcurrentHashBag<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    public ConcurrentHashBag<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    public ConcurrentHashBag<T> withAll(Iterable<? extends T> elements)
+    {
+        this.addAllIterable(elements);
+        return this;
+    }
+
+    public ConcurrentHashBag<T> withoutAll(Iterable<? extends T> elements)
+    {
+        this.removeAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public MutableBag<T> asUnmodifiable()
+    {
+        return UnmodifiableBag.of(this);
+    }
+
+    @Override
+    public MutableBag<T> asSynchronized()
+    {
+        return SynchronizedBag.of(this);
+    }
+
+    public MutableBag<T> selectByOccurrences(IntPredicate predicate)
+    {
+        return this.snapshot().selectByOccurrences(predicate);
+    }
+
+    @Override
+    public MutableBag<T> select(Predicate<? super T> predicate)
+    {
+        return this.snapshot().select(predicate);
+    }
+
+    @Override
+    public <P> MutableBag<T> selectWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        return this.snapshot().selectWith(predicate, parameter);
+    }
+
+    @Override
+    public MutableBag<T> reject(Predicate<? super T> predicate)
+    {
+        return this.snapshot().reject(predicate);
+    }
+
+    @Override
+    public <P> MutableBag<T> rejectWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        return this.snapshot().rejectWith(predicate, parameter);
+    }
+
+    @Override
+    public PartitionMutableBag<T> partition(Predicate<? super T> predicate)
+    {
+        return this.snapshot().partition(predicate);
+    }
+
+    @Override
+    public <S> MutableBag<S> selectInstancesOf(Class<S> clazz)
+    {
+        return this.snapshot().selectInstancesOf(clazz);
+    }
+
+    @Override
+    public <V> MutableBag<V> collect(Function<? super T, ? extends V> function)
+    {
+        return this.snapshot().collect(function);
+    }
+
+    @Override
+    public MutableBooleanBag collectBoolean(BooleanFunction<? super T> booleanFunction)
+    {
+        return this.snapshot().collectBoolean(booleanFunction);
+    }
+
+    @Override
+    public MutableByteBag collectByte(ByteFunction<? super T> byteFunction)
+    {
+        return this.snapshot().collectByte(byteFunction);
+    }
+
+    @Override
+    public MutableCharBag collectChar(CharFunction<? super T> charFunction)
+    {
+        return this.snapshot().collectChar(charFunction);
+    }
+
+    @Override
+    public MutableDoubleBag collectDouble(DoubleFunction<? super T> doubleFunction)
+    {
+        return this.snapshot().collectDouble(doubleFunction);
+    }
+
+    @Override
+    public MutableFloatBag collectFloat(FloatFunction<? super T> floatFunction)
+    {
+        return this.snapshot().collectFloat(floatFunction);
+    }
+
+    @Override
+    public MutableIntBag collectInt(IntFunction<? super T> intFunction)
+    {
+        return this.snapshot().collectInt(intFunction);
+    }
+
+    @Override
+    public MutableLongBag collectLong(LongFunction<? super T> longFunction)
+    {
+        return this.snapshot().collectLong(longFunction);
+    }
+
+    @Override
+    public MutableShortBag collectShort(ShortFunction<? super T> shortFunction)
+    {
+        return this.snapshot().collectShort(shortFunction);
+    }
+
+    @Override
+    public <V> MutableBag<V> flatCollect(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return this.snapshot().flatCollect(function);
+    }
+
+    @Override
+    public <P, V> MutableBag<V> collectWith(Function2<? super T, ? super P, ? extends V> function, P parameter)
+    {
+        return this.snapshot().collectWith(function, parameter);
+    }
+
+    @Override
+    public <V> MutableBag<V> collectIf(Predicate<? super T> predicate, Function<? super T, ? extends V> function)
+    {
+        return this.snapshot().collectIf(predicate, function);
+    }
+
+    public <V> MutableBagMultimap<V, T> groupBy(Function<? super T, ? extends V> function)
+    {
+        return this.snapshot().groupBy(function);
+    }
+
+    public <V> MutableBagMultimap<V, T> groupByEach(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return this.snapshot().groupByEach(function);
+    }
+
+    public <S> MutableBag<Pair<T, S>> zip(Iterable<S> that)
+    {
+        return this.snapshot().zip(that);
+    }
+
+    public MutableBag<Pair<T, Integer>> zipWithIndex()
+    {
+        return this.snapshot().zipWithIndex();
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        HashBag<T> snapshot = this.snapshot();
+        out.writeInt(snapshot.sizeDistinct());
+        for (Object each : snapshot.toSet())
+        {
+            out.writeObject(each);
+            out.writeInt(snapshot.occurrencesOf(each));
+        }
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int sizeDistinct = in.readInt();
+        for (int i = 0; i < sizeDistinct; i++)
+        {
+            this.addOccurrences((T) in.readObject(), in.readInt());
+        }
+    }
+
+    private final class InternalIterator implements Iterator<T>
+    {
+        private final Iterator<Map.Entry<Object, AtomicInteger>> entries = ConcurrentHashBag.this.items.entrySet().iterator();
+        private Object currentKey;
+        private int remaining;
+        private Object lastReturned = NULL_KEY;
+        private boolean canRemove;
+
+        public boolean hasNext()
+        {
+            while (this.remaining == 0 && this.entries.hasNext())
+            {
+                Map.Entry<Object, AtomicInteger> entry = this.entries.next();
+                this.currentKey = entry.getKey();
+                this.remaining = Math.max(entry.getValue().get(), 0);
+            }
+            return this.remaining > 0;
+        }
+
+        public T next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            this.remaining--;
+            this.lastReturned = this.currentKey;
+            this.canRemove = true;
+            return ConcurrentHashBag.nonSentinel(this.currentKey);
+        }
+
+        public void remove()
+        {
+            if (!this.canRemove)
+            {
+                throw new IllegalStateException();
+            }
+            ConcurrentHashBag.this.removeOccurrences(ConcurrentHashBag.nonSentinel(this.lastReturned), 1);
+            this.canRemove = false;
+        }
+    }
+}
@@ -0,0 +1,1902 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.bag.mutable.sorted;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.gs.collections.api.bag.Bag;
+import com.gs.collections.api.bag.MutableBag;
+import com.gs.collections.api.bag.primitive.MutableBooleanBag;
+import com.gs.collections.api.bag.primitive.MutableByteBag;
+import com.gs.collections.api.bag.primitive.MutableCharBag;
+import com.gs.collections.api.bag.primitive.MutableDoubleBag;
+import com.gs.collections.api.bag.primitive.MutableFloatBag;
+import com.gs.collections.api.bag.primitive.MutableIntBag;
+import com.gs.collections.api.bag.primitive.MutableLongBag;
+import com.gs.collections.api.bag.primitive.MutableShortBag;
+import com.gs.collections.api.bag.sorted.ImmutableSortedBag;
+import com.gs.collections.api.bag.sorted.MutableSortedBag;
+import com.gs.collections.api.bag.sorted.SortedBag;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.Function0;
+import com.gs.collections.api.block.function.Function2;
+import com.gs.collections.api.block.function.primitive.BooleanFunction;
+import com.gs.collections.api.block.function.primitive.ByteFunction;
+import com.gs.collections.api.block.function.primitive.CharFunction;
+import com.gs.collections.api.block.function.primitive.DoubleFunction;
+import com.gs.collections.api.block.function.primitive.FloatFunction;
+import com.gs.collections.api.block.function.primitive.IntFunction;
+import com.gs.collections.api.block.function.primitive.LongFunction;
+import com.gs.collections.api.block.function.primitive.ShortFunction;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.block.predicate.Predicate2;
+import com.gs.collections.api.block.predicate.primitive.IntPredicate;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.api.multimap.MutableMultimap;
+import com.gs.collections.api.partition.bag.sorted.PartitionMutableSortedBag;
+import com.gs.collections.api.set.MutableSet;
+import com.gs.collections.api.tuple.Pair;
+import com.gs.collections.impl.Counter;
+import com.gs.collections.impl.bag.mutable.HashBag;
+import com.gs.collections.impl.bag.mutable.primitive.BooleanHashBag;
+import com.gs.collections.impl.bag.mutable.primitive.ByteHashBag;
+import com.gs.collections.impl.bag.mutable.primitive.CharHashBag;
+import com.gs.collections.impl.bag.mutable.primitive.DoubleHashBag;
+import com.gs.collections.impl.bag.mutable.primitive.FloatHashBag;
+import com.gs.collections.impl.bag.mutable.primitive.IntHashBag;
+import com.gs.collections.impl.bag.mutable.primitive.LongHashBag;
+import com.gs.collections.impl.bag.mutable.primitive.ShortHashBag;
+import com.gs.collections.impl.block.factory.Predicates2;
+import com.gs.collections.impl.block.procedure.MultimapEachPutProcedure;
+import com.gs.collections.impl.block.procedure.MultimapPutProcedure;
+import com.gs.collections.impl.collection.mutable.AbstractMutableCollection;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+import com.gs.collections.impl.multimap.bag.TreeBagMultimap;
+import com.gs.collections.impl.partition.bag.sorted.PartitionTreeBag;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import com.gs.collections.impl.utility.Iterate;
+
+/**
+ * A BTreeBag is a MutableSortedBag which stores its distinct items in a B+tree.  Each leaf of the tree holds up to 64
+ * items in sorted order in an array, with the number of occurrences of each item in a parallel int array, and the
+ * leaves are linked to each other in order.  A distinct item costs about a reference and an int, where a
+ * {@link TreeBag} spends a TreeMap entry and a {@link Counter} on it.
+ * <p/>
+ * Every node also keeps the number of distinct items and occurrences below it, so {@link #occurrencesBelow(Object)}
+ * and {@link #indexOf(Object)} are O(log n) like {@link #addOccurrences(Object, int)} and
+ * {@link #removeOccurrences(Object, int)}.  {@link #subBag(Object, Object)}, {@link #headBag(Object)} and
+ * {@link #tailBag(Object)} copy only the leaves which overlap the range.
+ *
+ * @since 4.3
+ */
+public class BTreeBag<T>
+        extends AbstractMutableCollection<T>
+        implements Externalizable, MutableSortedBag<T>
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int NODE_CAPACITY = 64;
+    private static final int MINIMUM_NODE_SIZE = NODE_CAPACITY / 2;
+
+    private Comparator<? super T> comparator;
+    private Node root = new Leaf();
+
+    public BTreeBag()
+    {
+    }
+
+    public BTreeBag(Comparator<? super T> comparator)
+    {
+        this.comparator = comparator;
+    }
+
+    public BTreeBag(SortedBag<T> sortedBag)
+    {
+        this(sortedBag.comparator(), sortedBag);
+    }
+
+    public BTreeBag(Comparator<? super T> comparator, Iterable<? extends T> iterable)
+    {
+        this(comparator);
+        this.addAllIterable(iterable);
+    }
+
+    public static <E> BTreeBag<E> newBag()
+    {
+        return new BTreeBag<E>();
+    }
+
+    public static <E> BTreeBag<E> newBag(Comparator<? super E> comparator)
+    {
+        return new BTreeBag<E>(comparator);
+    }
+
+    public static <E> BTreeBag<E> newBag(Iterable<? extends E> source)
+    {
+        if (source instanceof SortedBag<?>)
+        {
+            return new BTreeBag<E>((SortedBag<E>) source);
+        }
+        return Iterate.addAllTo(source, BTreeBag.<E>newBag());
+    }
+
+    public static <E> BTreeBag<E> newBag(Comparator<? super E> comparator, Iterable<? extends E> iterable)
+    {
+        return new BTreeBag<E>(comparator, iterable);
+    }
+
+    public static <E> BTreeBag<E> newBagWith(E... elements)
+    {
+        //noinspection SSBasedInspection
+        return BTreeBag.newBag(Arrays.asList(elements));
+    }
+
+    public static <E> BTreeBag<E> newBagWith(Comparator<? super E> comparator, E... elements)
+    {
+        //noinspection SSBasedInspection
+        return BTreeBag.newBag(comparator, Arrays.asList(elements));
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other)
+        {
+            return true;
+        }
+        if (!(other instanceof Bag))
+        {
+            return false;
+        }
+        Bag<?> bag = (Bag<?>) other;
+        if (this.sizeDistinct() != bag.sizeDistinct())
+        {
+            return false;
+        }
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                if (bag.occurrencesOf(leaf.items[i]) != leaf.counts[i])
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public int sizeDistinct()
+    {
+        return this.root.distinct;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                Object each = leaf.items[i];
+                hashCode += (each == null ? 0 : each.hashCode()) ^ leaf.counts[i];
+            }
+        }
+        return hashCode;
+    }
+
+    public void forEachWithOccurrences(ObjectIntProcedure<? super T> procedure)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                procedure.value((T) leaf.items[i], leaf.counts[i]);
+            }
+        }
+    }
+
+    public MutableSortedBag<T> selectByOccurrences(IntPredicate predicate)
+    {
+        BTreeBag<T> result = BTreeBag.newBag(this.comparator);
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                if (predicate.accept(leaf.counts[i]))
+                {
+                    result.addOccurrences((T) leaf.items[i], leaf.counts[i]);
+                }
+            }
+        }
+        return result;
+    }
+
+    public int occurrencesOf(Object item)
+    {
+        Leaf leaf = this.findLeaf(item);
+        int index = this.search(leaf, item);
+        return index < 0 ? 0 : leaf.counts[index];
+    }
+
+    /**
+     * Returns the number of occurrences of all the items which come before item in the order of this bag.  The item
+     * does not need to be in the bag.
+     */
+    public int occurrencesBelow(T item)
+    {
+        return this.rank(item);
+    }
+
+    /**
+     * Returns the position at which the first occurrence of item is returned by {@link #iterator()}, or -1 if item is
+     * not in the bag.
+     */
+    public int indexOf(Object item)
+    {
+        if (this.occurrencesOf(item) == 0)
+        {
+            return -1;
+        }
+        return this.rank(item);
+    }
+
+    /**
+     * Returns a new BTreeBag with the same comparator holding all the occurrences of the items from fromItem,
+     * inclusive, to toItem, exclusive.
+     */
+    public BTreeBag<T> subBag(T fromItem, T toItem)
+    {
+        if (this.compare(fromItem, toItem) > 0)
+        {
+            throw new IllegalArgumentException("fromItem " + fromItem + " is after toItem " + toItem);
+        }
+        return this.copyRange(fromItem, true, toItem, true);
+    }
+
+    /**
+     * Returns a new BTreeBag with the same comparator holding all the occurrences of the items before toItem.
+     */
+    public BTreeBag<T> headBag(T toItem)
+    {
+        return this.copyRange(null, false, toItem, true);
+    }
+
+    /**
+     * Returns a new BTreeBag with the same comparator holding all the occurrences of fromItem and the items after it.
+     */
+    public BTreeBag<T> tailBag(T fromItem)
+    {
+        return this.copyRange(fromItem, true, null, false);
+    }
+
+    public MutableMap<T, Integer> toMapOfItemToCount()
+    {
+        final MutableMap<T, Integer> map = UnifiedMap.newMap(this.sizeDistinct());
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T item, int count)
+            {
+                map.put(item, count);
+            }
+        });
+        return map;
+    }
+
+    public String toStringOfItemToCount()
+    {
+        StringBuilder builder = new StringBuilder("{");
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                if (builder.length() > 1)
+                {
+                    builder.append(", ");
+                }
+                builder.append(leaf.items[i]).append('=').append(leaf.counts[i]);
+            }
+        }
+        return builder.append('}').toString();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.root.distinct == 0;
+    }
+
+    @Override
+    public boolean remove(Object item)
+    {
+        return this.removeOccurrences(item, 1);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> collection)
+    {
+        return this.removeAllIterable(collection);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> collection)
+    {
+        return this.retainAllIterable(collection);
+    }
+
+    @Override
+    public void clear()
+    {
+        this.root = new Leaf();
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        return this.occurrencesOf(o) > 0;
+    }
+
+    public int compareTo(SortedBag<T> otherBag)
+    {
+        Iterator<T> itrA = this.iterator();
+        Iterator<T> itrB = otherBag.iterator();
+        while (itrA.hasNext())
+        {
+            if (!itrB.hasNext())
+            {
+                return 1;
+            }
+            int val = this.compare(itrA.next(), itrB.next());
+            if (val != 0)
+            {
+                return val;
+            }
+        }
+        return itrB.hasNext() ? -1 : 0;
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeObject(this.comparator);
+        out.writeInt(this.sizeDistinct());
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                out.writeObject(leaf.items[i]);
+                out.writeInt(leaf.counts[i]);
+            }
+        }
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        this.comparator = (Comparator<? super T>) in.readObject();
+        this.root = new Leaf();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++)
+        {
+            this.addOccurrences((T) in.readObject(), in.readInt());
+        }
+    }
+
+    @Override
+    public void forEach(Procedure<? super T> procedure)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                T item = (T) leaf.items[i];
+                for (int j = 0; j < leaf.counts[i]; j++)
+                {
+                    procedure.value(item);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void forEachWithIndex(ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        int index = 0;
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                T item = (T) leaf.items[i];
+                for (int j = 0; j < leaf.counts[i]; j++)
+                {
+                    objectIntProcedure.value(item, index++);
+                }
+            }
+        }
+    }
+
+    @Override
+    public <P> void forEachWith(Procedure2<? super T, ? super P> procedure, P parameter)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                T item = (T) leaf.items[i];
+                for (int j = 0; j < leaf.counts[i]; j++)
+                {
+                    procedure.value(item, parameter);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new InternalIterator();
+    }
+
+    public void addOccurrences(T item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot add a negative number of occurrences");
+        }
+        if (occurrences > 0)
+        {
+            this.insert(item, occurrences);
+        }
+    }
+
+    public boolean removeOccurrences(Object item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot remove a negative number of occurrences");
+        }
+        return occurrences > 0 && this.delete(item, occurrences) > 0;
+    }
+
+    public BTreeBag<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    public BTreeBag<T> withAll(Iterable<? extends T> iterable)
+    {
+        this.addAllIterable(iterable);
+        return this;
+    }
+
+    public BTreeBag<T> withoutAll(Iterable<? extends T> iterable)
+    {
+        this.removeAllIterable(iterable);
+        return this;
+    }
+
+    public ImmutableSortedBag<T> toImmutable()
+    {
+        throw new UnsupportedOperationException("toImmutable not implemented yet!");
+    }
+
+    public BTreeBag<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    @Override
+    public MutableSortedBag<T> newEmpty()
+    {
+        return BTreeBag.newBag(this.comparator);
+    }
+
+    @Override
+    public void removeIf(Predicate<? super T> predicate)
+    {
+        MutableList<T> toRemove = FastList.newList();
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                if (predicate.accept((T) leaf.items[i]))
+                {
+                    toRemove.add((T) leaf.items[i]);
+                }
+            }
+        }
+        this.removeAllIterable(toRemove);
+    }
+
+    @Override
+    public <P> void removeIfWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        MutableList<T> toRemove = FastList.newList();
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                if (predicate.accept((T) leaf.items[i], parameter))
+                {
+                    toRemove.add((T) leaf.items[i]);
+                }
+            }
+        }
+        this.removeAllIterable(toRemove);
+    }
+
+    @Override
+    public <P> T detectWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                if (predicate.accept((T) leaf.items[i], parameter))
+                {
+                    return (T) leaf.items[i];
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public <P> T detectWithIfNone(
+            Predicate2<? super T, ? super P> predicate,
+            P parameter,
+            Function0<? extends T> function)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                if (predicate.accept((T) leaf.items[i], parameter))
+                {
+                    return (T) leaf.items[i];
+                }
+            }
+        }
+        return function.value();
+    }
+
+    @Override
+    public <P> int countWith(final Predicate2<? super T, ? super P> predicate, final P parameter)
+    {
+        final Counter result = new Counter();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (predicate.accept(each, parameter))
+                {
+                    result.add(occurrences);
+                }
+            }
+        });
+        return result.getCount();
+    }
+
+    @Override
+    public <P> boolean anySatisfyWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                if (predicate.accept((T) leaf.items[i], parameter))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public <P> boolean allSatisfyWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                if (!predicate.accept((T) leaf.items[i], parameter))
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean removeAllIterable(Iterable<?> iterable)
+    {
+        boolean changed = false;
+        for (Object each : iterable)
+        {
+            changed |= this.delete(each, Integer.MAX_VALUE) > 0;
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean retainAllIterable(Iterable<?> iterable)
+    {
+        int oldSize = this.size();
+        this.removeIfWith(Predicates2.notIn(), UnifiedSet.newSet(iterable));
+        return this.size() != oldSize;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.root.occurrences;
+    }
+
+    @Override
+    public T getFirst()
+    {
+        Leaf leaf = this.firstLeaf();
+        return leaf.size == 0 ? null : (T) leaf.items[0];
+    }
+
+    @Override
+    public T getLast()
+    {
+        Node node = this.root;
+        while (node instanceof Branch)
+        {
+            node = ((Branch) node).children[node.size - 1];
+        }
+        return node.size == 0 ? null : (T) ((Leaf) node).items[node.size - 1];
+    }
+
+    @Override
+    public T detect(Predicate<? super T> predicate)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                if (predicate.accept((T) leaf.items[i]))
+                {
+                    return (T) leaf.items[i];
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public T detectIfNone(Predicate<? super T> predicate, Function0<? extends T> function)
+    {
+        T result = this.detect(predicate);
+        return result == null ? function.value() : result;
+    }
+
+    @Override
+    public boolean anySatisfy(Predicate<? super T> predicate)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                if (predicate.accept((T) leaf.items[i]))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean allSatisfy(Predicate<? super T> predicate)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                if (!predicate.accept((T) leaf.items[i]))
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public MutableSet<T> toSet()
+    {
+        return UnifiedSet.newSet(this.distinctItems());
+    }
+
+    @Override
+    public T min(Comparator<? super T> comparator)
+    {
+        return this.distinctItems().min(comparator);
+    }
+
+    @Override
+    public T max(Comparator<? super T> comparator)
+    {
+        return this.distinctItems().max(comparator);
+    }
+
+    @Override
+    public T min()
+    {
+        return this.distinctItems().min();
+    }
+
+    @Override
+    public T max()
+    {
+        return this.distinctItems().max();
+    }
+
+    @Override
+    public <V extends Comparable<? super V>> T minBy(Function<? super T, ? extends V> function)
+    {
+        return this.distinctItems().minBy(function);
+    }
+
+    @Override
+    public <V extends Comparable<? super V>> T maxBy(Function<? super T, ? extends V> function)
+    {
+        return this.distinctItems().maxBy(function);
+    }
+
+    public Comparator<? super T> comparator()
+    {
+        return this.comparator;
+    }
+
+    public BTreeBag<T> with(T... elements)
+    {
+        this.addAll(Arrays.asList(elements));
+        return this;
+    }
+
+    public BTreeBag<T> with(T element1, T element2)
+    {
+        this.add(element1);
+        this.add(element2);
+        return this;
+    }
+
+    @Override
+    public boolean add(T item)
+    {
+        this.insert(item, 1);
+        return true;
+    }
+
+    public BTreeBag<T> with(T element1, T element2, T element3)
+    {
+        this.add(element1);
+        this.add(element2);
+        this.add(element3);
+        return this;
+    }
+
+    @Override
+    public <P, V> MutableBag<V> collectWith(
+            final Function2<? super T, ? super P, ? extends V> function,
+            final P parameter)
+    {
+        final MutableBag<V> result = HashBag.newBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                result.addOccurrences(function.value(each, parameter), occurrences);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public <P> MutableSortedBag<T> selectWith(final Predicate2<? super T, ? super P> predicate, final P parameter)
+    {
+        final MutableSortedBag<T> result = BTreeBag.newBag(this.comparator());
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (predicate.accept(each, parameter))
+                {
+                    result.addOccurrences(each, occurrences);
+                }
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public <P> MutableSortedBag<T> rejectWith(final Predicate2<? super T, ? super P> predicate, final P parameter)
+    {
+        final MutableSortedBag<T> result = BTreeBag.newBag(this.comparator());
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int index)
+            {
+                if (!predicate.accept(each, parameter))
+                {
+                    result.addOccurrences(each, index);
+                }
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public UnmodifiableSortedBag<T> asUnmodifiable()
+    {
+        return UnmodifiableSortedBag.of(this);
+    }
+
+    @Override
+    public MutableSortedBag<T> asSynchronized()
+    {
+        throw new UnsupportedOperationException("asSynchronized not implemented yet!");
+    }
+
+    @Override
+    public MutableSortedBag<T> reject(final Predicate<? super T> predicate)
+    {
+        final MutableSortedBag<T> result = BTreeBag.newBag(this.comparator());
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int index)
+            {
+                if (!predicate.accept(each))
+                {
+                    result.addOccurrences(each, index);
+                }
+            }
+        });
+        return result;
+    }
+
+    public PartitionMutableSortedBag<T> partition(final Predicate<? super T> predicate)
+    {
+        final PartitionMutableSortedBag<T> result = new PartitionTreeBag<T>(this.comparator());
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int index)
+            {
+                MutableSortedBag<T> bucket = predicate.accept(each) ? result.getSelected() : result.getRejected();
+                bucket.addOccurrences(each, index);
+            }
+        });
+        return result;
+    }
+
+    public <S> MutableSortedBag<S> selectInstancesOf(final Class<S> clazz)
+    {
+        Comparator<? super S> comparator = (Comparator<? super S>) this.comparator();
+        final MutableSortedBag<S> result = BTreeBag.newBag(comparator);
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (clazz.isInstance(each))
+                {
+                    result.addOccurrences(clazz.cast(each), occurrences);
+                }
+            }
+        });
+        return result;
+    }
+
+    public <V> TreeBagMultimap<V, T> groupBy(Function<? super T, ? extends V> function)
+    {
+        return this.groupBy(function, TreeBagMultimap.<V, T>newMultimap(this.comparator()));
+    }
+
+    public <V> TreeBagMultimap<V, T> groupByEach(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return this.groupByEach(function, TreeBagMultimap.<V, T>newMultimap(this.comparator()));
+    }
+
+    @Override
+    public MutableByteBag collectByte(final ByteFunction<? super T> byteFunction)
+    {
+        final ByteHashBag result = new ByteHashBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                result.addOccurrences(byteFunction.byteValueOf(each), occurrences);
+            }
+        });
+        return result;
+    }
+
+
+    public MutableBag<Pair<T, Integer>> zipWithIndex()
+    {
+        return this.zipWithIndex(HashBag.<Pair<T, Integer>>newBag());
+    }
+
+    @Override
+    public <V> MutableBag<V> collect(final Function<? super T, ? extends V> function)
+    {
+        final MutableBag<V> result = HashBag.newBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                result.addOccurrences(function.valueOf(each), occurrences);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public <V> MutableBag<V> flatCollect(final Function<? super T, ? extends Iterable<V>> function)
+    {
+        final MutableBag<V> result = HashBag.newBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, final int occurrences)
+            {
+                Iterable<V> values = function.valueOf(each);
+                Iterate.forEach(values, new Procedure<V>()
+                {
+                    public void value(V each)
+                    {
+                        result.addOccurrences(each, occurrences);
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public <R extends Collection<T>> R select(final Predicate<? super T> predicate, final R target)
+    {
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (predicate.accept(each))
+                {
+                    for (int i = 0; i < occurrences; i++)
+                    {
+                        target.add(each);
+                    }
+                }
+            }
+        });
+        return target;
+    }
+
+    @Override
+    public <P, R extends Collection<T>> R selectWith(
+            final Predicate2<? super T, ? super P> predicate,
+            final P parameter,
+            final R target)
+    {
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (predicate.accept(each, parameter))
+                {
+                    for (int i = 0; i < occurrences; i++)
+                    {
+                        target.add(each);
+                    }
+                }
+            }
+        });
+        return target;
+    }
+
+    @Override
+    public MutableSortedBag<T> select(final Predicate<? super T> predicate)
+    {
+        final MutableSortedBag<T> result = BTreeBag.newBag(this.comparator());
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (predicate.accept(each))
+                {
+                    result.addOccurrences(each, occurrences);
+                }
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public <R extends Collection<T>> R reject(final Predicate<? super T> predicate, final R target)
+    {
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (!predicate.accept(each))
+                {
+                    for (int i = 0; i < occurrences; i++)
+                    {
+                        target.add(each);
+                    }
+                }
+            }
+        });
+        return target;
+    }
+
+    @Override
+    public <P, R extends Collection<T>> R rejectWith(
+            final Predicate2<? super T, ? super P> predicate,
+            final P parameter,
+            final R target)
+    {
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (!predicate.accept(each, parameter))
+                {
+                    for (int i = 0; i < occurrences; i++)
+                    {
+                        target.add(each);
+                    }
+                }
+            }
+        });
+        return target;
+    }
+
+    @Override
+    public MutableBooleanBag collectBoolean(final BooleanFunction<? super T> booleanFunction)
+    {
+        final BooleanHashBag result = new BooleanHashBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                result.addOccurrences(booleanFunction.booleanValueOf(each), occurrences);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public MutableCharBag collectChar(final CharFunction<? super T> charFunction)
+    {
+        final CharHashBag result = new CharHashBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                result.addOccurrences(charFunction.charValueOf(each), occurrences);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public MutableDoubleBag collectDouble(final DoubleFunction<? super T> doubleFunction)
+    {
+        final DoubleHashBag result = new DoubleHashBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                result.addOccurrences(doubleFunction.doubleValueOf(each), occurrences);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public MutableFloatBag collectFloat(final FloatFunction<? super T> floatFunction)
+    {
+        final FloatHashBag result = new FloatHashBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                result.addOccurrences(floatFunction.floatValueOf(each), occurrences);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public MutableIntBag collectInt(final IntFunction<? super T> intFunction)
+    {
+        final IntHashBag result = new IntHashBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                result.addOccurrences(intFunction.intValueOf(each), occurrences);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public MutableLongBag collectLong(final LongFunction<? super T> longFunction)
+    {
+        final LongHashBag result = new LongHashBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                result.addOccurrences(longFunction.longValueOf(each), occurrences);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public MutableShortBag collectShort(final ShortFunction<? super T> shortFunction)
+    {
+        final ShortHashBag result = new ShortHashBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                result.addOccurrences(shortFunction.shortValueOf(each), occurrences);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public <V> MutableBag<V> collectIf(
+            final Predicate<? super T> predicate,
+            final Function<? super T, ? extends V> function)
+    {
+        final MutableBag<V> result = HashBag.newBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (predicate.accept(each))
+                {
+                    result.addOccurrences(function.valueOf(each), occurrences);
+                }
+            }
+        });
+        return result;
+    }
+
+    public <S> MutableBag<Pair<T, S>> zip(Iterable<S> that)
+    {
+        return this.zip(that, HashBag.<Pair<T, S>>newBag());
+    }
+
+    @Override
+    public int count(final Predicate<? super T> predicate)
+    {
+        final Counter result = new Counter();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (predicate.accept(each))
+                {
+                    result.add(occurrences);
+                }
+            }
+        });
+        return result.getCount();
+    }
+
+    @Override
+    public MutableList<T> toList()
+    {
+        return FastList.newList(this);
+    }
+
+    @Override
+    public MutableBag<T> toBag()
+    {
+        return HashBag.newBag(this);
+    }
+
+    @Override
+    public long sumOfInt(final IntFunction<? super T> function)
+    {
+        final long[] sum = {0L};
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                int intValue = function.intValueOf(each);
+                sum[0] += (long) intValue * (long) occurrences;
+            }
+        });
+        return sum[0];
+    }
+
+    @Override
+    public double sumOfFloat(final FloatFunction<? super T> function)
+    {
+        final double[] sum = {0.0};
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                float floatValue = function.floatValueOf(each);
+                sum[0] += floatValue * (double) occurrences;
+            }
+        });
+        return sum[0];
+    }
+
+    @Override
+    public long sumOfLong(final LongFunction<? super T> function)
+    {
+        final long[] sum = {0L};
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                long longValue = function.longValueOf(each);
+                sum[0] += longValue * (long) occurrences;
+            }
+        });
+        return sum[0];
+    }
+
+    @Override
+    public double sumOfDouble(final DoubleFunction<? super T> function)
+    {
+        final double[] sum = {0.0};
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                double doubleValue = function.doubleValueOf(each);
+                sum[0] += doubleValue * (double) occurrences;
+            }
+        });
+        return sum[0];
+    }
+
+    @Override
+    public <V, R extends MutableMultimap<V, T>> R groupBy(
+            Function<? super T, ? extends V> function,
+            R target)
+    {
+        this.forEach(MultimapPutProcedure.on(target, function));
+        return target;
+    }
+
+    @Override
+    public <V, R extends MutableMultimap<V, T>> R groupByEach(
+            Function<? super T, ? extends Iterable<V>> function,
+            R target)
+    {
+        this.forEach(MultimapEachPutProcedure.on(target, function));
+        return target;
+    }
+
+    private MutableList<T> distinctItems()
+    {
+        MutableList<T> result = FastList.newList(this.sizeDistinct());
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                result.add((T) leaf.items[i]);
+            }
+        }
+        return result;
+    }
+
+    private BTreeBag<T> copyRange(T fromItem, boolean hasFrom, T toItem, boolean hasTo)
+    {
+        BTreeBag<T> result = BTreeBag.newBag(this.comparator);
+        Leaf leaf;
+        int index;
+        if (hasFrom)
+        {
+            leaf = this.findLeaf(fromItem);
+            index = this.search(leaf, fromItem);
+            if (index < 0)
+            {
+                index = -index - 1;
+            }
+        }
+        else
+        {
+            leaf = this.firstLeaf();
+            index = 0;
+        }
+        for (; leaf != null; leaf = leaf.next, index = 0)
+        {
+            for (; index < leaf.size; index++)
+            {
+                if (hasTo && this.compare(leaf.items[index], toItem) >= 0)
+                {
+                    return result;
+                }
+                result.addOccurrences((T) leaf.items[index], leaf.counts[index]);
+            }
+        }
+        return result;
+    }
+
+    private int compare(Object item1, Object item2)
+    {
+        if (this.comparator == null)
+        {
+            return ((Comparable<Object>) item1).compareTo(item2);
+        }
+        return ((Comparator<Object>) this.comparator).compare(item1, item2);
+    }
+
+    private Leaf firstLeaf()
+    {
+        Node node = this.root;
+        while (node instanceof Branch)
+        {
+            node = ((Branch) node).children[0];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf findLeaf(Object item)
+    {
+        Node node = this.root;
+        while (node instanceof Branch)
+        {
+            Branch branch = (Branch) node;
+            node = branch.children[this.childIndex(branch, item)];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * Returns the index of item in the leaf, or (-(insertion point) - 1) if it is not there.
+     */
+    private int search(Leaf leaf, Object item)
+    {
+        int low = 0;
+        int high = leaf.size - 1;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            int comparison = this.compare(leaf.items[middle], item);
+            if (comparison < 0)
+            {
+                low = middle + 1;
+            }
+            else if (comparison > 0)
+            {
+                high = middle - 1;
+            }
+            else
+            {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Returns the index of the child of the branch which holds item, if it is in the tree.
+     */
+    private int childIndex(Branch branch, Object item)
+    {
+        int low = 0;
+        int high = branch.size - 2;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            if (this.compare(branch.keys[middle], item) <= 0)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private int rank(Object item)
+    {
+        int result = 0;
+        Node node = this.root;
+        while (node instanceof Branch)
+        {
+            Branch branch = (Branch) node;
+            int childIndex = this.childIndex(branch, item);
+            for (int i = 0; i < childIndex; i++)
+            {
+                result += branch.children[i].occurrences;
+            }
+            node = branch.children[childIndex];
+        }
+        Leaf leaf = (Leaf) node;
+        int index = this.search(leaf, item);
+        int end = index < 0 ? -index - 1 : index;
+        for (int i = 0; i < end; i++)
+        {
+            result += leaf.counts[i];
+        }
+        return result;
+    }
+
+    private void insert(T item, int occurrences)
+    {
+        if (this.root.size == 0)
+        {
+            // Fail on null or non-comparable items the same way TreeMap does
+            this.compare(item, item);
+        }
+        Node split = this.insert(this.root, item, occurrences);
+        if (split != null)
+        {
+            Branch newRoot = new Branch();
+            newRoot.children[0] = this.root;
+            newRoot.children[1] = split;
+            newRoot.keys[0] = BTreeBag.firstItem(split);
+            newRoot.size = 2;
+            newRoot.distinct = this.root.distinct + split.distinct;
+            newRoot.occurrences = this.root.occurrences + split.occurrences;
+            this.root = newRoot;
+        }
+    }
+
+    /**
+     * Adds the occurrences of item below node, and returns the new right sibling of node if node had to be split.
+     */
+    private Node insert(Node node, Object item, int occurrences)
+    {
+        if (node instanceof Leaf)
+        {
+            Leaf leaf = (Leaf) node;
+            int index = this.search(leaf, item);
+            if (index >= 0)
+            {
+                leaf.counts[index] += occurrences;
+                leaf.occurrences += occurrences;
+                return null;
+            }
+            index = -index - 1;
+            if (leaf.size < NODE_CAPACITY)
+            {
+                leaf.insert(index, item, occurrences);
+                return null;
+            }
+            return leaf.split(index, item, occurrences);
+        }
+
+        Branch branch = (Branch) node;
+        int childIndex = this.childIndex(branch, item);
+        Node child = branch.children[childIndex];
+        int oldDistinct = child.distinct;
+        int oldOccurrences = child.occurrences;
+        Node split = this.insert(child, item, occurrences);
+        if (split == null)
+        {
+            branch.distinct += child.distinct - oldDistinct;
+            branch.occurrences += child.occurrences - oldOccurrences;
+            return null;
+        }
+        branch.distinct += child.distinct + split.distinct - oldDistinct;
+        branch.occurrences += child.occurrences + split.occurrences - oldOccurrences;
+        if (branch.size < NODE_CAPACITY)
+        {
+            branch.insert(childIndex + 1, split);
+            return null;
+        }
+        return branch.split(childIndex + 1, split);
+    }
+
+    private int delete(Object item, int occurrences)
+    {
+        int removed = this.delete(this.root, item, occurrences);
+        while (this.root instanceof Branch && this.root.size == 1)
+        {
+            this.root = ((Branch) this.root).children[0];
+        }
+        return removed;
+    }
+
+    /**
+     * Removes up to occurrences of item below node, and returns how many were removed.
+     */
+    private int delete(Node node, Object item, int occurrences)
+    {
+        if (node instanceof Leaf)
+        {
+            Leaf leaf = (Leaf) node;
+            int index = this.search(leaf, item);
+            if (index < 0)
+            {
+                return 0;
+            }
+            int count = leaf.counts[index];
+            if (occurrences < count)
+            {
+                leaf.counts[index] = count - occurrences;
+                leaf.occurrences -= occurrences;
+                return occurrences;
+            }
+            leaf.remove(index);
+            return count;
+        }
+
+        Branch branch = (Branch) node;
+        int childIndex = this.childIndex(branch, item);
+        Node child = branch.children[childIndex];
+        int oldDistinct = child.distinct;
+        int removed = this.delete(child, item, occurrences);
+        if (removed > 0)
+        {
+            branch.distinct -= oldDistinct - child.distinct;
+            branch.occurrences -= removed;
+            if (child.size < MINIMUM_NODE_SIZE)
+            {
+                branch.rebalance(childIndex);
+            }
+        }
+        return removed;
+    }
+
+    private static Object firstItem(Node node)
+    {
+        Node each = node;
+        while (each instanceof Branch)
+        {
+            each = ((Branch) each).children[0];
+        }
+        return ((Leaf) each).items[0];
+    }
+
+    private abstract static class Node
+    {
+        /**
+         * The number of items in a leaf, or of children in a branch.
+         */
+        protected int size;
+        protected int distinct;
+        protected int occurrences;
+
+        protected abstract void recomputeTotals();
+    }
+
+    private static final class Leaf extends Node
+    {
+        private final Object[] items = new Object[NODE_CAPACITY];
+        private final int[] counts = new int[NODE_CAPACITY];
+        private Leaf next;
+
+        private void insert(int index, Object item, int occurrences)
+        {
+            System.arraycopy(this.items, index, this.items, index + 1, this.size - index);
+            System.arraycopy(this.counts, index, this.counts, index + 1, this.size - index);
+            this.items[index] = item;
+            this.counts[index] = occurrences;
+            this.size++;
+            this.distinct++;
+            this.occurrences += occurrences;
+        }
+
+        private void remove(int index)
+        {
+            this.occurrences -= this.counts[index];
+            this.distinct--;
+            this.size--;
+            System.arraycopy(this.items, index + 1, this.items, index, this.size - index);
+            System.arraycopy(this.counts, index + 1, this.counts, index, this.size - index);
+            this.items[this.size] = null;
+        }
+
+        /**
+         * Splits this full leaf in two, inserts item and returns the new right half.  An item appended at the end goes
+         * into the right half alone, so that the leaves stay full when items are added in order.
+         */
+        private Leaf split(int index, Object item, int occurrences)
+        {
+            Leaf right = new Leaf();
+            right.next = this.next;
+            this.next = right;
+            if (index == NODE_CAPACITY)
+            {
+                right.insert(0, item, occurrences);
+                return right;
+            }
+            int kept = NODE_CAPACITY / 2;
+            this.moveTo(right, kept, NODE_CAPACITY - kept);
+            if (index <= kept)
+            {
+                this.insert(index, item, occurrences);
+            }
+            else
+            {
+                right.insert(index - kept, item, occurrences);
+            }
+            return right;
+        }
+
+        /**
+         * Moves count items starting at from to the end of the other leaf.
+         */
+        private void moveTo(Leaf other, int from, int count)
+        {
+            System.arraycopy(this.items, from, other.items, other.size, count);
+            System.arraycopy(this.counts, from, other.counts, other.size, count);
+            System.arraycopy(this.items, from + count, this.items, from, this.size - from - count);
+            System.arraycopy(this.counts, from + count, this.counts, from, this.size - from - count);
+            Arrays.fill(this.items, this.size - count, this.size, null);
+            this.size -= count;
+            other.size += count;
+            this.recomputeTotals();
+            other.recomputeTotals();
+        }
+
+        @Override
+        protected void recomputeTotals()
+        {
+            int occurrences = 0;
+            for (int i = 0; i < this.size; i++)
+            {
+                occurrences += this.counts[i];
+            }
+            this.distinct = this.size;
+            this.occurrences = occurrences;
+        }
+    }
+
+    private static final class Branch extends Node
+    {
+        /**
+         * keys[i] is no greater than any item below children[i + 1] and greater than every item below children[i].
+         */
+        private final Object[] keys = new Object[NODE_CAPACITY - 1];
+        private final Node[] children = new Node[NODE_CAPACITY];
+
+        /**
+         * Inserts child at index, which must be at least 1, with all its items greater than those of the child before.
+         */
+        private void insert(int index, Node child)
+        {
+            System.arraycopy(this.children, index, this.children, index + 1, this.size - index);
+            System.arraycopy(this.keys, index - 1, this.keys, index, this.size - index);
+            this.children[index] = child;
+            this.keys[index - 1] = BTreeBag.firstItem(child);
+            this.size++;
+        }
+
+        private void remove(int index)
+        {
+            System.arraycopy(this.children, index + 1, this.children, index, this.size - index - 1);
+            System.arraycopy(this.keys, index, this.keys, index - 1, this.size - index - 1);
+            this.size--;
+            this.children[this.size] = null;
+            this.keys[this.size - 1] = null;
+        }
+
+        private Branch split(int index, Node child)
+        {
+            Branch right = new Branch();
+            int kept = NODE_CAPACITY / 2;
+            int moved = NODE_CAPACITY - kept;
+            System.arraycopy(this.children, kept, right.children, 0, moved);
+            System.arraycopy(this.keys, kept, right.keys, 0, moved - 1);
+            Arrays.fill(this.children, kept, NODE_CAPACITY, null);
+            Arrays.fill(this.keys, kept - 1, NODE_CAPACITY - 1, null);
+            this.size = kept;
+            right.size = moved;
+            if (index <= kept)
+            {
+                this.insert(index, child);
+            }
+            else
+            {
+                right.insert(index - kept, child);
+            }
+            this.recomputeTotals();
+            right.recomputeTotals();
+            return right;
+        }
+
+        /**
+         * Merges the child at index, which has too few entries, with a sibling, or moves entries into it from a
+         * sibling with entries to spare.
+         */
+        private void rebalance(int index)
+        {
+            int leftIndex = index == 0 ? 0 : index - 1;
+            Node left = this.children[leftIndex];
+            Node right = this.children[leftIndex + 1];
+            int total = left.size + right.size;
+            if (left instanceof Leaf)
+            {
+                Leaf leftLeaf = (Leaf) left;
+                Leaf rightLeaf = (Leaf) right;
+                if (total <= NODE_CAPACITY)
+                {
+                    rightLeaf.moveTo(leftLeaf, 0, rightLeaf.size);
+                    leftLeaf.next = rightLeaf.next;
+                    this.remove(leftIndex + 1);
+                    return;
+                }
+                if (leftLeaf.size > rightLeaf.size)
+                {
+                    int count = leftLeaf.size - total / 2;
+                    System.arraycopy(rightLeaf.items, 0, rightLeaf.items, count, rightLeaf.size);
+                    System.arraycopy(rightLeaf.counts, 0, rightLeaf.counts, count, rightLeaf.size);
+                    rightLeaf.size += count;
+                    leftLeaf.size -= count;
+                    System.arraycopy(leftLeaf.items, leftLeaf.size, rightLeaf.items, 0, count);
+                    System.arraycopy(leftLeaf.counts, leftLeaf.size, rightLeaf.counts, 0, count);
+                    Arrays.fill(leftLeaf.items, leftLeaf.size, leftLeaf.size + count, null);
+                    leftLeaf.recomputeTotals();
+                    rightLeaf.recomputeTotals();
+                }
+                else
+                {
+                    rightLeaf.moveTo(leftLeaf, 0, rightLeaf.size - total / 2);
+                }
+                this.keys[leftIndex] = rightLeaf.items[0];
+                return;
+            }
+
+            Branch leftBranch = (Branch) left;
+            Branch rightBranch = (Branch) right;
+            if (total <= NODE_CAPACITY)
+            {
+                leftBranch.keys[leftBranch.size - 1] = this.keys[leftIndex];
+                System.arraycopy(rightBranch.keys, 0, leftBranch.keys, leftBranch.size, rightBranch.size - 1);
+                System.arraycopy(rightBranch.children, 0, leftBranch.children, leftBranch.size, rightBranch.size);
+                leftBranch.size = total;
+                leftBranch.distinct += rightBranch.distinct;
+                leftBranch.occurrences += rightBranch.occurrences;
+                this.remove(leftIndex + 1);
+                return;
+            }
+            if (leftBranch.size > rightBranch.size)
+            {
+                int count = leftBranch.size - total / 2;
+                System.arraycopy(rightBranch.children, 0, rightBranch.children, count, rightBranch.size);
+                System.arraycopy(rightBranch.keys, 0, rightBranch.keys, count, rightBranch.size - 1);
+                rightBranch.keys[count - 1] = this.keys[leftIndex];
+                int from = leftBranch.size - count;
+                System.arraycopy(leftBranch.children, from, rightBranch.children, 0, count);
+                System.arraycopy(leftBranch.keys, from, rightBranch.keys, 0, count - 1);
+                this.keys[leftIndex] = leftBranch.keys[from - 1];
+                Arrays.fill(leftBranch.children, from, leftBranch.size, null);
+                Arrays.fill(leftBranch.keys, from - 1, leftBranch.size - 1, null);
+                leftBranch.size = from;
+                rightBranch.size += count;
+            }
+            else
+            {
+                int count = rightBranch.size - total / 2;
+                leftBranch.keys[leftBranch.size - 1] = this.keys[leftIndex];
+                System.arraycopy(rightBranch.keys, 0, leftBranch.keys, leftBranch.size, count - 1);
+                System.arraycopy(rightBranch.children, 0, leftBranch.children, leftBranch.size, count);
+                this.keys[leftIndex] = rightBranch.keys[count - 1];
+                int remaining = rightBranch.size - count;
+                System.arraycopy(rightBranch.children, count, rightBranch.children, 0, remaining);
+                System.arraycopy(rightBranch.keys, count, rightBranch.keys, 0, remaining - 1);
+                Arrays.fill(rightBranch.children, remaining, rightBranch.size, null);
+                Arrays.fill(rightBranch.keys, remaining - 1, rightBranch.size - 1, null);
+                leftBranch.size += count;
+                rightBranch.size = remaining;
+            }
+            leftBranch.recomputeTotals();
+            rightBranch.recomputeTotals();
+        }
+
+        @Override
+        protected void recomputeTotals()
+        {
+            int distinct = 0;
+            int occurrences = 0;
+            for (int i = 0; i < this.size; i++)
+            {
+                distinct += this.children[i].distinct;
+                occurrences += this.children[i].occurrences;
+            }
+            this.distinct = distinct;
+            this.occurrences = occurrences;
+        }
+    }
+
+    private class InternalIterator implements Iterator<T>
+    {
+        private int position;
+        private boolean isCurrentKeySet;
+        private Leaf leaf = BTreeBag.this.firstLeaf();
+        private int index;
+        private int currentKeyPosition;
+
+        public boolean hasNext()
+        {
+            return this.position != BTreeBag.this.size();
+        }
+
+        public T next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            if (this.index >= this.leaf.size || this.currentKeyPosition == this.leaf.counts[this.index])
+            {
+                this.currentKeyPosition = 0;
+                this.index++;
+                while (this.index >= this.leaf.size)
+                {
+                    this.leaf = this.leaf.next;
+                    this.index = 0;
+                }
+            }
+            this.isCurrentKeySet = true;
+            this.currentKeyPosition++;
+            this.position++;
+            return (T) this.leaf.items[this.index];
+        }
+
+        public void remove()
+        {
+            if (!this.isCurrentKeySet)
+            {
+                throw new IllegalStateException();
+            }
+            this.isCurrentKeySet = false;
+            this.position--;
+            this.currentKeyPosition--;
+
+            Object item = this.leaf.items[this.index];
+            BTreeBag.this.remove(item);
+            // The leaves may have been merged or rebalanced, so find the current item again
+            this.leaf = BTreeBag.this.findLeaf(item);
+            this.index = BTreeBag.this.search(this.leaf, item);
+            if (this.index < 0)
+            {
+                this.index = -this.index - 1;
+            }
+        }
+    }
+}
@@ -46,6 +46,11 @@ public final class MultimapPutProcedure<K, V> implements Procedure<V>
         return new MultimapPutProcedure<K, V>(multimap, keyFunction);
     }
 
+    public MutableMultimap<K, V> getMultimap()
+    {
+        return this.multimap;
+    }
+
     public void value(V each)
     {
         K key = this.keyFunction.valueOf(each);
@@ -43,6 +43,11 @@ public final class NonMutatingAggregationProcedure<T, K, V> implements Procedure
         this.nonMutatingAggregator = nonMutatingAggregator;
     }
 
+    public MutableMap<K, V> getMap()
+    {
+        return this.map;
+    }
+
     public void value(T each)
     {
         K key = this.groupBy.valueOf(each);
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.block.procedure;
+
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.Function0;
+import com.gs.collections.api.block.function.primitive.DoubleFunction;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+import com.gs.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+
+/**
+ * Sums the double values of the objects it is applied to, grouped by the key function.  Each sum uses Kahan
+ * summation, so the low order bits lost by each addition are kept as a compensation and fed back into the next
+ * addition to the same key.  The sum and the compensation of a key are kept together in a two element array, so
+ * each element costs a single lookup.
+ *
+ * @since 4.3
+ */
+public class SumByDoubleProcedure<T, V> implements Procedure<T>
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final Function0<double[]> NEW_SUM = new Function0<double[]>()
+    {
+        private static final long serialVersionUID = 1L;
+
+        public double[] value()
+        {
+            return new double[2];
+        }
+    };
+
+    private final MutableMap<V, double[]> sums = UnifiedMap.newMap();
+    private final Function<? super T, ? extends V> groupBy;
+    private final DoubleFunction<? super T> function;
+
+    public SumByDoubleProcedure(Function<? super T, ? extends V> groupBy, DoubleFunction<? super T> function)
+    {
+        this.groupBy = groupBy;
+        this.function = function;
+    }
+
+    public void value(T each)
+    {
+        this.add(this.groupBy.valueOf(each), this.function.doubleValueOf(each));
+    }
+
+    public void add(V key, double value)
+    {
+        double[] sum = this.sums.getIfAbsentPut(key, NEW_SUM);
+        double adjustedValue = value - sum[1];
+        double nextSum = sum[0] + adjustedValue;
+        sum[1] = nextSum - sum[0] - adjustedValue;
+        sum[0] = nextSum;
+    }
+
+    /**
+     * Returns the sum and the compensation of each key, as the first and second element of an array.
+     */
+    public MutableMap<V, double[]> getSums()
+    {
+        return this.sums;
+    }
+
+    public ObjectDoubleHashMap<V> getResult()
+    {
+        final ObjectDoubleHashMap<V> result = new ObjectDoubleHashMap<V>(this.sums.size());
+        this.sums.forEachKeyValue(new Procedure2<V, double[]>()
+        {
+            public void value(V key, double[] sum)
+            {
+                result.put(key, sum[0]);
+            }
+        });
+        return result;
+    }
+}
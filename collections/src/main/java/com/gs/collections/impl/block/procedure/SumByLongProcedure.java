@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.block.procedure;
+
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.primitive.LongFunction;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.impl.map.mutable.primitive.ObjectLongHashMap;
+
+/**
+ * Sums the long values of the objects it is applied to into an ObjectLongHashMap, grouped by the key function.
+ *
+ * @since 4.3
+ */
+public class SumByLongProcedure<T, V> implements Procedure<T>
+{
+    private static final long serialVersionUID = 1L;
+
+    private final ObjectLongHashMap<V> result = ObjectLongHashMap.newMap();
+    private final Function<? super T, ? extends V> groupBy;
+    private final LongFunction<? super T> function;
+
+    public SumByLongProcedure(Function<? super T, ? extends V> groupBy, LongFunction<? super T> function)
+    {
+        this.groupBy = groupBy;
+        this.function = function;
+    }
+
+    public void value(T each)
+    {
+        this.result.addToValue(this.groupBy.valueOf(each), this.function.longValueOf(each));
+    }
+
+    public ObjectLongHashMap<V> getResult()
+    {
+        return this.result;
+    }
+}
@@ -18,7 +18,9 @@ package com.gs.collections.impl.lazy;
 
 import java.util.Iterator;
 
+import com.gs.collections.api.LazyIterable;
 import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.predicate.Predicate;
 import com.gs.collections.api.block.procedure.Procedure;
 import com.gs.collections.api.block.procedure.Procedure2;
 import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
@@ -58,6 +60,24 @@ public class CollectIterable<T, V>
         Iterate.forEachWith(this.adapted, Functions.bind(procedure, this.function), parameter);
     }
 
+    @Override
+    public LazyIterable<V> select(Predicate<? super V> predicate)
+    {
+        return FusedIterable.fromCollect(this.adapted, this.function).select(predicate);
+    }
+
+    @Override
+    public LazyIterable<V> reject(Predicate<? super V> predicate)
+    {
+        return FusedIterable.fromCollect(this.adapted, this.function).reject(predicate);
+    }
+
+    @Override
+    public <R> LazyIterable<R> collect(Function<? super V, ? extends R> function)
+    {
+        return FusedIterable.fromCollect(this.adapted, this.function).collect(function);
+    }
+
     public Iterator<V> iterator()
     {
         return new CollectIterator<T, V>(this.adapted, this.function);
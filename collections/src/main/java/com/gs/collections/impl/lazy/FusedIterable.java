@@ -0,0 +1,235 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import com.gs.collections.impl.block.factory.Predicates;
+import com.gs.collections.impl.utility.Iterate;
+import net.jcip.annotations.Immutable;
+
+/**
+ * A FusedIterable is a run of select, reject and collect operations over a source iterable which is applied as a
+ * single stage.  Each element of the source is passed through the predicates and functions in order inside one loop,
+ * so a chain such as {@code people.asLazy().select(...).collect(...).select(...)} iterates the source once with one
+ * iterator and one procedure rather than one of each per operation.
+ * <p/>
+ * SelectIterable, RejectIterable and CollectIterable return a FusedIterable when another select, reject or collect
+ * is applied to them, and a FusedIterable appends further operations to itself.
+ *
+ * @since 4.3
+ */
+@Immutable
+public class FusedIterable<T, V>
+        extends AbstractLazyIterable<V>
+{
+    private static final Object FILTERED = new Object();
+
+    private final Iterable<T> adapted;
+    private final Object[] operations;
+    private final boolean[] filters;
+
+    private FusedIterable(Iterable<T> adapted, Object[] operations, boolean[] filters)
+    {
+        this.adapted = adapted;
+        this.operations = operations;
+        this.filters = filters;
+    }
+
+    public static <T> FusedIterable<T, T> fromSelect(Iterable<T> adapted, Predicate<? super T> predicate)
+    {
+        return new FusedIterable<T, T>(adapted, new Object[]{predicate}, new boolean[]{true});
+    }
+
+    public static <T, V> FusedIterable<T, V> fromCollect(Iterable<T> adapted, Function<? super T, ? extends V> function)
+    {
+        return new FusedIterable<T, V>(adapted, new Object[]{function}, new boolean[]{false});
+    }
+
+    private <R> FusedIterable<T, R> with(Object operation, boolean filter)
+    {
+        int length = this.operations.length;
+        Object[] newOperations = new Object[length + 1];
+        boolean[] newFilters = new boolean[length + 1];
+        System.arraycopy(this.operations, 0, newOperations, 0, length);
+        System.arraycopy(this.filters, 0, newFilters, 0, length);
+        newOperations[length] = operation;
+        newFilters[length] = filter;
+        return new FusedIterable<T, R>(this.adapted, newOperations, newFilters);
+    }
+
+    /**
+     * Applies every operation to {@code each}, returning the result or FILTERED if a predicate rejected it.
+     */
+    private Object apply(T each)
+    {
+        Object result = each;
+        for (int i = 0; i < this.operations.length; i++)
+        {
+            if (this.filters[i])
+            {
+                if (!((Predicate<Object>) this.operations[i]).accept(result))
+                {
+                    return FILTERED;
+                }
+            }
+            else
+            {
+                result = ((Function<Object, Object>) this.operations[i]).valueOf(result);
+            }
+        }
+        return result;
+    }
+
+    private boolean hasFilters()
+    {
+        for (boolean filter : this.filters)
+        {
+            if (filter)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public LazyIterable<V> select(Predicate<? super V> predicate)
+    {
+        return this.with(predicate, true);
+    }
+
+    @Override
+    public LazyIterable<V> reject(Predicate<? super V> predicate)
+    {
+        return this.with(Predicates.not(predicate), true);
+    }
+
+    @Override
+    public <R> LazyIterable<R> collect(Function<? super V, ? extends R> function)
+    {
+        return this.with(function, false);
+    }
+
+    public void forEach(final Procedure<? super V> procedure)
+    {
+        Iterate.forEach(this.adapted, new Procedure<T>()
+        {
+            public void value(T each)
+            {
+                Object result = FusedIterable.this.apply(each);
+                if (result != FILTERED)
+                {
+                    procedure.value((V) result);
+                }
+            }
+        });
+    }
+
+    public void forEachWithIndex(final ObjectIntProcedure<? super V> objectIntProcedure)
+    {
+        Iterate.forEach(this.adapted, new Procedure<T>()
+        {
+            private int index;
+
+            public void value(T each)
+            {
+                Object result = FusedIterable.this.apply(each);
+                if (result != FILTERED)
+                {
+                    objectIntProcedure.value((V) result, this.index++);
+                }
+            }
+        });
+    }
+
+    public <P> void forEachWith(final Procedure2<? super V, ? super P> procedure, final P parameter)
+    {
+        Iterate.forEach(this.adapted, new Procedure<T>()
+        {
+            public void value(T each)
+            {
+                Object result = FusedIterable.this.apply(each);
+                if (result != FILTERED)
+                {
+                    procedure.value((V) result, parameter);
+                }
+            }
+        });
+    }
+
+    public Iterator<V> iterator()
+    {
+        return new FusedIterator();
+    }
+
+    @Override
+    public int size()
+    {
+        return this.hasFilters() ? super.size() : Iterate.sizeOf(this.adapted);
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.hasFilters() ? super.isEmpty() : Iterate.isEmpty(this.adapted);
+    }
+
+    @Override
+    public boolean notEmpty()
+    {
+        return !this.isEmpty();
+    }
+
+    private final class FusedIterator implements Iterator<V>
+    {
+        private final Iterator<T> iterator = FusedIterable.this.adapted.iterator();
+        private Object next = FILTERED;
+
+        public boolean hasNext()
+        {
+            while (this.next == FILTERED && this.iterator.hasNext())
+            {
+                this.next = FusedIterable.this.apply(this.iterator.next());
+            }
+            return this.next != FILTERED;
+        }
+
+        public V next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            Object result = this.next;
+            this.next = FILTERED;
+            return (V) result;
+        }
+
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot remove from a fused iterator");
+        }
+    }
+}
@@ -18,6 +18,8 @@ package com.gs.collections.impl.lazy;
 
 import java.util.Iterator;
 
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.api.block.function.Function;
 import com.gs.collections.api.block.predicate.Predicate;
 import com.gs.collections.api.block.procedure.Procedure;
 import com.gs.collections.api.block.procedure.Procedure2;
@@ -61,6 +63,24 @@ public class RejectIterable<T>
         Iterate.forEachWith(this.adapted, new IfProcedureWith<T, P>(this.predicate, procedure), parameter);
     }
 
+    @Override
+    public LazyIterable<T> select(Predicate<? super T> predicate)
+    {
+        return FusedIterable.fromSelect(this.adapted, this.predicate).select(predicate);
+    }
+
+    @Override
+    public LazyIterable<T> reject(Predicate<? super T> predicate)
+    {
+        return FusedIterable.fromSelect(this.adapted, this.predicate).reject(predicate);
+    }
+
+    @Override
+    public <V> LazyIterable<V> collect(Function<? super T, ? extends V> function)
+    {
+        return FusedIterable.fromSelect(this.adapted, this.predicate).collect(function);
+    }
+
     /**
      * We use a SelectIterator, since we have already negated the predicate
      */
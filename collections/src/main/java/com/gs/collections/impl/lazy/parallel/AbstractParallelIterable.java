@@ -0,0 +1,350 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel;
+
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+
+import com.gs.collections.api.ParallelIterable;
+import com.gs.collections.api.bag.MutableBag;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.Function0;
+import com.gs.collections.api.block.function.Function2;
+import com.gs.collections.api.block.function.primitive.DoubleFunction;
+import com.gs.collections.api.block.function.primitive.FloatFunction;
+import com.gs.collections.api.block.function.primitive.IntFunction;
+import com.gs.collections.api.block.function.primitive.LongFunction;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.api.map.MapIterable;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.api.multimap.Multimap;
+import com.gs.collections.api.multimap.MutableMultimap;
+import com.gs.collections.api.set.MutableSet;
+import com.gs.collections.impl.bag.mutable.HashBag;
+import com.gs.collections.impl.block.factory.Predicates;
+import com.gs.collections.impl.block.procedure.CollectionAddProcedure;
+import com.gs.collections.impl.block.procedure.CountProcedure;
+import com.gs.collections.impl.block.procedure.MutatingAggregationProcedure;
+import com.gs.collections.impl.block.procedure.NonMutatingAggregationProcedure;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.multimap.bag.HashBagMultimap;
+import com.gs.collections.impl.parallel.BatchIterable;
+import com.gs.collections.impl.parallel.Combiner;
+import com.gs.collections.impl.parallel.CountCombiner;
+import com.gs.collections.impl.parallel.CountProcedureFactory;
+import com.gs.collections.impl.parallel.ParallelIterate;
+import com.gs.collections.impl.parallel.PassThruCombiner;
+import com.gs.collections.impl.parallel.PassThruProcedureFactory;
+import com.gs.collections.impl.parallel.ProcedureFactory;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+
+/**
+ * AbstractParallelIterable is the base class for all parallel iterables.  Each intermediate operation is a thin
+ * wrapper which decorates the procedure passed to {@link #batchForEach(Procedure, int, int)} before delegating to the
+ * previous stage, so evaluating a chain of operations runs a single fused procedure over each batch of the root
+ * {@link BatchIterable}.  The batches are executed using the same task runners as {@link ParallelIterate}.
+ */
+public abstract class AbstractParallelIterable<T>
+        implements ParallelIterable<T>
+{
+    protected final ExecutorService executorService;
+    protected final int batchSize;
+
+    protected AbstractParallelIterable(ExecutorService executorService, int batchSize)
+    {
+        if (executorService == null)
+        {
+            throw new IllegalArgumentException("Cannot create a ParallelIterable with a null executorService");
+        }
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException("Batch size must be positive but was: " + batchSize);
+        }
+        this.executorService = executorService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Evaluates the procedure for each element of this iterable that is produced by the specified section of the
+     * root iterable.
+     */
+    protected abstract void batchForEach(Procedure<? super T> procedure, int sectionIndex, int sectionCount);
+
+    /**
+     * Returns the size of the root iterable, which is an upper bound for the number of elements in this iterable.
+     */
+    protected abstract int getRootSize();
+
+    /**
+     * Returns the number of sections the root iterable can be split into using the specified batch size.
+     */
+    protected abstract int getBatchCount(int batchSize);
+
+    protected <BT extends Procedure<? super T>> void forEach(ProcedureFactory<BT> procedureFactory, Combiner<BT> combiner)
+    {
+        ParallelIterate.forEachInBatchWithExecutor(
+                new SectionedBatchIterable(),
+                procedureFactory,
+                combiner,
+                this.batchSize,
+                this.getBatchCount(this.batchSize),
+                this.executorService);
+    }
+
+    public ParallelIterable<T> select(Predicate<? super T> predicate)
+    {
+        return new ParallelSelectIterable<T>(this, predicate);
+    }
+
+    public ParallelIterable<T> reject(Predicate<? super T> predicate)
+    {
+        return this.select(Predicates.not(predicate));
+    }
+
+    public <V> ParallelIterable<V> collect(Function<? super T, ? extends V> function)
+    {
+        return new ParallelCollectIterable<T, V>(this, function);
+    }
+
+    public <V> ParallelIterable<V> flatCollect(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return new ParallelFlatCollectIterable<T, V>(this, function);
+    }
+
+    public void forEach(Procedure<? super T> procedure)
+    {
+        this.forEach(
+                new PassThruProcedureFactory<Procedure<? super T>>(procedure),
+                new PassThruCombiner<Procedure<? super T>>());
+    }
+
+    public T detect(Predicate<? super T> predicate)
+    {
+        DetectProcedure<T> procedure = new DetectProcedure<T>(predicate);
+        this.forEach(new PassThruProcedureFactory<DetectProcedure<T>>(procedure), new PassThruCombiner<DetectProcedure<T>>());
+        return procedure.getResult();
+    }
+
+    public boolean anySatisfy(Predicate<? super T> predicate)
+    {
+        DetectProcedure<T> procedure = new DetectProcedure<T>(predicate);
+        this.forEach(new PassThruProcedureFactory<DetectProcedure<T>>(procedure), new PassThruCombiner<DetectProcedure<T>>());
+        return procedure.isFound();
+    }
+
+    public boolean allSatisfy(Predicate<? super T> predicate)
+    {
+        return !this.anySatisfy(Predicates.not(predicate));
+    }
+
+    public boolean noneSatisfy(Predicate<? super T> predicate)
+    {
+        return !this.anySatisfy(predicate);
+    }
+
+    public int count(Predicate<? super T> predicate)
+    {
+        CountCombiner<T> combiner = new CountCombiner<T>();
+        this.forEach(new CountProcedureFactory<T>(predicate), combiner);
+        return combiner.getCount();
+    }
+
+    public MutableList<T> toList()
+    {
+        return this.into(FastList.<T>newList());
+    }
+
+    public MutableSet<T> toSet()
+    {
+        return this.into(UnifiedSet.<T>newSet());
+    }
+
+    public MutableBag<T> toBag()
+    {
+        return this.into(HashBag.<T>newBag());
+    }
+
+    /**
+     * Adds each batch to a FastList of its own and then adds the batches to the target in the order of the sections
+     * of the root iterable.
+     */
+    private <R extends Collection<T>> R into(R target)
+    {
+        ProcedureListCombiner<CollectionAddProcedure<T>> combiner = new ProcedureListCombiner<CollectionAddProcedure<T>>();
+        this.forEach(new ProcedureFactory<CollectionAddProcedure<T>>()
+        {
+            public CollectionAddProcedure<T> create()
+            {
+                return new CollectionAddProcedure<T>(FastList.<T>newList());
+            }
+        }, combiner);
+        for (CollectionAddProcedure<T> procedure : combiner.getProcedures())
+        {
+            target.addAll(procedure.getResult());
+        }
+        return target;
+    }
+
+    public long sumOfInt(final IntFunction<? super T> function)
+    {
+        ProcedureListCombiner<SumOfIntProcedure<T>> combiner = new ProcedureListCombiner<SumOfIntProcedure<T>>();
+        this.forEach(new ProcedureFactory<SumOfIntProcedure<T>>()
+        {
+            public SumOfIntProcedure<T> create()
+            {
+                return new SumOfIntProcedure<T>(function);
+            }
+        }, combiner);
+        long sum = 0L;
+        for (SumOfIntProcedure<T> procedure : combiner.getProcedures())
+        {
+            sum += procedure.getResult();
+        }
+        return sum;
+    }
+
+    public double sumOfFloat(final FloatFunction<? super T> function)
+    {
+        ProcedureListCombiner<SumOfFloatProcedure<T>> combiner = new ProcedureListCombiner<SumOfFloatProcedure<T>>();
+        this.forEach(new ProcedureFactory<SumOfFloatProcedure<T>>()
+        {
+            public SumOfFloatProcedure<T> create()
+            {
+                return new SumOfFloatProcedure<T>(function);
+            }
+        }, combiner);
+        double sum = 0.0d;
+        for (SumOfFloatProcedure<T> procedure : combiner.getProcedures())
+        {
+            sum += procedure.getResult();
+        }
+        return sum;
+    }
+
+    public long sumOfLong(final LongFunction<? super T> function)
+    {
+        ProcedureListCombiner<SumOfLongProcedure<T>> combiner = new ProcedureListCombiner<SumOfLongProcedure<T>>();
+        this.forEach(new ProcedureFactory<SumOfLongProcedure<T>>()
+        {
+            public SumOfLongProcedure<T> create()
+            {
+                return new SumOfLongProcedure<T>(function);
+            }
+        }, combiner);
+        long sum = 0L;
+        for (SumOfLongProcedure<T> procedure : combiner.getProcedures())
+        {
+            sum += procedure.getResult();
+        }
+        return sum;
+    }
+
+    public double sumOfDouble(final DoubleFunction<? super T> function)
+    {
+        ProcedureListCombiner<SumOfDoubleProcedure<T>> combiner = new ProcedureListCombiner<SumOfDoubleProcedure<T>>();
+        this.forEach(new ProcedureFactory<SumOfDoubleProcedure<T>>()
+        {
+            public SumOfDoubleProcedure<T> create()
+            {
+                return new SumOfDoubleProcedure<T>(function);
+            }
+        }, combiner);
+        double sum = 0.0d;
+        for (SumOfDoubleProcedure<T> procedure : combiner.getProcedures())
+        {
+            sum += procedure.getResult();
+        }
+        return sum;
+    }
+
+    public <V> Multimap<V, T> groupBy(Function<? super T, ? extends V> function)
+    {
+        return this.groupBy(function, HashBagMultimap.<V, T>newMultimap());
+    }
+
+    /**
+     * Groups each batch into an empty copy of the target and then merges the partial multimaps into the target in the
+     * order of the sections of the root iterable.
+     */
+    protected <V, R extends MutableMultimap<V, T>> R groupBy(final Function<? super T, ? extends V> function, final R target)
+    {
+        ProcedureListCombiner<GroupByProcedure<V, T>> combiner = new ProcedureListCombiner<GroupByProcedure<V, T>>();
+        this.forEach(new ProcedureFactory<GroupByProcedure<V, T>>()
+        {
+            public GroupByProcedure<V, T> create()
+            {
+                return new GroupByProcedure<V, T>(target.newEmpty(), function);
+            }
+        }, combiner);
+        for (GroupByProcedure<V, T> procedure : combiner.getProcedures())
+        {
+            target.putAll(procedure.getResult());
+        }
+        return target;
+    }
+
+    public <K, V> MapIterable<K, V> aggregateInPlaceBy(
+            Function<? super T, ? extends K> groupBy,
+            Function0<? extends V> zeroValueFactory,
+            Procedure2<? super V, ? super T> mutatingAggregator)
+    {
+        MutableMap<K, V> map = ConcurrentHashMap.newMap();
+        this.forEach(new MutatingAggregationProcedure<T, K, V>(map, groupBy, zeroValueFactory, mutatingAggregator));
+        return map;
+    }
+
+    public <K, V> MapIterable<K, V> aggregateBy(
+            Function<? super T, ? extends K> groupBy,
+            Function0<? extends V> zeroValueFactory,
+            Function2<? super V, ? super T, ? extends V> nonMutatingAggregator)
+    {
+        MutableMap<K, V> map = ConcurrentHashMap.newMap();
+        this.forEach(new NonMutatingAggregationProcedure<T, K, V>(map, groupBy, zeroValueFactory, nonMutatingAggregator));
+        return map;
+    }
+
+    /**
+     * Exposes this iterable to the {@link ParallelIterate} task runners.  Sizes and sections are those of the root
+     * iterable.
+     */
+    private final class SectionedBatchIterable implements BatchIterable<T>
+    {
+        public void batchForEach(Procedure<? super T> procedure, int sectionIndex, int sectionCount)
+        {
+            AbstractParallelIterable.this.batchForEach(procedure, sectionIndex, sectionCount);
+        }
+
+        public int size()
+        {
+            return AbstractParallelIterable.this.getRootSize();
+        }
+
+        public int getBatchCount(int batchSize)
+        {
+            return AbstractParallelIterable.this.getBatchCount(batchSize);
+        }
+
+        public void forEach(Procedure<? super T> procedure)
+        {
+            AbstractParallelIterable.this.batchForEach(procedure, 0, 1);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel;
+
+import java.util.concurrent.ExecutorService;
+
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.list.ParallelListIterable;
+import com.gs.collections.api.multimap.list.ListMultimap;
+import com.gs.collections.impl.block.factory.Predicates;
+import com.gs.collections.impl.multimap.list.FastListMultimap;
+
+public abstract class AbstractParallelListIterable<T>
+        extends AbstractParallelIterable<T>
+        implements ParallelListIterable<T>
+{
+    protected AbstractParallelListIterable(ExecutorService executorService, int batchSize)
+    {
+        super(executorService, batchSize);
+    }
+
+    @Override
+    public ParallelListIterable<T> select(Predicate<? super T> predicate)
+    {
+        return new ParallelSelectListIterable<T>(this, predicate);
+    }
+
+    @Override
+    public ParallelListIterable<T> reject(Predicate<? super T> predicate)
+    {
+        return this.select(Predicates.not(predicate));
+    }
+
+    @Override
+    public <V> ParallelListIterable<V> collect(Function<? super T, ? extends V> function)
+    {
+        return new ParallelCollectListIterable<T, V>(this, function);
+    }
+
+    @Override
+    public <V> ParallelListIterable<V> flatCollect(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return new ParallelFlatCollectListIterable<T, V>(this, function);
+    }
+
+    @Override
+    public <V> ListMultimap<V, T> groupBy(Function<? super T, ? extends V> function)
+    {
+        return this.groupBy(function, FastListMultimap.<V, T>newMultimap());
+    }
+}
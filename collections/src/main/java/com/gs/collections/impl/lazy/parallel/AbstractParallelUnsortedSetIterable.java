@@ -0,0 +1,54 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel;
+
+import java.util.concurrent.ExecutorService;
+
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.multimap.set.SetMultimap;
+import com.gs.collections.api.set.ParallelUnsortedSetIterable;
+import com.gs.collections.impl.block.factory.Predicates;
+import com.gs.collections.impl.multimap.set.UnifiedSetMultimap;
+
+public abstract class AbstractParallelUnsortedSetIterable<T>
+        extends AbstractParallelIterable<T>
+        implements ParallelUnsortedSetIterable<T>
+{
+    protected AbstractParallelUnsortedSetIterable(ExecutorService executorService, int batchSize)
+    {
+        super(executorService, batchSize);
+    }
+
+    @Override
+    public ParallelUnsortedSetIterable<T> select(Predicate<? super T> predicate)
+    {
+        return new ParallelSelectUnsortedSetIterable<T>(this, predicate);
+    }
+
+    @Override
+    public ParallelUnsortedSetIterable<T> reject(Predicate<? super T> predicate)
+    {
+        return this.select(Predicates.not(predicate));
+    }
+
+    @Override
+    public <V> SetMultimap<V, T> groupBy(Function<? super T, ? extends V> function)
+    {
+        return this.groupBy(function, UnifiedSetMultimap.<V, T>newMultimap());
+    }
+}
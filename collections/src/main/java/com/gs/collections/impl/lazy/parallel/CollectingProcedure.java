@@ -0,0 +1,42 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel;
+
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.procedure.Procedure;
+
+/**
+ * Applies a function to each element and passes the result on to the procedure of the next stage.
+ */
+final class CollectingProcedure<T, V> implements Procedure<T>
+{
+    private static final long serialVersionUID = 1L;
+
+    private final Function<? super T, ? extends V> function;
+    private final Procedure<? super V> procedure;
+
+    CollectingProcedure(Function<? super T, ? extends V> function, Procedure<? super V> procedure)
+    {
+        this.function = function;
+        this.procedure = procedure;
+    }
+
+    public void value(T each)
+    {
+        this.procedure.value(this.function.valueOf(each));
+    }
+}
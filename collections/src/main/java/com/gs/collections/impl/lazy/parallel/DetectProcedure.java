@@ -0,0 +1,58 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.block.procedure.Procedure;
+
+/**
+ * A procedure shared by all batches which remembers the first element found to satisfy the predicate.  Once an element
+ * has been found, the predicate is no longer evaluated for the remaining elements of any batch.
+ */
+final class DetectProcedure<T> implements Procedure<T>
+{
+    private static final long serialVersionUID = 1L;
+
+    private final Predicate<? super T> predicate;
+    private final AtomicBoolean found = new AtomicBoolean(false);
+    private volatile T result;
+
+    DetectProcedure(Predicate<? super T> predicate)
+    {
+        this.predicate = predicate;
+    }
+
+    public void value(T each)
+    {
+        if (!this.found.get() && this.predicate.accept(each) && this.found.compareAndSet(false, true))
+        {
+            this.result = each;
+        }
+    }
+
+    public boolean isFound()
+    {
+        return this.found.get();
+    }
+
+    public T getResult()
+    {
+        return this.result;
+    }
+}
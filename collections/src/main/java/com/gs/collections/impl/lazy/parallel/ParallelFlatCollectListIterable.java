@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel;
+
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.procedure.Procedure;
+import net.jcip.annotations.Immutable;
+
+/**
+ * A parallel iterable which flattens the iterables produced from the elements of the previous stage as each batch is evaluated.
+ */
+@Immutable
+final class ParallelFlatCollectListIterable<T, V>
+        extends AbstractParallelListIterable<V>
+{
+    private final AbstractParallelIterable<T> delegate;
+    private final Function<? super T, ? extends Iterable<V>> function;
+
+    ParallelFlatCollectListIterable(AbstractParallelIterable<T> delegate, Function<? super T, ? extends Iterable<V>> function)
+    {
+        super(delegate.executorService, delegate.batchSize);
+        this.delegate = delegate;
+        this.function = function;
+    }
+
+    @Override
+    protected void batchForEach(Procedure<? super V> procedure, int sectionIndex, int sectionCount)
+    {
+        this.delegate.batchForEach(new FlatCollectingProcedure<T, V>(this.function, procedure), sectionIndex, sectionCount);
+    }
+
+    @Override
+    protected int getRootSize()
+    {
+        return this.delegate.getRootSize();
+    }
+
+    @Override
+    protected int getBatchCount(int batchSize)
+    {
+        return this.delegate.getBatchCount(batchSize);
+    }
+}
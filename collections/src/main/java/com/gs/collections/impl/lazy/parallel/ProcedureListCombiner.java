@@ -0,0 +1,48 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel;
+
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.parallel.AbstractProcedureCombiner;
+
+/**
+ * Keeps the procedure of each batch, in the order of the sections of the root iterable, so that the calling thread
+ * can merge their results once all of the batches have completed.
+ */
+final class ProcedureListCombiner<BT>
+        extends AbstractProcedureCombiner<BT>
+{
+    private static final long serialVersionUID = 1L;
+
+    private final MutableList<BT> procedures = FastList.newList();
+
+    ProcedureListCombiner()
+    {
+        super(false);
+    }
+
+    public void combineOne(BT procedure)
+    {
+        this.procedures.add(procedure);
+    }
+
+    public MutableList<BT> getProcedures()
+    {
+        return this.procedures;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel;
+
+import com.gs.collections.api.block.function.primitive.FloatFunction;
+import com.gs.collections.api.block.procedure.Procedure;
+
+/**
+ * Sums the result of a FloatFunction over the elements of a single batch.
+ */
+final class SumOfFloatProcedure<T> implements Procedure<T>
+{
+    private static final long serialVersionUID = 1L;
+
+    private final FloatFunction<? super T> function;
+    private double result = 0.0d;
+
+    SumOfFloatProcedure(FloatFunction<? super T> function)
+    {
+        this.function = function;
+    }
+
+    public void value(T each)
+    {
+        this.result += this.function.floatValueOf(each);
+    }
+
+    public double getResult()
+    {
+        return this.result;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel;
+
+import java.util.concurrent.ExecutorService;
+
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+import net.jcip.annotations.Immutable;
+
+/**
+ * The root of a chain of parallel operations over the values of a UnifiedMap.
+ *
+ * @see UnifiedMap#asParallel(ExecutorService, int)
+ */
+@Immutable
+public final class UnifiedMapParallelIterable<T>
+        extends AbstractParallelIterable<T>
+{
+    private final UnifiedMap<?, T> delegate;
+
+    public UnifiedMapParallelIterable(UnifiedMap<?, T> delegate, ExecutorService executorService, int batchSize)
+    {
+        super(executorService, batchSize);
+        this.delegate = delegate;
+    }
+
+    @Override
+    protected void batchForEach(Procedure<? super T> procedure, int sectionIndex, int sectionCount)
+    {
+        this.delegate.batchForEach(procedure, sectionIndex, sectionCount);
+    }
+
+    @Override
+    protected int getRootSize()
+    {
+        return this.delegate.size();
+    }
+
+    @Override
+    protected int getBatchCount(int batchSize)
+    {
+        return this.delegate.getBatchCount(batchSize);
+    }
+}
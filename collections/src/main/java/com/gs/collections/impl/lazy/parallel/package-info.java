@@ -0,0 +1,24 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * This package contains implementations of the {@link com.gs.collections.api.ParallelIterable} interface.
+ * <p>
+ *     A ParallelIterable defers evaluation of select, reject, collect and flatCollect, and fuses them into a single
+ *     pass over each batch of the source when a terminal method like forEach, detect, sumOfInt or groupBy is called.
+ * </p>
+ */
+
+package com.gs.collections.impl.lazy.parallel;
@@ -45,7 +45,7 @@ import net.jcip.annotations.Immutable;
  */
 @Immutable
 public class CollectBooleanIterable<T>
-        implements LazyBooleanIterable
+        extends AbstractLazyBooleanIterable
 {
     private final LazyIterable<T> iterable;
     private final BooleanFunction<? super T> function;
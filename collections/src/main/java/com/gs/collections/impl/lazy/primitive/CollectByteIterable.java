@@ -48,7 +48,7 @@ import net.jcip.annotations.Immutable;
  */
 @Immutable
 public class CollectByteIterable<T>
-        implements LazyByteIterable
+        extends AbstractLazyByteIterable
 {
     private final LazyIterable<T> iterable;
     private final ByteFunction<? super T> function;
@@ -239,23 +239,6 @@ public class CollectByteIterable<T>
         return (double) this.sum() / (double) this.size();
     }
 
-    public double median()
-    {
-        if (this.isEmpty())
-        {
-            throw new ArithmeticException();
-        }
-        byte[] sortedArray = this.toSortedArray();
-        int i = sortedArray.length >> 1;
-        if (sortedArray.length > 1 && (sortedArray.length & 1) == 0)
-        {
-            int first = sortedArray[i];
-            int second = sortedArray[i - 1];
-            return ((double) first + (double) second) / 2.0d;
-        }
-        return (double) sortedArray[i];
-    }
-
     public byte[] toArray()
     {
         final byte[] array = new byte[this.size()];
@@ -48,7 +48,7 @@ import net.jcip.annotations.Immutable;
  */
 @Immutable
 public class CollectCharIterable<T>
-        implements LazyCharIterable
+        extends AbstractLazyCharIterable
 {
     private final LazyIterable<T> iterable;
     private final CharFunction<? super T> function;
@@ -239,23 +239,6 @@ public class CollectCharIterable<T>
         return (double) this.sum() / (double) this.size();
     }
 
-    public double median()
-    {
-        if (this.isEmpty())
-        {
-            throw new ArithmeticException();
-        }
-        char[] sortedArray = this.toSortedArray();
-        int i = sortedArray.length >> 1;
-        if (sortedArray.length > 1 && (sortedArray.length & 1) == 0)
-        {
-            int first = sortedArray[i];
-            int second = sortedArray[i - 1];
-            return ((double) first + (double) second) / 2.0d;
-        }
-        return (double) sortedArray[i];
-    }
-
     public char[] toArray()
     {
         final char[] array = new char[this.size()];
@@ -48,7 +48,7 @@ import net.jcip.annotations.Immutable;
  */
 @Immutable
 public class CollectDoubleIterable<T>
-        implements LazyDoubleIterable
+        extends AbstractLazyDoubleIterable
 {
     private final LazyIterable<T> iterable;
     private final DoubleFunction<? super T> function;
@@ -237,23 +237,6 @@ public class CollectDoubleIterable<T>
         return this.sum() / (double) this.size();
     }
 
-    public double median()
-    {
-        if (this.isEmpty())
-        {
-            throw new ArithmeticException();
-        }
-        double[] sortedArray = this.toSortedArray();
-        int i = sortedArray.length >> 1;
-        if (sortedArray.length > 1 && (sortedArray.length & 1) == 0)
-        {
-            double first = sortedArray[i];
-            double second = sortedArray[i - 1];
-            return (first + second) / 2.0d;
-        }
-        return sortedArray[i];
-    }
-
     public double[] toArray()
     {
         final double[] array = new double[this.size()];
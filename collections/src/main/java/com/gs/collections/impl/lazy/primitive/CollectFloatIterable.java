@@ -48,7 +48,7 @@ import net.jcip.annotations.Immutable;
  */
 @Immutable
 public class CollectFloatIterable<T>
-        implements LazyFloatIterable
+        extends AbstractLazyFloatIterable
 {
     private final LazyIterable<T> iterable;
     private final FloatFunction<? super T> function;
@@ -237,23 +237,6 @@ public class CollectFloatIterable<T>
         return this.sum() / (double) this.size();
     }
 
-    public double median()
-    {
-        if (this.isEmpty())
-        {
-            throw new ArithmeticException();
-        }
-        float[] sortedArray = this.toSortedArray();
-        int i = sortedArray.length >> 1;
-        if (sortedArray.length > 1 && (sortedArray.length & 1) == 0)
-        {
-            float first = sortedArray[i];
-            float second = sortedArray[i - 1];
-            return ((double) first + (double) second) / 2.0d;
-        }
-        return (double) sortedArray[i];
-    }
-
     public float[] toArray()
     {
         final float[] array = new float[this.size()];
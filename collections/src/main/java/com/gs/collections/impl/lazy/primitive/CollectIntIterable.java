@@ -48,7 +48,7 @@ import net.jcip.annotations.Immutable;
  */
 @Immutable
 public class CollectIntIterable<T>
-        implements LazyIntIterable
+        extends AbstractLazyIntIterable
 {
     private final LazyIterable<T> iterable;
     private final IntFunction<? super T> function;
@@ -237,23 +237,6 @@ public class CollectIntIterable<T>
         return (double) this.sum() / (double) this.size();
     }
 
-    public double median()
-    {
-        if (this.isEmpty())
-        {
-            throw new ArithmeticException();
-        }
-        int[] sortedArray = this.toSortedArray();
-        int i = sortedArray.length >> 1;
-        if (sortedArray.length > 1 && (sortedArray.length & 1) == 0)
-        {
-            int first = sortedArray[i];
-            int second = sortedArray[i - 1];
-            return ((double) first + (double) second) / 2.0d;
-        }
-        return (double) sortedArray[i];
-    }
-
     public int[] toArray()
     {
         final int[] array = new int[this.size()];
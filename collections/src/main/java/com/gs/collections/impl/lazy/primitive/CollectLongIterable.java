@@ -48,7 +48,7 @@ import net.jcip.annotations.Immutable;
  */
 @Immutable
 public class CollectLongIterable<T>
-        implements LazyLongIterable
+        extends AbstractLazyLongIterable
 {
     private final LazyIterable<T> iterable;
     private final LongFunction<? super T> function;
@@ -237,23 +237,6 @@ public class CollectLongIterable<T>
         return (double) this.sum() / (double) this.size();
     }
 
-    public double median()
-    {
-        if (this.isEmpty())
-        {
-            throw new ArithmeticException();
-        }
-        long[] sortedArray = this.toSortedArray();
-        int i = sortedArray.length >> 1;
-        if (sortedArray.length > 1 && (sortedArray.length & 1) == 0)
-        {
-            long first = sortedArray[i];
-            long second = sortedArray[i - 1];
-            return ((double) first + (double) second) / 2.0d;
-        }
-        return (double) sortedArray[i];
-    }
-
     public long[] toArray()
     {
         final long[] array = new long[this.size()];
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.list.immutable;
+
+import java.io.Serializable;
+import java.util.RandomAccess;
+
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.list.ImmutableList;
+import com.gs.collections.impl.utility.Iterate;
+import net.jcip.annotations.Immutable;
+
+/**
+ * PersistentImmutableList is an ImmutableList stored as a bit-partitioned trie of 32-element nodes, with the last (up
+ * to 32) elements held in a separate tail array.  {@link #newWith(Object)} and removing the last element copy only the
+ * tail and the path from the root to the last leaf, so they are O(log32 n) and the new list shares every other node
+ * with the original.  This makes it a good choice for keeping many versions of a large list which grows at the end.
+ * <p/>
+ * Removing any other element rebuilds the list in O(n), as it does for the other ImmutableList implementations.
+ *
+ * @since 4.3
+ */
+@Immutable
+public final class PersistentImmutableList<T>
+        extends AbstractImmutableList<T>
+        implements Serializable, RandomAccess
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentImmutableList<?> EMPTY = new PersistentImmutableList<Object>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentImmutableList(int size, int shift, Object[] root, Object[] tail)
+    {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    public static <T> PersistentImmutableList<T> empty()
+    {
+        return (PersistentImmutableList<T>) EMPTY;
+    }
+
+    public static <T> PersistentImmutableList<T> newList(Iterable<? extends T> iterable)
+    {
+        return PersistentImmutableList.fromArray(Iterate.toArray(iterable));
+    }
+
+    public static <T> PersistentImmutableList<T> newListWith(T... elements)
+    {
+        return PersistentImmutableList.fromArray(elements);
+    }
+
+    /**
+     * Builds the trie bottom up, filling every leaf but the tail, so that it has the same shape as a list built by
+     * appending the elements one at a time.
+     */
+    private static <T> PersistentImmutableList<T> fromArray(Object[] elements)
+    {
+        int size = elements.length;
+        if (size == 0)
+        {
+            return PersistentImmutableList.empty();
+        }
+        int tailOffset = PersistentImmutableList.tailOffset(size);
+        Object[] tail = new Object[size - tailOffset];
+        System.arraycopy(elements, tailOffset, tail, 0, tail.length);
+
+        Object[] nodes = new Object[tailOffset >>> BITS];
+        for (int i = 0; i < nodes.length; i++)
+        {
+            Object[] leaf = new Object[WIDTH];
+            System.arraycopy(elements, i << BITS, leaf, 0, WIDTH);
+            nodes[i] = leaf;
+        }
+        int shift = BITS;
+        while (nodes.length > WIDTH)
+        {
+            Object[] parents = new Object[(nodes.length + MASK) >>> BITS];
+            for (int i = 0; i < parents.length; i++)
+            {
+                Object[] parent = new Object[WIDTH];
+                System.arraycopy(nodes, i << BITS, parent, 0, Math.min(WIDTH, nodes.length - (i << BITS)));
+                parents[i] = parent;
+            }
+            nodes = parents;
+            shift += BITS;
+        }
+        Object[] root = new Object[WIDTH];
+        System.arraycopy(nodes, 0, root, 0, nodes.length);
+        return new PersistentImmutableList<T>(size, shift, root, tail);
+    }
+
+    private static int tailOffset(int size)
+    {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    public T get(int index)
+    {
+        if (index < 0 || index >= this.size)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+        return (T) this.leafFor(index)[index & MASK];
+    }
+
+    private Object[] leafFor(int index)
+    {
+        if (index >= PersistentImmutableList.tailOffset(this.size))
+        {
+            return this.tail;
+        }
+        Object[] node = this.root;
+        for (int level = this.shift; level > 0; level -= BITS)
+        {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    public void forEach(Procedure<? super T> procedure)
+    {
+        int tailOffset = PersistentImmutableList.tailOffset(this.size);
+        for (int i = 0; i < tailOffset; i += WIDTH)
+        {
+            Object[] leaf = this.leafFor(i);
+            for (int j = 0; j < WIDTH; j++)
+            {
+                procedure.value((T) leaf[j]);
+            }
+        }
+        for (int i = 0; i < this.tail.length; i++)
+        {
+            procedure.value((T) this.tail[i]);
+        }
+    }
+
+    public PersistentImmutableList<T> newWith(T newItem)
+    {
+        if (this.size - PersistentImmutableList.tailOffset(this.size) < WIDTH)
+        {
+            Object[] newTail = new Object[this.tail.length + 1];
+            System.arraycopy(this.tail, 0, newTail, 0, this.tail.length);
+            newTail[this.tail.length] = newItem;
+            return new PersistentImmutableList<T>(this.size + 1, this.shift, this.root, newTail);
+        }
+        Object[] newRoot;
+        int newShift = this.shift;
+        if ((this.size >>> BITS) > (1 << this.shift))
+        {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = this.root;
+            newRoot[1] = PersistentImmutableList.newPath(this.shift, this.tail);
+            newShift += BITS;
+        }
+        else
+        {
+            newRoot = this.pushTail(this.shift, this.root, this.tail);
+        }
+        return new PersistentImmutableList<T>(this.size + 1, newShift, newRoot, new Object[]{newItem});
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode)
+    {
+        int childIndex = ((this.size - 1) >>> level) & MASK;
+        Object[] result = parent.clone();
+        if (level == BITS)
+        {
+            result[childIndex] = tailNode;
+        }
+        else
+        {
+            Object[] child = (Object[]) parent[childIndex];
+            result[childIndex] = child == null
+                    ? PersistentImmutableList.newPath(level - BITS, tailNode)
+                    : this.pushTail(level - BITS, child, tailNode);
+        }
+        return result;
+    }
+
+    private static Object[] newPath(int level, Object[] node)
+    {
+        if (level == 0)
+        {
+            return node;
+        }
+        Object[] result = new Object[WIDTH];
+        result[0] = PersistentImmutableList.newPath(level - BITS, node);
+        return result;
+    }
+
+    @Override
+    public ImmutableList<T> newWithout(T element)
+    {
+        int index = this.indexOf(element);
+        if (index < 0)
+        {
+            return this;
+        }
+        if (index == this.size - 1)
+        {
+            return this.withoutLast();
+        }
+        Object[] elements = this.toArray();
+        Object[] result = new Object[this.size - 1];
+        System.arraycopy(elements, 0, result, 0, index);
+        System.arraycopy(elements, index + 1, result, index, result.length - index);
+        return PersistentImmutableList.fromArray(result);
+    }
+
+    @Override
+    public ImmutableList<T> newWithAll(Iterable<? extends T> elements)
+    {
+        PersistentImmutableList<T> result = this;
+        for (T each : elements)
+        {
+            result = result.newWith(each);
+        }
+        return result;
+    }
+
+    @Override
+    public ImmutableList<T> newWithoutAll(Iterable<? extends T> elements)
+    {
+        return PersistentImmutableList.newList(super.newWithoutAll(elements));
+    }
+
+    /**
+     * Returns a list without the last element, sharing every node but the path to the last leaf with this list.
+     */
+    public PersistentImmutableList<T> withoutLast()
+    {
+        if (this.size == 0)
+        {
+            throw new IllegalStateException("Can't remove the last element of an empty list");
+        }
+        if (this.size == 1)
+        {
+            return PersistentImmutableList.empty();
+        }
+        if (this.size - PersistentImmutableList.tailOffset(this.size) > 1)
+        {
+            Object[] newTail = new Object[this.tail.length - 1];
+            System.arraycopy(this.tail, 0, newTail, 0, newTail.length);
+            return new PersistentImmutableList<T>(this.size - 1, this.shift, this.root, newTail);
+        }
+        Object[] newTail = this.leafFor(this.size - 2);
+        Object[] newRoot = this.popTail(this.shift, this.root);
+        int newShift = this.shift;
+        if (newRoot == null)
+        {
+            newRoot = EMPTY_NODE;
+        }
+        if (this.shift > BITS && newRoot[1] == null)
+        {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+        return new PersistentImmutableList<T>(this.size - 1, newShift, newRoot, newTail);
+    }
+
+    private Object[] popTail(int level, Object[] node)
+    {
+        int childIndex = ((this.size - 2) >>> level) & MASK;
+        if (level > BITS)
+        {
+            Object[] newChild = this.popTail(level - BITS, (Object[]) node[childIndex]);
+            if (newChild == null && childIndex == 0)
+            {
+                return null;
+            }
+            Object[] result = node.clone();
+            result[childIndex] = newChild;
+            return result;
+        }
+        if (childIndex == 0)
+        {
+            return null;
+        }
+        Object[] result = node.clone();
+        result[childIndex] = null;
+        return result;
+    }
+
+    private Object readResolve()
+    {
+        return this.size == 0 ? EMPTY : this;
+    }
+}
@@ -28,6 +28,8 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.RandomAccess;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 import com.gs.collections.api.block.function.Function;
 import com.gs.collections.api.block.function.Function0;
@@ -51,6 +53,7 @@ import com.gs.collections.api.block.procedure.Procedure;
 import com.gs.collections.api.block.procedure.Procedure2;
 import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
 import com.gs.collections.api.list.MutableList;
+import com.gs.collections.api.list.ParallelListIterable;
 import com.gs.collections.api.list.primitive.MutableBooleanList;
 import com.gs.collections.api.list.primitive.MutableByteList;
 import com.gs.collections.api.list.primitive.MutableCharList;
@@ -71,6 +74,7 @@ import com.gs.collections.impl.block.procedure.FastListCollectProcedure;
 import com.gs.collections.impl.block.procedure.FastListRejectProcedure;
 import com.gs.collections.impl.block.procedure.FastListSelectProcedure;
 import com.gs.collections.impl.block.procedure.MultimapPutProcedure;
+import com.gs.collections.impl.lazy.parallel.FastListParallelIterable;
 import com.gs.collections.impl.list.mutable.primitive.BooleanArrayList;
 import com.gs.collections.impl.list.mutable.primitive.ByteArrayList;
 import com.gs.collections.impl.list.mutable.primitive.CharArrayList;
@@ -80,6 +84,7 @@ import com.gs.collections.impl.list.mutable.primitive.IntArrayList;
 import com.gs.collections.impl.list.mutable.primitive.LongArrayList;
 import com.gs.collections.impl.list.mutable.primitive.ShortArrayList;
 import com.gs.collections.impl.parallel.BatchIterable;
+import com.gs.collections.impl.parallel.ParallelArrayIterate;
 import com.gs.collections.impl.partition.list.PartitionFastList;
 import com.gs.collections.impl.set.mutable.UnifiedSet;
 import com.gs.collections.impl.tuple.Tuples;
@@ -328,6 +333,18 @@ public class FastList<T>
         }
     }
 
+    /**
+     * Returns a parallel iterable over this list which evaluates in batches of roughly {@code batchSize} elements
+     * using the specified executor.  Each batch is a contiguous range of the list, so ordered results like
+     * {@code toList()} keep the order of this list.
+     *
+     * @since 4.3
+     */
+    public ParallelListIterable<T> asParallel(ExecutorService executorService, int batchSize)
+    {
+        return new FastListParallelIterable<T>(this, executorService, batchSize);
+    }
+
     public int getBatchCount(int batchSize)
     {
         return Math.max(1, this.size() / batchSize);
@@ -358,6 +375,54 @@ public class FastList<T>
         return this;
     }
 
+    /**
+     * Sorts this list in place in its natural order, using the cores of the default {@link ParallelArrayIterate}
+     * executor for large lists.
+     *
+     * @since 4.3
+     */
+    public FastList<T> sortThisParallel()
+    {
+        return this.sortThisParallel(null);
+    }
+
+    /**
+     * Sorts this list in place using the comparator, using the cores of the default {@link ParallelArrayIterate}
+     * executor for large lists.
+     *
+     * @since 4.3
+     */
+    public FastList<T> sortThisParallel(Comparator<? super T> comparator)
+    {
+        ParallelArrayIterate.sort(this.items, this.size, comparator);
+        return this;
+    }
+
+    /**
+     * @since 4.3
+     */
+    public FastList<T> sortThisParallel(Comparator<? super T> comparator, Executor executor)
+    {
+        ParallelArrayIterate.sort(this.items, this.size, comparator, executor);
+        return this;
+    }
+
+    /**
+     * Sorts this list in place by the values returned by the function.  The function is evaluated once for each
+     * element, rather than twice for each comparison.
+     */
+    @Override
+    public <V extends Comparable<? super V>> FastList<T> sortThisBy(Function<? super T, ? extends V> function)
+    {
+        V[] keys = (V[]) new Comparable[this.size];
+        for (int i = 0; i < this.size; i++)
+        {
+            keys[i] = function.valueOf(this.items[i]);
+        }
+        InternalArrayIterate.sortByKeys(this.items, keys, this.size);
+        return this;
+    }
+
     @Override
     public FastList<T> reverseThis()
     {
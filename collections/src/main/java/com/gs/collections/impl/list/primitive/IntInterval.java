@@ -709,15 +709,80 @@ public final class IntInterval
 
     public double median()
     {
-        int[] sortedArray = this.toSortedArray();
-        int middleIndex = sortedArray.length >> 1;
-        if (sortedArray.length > 1 && (sortedArray.length & 1) == 0)
+        return this.valueAtRank((this.size() - 1) / 2.0);
+    }
+
+    public double percentile(double percentile)
+    {
+        if (!(percentile >= 0.0 && percentile <= 100.0))
+        {
+            throw new IllegalArgumentException("Percentile must be between 0.0 and 100.0 but was " + percentile);
+        }
+        return this.valueAtRank(percentile / 100.0 * (this.size() - 1));
+    }
+
+    public double[] quantiles(int count)
+    {
+        if (count < 1)
+        {
+            throw new IllegalArgumentException("Count must be at least 1 but was " + count);
+        }
+        double[] result = new double[count - 1];
+        for (int i = 0; i < result.length; i++)
+        {
+            result[i] = this.valueAtRank((double) (i + 1) / count * (this.size() - 1));
+        }
+        return result;
+    }
+
+    public int[] topK(int k)
+    {
+        int[] result = new int[Math.min(IntInterval.checkK(k), this.size())];
+        for (int i = 0; i < result.length; i++)
         {
-            int first = sortedArray[middleIndex];
-            int second = sortedArray[middleIndex - 1];
-            return ((double) first + (double) second) / 2.0;
+            result[i] = this.getInSortedOrder(this.size() - 1 - i);
         }
-        return (double) sortedArray[middleIndex];
+        return result;
+    }
+
+    public int[] bottomK(int k)
+    {
+        int[] result = new int[Math.min(IntInterval.checkK(k), this.size())];
+        for (int i = 0; i < result.length; i++)
+        {
+            result[i] = this.getInSortedOrder(i);
+        }
+        return result;
+    }
+
+    private static int checkK(int k)
+    {
+        if (k < 0)
+        {
+            throw new IllegalArgumentException("k must not be negative but was " + k);
+        }
+        return k;
+    }
+
+    /**
+     * The values of an interval are already sorted, ascending or descending with the sign of the step, so order
+     * statistics are read directly rather than selected from a copy.
+     */
+    private double valueAtRank(double rank)
+    {
+        int lowerRank = (int) rank;
+        double fraction = rank - lowerRank;
+        double lower = (double) this.getInSortedOrder(lowerRank);
+        if (fraction == 0.0)
+        {
+            return lower;
+        }
+        return lower + ((double) this.getInSortedOrder(lowerRank + 1) - lower) * fraction;
+    }
+
+    private int getInSortedOrder(int rank)
+    {
+        return this.step > 0 ? this.locationAfterN(rank) : this.locationAfterN(this.size() - 1 - rank);
     }
 
     public int[] toSortedArray()
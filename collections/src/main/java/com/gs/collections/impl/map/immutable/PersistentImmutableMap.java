@@ -0,0 +1,765 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.map.immutable;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.gs.collections.api.RichIterable;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.tuple.Pair;
+import com.gs.collections.impl.block.factory.Comparators;
+import com.gs.collections.impl.tuple.Tuples;
+import com.gs.collections.impl.utility.LazyIterate;
+import net.jcip.annotations.Immutable;
+
+/**
+ * PersistentImmutableMap is an ImmutableMap stored as a hash array mapped trie.  Each node of the trie uses five bits
+ * of the key's hash code to index a bitmap of its occupied slots, and only allocates an array as large as the number
+ * of slots in use.  {@link #newWithKeyValue(Object, Object)} and {@link #newWithoutKey(Object)} copy only the nodes on
+ * the path from the root to the key, so they are O(log32 n) and the new map shares every other node with the
+ * original.  This makes it a good choice for keeping many versions of a large map which differ by a few keys.
+ * <p/>
+ * Lookups are slower than in {@link ImmutableUnifiedMap}, which should be preferred for maps which are built once.
+ *
+ * @since 4.3
+ */
+@Immutable
+public final class PersistentImmutableMap<K, V>
+        extends AbstractImmutableMap<K, V>
+        implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    // seven levels of five bits cover the hash code, and may be followed by one level of collision nodes
+    private static final int MAX_DEPTH = 8;
+
+    private static final PersistentImmutableMap<?, ?> EMPTY = new PersistentImmutableMap<Object, Object>(null, 0, false, null);
+
+    private final Node root;
+    private final int size;
+    private final boolean hasNullKey;
+    private final V nullValue;
+
+    private PersistentImmutableMap(Node root, int size, boolean hasNullKey, V nullValue)
+    {
+        this.root = root;
+        this.size = size;
+        this.hasNullKey = hasNullKey;
+        this.nullValue = nullValue;
+    }
+
+    public static <K, V> PersistentImmutableMap<K, V> empty()
+    {
+        return (PersistentImmutableMap<K, V>) EMPTY;
+    }
+
+    public static <K, V> PersistentImmutableMap<K, V> newMap(Map<? extends K, ? extends V> map)
+    {
+        PersistentImmutableMap<K, V> result = PersistentImmutableMap.empty();
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet())
+        {
+            result = result.newWithKeyValue(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    public static <K, V> PersistentImmutableMap<K, V> newWithKeysValues(K key, V value)
+    {
+        return PersistentImmutableMap.<K, V>empty().newWithKeyValue(key, value);
+    }
+
+    public static <K, V> PersistentImmutableMap<K, V> newWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return PersistentImmutableMap.<K, V>empty().newWithKeyValue(key1, value1).newWithKeyValue(key2, value2);
+    }
+
+    public static <K, V> PersistentImmutableMap<K, V> newWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return PersistentImmutableMap.<K, V>empty()
+                .newWithKeyValue(key1, value1)
+                .newWithKeyValue(key2, value2)
+                .newWithKeyValue(key3, value3);
+    }
+
+    private static int hash(Object key)
+    {
+        // This function ensures that hashCodes that differ only by
+        // constant multiples at each bit position have a bounded
+        // number of collisions (approximately 8 at default load factor).
+        int h = key.hashCode();
+        h ^= h >>> 20 ^ h >>> 12;
+        h ^= h >>> 7 ^ h >>> 4;
+        return h;
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    public V get(Object key)
+    {
+        if (key == null)
+        {
+            return this.nullValue;
+        }
+        if (this.root == null)
+        {
+            return null;
+        }
+        Object result = this.root.find(0, PersistentImmutableMap.hash(key), key, null);
+        return (V) result;
+    }
+
+    public boolean containsKey(Object key)
+    {
+        if (key == null)
+        {
+            return this.hasNullKey;
+        }
+        return this.root != null && this.root.find(0, PersistentImmutableMap.hash(key), key, Node.NOT_FOUND) != Node.NOT_FOUND;
+    }
+
+    public boolean containsValue(Object value)
+    {
+        for (Iterator<V> iterator = this.values().iterator(); iterator.hasNext(); )
+        {
+            if (Comparators.nullSafeEquals(iterator.next(), value))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public PersistentImmutableMap<K, V> newWithKeyValue(K key, V value)
+    {
+        if (key == null)
+        {
+            if (this.hasNullKey && this.nullValue == value)
+            {
+                return this;
+            }
+            return new PersistentImmutableMap<K, V>(this.root, this.hasNullKey ? this.size : this.size + 1, true, value);
+        }
+        boolean[] addedLeaf = new boolean[1];
+        Node newRoot = (this.root == null ? BitmapIndexedNode.EMPTY : this.root)
+                .assoc(0, PersistentImmutableMap.hash(key), key, value, addedLeaf);
+        if (newRoot == this.root)
+        {
+            return this;
+        }
+        return new PersistentImmutableMap<K, V>(newRoot, addedLeaf[0] ? this.size + 1 : this.size, this.hasNullKey, this.nullValue);
+    }
+
+    @Override
+    public PersistentImmutableMap<K, V> newWithAllKeyValues(Iterable<? extends Pair<? extends K, ? extends V>> keyValues)
+    {
+        PersistentImmutableMap<K, V> result = this;
+        for (Pair<? extends K, ? extends V> keyValuePair : keyValues)
+        {
+            result = result.newWithKeyValue(keyValuePair.getOne(), keyValuePair.getTwo());
+        }
+        return result;
+    }
+
+    @Override
+    public PersistentImmutableMap<K, V> newWithAllKeyValueArguments(Pair<? extends K, ? extends V>... keyValuePairs)
+    {
+        PersistentImmutableMap<K, V> result = this;
+        for (Pair<? extends K, ? extends V> keyValuePair : keyValuePairs)
+        {
+            result = result.newWithKeyValue(keyValuePair.getOne(), keyValuePair.getTwo());
+        }
+        return result;
+    }
+
+    @Override
+    public PersistentImmutableMap<K, V> newWithoutKey(K key)
+    {
+        if (key == null)
+        {
+            if (!this.hasNullKey)
+            {
+                return this;
+            }
+            return new PersistentImmutableMap<K, V>(this.root, this.size - 1, false, null);
+        }
+        if (this.root == null)
+        {
+            return this;
+        }
+        Node newRoot = this.root.without(0, PersistentImmutableMap.hash(key), key);
+        if (newRoot == this.root)
+        {
+            return this;
+        }
+        return new PersistentImmutableMap<K, V>(newRoot, this.size - 1, this.hasNullKey, this.nullValue);
+    }
+
+    @Override
+    public PersistentImmutableMap<K, V> newWithoutAllKeys(Iterable<? extends K> keys)
+    {
+        PersistentImmutableMap<K, V> result = this;
+        for (K key : keys)
+        {
+            result = result.newWithoutKey(key);
+        }
+        return result;
+    }
+
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        if (this.hasNullKey)
+        {
+            procedure.value(null, this.nullValue);
+        }
+        if (this.root != null)
+        {
+            this.root.forEachKeyValue(procedure);
+        }
+    }
+
+    public Set<K> keySet()
+    {
+        return new AbstractSet<K>()
+        {
+            @Override
+            public Iterator<K> iterator()
+            {
+                return new KeyIterator();
+            }
+
+            @Override
+            public int size()
+            {
+                return PersistentImmutableMap.this.size;
+            }
+
+            @Override
+            public boolean contains(Object o)
+            {
+                return PersistentImmutableMap.this.containsKey(o);
+            }
+        };
+    }
+
+    public Collection<V> values()
+    {
+        return new AbstractCollection<V>()
+        {
+            @Override
+            public Iterator<V> iterator()
+            {
+                return new ValueIterator();
+            }
+
+            @Override
+            public int size()
+            {
+                return PersistentImmutableMap.this.size;
+            }
+        };
+    }
+
+    public RichIterable<K> keysView()
+    {
+        return LazyIterate.adapt(this.keySet());
+    }
+
+    public RichIterable<V> valuesView()
+    {
+        return LazyIterate.adapt(this.values());
+    }
+
+    public RichIterable<Pair<K, V>> keyValuesView()
+    {
+        return LazyIterate.adapt(new AbstractCollection<Pair<K, V>>()
+        {
+            @Override
+            public Iterator<Pair<K, V>> iterator()
+            {
+                return new KeyValueIterator();
+            }
+
+            @Override
+            public int size()
+            {
+                return PersistentImmutableMap.this.size;
+            }
+        });
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (!(object instanceof Map))
+        {
+            return false;
+        }
+        Map<K, V> other = (Map<K, V>) object;
+        if (this.size != other.size())
+        {
+            return false;
+        }
+        for (Iterator<Pair<K, V>> iterator = new KeyValueIterator(); iterator.hasNext(); )
+        {
+            Pair<K, V> pair = iterator.next();
+            if (!this.keyAndValueEquals(pair.getOne(), pair.getTwo(), other))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        for (Iterator<Pair<K, V>> iterator = new KeyValueIterator(); iterator.hasNext(); )
+        {
+            Pair<K, V> pair = iterator.next();
+            hashCode += this.keyAndValueHashCode(pair.getOne(), pair.getTwo());
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder buf = new StringBuilder();
+        buf.append('{');
+        for (Iterator<Pair<K, V>> iterator = new KeyValueIterator(); iterator.hasNext(); )
+        {
+            Pair<K, V> pair = iterator.next();
+            buf.append(pair.getOne() == this ? "(this Map)" : pair.getOne());
+            buf.append('=');
+            buf.append(pair.getTwo() == this ? "(this Map)" : pair.getTwo());
+            if (iterator.hasNext())
+            {
+                buf.append(", ");
+            }
+        }
+        buf.append('}');
+        return buf.toString();
+    }
+
+    private Object readResolve()
+    {
+        return this.size == 0 ? EMPTY : this;
+    }
+
+    /**
+     * A node of the trie.  Its array holds key/value pairs in consecutive slots; a null key marks a slot whose value
+     * is a child node, since the null key itself is stored outside the trie.
+     */
+    private abstract static class Node implements Serializable
+    {
+        static final Object NOT_FOUND = new Object();
+
+        private static final long serialVersionUID = 1L;
+
+        final Object[] array;
+
+        Node(Object[] array)
+        {
+            this.array = array;
+        }
+
+        abstract Object find(int shift, int hash, Object key, Object notFound);
+
+        /**
+         * Returns this node if key is already mapped to the identical value, otherwise a copy of the path with the
+         * key added or replaced.  Sets addedLeaf[0] if the key was not already present.
+         */
+        abstract Node assoc(int shift, int hash, Object key, Object value, boolean[] addedLeaf);
+
+        /**
+         * Returns this node if key is absent, null if the node would become empty, otherwise a copy of the path
+         * without the key.
+         */
+        abstract Node without(int shift, int hash, Object key);
+
+        void forEachKeyValue(Procedure2 procedure)
+        {
+            for (int i = 0; i < this.array.length; i += 2)
+            {
+                Object key = this.array[i];
+                if (key == null)
+                {
+                    ((Node) this.array[i + 1]).forEachKeyValue(procedure);
+                }
+                else
+                {
+                    procedure.value(key, this.array[i + 1]);
+                }
+            }
+        }
+
+        static Object[] cloneAndSet(Object[] array, int index, Object value)
+        {
+            Object[] result = array.clone();
+            result[index] = value;
+            return result;
+        }
+
+        static Object[] removePair(Object[] array, int pairIndex)
+        {
+            Object[] result = new Object[array.length - 2];
+            System.arraycopy(array, 0, result, 0, 2 * pairIndex);
+            System.arraycopy(array, 2 * (pairIndex + 1), result, 2 * pairIndex, result.length - 2 * pairIndex);
+            return result;
+        }
+    }
+
+    private static final class BitmapIndexedNode extends Node
+    {
+        static final BitmapIndexedNode EMPTY = new BitmapIndexedNode(0, new Object[0]);
+
+        private static final long serialVersionUID = 1L;
+
+        private final int bitmap;
+
+        BitmapIndexedNode(int bitmap, Object[] array)
+        {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        private static int bit(int hash, int shift)
+        {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        private int index(int bit)
+        {
+            return Integer.bitCount(this.bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key, Object notFound)
+        {
+            int bit = BitmapIndexedNode.bit(hash, shift);
+            if ((this.bitmap & bit) == 0)
+            {
+                return notFound;
+            }
+            int index = this.index(bit);
+            Object keyOrNull = this.array[2 * index];
+            Object valueOrNode = this.array[2 * index + 1];
+            if (keyOrNull == null)
+            {
+                return ((Node) valueOrNode).find(shift + BITS, hash, key, notFound);
+            }
+            return key.equals(keyOrNull) ? valueOrNode : notFound;
+        }
+
+        @Override
+        Node assoc(int shift, int hash, Object key, Object value, boolean[] addedLeaf)
+        {
+            int bit = BitmapIndexedNode.bit(hash, shift);
+            int index = this.index(bit);
+            if ((this.bitmap & bit) == 0)
+            {
+                int count = Integer.bitCount(this.bitmap);
+                Object[] newArray = new Object[2 * (count + 1)];
+                System.arraycopy(this.array, 0, newArray, 0, 2 * index);
+                newArray[2 * index] = key;
+                newArray[2 * index + 1] = value;
+                System.arraycopy(this.array, 2 * index, newArray, 2 * (index + 1), 2 * (count - index));
+                addedLeaf[0] = true;
+                return new BitmapIndexedNode(this.bitmap | bit, newArray);
+            }
+            Object keyOrNull = this.array[2 * index];
+            Object valueOrNode = this.array[2 * index + 1];
+            if (keyOrNull == null)
+            {
+                Node child = ((Node) valueOrNode).assoc(shift + BITS, hash, key, value, addedLeaf);
+                if (child == valueOrNode)
+                {
+                    return this;
+                }
+                return new BitmapIndexedNode(this.bitmap, Node.cloneAndSet(this.array, 2 * index + 1, child));
+            }
+            if (key.equals(keyOrNull))
+            {
+                if (value == valueOrNode)
+                {
+                    return this;
+                }
+                return new BitmapIndexedNode(this.bitmap, Node.cloneAndSet(this.array, 2 * index + 1, value));
+            }
+            addedLeaf[0] = true;
+            Node child = BitmapIndexedNode.createNode(shift + BITS, keyOrNull, valueOrNode, hash, key, value);
+            Object[] newArray = Node.cloneAndSet(this.array, 2 * index, null);
+            newArray[2 * index + 1] = child;
+            return new BitmapIndexedNode(this.bitmap, newArray);
+        }
+
+        private static Node createNode(int shift, Object key1, Object value1, int hash2, Object key2, Object value2)
+        {
+            int hash1 = PersistentImmutableMap.hash(key1);
+            if (hash1 == hash2)
+            {
+                return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+            }
+            boolean[] addedLeaf = new boolean[1];
+            return EMPTY
+                    .assoc(shift, hash1, key1, value1, addedLeaf)
+                    .assoc(shift, hash2, key2, value2, addedLeaf);
+        }
+
+        @Override
+        Node without(int shift, int hash, Object key)
+        {
+            int bit = BitmapIndexedNode.bit(hash, shift);
+            if ((this.bitmap & bit) == 0)
+            {
+                return this;
+            }
+            int index = this.index(bit);
+            Object keyOrNull = this.array[2 * index];
+            Object valueOrNode = this.array[2 * index + 1];
+            if (keyOrNull == null)
+            {
+                Node child = ((Node) valueOrNode).without(shift + BITS, hash, key);
+                if (child == valueOrNode)
+                {
+                    return this;
+                }
+                if (child != null)
+                {
+                    return new BitmapIndexedNode(this.bitmap, Node.cloneAndSet(this.array, 2 * index + 1, child));
+                }
+            }
+            else if (!key.equals(keyOrNull))
+            {
+                return this;
+            }
+            if (this.bitmap == bit)
+            {
+                return null;
+            }
+            return new BitmapIndexedNode(this.bitmap ^ bit, Node.removePair(this.array, index));
+        }
+    }
+
+    /**
+     * Holds the keys whose hash codes are all equal, in a list which is searched linearly.
+     */
+    private static final class CollisionNode extends Node
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int hash;
+
+        CollisionNode(int hash, Object[] array)
+        {
+            super(array);
+            this.hash = hash;
+        }
+
+        private int indexOf(Object key)
+        {
+            for (int i = 0; i < this.array.length; i += 2)
+            {
+                if (key.equals(this.array[i]))
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key, Object notFound)
+        {
+            if (hash != this.hash)
+            {
+                return notFound;
+            }
+            int index = this.indexOf(key);
+            return index < 0 ? notFound : this.array[index + 1];
+        }
+
+        @Override
+        Node assoc(int shift, int hash, Object key, Object value, boolean[] addedLeaf)
+        {
+            if (hash != this.hash)
+            {
+                return new BitmapIndexedNode(BitmapIndexedNode.bit(this.hash, shift), new Object[]{null, this})
+                        .assoc(shift, hash, key, value, addedLeaf);
+            }
+            int index = this.indexOf(key);
+            if (index >= 0)
+            {
+                if (this.array[index + 1] == value)
+                {
+                    return this;
+                }
+                return new CollisionNode(hash, Node.cloneAndSet(this.array, index + 1, value));
+            }
+            Object[] newArray = new Object[this.array.length + 2];
+            System.arraycopy(this.array, 0, newArray, 0, this.array.length);
+            newArray[this.array.length] = key;
+            newArray[this.array.length + 1] = value;
+            addedLeaf[0] = true;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        Node without(int shift, int hash, Object key)
+        {
+            int index = hash == this.hash ? this.indexOf(key) : -1;
+            if (index < 0)
+            {
+                return this;
+            }
+            if (this.array.length == 2)
+            {
+                return null;
+            }
+            return new CollisionNode(hash, Node.removePair(this.array, index / 2));
+        }
+    }
+
+    /**
+     * Walks the trie depth first, keeping the array and position of each level on a stack.  The null key, which is not
+     * in the trie, is returned first.
+     */
+    private abstract class TrieIterator<E> implements Iterator<E>
+    {
+        private final Object[][] arrays = new Object[MAX_DEPTH][];
+        private final int[] positions = new int[MAX_DEPTH];
+        private int depth;
+        private boolean nullKeyPending = PersistentImmutableMap.this.hasNullKey;
+        private Object nextKey;
+        private Object nextValue;
+
+        protected TrieIterator()
+        {
+            if (PersistentImmutableMap.this.root == null)
+            {
+                this.depth = -1;
+            }
+            else
+            {
+                this.arrays[0] = PersistentImmutableMap.this.root.array;
+            }
+            this.advance();
+        }
+
+        private void advance()
+        {
+            while (this.depth >= 0)
+            {
+                Object[] array = this.arrays[this.depth];
+                int position = this.positions[this.depth];
+                if (position >= array.length)
+                {
+                    this.depth--;
+                }
+                else
+                {
+                    this.positions[this.depth] = position + 2;
+                    Object key = array[position];
+                    if (key != null)
+                    {
+                        this.nextKey = key;
+                        this.nextValue = array[position + 1];
+                        return;
+                    }
+                    this.depth++;
+                    this.arrays[this.depth] = ((Node) array[position + 1]).array;
+                    this.positions[this.depth] = 0;
+                }
+            }
+            this.nextKey = null;
+        }
+
+        protected abstract E value(K key, V value);
+
+        public boolean hasNext()
+        {
+            return this.nullKeyPending || this.nextKey != null;
+        }
+
+        public E next()
+        {
+            if (this.nullKeyPending)
+            {
+                this.nullKeyPending = false;
+                return this.value(null, PersistentImmutableMap.this.nullValue);
+            }
+            if (this.nextKey == null)
+            {
+                throw new NoSuchElementException();
+            }
+            E result = this.value((K) this.nextKey, (V) this.nextValue);
+            this.advance();
+            return result;
+        }
+
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot remove from an ImmutableMap");
+        }
+    }
+
+    private final class KeyIterator extends TrieIterator<K>
+    {
+        @Override
+        protected K value(K key, V value)
+        {
+            return key;
+        }
+    }
+
+    private final class ValueIterator extends TrieIterator<V>
+    {
+        @Override
+        protected V value(K key, V value)
+        {
+            return value;
+        }
+    }
+
+    private final class KeyValueIterator extends TrieIterator<Pair<K, V>>
+    {
+        @Override
+        protected Pair<K, V> value(K key, V value)
+        {
+            return Tuples.pair(key, value);
+        }
+    }
+}
@@ -0,0 +1,982 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.map.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.Function0;
+import com.gs.collections.api.block.function.Function2;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.map.MapIterable;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.api.map.UnsortedMapIterable;
+import com.gs.collections.impl.block.procedure.CollectionAddProcedure;
+import com.gs.collections.impl.block.procedure.MapCollectProcedure;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import com.gs.collections.impl.utility.Iterate;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * OpenAddressUnifiedMap stores key/value pairs in a single array, where alternate slots are keys and values, like
+ * {@link UnifiedMap}.  Unlike UnifiedMap, collisions are resolved by linear probing within the table instead of
+ * chaining overflow arrays off a bucket, so a lookup never allocates or follows a pointer to another array.
+ * <p/>
+ * The spread hash code of every key is cached in a parallel int[], so a lookup only calls equals on keys whose hash
+ * codes match, and growing the table never calls hashCode.  Removal shifts later keys of the same run back instead of
+ * leaving removed-key markers behind.  This suits maps such as caches keyed by long Strings, whose equals methods are
+ * expensive and which are read far more often than they are written.
+ *
+ * @since 4.3
+ */
+@NotThreadSafe
+public class OpenAddressUnifiedMap<K, V> extends AbstractMutableMap<K, V>
+        implements Externalizable
+{
+    private static final Object NULL_KEY = new Object()
+    {
+        @Override
+        public boolean equals(Object obj)
+        {
+            throw new RuntimeException("Possible corruption through unsynchronized concurrent modification.");
+        }
+
+        @Override
+        public int hashCode()
+        {
+            throw new RuntimeException("Possible corruption through unsynchronized concurrent modification.");
+        }
+
+        @Override
+        public String toString()
+        {
+            return "OpenAddressUnifiedMap.NULL_KEY";
+        }
+    };
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 8;
+
+    private static final long serialVersionUID = 1L;
+
+    private transient Object[] table;
+
+    private transient int[] hashes;
+
+    private transient int occupied;
+
+    private transient int maxSize;
+
+    public OpenAddressUnifiedMap()
+    {
+        this.allocate(DEFAULT_INITIAL_CAPACITY << 1);
+    }
+
+    public OpenAddressUnifiedMap(int initialCapacity)
+    {
+        if (initialCapacity < 0)
+        {
+            throw new IllegalArgumentException("initial capacity cannot be less than 0");
+        }
+        this.init((int) Math.ceil(initialCapacity / LOAD_FACTOR));
+    }
+
+    public OpenAddressUnifiedMap(Map<? extends K, ? extends V> map)
+    {
+        this(Math.max(map.size(), DEFAULT_INITIAL_CAPACITY));
+        this.putAll(map);
+    }
+
+    public static <K, V> OpenAddressUnifiedMap<K, V> newMap()
+    {
+        return new OpenAddressUnifiedMap<K, V>();
+    }
+
+    public static <K, V> OpenAddressUnifiedMap<K, V> newMap(int size)
+    {
+        return new OpenAddressUnifiedMap<K, V>(size);
+    }
+
+    public static <K, V> OpenAddressUnifiedMap<K, V> newMap(Map<? extends K, ? extends V> map)
+    {
+        return new OpenAddressUnifiedMap<K, V>(map);
+    }
+
+    public static <K, V> OpenAddressUnifiedMap<K, V> newWithKeysValues(K key, V value)
+    {
+        return new OpenAddressUnifiedMap<K, V>(1).withKeysValues(key, value);
+    }
+
+    public static <K, V> OpenAddressUnifiedMap<K, V> newWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return new OpenAddressUnifiedMap<K, V>(2).withKeysValues(key1, value1, key2, value2);
+    }
+
+    public static <K, V> OpenAddressUnifiedMap<K, V> newWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return new OpenAddressUnifiedMap<K, V>(3).withKeysValues(key1, value1, key2, value2, key3, value3);
+    }
+
+    public static <K, V> OpenAddressUnifiedMap<K, V> newWithKeysValues(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3,
+            K key4, V value4)
+    {
+        return new OpenAddressUnifiedMap<K, V>(4).withKeysValues(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    public OpenAddressUnifiedMap<K, V> withKeysValues(K key, V value)
+    {
+        this.put(key, value);
+        return this;
+    }
+
+    public OpenAddressUnifiedMap<K, V> withKeysValues(K key1, V value1, K key2, V value2)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        return this;
+    }
+
+    public OpenAddressUnifiedMap<K, V> withKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        this.put(key3, value3);
+        return this;
+    }
+
+    public OpenAddressUnifiedMap<K, V> withKeysValues(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        this.put(key3, value3);
+        this.put(key4, value4);
+        return this;
+    }
+
+    @Override
+    public OpenAddressUnifiedMap<K, V> clone()
+    {
+        return new OpenAddressUnifiedMap<K, V>(this);
+    }
+
+    public MutableMap<K, V> newEmpty()
+    {
+        return new OpenAddressUnifiedMap<K, V>();
+    }
+
+    @Override
+    public MutableMap<K, V> newEmpty(int capacity)
+    {
+        return OpenAddressUnifiedMap.newMap(capacity);
+    }
+
+    private void init(int initialCapacity)
+    {
+        int capacity = 1;
+        while (capacity < initialCapacity)
+        {
+            capacity <<= 1;
+        }
+        this.allocate(capacity);
+    }
+
+    private void allocate(int capacity)
+    {
+        this.table = new Object[capacity << 1]; // the table size is twice the capacity to handle both keys and values
+        this.hashes = new int[capacity];
+        // need at least one free slot for open addressing
+        this.maxSize = Math.min(capacity - 1, (int) (capacity * LOAD_FACTOR));
+    }
+
+    private int hash(Object key)
+    {
+        // This function ensures that hashCodes that differ only by
+        // constant multiples at each bit position have a bounded
+        // number of collisions (approximately 8 at default load factor).
+        int h = this.computeHashCode((K) key);
+        h ^= h >>> 20 ^ h >>> 12;
+        h ^= h >>> 7 ^ h >>> 4;
+        return h;
+    }
+
+    /**
+     * Returns the hash code of the key, which may be null.  It is called once when the key is added and once for
+     * each lookup, but never when the table grows.
+     */
+    protected int computeHashCode(K key)
+    {
+        return key == null ? 0 : key.hashCode();
+    }
+
+    /**
+     * Returns whether the non-null key already in the table is equal to the key being looked up, which may be
+     * null.  It is only called when the hash codes of the two are equal.
+     */
+    protected boolean keysEqual(K tableKey, Object key)
+    {
+        return tableKey.equals(key);
+    }
+
+    /**
+     * Returns the slot holding key, or the empty slot at which key would be added if it is absent.  Keys are only
+     * compared with equals when their cached hash codes match.
+     */
+    private int probe(Object key, int hash)
+    {
+        int mask = this.hashes.length - 1;
+        int slot = hash & mask;
+        while (true)
+        {
+            Object cur = this.table[slot << 1];
+            if (cur == null || this.hashes[slot] == hash && this.nonNullTableObjectEquals(cur, key))
+            {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void addAtSlot(int slot, K key, int hash, V value)
+    {
+        this.table[slot << 1] = toSentinelIfNull(key);
+        this.table[(slot << 1) + 1] = value;
+        this.hashes[slot] = hash;
+        if (++this.occupied > this.maxSize)
+        {
+            this.rehash(this.hashes.length << 1);
+        }
+    }
+
+    /**
+     * Empties the slot and moves each later key of the same run whose probe sequence passes through the emptied slot
+     * back into it, so that every remaining key is still reachable from its home slot.
+     */
+    private void removeSlot(int slot)
+    {
+        int mask = this.hashes.length - 1;
+        int empty = slot;
+        int next = (slot + 1) & mask;
+        while (this.table[next << 1] != null)
+        {
+            int home = this.hashes[next] & mask;
+            if (((next - home) & mask) >= ((next - empty) & mask))
+            {
+                this.table[empty << 1] = this.table[next << 1];
+                this.table[(empty << 1) + 1] = this.table[(next << 1) + 1];
+                this.hashes[empty] = this.hashes[next];
+                empty = next;
+            }
+            next = (next + 1) & mask;
+        }
+        this.table[empty << 1] = null;
+        this.table[(empty << 1) + 1] = null;
+        this.hashes[empty] = 0;
+        this.occupied--;
+    }
+
+    private void rehash(int newCapacity)
+    {
+        Object[] oldTable = this.table;
+        int[] oldHashes = this.hashes;
+        this.allocate(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldHashes.length; i++)
+        {
+            Object cur = oldTable[i << 1];
+            if (cur != null)
+            {
+                int hash = oldHashes[i];
+                int slot = hash & mask;
+                while (this.table[slot << 1] != null)
+                {
+                    slot = (slot + 1) & mask;
+                }
+                this.table[slot << 1] = cur;
+                this.table[(slot << 1) + 1] = oldTable[(i << 1) + 1];
+                this.hashes[slot] = hash;
+            }
+        }
+    }
+
+    /**
+     * Returns the first empty slot.  A removal only moves keys back within their run, so a traversal which starts
+     * just after an empty slot never has a key it has already visited moved ahead of it by {@link #removeSlot(int)}.
+     */
+    private int firstEmptySlot()
+    {
+        int slot = 0;
+        while (this.table[slot << 1] != null)
+        {
+            slot++;
+        }
+        return slot;
+    }
+
+    public void clear()
+    {
+        if (this.occupied == 0)
+        {
+            return;
+        }
+        this.occupied = 0;
+        Object[] set = this.table;
+        for (int i = set.length; i-- > 0; )
+        {
+            set[i] = null;
+        }
+        int[] hashes = this.hashes;
+        for (int i = hashes.length; i-- > 0; )
+        {
+            hashes[i] = 0;
+        }
+    }
+
+    public V put(K key, V value)
+    {
+        int hash = this.hash(key);
+        int slot = this.probe(key, hash);
+        if (this.table[slot << 1] != null)
+        {
+            V result = (V) this.table[(slot << 1) + 1];
+            this.table[(slot << 1) + 1] = value;
+            return result;
+        }
+        this.addAtSlot(slot, key, hash, value);
+        return null;
+    }
+
+    @Override
+    public V updateValue(K key, Function0<? extends V> factory, Function<? super V, ? extends V> function)
+    {
+        int hash = this.hash(key);
+        int slot = this.probe(key, hash);
+        if (this.table[slot << 1] != null)
+        {
+            V newValue = function.valueOf((V) this.table[(slot << 1) + 1]);
+            this.table[(slot << 1) + 1] = newValue;
+            return newValue;
+        }
+        V result = function.valueOf(factory.value());
+        this.addAtSlot(slot, key, hash, result);
+        return result;
+    }
+
+    @Override
+    public <P> V updateValueWith(K key, Function0<? extends V> factory, Function2<? super V, ? super P, ? extends V> function, P parameter)
+    {
+        int hash = this.hash(key);
+        int slot = this.probe(key, hash);
+        if (this.table[slot << 1] != null)
+        {
+            V newValue = function.value((V) this.table[(slot << 1) + 1], parameter);
+            this.table[(slot << 1) + 1] = newValue;
+            return newValue;
+        }
+        V result = function.value(factory.value(), parameter);
+        this.addAtSlot(slot, key, hash, result);
+        return result;
+    }
+
+    @Override
+    public V getIfAbsentPut(K key, Function0<? extends V> function)
+    {
+        int hash = this.hash(key);
+        int slot = this.probe(key, hash);
+        if (this.table[slot << 1] != null)
+        {
+            return (V) this.table[(slot << 1) + 1];
+        }
+        V result = function.value();
+        this.addAtSlot(slot, key, hash, result);
+        return result;
+    }
+
+    @Override
+    public <P> V getIfAbsentPutWith(K key, Function<? super P, ? extends V> function, P parameter)
+    {
+        int hash = this.hash(key);
+        int slot = this.probe(key, hash);
+        if (this.table[slot << 1] != null)
+        {
+            return (V) this.table[(slot << 1) + 1];
+        }
+        V result = function.valueOf(parameter);
+        this.addAtSlot(slot, key, hash, result);
+        return result;
+    }
+
+    public V get(Object key)
+    {
+        int slot = this.probe(key, this.hash(key));
+        return (V) this.table[(slot << 1) + 1];
+    }
+
+    public boolean containsKey(Object key)
+    {
+        int slot = this.probe(key, this.hash(key));
+        return this.table[slot << 1] != null;
+    }
+
+    public boolean containsValue(Object value)
+    {
+        for (int i = 0; i < this.table.length; i += 2)
+        {
+            if (this.table[i] != null && nullSafeEquals(this.table[i + 1], value))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        for (int i = 0; i < this.table.length; i += 2)
+        {
+            Object cur = this.table[i];
+            if (cur != null)
+            {
+                procedure.value(this.nonSentinel(cur), (V) this.table[i + 1]);
+            }
+        }
+    }
+
+    @Override
+    public void forEachKey(Procedure<? super K> procedure)
+    {
+        for (int i = 0; i < this.table.length; i += 2)
+        {
+            Object cur = this.table[i];
+            if (cur != null)
+            {
+                procedure.value(this.nonSentinel(cur));
+            }
+        }
+    }
+
+    @Override
+    public void forEachValue(Procedure<? super V> procedure)
+    {
+        for (int i = 0; i < this.table.length; i += 2)
+        {
+            if (this.table[i] != null)
+            {
+                procedure.value((V) this.table[i + 1]);
+            }
+        }
+    }
+
+    public <E> MutableMap<K, V> collectKeysAndValues(
+            Collection<E> collection,
+            Function<? super E, ? extends K> keyFunction,
+            Function<? super E, ? extends V> valueFunction)
+    {
+        Iterate.forEach(collection, new MapCollectProcedure<E, K, V>(this, keyFunction, valueFunction));
+        return this;
+    }
+
+    public V removeKey(K key)
+    {
+        return this.remove(key);
+    }
+
+    public V remove(Object key)
+    {
+        int slot = this.probe(key, this.hash(key));
+        if (this.table[slot << 1] == null)
+        {
+            return null;
+        }
+        V result = (V) this.table[(slot << 1) + 1];
+        this.removeSlot(slot);
+        return result;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.occupied == 0;
+    }
+
+    public int size()
+    {
+        return this.occupied;
+    }
+
+    public void putAll(Map<? extends K, ? extends V> map)
+    {
+        if (map instanceof UnsortedMapIterable)
+        {
+            MapIterable<K, V> mapIterable = (MapIterable<K, V>) map;
+            mapIterable.forEachKeyValue(new Procedure2<K, V>()
+            {
+                public void value(K key, V value)
+                {
+                    OpenAddressUnifiedMap.this.put(key, value);
+                }
+            });
+        }
+        else
+        {
+            for (Entry<? extends K, ? extends V> entry : map.entrySet())
+            {
+                this.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    public Set<Entry<K, V>> entrySet()
+    {
+        return new EntrySet();
+    }
+
+    public Set<K> keySet()
+    {
+        return new KeySet();
+    }
+
+    public Collection<V> values()
+    {
+        return new ValuesCollection();
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+
+        if (!(object instanceof Map))
+        {
+            return false;
+        }
+
+        Map<?, ?> other = (Map<?, ?>) object;
+        if (this.size() != other.size())
+        {
+            return false;
+        }
+        for (int i = 0; i < this.table.length; i += 2)
+        {
+            Object cur = this.table[i];
+            if (cur != null)
+            {
+                K key = this.nonSentinel(cur);
+                Object value = this.table[i + 1];
+                Object otherValue = other.get(key);
+                if (!nullSafeEquals(value, otherValue) || (otherValue == null && !other.containsKey(key)))
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        for (int i = 0; i < this.table.length; i += 2)
+        {
+            Object cur = this.table[i];
+            if (cur != null)
+            {
+                Object value = this.table[i + 1];
+                hashCode += this.computeHashCode(this.nonSentinel(cur)) ^ (value == null ? 0 : value.hashCode());
+            }
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder buf = new StringBuilder();
+        buf.append('{');
+        boolean first = true;
+        for (int i = 0; i < this.table.length; i += 2)
+        {
+            Object cur = this.table[i];
+            if (cur != null)
+            {
+                if (!first)
+                {
+                    buf.append(", ");
+                }
+                first = false;
+                K key = this.nonSentinel(cur);
+                Object value = this.table[i + 1];
+                buf.append(key == this ? "(this Map)" : key);
+                buf.append('=');
+                buf.append(value == this ? "(this Map)" : value);
+            }
+        }
+        buf.append('}');
+        return buf.toString();
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int size = in.readInt();
+        this.init(Math.max((int) (size / LOAD_FACTOR) + 1, DEFAULT_INITIAL_CAPACITY));
+        for (int i = 0; i < size; i++)
+        {
+            this.put((K) in.readObject(), (V) in.readObject());
+        }
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeInt(this.size());
+        for (int i = 0; i < this.table.length; i += 2)
+        {
+            Object cur = this.table[i];
+            if (cur != null)
+            {
+                out.writeObject(this.nonSentinel(cur));
+                out.writeObject(this.table[i + 1]);
+            }
+        }
+    }
+
+    private K nonSentinel(Object key)
+    {
+        return key == NULL_KEY ? null : (K) key;
+    }
+
+    private static Object toSentinelIfNull(Object key)
+    {
+        if (key == null)
+        {
+            return NULL_KEY;
+        }
+        return key;
+    }
+
+    private boolean nonNullTableObjectEquals(Object cur, Object key)
+    {
+        return cur == key || (cur == NULL_KEY ? key == null : key != null && this.keysEqual((K) cur, key));
+    }
+
+    private static boolean nullSafeEquals(Object value, Object other)
+    {
+        if (value == null)
+        {
+            if (other == null)
+            {
+                return true;
+            }
+        }
+        else if (other == value || value.equals(other))
+        {
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Visits the occupied slots in table order, starting just after the first empty slot so that removal through
+     * the iterator never moves an unvisited key behind it or a visited key ahead of it.
+     */
+    private abstract class PositionalIterator<T> implements Iterator<T>
+    {
+        private final int start = OpenAddressUnifiedMap.this.firstEmptySlot();
+        private int offset;
+        private int current = -1;
+
+        public boolean hasNext()
+        {
+            Object[] table = OpenAddressUnifiedMap.this.table;
+            int mask = OpenAddressUnifiedMap.this.hashes.length - 1;
+            while (this.offset < OpenAddressUnifiedMap.this.hashes.length)
+            {
+                if (table[((this.start + this.offset) & mask) << 1] != null)
+                {
+                    return true;
+                }
+                this.offset++;
+            }
+            return false;
+        }
+
+        protected int nextSlot()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            this.current = this.offset;
+            this.offset++;
+            return (this.start + this.current) & (OpenAddressUnifiedMap.this.hashes.length - 1);
+        }
+
+        public void remove()
+        {
+            if (this.current == -1)
+            {
+                throw new IllegalStateException();
+            }
+            OpenAddressUnifiedMap.this.removeSlot((this.start + this.current) & (OpenAddressUnifiedMap.this.hashes.length - 1));
+            // a later key may have been moved back into the removed slot
+            this.offset = this.current;
+            this.current = -1;
+        }
+    }
+
+    private class KeySetIterator extends PositionalIterator<K>
+    {
+        public K next()
+        {
+            return OpenAddressUnifiedMap.this.nonSentinel(OpenAddressUnifiedMap.this.table[this.nextSlot() << 1]);
+        }
+    }
+
+    private class ValuesIterator extends PositionalIterator<V>
+    {
+        public V next()
+        {
+            return (V) OpenAddressUnifiedMap.this.table[(this.nextSlot() << 1) + 1];
+        }
+    }
+
+    private class EntrySetIterator extends PositionalIterator<Entry<K, V>>
+    {
+        public Entry<K, V> next()
+        {
+            int slot = this.nextSlot();
+            Object[] table = OpenAddressUnifiedMap.this.table;
+            return new WriteThroughEntry(OpenAddressUnifiedMap.this.nonSentinel(table[slot << 1]), (V) table[(slot << 1) + 1]);
+        }
+    }
+
+    private final class WriteThroughEntry implements Entry<K, V>
+    {
+        private final K key;
+        private V value;
+
+        private WriteThroughEntry(K key, V value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+
+        public K getKey()
+        {
+            return this.key;
+        }
+
+        public V getValue()
+        {
+            return this.value;
+        }
+
+        public V setValue(V value)
+        {
+            this.value = value;
+            if (OpenAddressUnifiedMap.this.containsKey(this.key))
+            {
+                return OpenAddressUnifiedMap.this.put(this.key, value);
+            }
+            return null;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (obj instanceof Entry)
+            {
+                Entry<?, ?> other = (Entry<?, ?>) obj;
+                return nullSafeEquals(this.key, other.getKey())
+                        && nullSafeEquals(this.value, other.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return (this.key == null ? 0 : this.key.hashCode())
+                    ^ (this.value == null ? 0 : this.value.hashCode());
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.key + "=" + this.value;
+        }
+    }
+
+    private class KeySet extends AbstractSet<K> implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Iterator<K> iterator()
+        {
+            return new KeySetIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return OpenAddressUnifiedMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object key)
+        {
+            return OpenAddressUnifiedMap.this.containsKey(key);
+        }
+
+        @Override
+        public boolean remove(Object key)
+        {
+            int slot = OpenAddressUnifiedMap.this.probe(key, OpenAddressUnifiedMap.this.hash(key));
+            if (OpenAddressUnifiedMap.this.table[slot << 1] == null)
+            {
+                return false;
+            }
+            OpenAddressUnifiedMap.this.removeSlot(slot);
+            return true;
+        }
+
+        @Override
+        public void clear()
+        {
+            OpenAddressUnifiedMap.this.clear();
+        }
+
+        protected Object writeReplace()
+        {
+            UnifiedSet<K> replace = UnifiedSet.newSet(OpenAddressUnifiedMap.this.size());
+            OpenAddressUnifiedMap.this.forEachKey(CollectionAddProcedure.on(replace));
+            return replace;
+        }
+    }
+
+    private class ValuesCollection extends AbstractCollection<V> implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Iterator<V> iterator()
+        {
+            return new ValuesIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return OpenAddressUnifiedMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object value)
+        {
+            return OpenAddressUnifiedMap.this.containsValue(value);
+        }
+
+        @Override
+        public void clear()
+        {
+            OpenAddressUnifiedMap.this.clear();
+        }
+
+        protected Object writeReplace()
+        {
+            FastList<V> replace = FastList.newList(OpenAddressUnifiedMap.this.size());
+            OpenAddressUnifiedMap.this.forEachValue(CollectionAddProcedure.on(replace));
+            return replace;
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+            return new EntrySetIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return OpenAddressUnifiedMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object object)
+        {
+            if (!(object instanceof Entry))
+            {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) object;
+            Object key = entry.getKey();
+            int slot = OpenAddressUnifiedMap.this.probe(key, OpenAddressUnifiedMap.this.hash(key));
+            Object[] table = OpenAddressUnifiedMap.this.table;
+            return table[slot << 1] != null && nullSafeEquals(table[(slot << 1) + 1], entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object object)
+        {
+            if (!(object instanceof Entry))
+            {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) object;
+            Object key = entry.getKey();
+            int slot = OpenAddressUnifiedMap.this.probe(key, OpenAddressUnifiedMap.this.hash(key));
+            Object[] table = OpenAddressUnifiedMap.this.table;
+            if (table[slot << 1] != null && nullSafeEquals(table[(slot << 1) + 1], entry.getValue()))
+            {
+                OpenAddressUnifiedMap.this.removeSlot(slot);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void clear()
+        {
+            OpenAddressUnifiedMap.this.clear();
+        }
+    }
+}
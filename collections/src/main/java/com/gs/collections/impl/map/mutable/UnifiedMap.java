@@ -29,7 +29,9 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
+import com.gs.collections.api.ParallelIterable;
 import com.gs.collections.api.block.function.Function;
 import com.gs.collections.api.block.function.Function0;
 import com.gs.collections.api.block.function.Function2;
@@ -46,6 +48,7 @@ import com.gs.collections.impl.block.factory.Predicates;
 import com.gs.collections.impl.block.procedure.MapCollectProcedure;
 import com.gs.collections.impl.factory.Maps;
 import com.gs.collections.impl.factory.Sets;
+import com.gs.collections.impl.lazy.parallel.UnifiedMapParallelIterable;
 import com.gs.collections.impl.list.mutable.FastList;
 import com.gs.collections.impl.parallel.BatchIterable;
 import com.gs.collections.impl.set.mutable.UnifiedSet;
@@ -928,6 +931,17 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         }
     }
 
+    /**
+     * Returns a parallel iterable over the values of this map which evaluates in batches of roughly {@code batchSize}
+     * entries using the specified executor.
+     *
+     * @since 4.3
+     */
+    public ParallelIterable<V> asParallel(ExecutorService executorService, int batchSize)
+    {
+        return new UnifiedMapParallelIterable<V>(this, executorService, batchSize);
+    }
+
     public int getBatchCount(int batchSize)
     {
         return Math.max(1, this.table.length / 2 / batchSize);
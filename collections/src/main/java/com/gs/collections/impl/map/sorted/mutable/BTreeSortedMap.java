@@ -0,0 +1,1587 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.map.sorted.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.collection.MutableCollection;
+import com.gs.collections.api.map.sorted.MutableSortedMap;
+import com.gs.collections.api.set.MutableSet;
+import com.gs.collections.api.set.sorted.MutableSortedSet;
+import com.gs.collections.api.tuple.Pair;
+import com.gs.collections.impl.block.factory.Comparators;
+import com.gs.collections.impl.block.factory.Functions;
+import com.gs.collections.impl.block.procedure.MapCollectProcedure;
+import com.gs.collections.impl.collection.mutable.CollectionAdapter;
+import com.gs.collections.impl.set.mutable.SetAdapter;
+import com.gs.collections.impl.set.sorted.mutable.SortedSetAdapter;
+import com.gs.collections.impl.utility.ArrayIterate;
+
+/**
+ * A BTreeSortedMap is a MutableSortedMap which stores its entries in a B+tree.  Each leaf of the tree holds up to 64
+ * keys in sorted order in an array, with their values in a parallel array, and the leaves are linked to each other in
+ * order.  A lookup visits a handful of nodes instead of the dozens of scattered entries a {@link TreeSortedMap}
+ * visits, and an entry costs two array slots instead of a TreeMap entry object.
+ * <p/>
+ * Building a map from a SortedMap with the same comparator, or putting keys in ascending order, fills the leaves
+ * completely without comparing each key against the tree.  Iterating the map, or a {@link #subMap(Object, Object)},
+ * {@link #headMap(Object)} or {@link #tailMap(Object)} view of it, walks the linked leaves from the first key in the
+ * range and compares no keys after that.
+ * <p/>
+ * Iterators are not fail-fast.
+ *
+ * @since 4.3
+ */
+public final class BTreeSortedMap<K, V>
+        extends AbstractMutableSortedMap<K, V>
+        implements Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int NODE_CAPACITY = 64;
+    private static final int MINIMUM_NODE_SIZE = NODE_CAPACITY / 2;
+
+    private Comparator<? super K> comparator;
+    private Node root = new Leaf();
+    private int size;
+
+    public BTreeSortedMap()
+    {
+    }
+
+    public BTreeSortedMap(Comparator<? super K> comparator)
+    {
+        this.comparator = comparator;
+    }
+
+    public BTreeSortedMap(Map<? extends K, ? extends V> map)
+    {
+        this.putAll(map);
+    }
+
+    public BTreeSortedMap(Comparator<? super K> comparator, Map<? extends K, ? extends V> map)
+    {
+        this.comparator = comparator;
+        this.putAll(map);
+    }
+
+    public BTreeSortedMap(SortedMap<K, ? extends V> map)
+    {
+        this.comparator = map.comparator();
+        this.putAll(map);
+    }
+
+    public BTreeSortedMap(Pair<K, V>... pairs)
+    {
+        ArrayIterate.forEach(pairs, new MapCollectProcedure<Pair<K, V>, K, V>(this,
+                Functions.<K>firstOfPair(), Functions.<V>secondOfPair()));
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMap()
+    {
+        return new BTreeSortedMap<K, V>();
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMap(Comparator<? super K> comparator)
+    {
+        return new BTreeSortedMap<K, V>(comparator);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMap(Map<? extends K, ? extends V> map)
+    {
+        if (map instanceof SortedMap<?, ?>)
+        {
+            return new BTreeSortedMap<K, V>((SortedMap<K, V>) map);
+        }
+        return new BTreeSortedMap<K, V>(map);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMap(Comparator<? super K> comparator, Map<? extends K, ? extends V> map)
+    {
+        return new BTreeSortedMap<K, V>(comparator, map);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(Pair<K, V>... pairs)
+    {
+        return new BTreeSortedMap<K, V>(pairs);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(Comparator<? super K> comparator, Pair<K, V>... pairs)
+    {
+        return new BTreeSortedMap<K, V>(comparator).with(pairs);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(K key, V value)
+    {
+        return new BTreeSortedMap<K, V>().with(key, value);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(K key1, V value1, K key2, V value2)
+    {
+        return new BTreeSortedMap<K, V>().with(key1, value1, key2, value2);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return new BTreeSortedMap<K, V>().with(key1, value1, key2, value2, key3, value3);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3,
+            K key4, V value4)
+    {
+        return new BTreeSortedMap<K, V>().with(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(Comparator<? super K> comparator, K key, V value)
+    {
+        return new BTreeSortedMap<K, V>(comparator).with(key, value);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(Comparator<? super K> comparator, K key1, V value1, K key2, V value2)
+    {
+        return new BTreeSortedMap<K, V>(comparator).with(key1, value1, key2, value2);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(Comparator<? super K> comparator, K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return new BTreeSortedMap<K, V>(comparator).with(key1, value1, key2, value2, key3, value3);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(Comparator<? super K> comparator,
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3,
+            K key4, V value4)
+    {
+        return new BTreeSortedMap<K, V>(comparator).with(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    public BTreeSortedMap<K, V> with(K key, V value)
+    {
+        this.put(key, value);
+        return this;
+    }
+
+    public BTreeSortedMap<K, V> with(K key1, V value1, K key2, V value2)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        return this;
+    }
+
+    public BTreeSortedMap<K, V> with(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        this.put(key3, value3);
+        return this;
+    }
+
+    public BTreeSortedMap<K, V> with(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        this.put(key3, value3);
+        this.put(key4, value4);
+        return this;
+    }
+
+    public BTreeSortedMap<K, V> with(Pair<K, V>... pairs)
+    {
+        ArrayIterate.forEach(pairs, new MapCollectProcedure<Pair<K, V>, K, V>(this, Functions.<K>firstOfPair(), Functions.<V>secondOfPair()));
+        return this;
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    public MutableSortedMap<K, V> newEmpty()
+    {
+        return new BTreeSortedMap<K, V>(this.comparator);
+    }
+
+    public V removeKey(K key)
+    {
+        return this.remove(key);
+    }
+
+    @Override
+    public BTreeSortedMap<K, V> clone()
+    {
+        BTreeSortedMap<K, V> clone = (BTreeSortedMap<K, V>) super.clone();
+        Object[] keys = new Object[this.size];
+        Object[] values = new Object[this.size];
+        this.copyEntries(keys, values);
+        clone.load(keys, values, this.size);
+        return clone;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        return this.view().equals(o);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.view().hashCode();
+    }
+
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure2)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                procedure2.value((K) leaf.keys[i], (V) leaf.values[i]);
+            }
+        }
+    }
+
+    @Override
+    public void forEachKey(Procedure<? super K> procedure)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                procedure.value((K) leaf.keys[i]);
+            }
+        }
+    }
+
+    @Override
+    public void forEachValue(Procedure<? super V> procedure)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                procedure.value((V) leaf.values[i]);
+            }
+        }
+    }
+
+    public K firstKey()
+    {
+        return this.view().firstKey();
+    }
+
+    public K lastKey()
+    {
+        return this.view().lastKey();
+    }
+
+    public MutableSet<Entry<K, V>> entrySet()
+    {
+        return SetAdapter.adapt(this.view().entrySet());
+    }
+
+    public MutableSet<K> keySet()
+    {
+        return SetAdapter.adapt(this.view().keySet());
+    }
+
+    /**
+     * Returns a view of the keys of this map as a MutableSortedSet, whose subSet, headSet and tailSet are views of
+     * the matching ranges of this map.  Like {@link #keySet()} it does not support adding keys.
+     */
+    public MutableSortedSet<K> sortedKeySet()
+    {
+        return SortedSetAdapter.adapt(new KeySet(this.view(), false, null));
+    }
+
+    /**
+     * Returns a view of the keys of this map like {@link #sortedKeySet()}, to which a key may be added, putting it
+     * into the map with value unless it is already there.
+     */
+    public MutableSortedSet<K> sortedKeySet(V value)
+    {
+        return SortedSetAdapter.adapt(new KeySet(this.view(), true, value));
+    }
+
+    public MutableCollection<V> values()
+    {
+        return CollectionAdapter.adapt(this.view().values());
+    }
+
+    public Comparator<? super K> comparator()
+    {
+        return this.comparator;
+    }
+
+    public V get(Object key)
+    {
+        Leaf leaf = this.findLeaf(key);
+        int index = this.search(leaf, key);
+        return index < 0 ? null : (V) leaf.values[index];
+    }
+
+    public V put(K key, V value)
+    {
+        if (this.size == 0)
+        {
+            // Fail on null or non-comparable keys the same way TreeMap does
+            this.compare(key, key);
+        }
+        else
+        {
+            Leaf last = this.lastLeaf();
+            if (this.compare(key, last.keys[last.size - 1]) > 0)
+            {
+                this.insert(key, value, true);
+                return null;
+            }
+            Leaf leaf = this.findLeaf(key);
+            int index = this.search(leaf, key);
+            if (index >= 0)
+            {
+                V oldValue = (V) leaf.values[index];
+                leaf.values[index] = value;
+                return oldValue;
+            }
+        }
+        this.insert(key, value, false);
+        return null;
+    }
+
+    public V remove(Object key)
+    {
+        Leaf leaf = this.findLeaf(key);
+        int index = this.search(leaf, key);
+        if (index < 0)
+        {
+            return null;
+        }
+        V oldValue = (V) leaf.values[index];
+        this.delete(this.root, key);
+        while (this.root instanceof Branch && this.root.size == 1)
+        {
+            this.root = ((Branch) this.root).children[0];
+        }
+        this.size--;
+        return oldValue;
+    }
+
+    public void putAll(Map<? extends K, ? extends V> map)
+    {
+        if (this.size == 0
+                && map instanceof SortedMap<?, ?>
+                && Comparators.nullSafeEquals(this.comparator, ((SortedMap<?, ?>) map).comparator()))
+        {
+            int count = map.size();
+            Object[] keys = new Object[count];
+            Object[] values = new Object[count];
+            int index = 0;
+            for (Map.Entry<? extends K, ? extends V> entry : map.entrySet())
+            {
+                keys[index] = entry.getKey();
+                values[index] = entry.getValue();
+                index++;
+            }
+            this.load(keys, values, count);
+            return;
+        }
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet())
+        {
+            this.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    public void clear()
+    {
+        this.root = new Leaf();
+        this.size = 0;
+    }
+
+    public boolean containsKey(Object key)
+    {
+        return this.search(this.findLeaf(key), key) >= 0;
+    }
+
+    public MutableSortedMap<K, V> headMap(K toKey)
+    {
+        return SortedMapAdapter.adapt(this.view().headMap(toKey));
+    }
+
+    public MutableSortedMap<K, V> tailMap(K fromKey)
+    {
+        return SortedMapAdapter.adapt(this.view().tailMap(fromKey));
+    }
+
+    public MutableSortedMap<K, V> subMap(K fromKey, K toKey)
+    {
+        return SortedMapAdapter.adapt(this.view().subMap(fromKey, toKey));
+    }
+
+    public boolean containsValue(Object value)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                if (Comparators.nullSafeEquals(leaf.values[i], value))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.view().toString();
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeObject(this.comparator);
+        out.writeInt(this.size);
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                out.writeObject(leaf.keys[i]);
+                out.writeObject(leaf.values[i]);
+            }
+        }
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        this.comparator = (Comparator<? super K>) in.readObject();
+        int count = in.readInt();
+        Object[] keys = new Object[count];
+        Object[] values = new Object[count];
+        for (int i = 0; i < count; i++)
+        {
+            keys[i] = in.readObject();
+            values[i] = in.readObject();
+        }
+        this.load(keys, values, count);
+    }
+
+    private RangeView view()
+    {
+        return new RangeView(null, false, null, false);
+    }
+
+    private void copyEntries(Object[] keys, Object[] values)
+    {
+        int index = 0;
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            System.arraycopy(leaf.keys, 0, keys, index, leaf.size);
+            System.arraycopy(leaf.values, 0, values, index, leaf.size);
+            index += leaf.size;
+        }
+    }
+
+    /**
+     * Replaces the contents of this map with count entries whose keys are distinct and in ascending order, building
+     * the tree bottom up.  The entries are spread evenly over as few leaves as can hold them, and the nodes of each
+     * level evenly over as few branches as can hold them, so every node but the root is at least half full.
+     */
+    private void load(Object[] keys, Object[] values, int count)
+    {
+        int nodeCount = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        if (nodeCount <= 1)
+        {
+            Leaf leaf = new Leaf();
+            System.arraycopy(keys, 0, leaf.keys, 0, count);
+            System.arraycopy(values, 0, leaf.values, 0, count);
+            leaf.size = count;
+            this.root = leaf;
+            this.size = count;
+            return;
+        }
+
+        Node[] level = new Node[nodeCount];
+        Leaf previous = null;
+        int from = 0;
+        for (int i = 0; i < nodeCount; i++)
+        {
+            int to = (int) ((long) count * (i + 1) / nodeCount);
+            Leaf leaf = new Leaf();
+            System.arraycopy(keys, from, leaf.keys, 0, to - from);
+            System.arraycopy(values, from, leaf.values, 0, to - from);
+            leaf.size = to - from;
+            leaf.previous = previous;
+            if (previous != null)
+            {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            level[i] = leaf;
+            from = to;
+        }
+
+        while (nodeCount > 1)
+        {
+            int branchCount = (nodeCount + NODE_CAPACITY - 1) / NODE_CAPACITY;
+            Node[] branches = new Node[branchCount];
+            from = 0;
+            for (int i = 0; i < branchCount; i++)
+            {
+                int to = nodeCount * (i + 1) / branchCount;
+                Branch branch = new Branch();
+                for (int j = from; j < to; j++)
+                {
+                    branch.children[j - from] = level[j];
+                    if (j > from)
+                    {
+                        branch.keys[j - from - 1] = BTreeSortedMap.firstKey(level[j]);
+                    }
+                }
+                branch.size = to - from;
+                branches[i] = branch;
+                from = to;
+            }
+            level = branches;
+            nodeCount = branchCount;
+        }
+        this.root = level[0];
+        this.size = count;
+    }
+
+    private int compare(Object key1, Object key2)
+    {
+        if (this.comparator == null)
+        {
+            return ((Comparable<Object>) key1).compareTo(key2);
+        }
+        return ((Comparator<Object>) this.comparator).compare(key1, key2);
+    }
+
+    private Leaf firstLeaf()
+    {
+        Node node = this.root;
+        while (node instanceof Branch)
+        {
+            node = ((Branch) node).children[0];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf lastLeaf()
+    {
+        Node node = this.root;
+        while (node instanceof Branch)
+        {
+            Branch branch = (Branch) node;
+            node = branch.children[branch.size - 1];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf findLeaf(Object key)
+    {
+        Node node = this.root;
+        while (node instanceof Branch)
+        {
+            Branch branch = (Branch) node;
+            node = branch.children[this.childIndex(branch, key)];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * Returns the index of key in the leaf, or (-(insertion point) - 1) if it is not there.
+     */
+    private int search(Leaf leaf, Object key)
+    {
+        int low = 0;
+        int high = leaf.size - 1;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            int comparison = this.compare(leaf.keys[middle], key);
+            if (comparison < 0)
+            {
+                low = middle + 1;
+            }
+            else if (comparison > 0)
+            {
+                high = middle - 1;
+            }
+            else
+            {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Returns the index of the child of the branch which holds key, if it is in the tree.
+     */
+    private int childIndex(Branch branch, Object key)
+    {
+        int low = 0;
+        int high = branch.size - 2;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            if (this.compare(branch.keys[middle], key) <= 0)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Inserts a key which is not in the map.  A key greater than every key in the map is appended to the last leaf
+     * without comparing it against the tree.
+     */
+    private void insert(Object key, Object value, boolean append)
+    {
+        Node split = this.insert(this.root, key, value, append);
+        if (split != null)
+        {
+            Branch newRoot = new Branch();
+            newRoot.children[0] = this.root;
+            newRoot.children[1] = split;
+            newRoot.keys[0] = BTreeSortedMap.firstKey(split);
+            newRoot.size = 2;
+            this.root = newRoot;
+        }
+        this.size++;
+    }
+
+    /**
+     * Inserts key below node, and returns the new right sibling of node if node had to be split.
+     */
+    private Node insert(Node node, Object key, Object value, boolean append)
+    {
+        if (node instanceof Leaf)
+        {
+            Leaf leaf = (Leaf) node;
+            int index = append ? leaf.size : -this.search(leaf, key) - 1;
+            if (leaf.size < NODE_CAPACITY)
+            {
+                leaf.insert(index, key, value);
+                return null;
+            }
+            return leaf.split(index, key, value);
+        }
+
+        Branch branch = (Branch) node;
+        int childIndex = append ? branch.size - 1 : this.childIndex(branch, key);
+        Node split = this.insert(branch.children[childIndex], key, value, append);
+        if (split == null)
+        {
+            return null;
+        }
+        if (branch.size < NODE_CAPACITY)
+        {
+            branch.insert(childIndex + 1, split);
+            return null;
+        }
+        return branch.split(childIndex + 1, split);
+    }
+
+    /**
+     * Removes key, which must be in the map, from below node.
+     */
+    private void delete(Node node, Object key)
+    {
+        if (node instanceof Leaf)
+        {
+            Leaf leaf = (Leaf) node;
+            leaf.remove(this.search(leaf, key));
+            return;
+        }
+
+        Branch branch = (Branch) node;
+        int childIndex = this.childIndex(branch, key);
+        Node child = branch.children[childIndex];
+        this.delete(child, key);
+        if (child.size < MINIMUM_NODE_SIZE)
+        {
+            branch.rebalance(childIndex);
+        }
+    }
+
+    private static Object firstKey(Node node)
+    {
+        Node each = node;
+        while (each instanceof Branch)
+        {
+            each = ((Branch) each).children[0];
+        }
+        return ((Leaf) each).keys[0];
+    }
+
+    private abstract static class Node
+    {
+        /**
+         * The number of keys in a leaf, or of children in a branch.
+         */
+        protected int size;
+    }
+
+    private static final class Leaf extends Node
+    {
+        private final Object[] keys = new Object[NODE_CAPACITY];
+        private final Object[] values = new Object[NODE_CAPACITY];
+        private Leaf previous;
+        private Leaf next;
+
+        private void insert(int index, Object key, Object value)
+        {
+            System.arraycopy(this.keys, index, this.keys, index + 1, this.size - index);
+            System.arraycopy(this.values, index, this.values, index + 1, this.size - index);
+            this.keys[index] = key;
+            this.values[index] = value;
+            this.size++;
+        }
+
+        private void remove(int index)
+        {
+            this.size--;
+            System.arraycopy(this.keys, index + 1, this.keys, index, this.size - index);
+            System.arraycopy(this.values, index + 1, this.values, index, this.size - index);
+            this.keys[this.size] = null;
+            this.values[this.size] = null;
+        }
+
+        /**
+         * Splits this full leaf in two, inserts key and returns the new right half.  A key appended at the end goes
+         * into the right half alone, so that the leaves stay full when keys are put in order.
+         */
+        private Leaf split(int index, Object key, Object value)
+        {
+            Leaf right = new Leaf();
+            right.previous = this;
+            right.next = this.next;
+            if (this.next != null)
+            {
+                this.next.previous = right;
+            }
+            this.next = right;
+            if (index == NODE_CAPACITY)
+            {
+                right.insert(0, key, value);
+                return right;
+            }
+            int kept = NODE_CAPACITY / 2;
+            this.moveTo(right, kept, NODE_CAPACITY - kept);
+            if (index <= kept)
+            {
+                this.insert(index, key, value);
+            }
+            else
+            {
+                right.insert(index - kept, key, value);
+            }
+            return right;
+        }
+
+        /**
+         * Moves count entries starting at from to the end of the other leaf.
+         */
+        private void moveTo(Leaf other, int from, int count)
+        {
+            System.arraycopy(this.keys, from, other.keys, other.size, count);
+            System.arraycopy(this.values, from, other.values, other.size, count);
+            System.arraycopy(this.keys, from + count, this.keys, from, this.size - from - count);
+            System.arraycopy(this.values, from + count, this.values, from, this.size - from - count);
+            Arrays.fill(this.keys, this.size - count, this.size, null);
+            Arrays.fill(this.values, this.size - count, this.size, null);
+            this.size -= count;
+            other.size += count;
+        }
+    }
+
+    private static final class Branch extends Node
+    {
+        /**
+         * keys[i] is no greater than any key below children[i + 1] and greater than every key below children[i].
+         */
+        private final Object[] keys = new Object[NODE_CAPACITY - 1];
+        private final Node[] children = new Node[NODE_CAPACITY];
+
+        /**
+         * Inserts child at index, which must be at least 1, with all its keys greater than those of the child before.
+         */
+        private void insert(int index, Node child)
+        {
+            System.arraycopy(this.children, index, this.children, index + 1, this.size - index);
+            System.arraycopy(this.keys, index - 1, this.keys, index, this.size - index);
+            this.children[index] = child;
+            this.keys[index - 1] = BTreeSortedMap.firstKey(child);
+            this.size++;
+        }
+
+        private void remove(int index)
+        {
+            System.arraycopy(this.children, index + 1, this.children, index, this.size - index - 1);
+            System.arraycopy(this.keys, index, this.keys, index - 1, this.size - index - 1);
+            this.size--;
+            this.children[this.size] = null;
+            this.keys[this.size - 1] = null;
+        }
+
+        private Branch split(int index, Node child)
+        {
+            Branch right = new Branch();
+            int kept = NODE_CAPACITY / 2;
+            int moved = NODE_CAPACITY - kept;
+            System.arraycopy(this.children, kept, right.children, 0, moved);
+            System.arraycopy(this.keys, kept, right.keys, 0, moved - 1);
+            Arrays.fill(this.children, kept, NODE_CAPACITY, null);
+            Arrays.fill(this.keys, kept - 1, NODE_CAPACITY - 1, null);
+            this.size = kept;
+            right.size = moved;
+            if (index <= kept)
+            {
+                this.insert(index, child);
+            }
+            else
+            {
+                right.insert(index - kept, child);
+            }
+            return right;
+        }
+
+        /**
+         * Merges the child at index, which has too few entries, with a sibling, or moves entries into it from a
+         * sibling with entries to spare.
+         */
+        private void rebalance(int index)
+        {
+            int leftIndex = index == 0 ? 0 : index - 1;
+            Node left = this.children[leftIndex];
+            Node right = this.children[leftIndex + 1];
+            int total = left.size + right.size;
+            if (left instanceof Leaf)
+            {
+                Leaf leftLeaf = (Leaf) left;
+                Leaf rightLeaf = (Leaf) right;
+                if (total <= NODE_CAPACITY)
+                {
+                    rightLeaf.moveTo(leftLeaf, 0, rightLeaf.size);
+                    leftLeaf.next = rightLeaf.next;
+                    if (rightLeaf.next != null)
+                    {
+                        rightLeaf.next.previous = leftLeaf;
+                    }
+                    this.remove(leftIndex + 1);
+                    return;
+                }
+                if (leftLeaf.size > rightLeaf.size)
+                {
+                    int count = leftLeaf.size - total / 2;
+                    System.arraycopy(rightLeaf.keys, 0, rightLeaf.keys, count, rightLeaf.size);
+                    System.arraycopy(rightLeaf.values, 0, rightLeaf.values, count, rightLeaf.size);
+                    rightLeaf.size += count;
+                    leftLeaf.size -= count;
+                    System.arraycopy(leftLeaf.keys, leftLeaf.size, rightLeaf.keys, 0, count);
+                    System.arraycopy(leftLeaf.values, leftLeaf.size, rightLeaf.values, 0, count);
+                    Arrays.fill(leftLeaf.keys, leftLeaf.size, leftLeaf.size + count, null);
+                    Arrays.fill(leftLeaf.values, leftLeaf.size, leftLeaf.size + count, null);
+                }
+                else
+                {
+                    rightLeaf.moveTo(leftLeaf, 0, rightLeaf.size - total / 2);
+                }
+                this.keys[leftIndex] = rightLeaf.keys[0];
+                return;
+            }
+
+            Branch leftBranch = (Branch) left;
+            Branch rightBranch = (Branch) right;
+            if (total <= NODE_CAPACITY)
+            {
+                leftBranch.keys[leftBranch.size - 1] = this.keys[leftIndex];
+                System.arraycopy(rightBranch.keys, 0, leftBranch.keys, leftBranch.size, rightBranch.size - 1);
+                System.arraycopy(rightBranch.children, 0, leftBranch.children, leftBranch.size, rightBranch.size);
+                leftBranch.size = total;
+                this.remove(leftIndex + 1);
+                return;
+            }
+            if (leftBranch.size > rightBranch.size)
+            {
+                int count = leftBranch.size - total / 2;
+                System.arraycopy(rightBranch.children, 0, rightBranch.children, count, rightBranch.size);
+                System.arraycopy(rightBranch.keys, 0, rightBranch.keys, count, rightBranch.size - 1);
+                rightBranch.keys[count - 1] = this.keys[leftIndex];
+                int from = leftBranch.size - count;
+                System.arraycopy(leftBranch.children, from, rightBranch.children, 0, count);
+                System.arraycopy(leftBranch.keys, from, rightBranch.keys, 0, count - 1);
+                this.keys[leftIndex] = leftBranch.keys[from - 1];
+                Arrays.fill(leftBranch.children, from, leftBranch.size, null);
+                Arrays.fill(leftBranch.keys, from - 1, leftBranch.size - 1, null);
+                leftBranch.size = from;
+                rightBranch.size += count;
+            }
+            else
+            {
+                int count = rightBranch.size - total / 2;
+                leftBranch.keys[leftBranch.size - 1] = this.keys[leftIndex];
+                System.arraycopy(rightBranch.keys, 0, leftBranch.keys, leftBranch.size, count - 1);
+                System.arraycopy(rightBranch.children, 0, leftBranch.children, leftBranch.size, count);
+                this.keys[leftIndex] = rightBranch.keys[count - 1];
+                int remaining = rightBranch.size - count;
+                System.arraycopy(rightBranch.children, count, rightBranch.children, 0, remaining);
+                System.arraycopy(rightBranch.keys, count, rightBranch.keys, 0, remaining - 1);
+                Arrays.fill(rightBranch.children, remaining, rightBranch.size, null);
+                Arrays.fill(rightBranch.keys, remaining - 1, rightBranch.size - 1, null);
+                leftBranch.size += count;
+                rightBranch.size = remaining;
+            }
+        }
+    }
+
+    /**
+     * A view of the entries of the map with keys from fromKey inclusive to toKey exclusive, where either bound may be
+     * absent.  The view with neither bound is the whole map.
+     */
+    private final class RangeView extends AbstractMap<K, V> implements SortedMap<K, V>
+    {
+        private final K fromKey;
+        private final boolean hasFrom;
+        private final K toKey;
+        private final boolean hasTo;
+
+        private RangeView(K fromKey, boolean hasFrom, K toKey, boolean hasTo)
+        {
+            if (hasFrom && hasTo)
+            {
+                if (BTreeSortedMap.this.compare(fromKey, toKey) > 0)
+                {
+                    throw new IllegalArgumentException("fromKey > toKey");
+                }
+            }
+            else if (hasFrom)
+            {
+                BTreeSortedMap.this.compare(fromKey, fromKey);
+            }
+            else if (hasTo)
+            {
+                BTreeSortedMap.this.compare(toKey, toKey);
+            }
+            this.fromKey = fromKey;
+            this.hasFrom = hasFrom;
+            this.toKey = toKey;
+            this.hasTo = hasTo;
+        }
+
+        private boolean isUnbounded()
+        {
+            return !this.hasFrom && !this.hasTo;
+        }
+
+        private boolean isTooLow(Object key)
+        {
+            return this.hasFrom && BTreeSortedMap.this.compare(key, this.fromKey) < 0;
+        }
+
+        private boolean inRange(Object key)
+        {
+            return !this.isTooLow(key) && !(this.hasTo && BTreeSortedMap.this.compare(key, this.toKey) >= 0);
+        }
+
+        /**
+         * Returns whether key may bound a view of this range, which unlike a key in the range may equal toKey.
+         */
+        private boolean inClosedRange(Object key)
+        {
+            return !this.isTooLow(key) && !(this.hasTo && BTreeSortedMap.this.compare(key, this.toKey) > 0);
+        }
+
+        public Comparator<? super K> comparator()
+        {
+            return BTreeSortedMap.this.comparator;
+        }
+
+        public SortedMap<K, V> subMap(K fromKey, K toKey)
+        {
+            if (!this.inClosedRange(fromKey) || !this.inClosedRange(toKey))
+            {
+                throw new IllegalArgumentException("key out of range");
+            }
+            return new RangeView(fromKey, true, toKey, true);
+        }
+
+        public SortedMap<K, V> headMap(K toKey)
+        {
+            if (!this.inClosedRange(toKey))
+            {
+                throw new IllegalArgumentException("toKey out of range");
+            }
+            return new RangeView(this.fromKey, this.hasFrom, toKey, true);
+        }
+
+        public SortedMap<K, V> tailMap(K fromKey)
+        {
+            if (!this.inClosedRange(fromKey))
+            {
+                throw new IllegalArgumentException("fromKey out of range");
+            }
+            return new RangeView(fromKey, true, this.toKey, this.hasTo);
+        }
+
+        public K firstKey()
+        {
+            Iterator<K> iterator = new KeyIterator(this);
+            if (!iterator.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return iterator.next();
+        }
+
+        public K lastKey()
+        {
+            Leaf leaf;
+            int index;
+            if (this.hasTo)
+            {
+                leaf = BTreeSortedMap.this.findLeaf(this.toKey);
+                index = BTreeSortedMap.this.search(leaf, this.toKey);
+                index = (index < 0 ? -index - 1 : index) - 1;
+                if (index < 0 && leaf.previous != null)
+                {
+                    leaf = leaf.previous;
+                    index = leaf.size - 1;
+                }
+            }
+            else
+            {
+                leaf = BTreeSortedMap.this.lastLeaf();
+                index = leaf.size - 1;
+            }
+            if (index < 0 || this.isTooLow(leaf.keys[index]))
+            {
+                throw new NoSuchElementException();
+            }
+            return (K) leaf.keys[index];
+        }
+
+        @Override
+        public int size()
+        {
+            if (this.isUnbounded())
+            {
+                return BTreeSortedMap.this.size;
+            }
+            return new KeyIterator(this).remaining();
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return !new KeyIterator(this).hasNext();
+        }
+
+        @Override
+        public boolean containsKey(Object key)
+        {
+            return this.inRange(key) && BTreeSortedMap.this.containsKey(key);
+        }
+
+        @Override
+        public V get(Object key)
+        {
+            return this.inRange(key) ? BTreeSortedMap.this.get(key) : null;
+        }
+
+        @Override
+        public V put(K key, V value)
+        {
+            if (!this.inRange(key))
+            {
+                throw new IllegalArgumentException("key out of range");
+            }
+            return BTreeSortedMap.this.put(key, value);
+        }
+
+        @Override
+        public V remove(Object key)
+        {
+            return this.inRange(key) ? BTreeSortedMap.this.remove(key) : null;
+        }
+
+        @Override
+        public void clear()
+        {
+            if (this.isUnbounded())
+            {
+                BTreeSortedMap.this.clear();
+            }
+            else
+            {
+                Iterator<K> iterator = new KeyIterator(this);
+                while (iterator.hasNext())
+                {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+        }
+
+        @Override
+        public Set<K> keySet()
+        {
+            return new KeySet(this, false, null);
+        }
+
+        @Override
+        public Collection<V> values()
+        {
+            return new Values(this);
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet()
+        {
+            return new EntrySet(this);
+        }
+    }
+
+    private final class KeySet extends AbstractSet<K> implements SortedSet<K>
+    {
+        private final RangeView range;
+        private final boolean supportsAdd;
+        private final V valueOfAddedKeys;
+
+        private KeySet(RangeView range, boolean supportsAdd, V valueOfAddedKeys)
+        {
+            this.range = range;
+            this.supportsAdd = supportsAdd;
+            this.valueOfAddedKeys = valueOfAddedKeys;
+        }
+
+        @Override
+        public Iterator<K> iterator()
+        {
+            return new KeyIterator(this.range);
+        }
+
+        @Override
+        public int size()
+        {
+            return this.range.size();
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return this.range.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return this.range.containsKey(o);
+        }
+
+        @Override
+        public boolean add(K key)
+        {
+            if (!this.supportsAdd)
+            {
+                throw new UnsupportedOperationException("Cannot add a key to the key set of a map");
+            }
+            if (this.range.containsKey(key))
+            {
+                return false;
+            }
+            this.range.put(key, this.valueOfAddedKeys);
+            return true;
+        }
+
+        @Override
+        public boolean remove(Object o)
+        {
+            int oldSize = BTreeSortedMap.this.size;
+            this.range.remove(o);
+            return BTreeSortedMap.this.size != oldSize;
+        }
+
+        @Override
+        public void clear()
+        {
+            this.range.clear();
+        }
+
+        public Comparator<? super K> comparator()
+        {
+            return BTreeSortedMap.this.comparator;
+        }
+
+        public SortedSet<K> subSet(K fromElement, K toElement)
+        {
+            return new KeySet((RangeView) this.range.subMap(fromElement, toElement), this.supportsAdd, this.valueOfAddedKeys);
+        }
+
+        public SortedSet<K> headSet(K toElement)
+        {
+            return new KeySet((RangeView) this.range.headMap(toElement), this.supportsAdd, this.valueOfAddedKeys);
+        }
+
+        public SortedSet<K> tailSet(K fromElement)
+        {
+            return new KeySet((RangeView) this.range.tailMap(fromElement), this.supportsAdd, this.valueOfAddedKeys);
+        }
+
+        public K first()
+        {
+            return this.range.firstKey();
+        }
+
+        public K last()
+        {
+            return this.range.lastKey();
+        }
+    }
+
+    private final class Values extends AbstractCollection<V>
+    {
+        private final RangeView range;
+
+        private Values(RangeView range)
+        {
+            this.range = range;
+        }
+
+        @Override
+        public Iterator<V> iterator()
+        {
+            return new ValueIterator(this.range);
+        }
+
+        @Override
+        public int size()
+        {
+            return this.range.size();
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return this.range.isEmpty();
+        }
+
+        @Override
+        public void clear()
+        {
+            this.range.clear();
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>>
+    {
+        private final RangeView range;
+
+        private EntrySet(RangeView range)
+        {
+            this.range = range;
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+            return new EntryIterator(this.range);
+        }
+
+        @Override
+        public int size()
+        {
+            return this.range.size();
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return this.range.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            if (!(o instanceof Entry<?, ?>))
+            {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            Object key = entry.getKey();
+            return this.range.containsKey(key) && Comparators.nullSafeEquals(this.range.get(key), entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o)
+        {
+            if (!this.contains(o))
+            {
+                return false;
+            }
+            this.range.remove(((Entry<?, ?>) o).getKey());
+            return true;
+        }
+
+        @Override
+        public void clear()
+        {
+            this.range.clear();
+        }
+    }
+
+    private final class LeafEntry implements Entry<K, V>
+    {
+        private final K key;
+        private V value;
+
+        private LeafEntry(K key, V value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+
+        public K getKey()
+        {
+            return this.key;
+        }
+
+        public V getValue()
+        {
+            return this.value;
+        }
+
+        public V setValue(V value)
+        {
+            V oldValue = this.value;
+            this.value = value;
+            BTreeSortedMap.this.put(this.key, value);
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof Entry<?, ?>))
+            {
+                return false;
+            }
+            Entry<?, ?> other = (Entry<?, ?>) o;
+            return Comparators.nullSafeEquals(this.key, other.getKey())
+                    && Comparators.nullSafeEquals(this.value, other.getValue());
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return (this.key == null ? 0 : this.key.hashCode()) ^ (this.value == null ? 0 : this.value.hashCode());
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.key + "=" + this.value;
+        }
+    }
+
+    /**
+     * Walks the leaves from the first key of a range.  The position just past the end of the range is found once, so
+     * no keys are compared while iterating.
+     */
+    private abstract class RangeIterator<E> implements Iterator<E>
+    {
+        private final RangeView range;
+        private Leaf leaf;
+        private int index;
+        private Leaf endLeaf;
+        private int endIndex;
+        private Object currentKey;
+        private boolean isCurrentKeySet;
+
+        protected RangeIterator(RangeView range)
+        {
+            this.range = range;
+            this.seek(range.hasFrom, range.fromKey);
+        }
+
+        protected abstract E element(Leaf leaf, int index);
+
+        /**
+         * Positions the iterator at the first key which is not less than key, or at the first key in the map if there
+         * is no key, and finds the end of the range again.
+         */
+        private void seek(boolean hasKey, Object key)
+        {
+            if (this.range.hasTo)
+            {
+                this.ceiling(this.range.toKey);
+                this.endLeaf = this.leaf;
+                this.endIndex = this.index;
+            }
+            if (hasKey)
+            {
+                this.ceiling(key);
+            }
+            else
+            {
+                this.leaf = BTreeSortedMap.this.firstLeaf();
+                this.index = 0;
+                this.skipExhaustedLeaf();
+            }
+        }
+
+        private void ceiling(Object key)
+        {
+            this.leaf = BTreeSortedMap.this.findLeaf(key);
+            this.index = BTreeSortedMap.this.search(this.leaf, key);
+            if (this.index < 0)
+            {
+                this.index = -this.index - 1;
+            }
+            this.skipExhaustedLeaf();
+        }
+
+        private void skipExhaustedLeaf()
+        {
+            while (this.leaf != null && this.index >= this.leaf.size)
+            {
+                this.leaf = this.leaf.next;
+                this.index = 0;
+            }
+        }
+
+        /**
+         * Returns the number of keys left in the range, counting them a leaf at a time.
+         */
+        protected int remaining()
+        {
+            int count = 0;
+            Leaf each = this.leaf;
+            int start = this.index;
+            while (each != null && each != this.endLeaf)
+            {
+                count += each.size - start;
+                each = each.next;
+                start = 0;
+            }
+            return each == null ? count : count + this.endIndex - start;
+        }
+
+        public boolean hasNext()
+        {
+            return this.leaf != null && (this.leaf != this.endLeaf || this.index != this.endIndex);
+        }
+
+        public E next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            Leaf current = this.leaf;
+            int currentIndex = this.index;
+            this.currentKey = current.keys[currentIndex];
+            this.isCurrentKeySet = true;
+            this.index++;
+            this.skipExhaustedLeaf();
+            return this.element(current, currentIndex);
+        }
+
+        public void remove()
+        {
+            if (!this.isCurrentKeySet)
+            {
+                throw new IllegalStateException();
+            }
+            this.isCurrentKeySet = false;
+            BTreeSortedMap.this.remove(this.currentKey);
+            // The leaves may have been merged or rebalanced, so find the next key and the end of the range again
+            this.seek(true, this.currentKey);
+        }
+    }
+
+    private final class KeyIterator extends RangeIterator<K>
+    {
+        private KeyIterator(RangeView range)
+        {
+            super(range);
+        }
+
+        @Override
+        protected K element(Leaf leaf, int index)
+        {
+            return (K) leaf.keys[index];
+        }
+    }
+
+    private final class ValueIterator extends RangeIterator<V>
+    {
+        private ValueIterator(RangeView range)
+        {
+            super(range);
+        }
+
+        @Override
+        protected V element(Leaf leaf, int index)
+        {
+            return (V) leaf.values[index];
+        }
+    }
+
+    private final class EntryIterator extends RangeIterator<Entry<K, V>>
+    {
+        private EntryIterator(RangeView range)
+        {
+            super(range);
+        }
+
+        @Override
+        protected Entry<K, V> element(Leaf leaf, int index)
+        {
+            return new LeafEntry((K) leaf.keys[index], (V) leaf.values[index]);
+        }
+    }
+}
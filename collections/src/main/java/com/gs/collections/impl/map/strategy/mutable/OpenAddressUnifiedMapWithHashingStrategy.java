@@ -0,0 +1,220 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.map.strategy.mutable;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Map;
+
+import com.gs.collections.api.block.HashingStrategy;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.impl.map.mutable.OpenAddressUnifiedMap;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * OpenAddressUnifiedMapWithHashingStrategy is an {@link OpenAddressUnifiedMap} which relies on a HashingStrategy
+ * provided by a developer, instead of the hashCode and equals of the keys, to compute the hash codes of keys and to
+ * compare them.
+ * <p/>
+ * Since the map caches the hash code of every key, the strategy's computeHashCode is called only once for each key
+ * added and never when the table grows, and its equals is only called for keys whose hash codes match.  This makes the
+ * map a good choice for keys whose hash codes or equality are expensive to compute.
+ *
+ * @since 4.3
+ */
+@NotThreadSafe
+public class OpenAddressUnifiedMapWithHashingStrategy<K, V> extends OpenAddressUnifiedMap<K, V>
+{
+    private static final long serialVersionUID = 1L;
+
+    private HashingStrategy<? super K> hashingStrategy;
+
+    /**
+     * @deprecated No argument default constructor used for serialization. Instantiating an
+     *             OpenAddressUnifiedMapWithHashingStrategy with this constructor will have a null hashingStrategy and
+     *             throw NullPointerException when used.
+     */
+    @Deprecated
+    public OpenAddressUnifiedMapWithHashingStrategy()
+    {
+    }
+
+    public OpenAddressUnifiedMapWithHashingStrategy(HashingStrategy<? super K> hashingStrategy)
+    {
+        this.hashingStrategy = OpenAddressUnifiedMapWithHashingStrategy.checkNotNull(hashingStrategy);
+    }
+
+    public OpenAddressUnifiedMapWithHashingStrategy(HashingStrategy<? super K> hashingStrategy, int initialCapacity)
+    {
+        super(initialCapacity);
+        this.hashingStrategy = OpenAddressUnifiedMapWithHashingStrategy.checkNotNull(hashingStrategy);
+    }
+
+    public OpenAddressUnifiedMapWithHashingStrategy(
+            HashingStrategy<? super K> hashingStrategy,
+            Map<? extends K, ? extends V> map)
+    {
+        this(hashingStrategy, map.size());
+        this.putAll(map);
+    }
+
+    private static <K> HashingStrategy<? super K> checkNotNull(HashingStrategy<? super K> hashingStrategy)
+    {
+        if (hashingStrategy == null)
+        {
+            throw new IllegalArgumentException("Cannot Instantiate OpenAddressUnifiedMapWithHashingStrategy with null HashingStrategy");
+        }
+        return hashingStrategy;
+    }
+
+    public static <K, V> OpenAddressUnifiedMapWithHashingStrategy<K, V> newMap(HashingStrategy<? super K> hashingStrategy)
+    {
+        return new OpenAddressUnifiedMapWithHashingStrategy<K, V>(hashingStrategy);
+    }
+
+    public static <K, V> OpenAddressUnifiedMapWithHashingStrategy<K, V> newMap(
+            HashingStrategy<? super K> hashingStrategy,
+            int size)
+    {
+        return new OpenAddressUnifiedMapWithHashingStrategy<K, V>(hashingStrategy, size);
+    }
+
+    public static <K, V> OpenAddressUnifiedMapWithHashingStrategy<K, V> newMap(
+            HashingStrategy<? super K> hashingStrategy,
+            Map<? extends K, ? extends V> map)
+    {
+        return new OpenAddressUnifiedMapWithHashingStrategy<K, V>(hashingStrategy, map);
+    }
+
+    public static <K, V> OpenAddressUnifiedMapWithHashingStrategy<K, V> newWithKeysValues(
+            HashingStrategy<? super K> hashingStrategy,
+            K key, V value)
+    {
+        return new OpenAddressUnifiedMapWithHashingStrategy<K, V>(hashingStrategy, 1).withKeysValues(key, value);
+    }
+
+    public static <K, V> OpenAddressUnifiedMapWithHashingStrategy<K, V> newWithKeysValues(
+            HashingStrategy<? super K> hashingStrategy,
+            K key1, V value1,
+            K key2, V value2)
+    {
+        return new OpenAddressUnifiedMapWithHashingStrategy<K, V>(hashingStrategy, 2).withKeysValues(key1, value1, key2, value2);
+    }
+
+    public static <K, V> OpenAddressUnifiedMapWithHashingStrategy<K, V> newWithKeysValues(
+            HashingStrategy<? super K> hashingStrategy,
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3)
+    {
+        return new OpenAddressUnifiedMapWithHashingStrategy<K, V>(hashingStrategy, 3).withKeysValues(key1, value1, key2, value2, key3, value3);
+    }
+
+    public static <K, V> OpenAddressUnifiedMapWithHashingStrategy<K, V> newWithKeysValues(
+            HashingStrategy<? super K> hashingStrategy,
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3,
+            K key4, V value4)
+    {
+        return new OpenAddressUnifiedMapWithHashingStrategy<K, V>(hashingStrategy, 4).withKeysValues(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    @Override
+    public OpenAddressUnifiedMapWithHashingStrategy<K, V> withKeysValues(K key, V value)
+    {
+        this.put(key, value);
+        return this;
+    }
+
+    @Override
+    public OpenAddressUnifiedMapWithHashingStrategy<K, V> withKeysValues(K key1, V value1, K key2, V value2)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        return this;
+    }
+
+    @Override
+    public OpenAddressUnifiedMapWithHashingStrategy<K, V> withKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        this.put(key3, value3);
+        return this;
+    }
+
+    @Override
+    public OpenAddressUnifiedMapWithHashingStrategy<K, V> withKeysValues(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        this.put(key3, value3);
+        this.put(key4, value4);
+        return this;
+    }
+
+    public HashingStrategy<? super K> hashingStrategy()
+    {
+        return this.hashingStrategy;
+    }
+
+    @Override
+    protected int computeHashCode(K key)
+    {
+        return this.hashingStrategy.computeHashCode(key);
+    }
+
+    @Override
+    protected boolean keysEqual(K tableKey, Object key)
+    {
+        return this.hashingStrategy.equals(tableKey, (K) key);
+    }
+
+    @Override
+    public OpenAddressUnifiedMapWithHashingStrategy<K, V> clone()
+    {
+        return new OpenAddressUnifiedMapWithHashingStrategy<K, V>(this.hashingStrategy, this);
+    }
+
+    @Override
+    public MutableMap<K, V> newEmpty()
+    {
+        return new OpenAddressUnifiedMapWithHashingStrategy<K, V>(this.hashingStrategy);
+    }
+
+    @Override
+    public MutableMap<K, V> newEmpty(int capacity)
+    {
+        return OpenAddressUnifiedMapWithHashingStrategy.newMap(this.hashingStrategy, capacity);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        this.hashingStrategy = (HashingStrategy<? super K>) in.readObject();
+        super.readExternal(in);
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeObject(this.hashingStrategy);
+        super.writeExternal(out);
+    }
+}
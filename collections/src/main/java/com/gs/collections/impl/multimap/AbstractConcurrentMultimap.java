@@ -0,0 +1,207 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.multimap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.gs.collections.api.collection.MutableCollection;
+import com.gs.collections.api.map.ConcurrentMutableMap;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.utility.Iterate;
+
+/**
+ * AbstractConcurrentMultimap is the base of the multimaps which are safe for any number of threads to read and write
+ * at the same time.  Keys are held in a {@link ConcurrentHashMap} and the values of each key are held in a collection
+ * which is never modified once it has been published to the map.  Writers copy the collection for a key, modify the
+ * copy and swap it in with {@link ConcurrentMutableMap#replace(Object, Object, Object)}, retrying if another writer got
+ * there first.  No locks are taken, writers to different keys never contend, and readers always see a complete
+ * collection for each key.
+ * <p/>
+ * Reads are weakly consistent: a collection returned by {@link #get(Object)} is a snapshot of the values at the time
+ * of the call, and iterating the multimap may or may not reflect writes made while the iteration is in progress.
+ * Since every write copies the values of its key, these multimaps suit read-mostly workloads with a modest number
+ * of values per key.
+ *
+ * @since 4.3
+ */
+public abstract class AbstractConcurrentMultimap<K, V, C extends MutableCollection<V>> extends AbstractMutableMultimap<K, V, C>
+{
+    private final AtomicInteger atomicTotalSize = new AtomicInteger(0);
+
+    protected AbstractConcurrentMultimap()
+    {
+    }
+
+    protected AbstractConcurrentMultimap(ConcurrentMutableMap<K, C> newMap)
+    {
+        super(newMap);
+    }
+
+    @Override
+    protected MutableMap<K, C> createMap()
+    {
+        return ConcurrentHashMap.newMap();
+    }
+
+    @Override
+    protected MutableMap<K, C> createMapWithKeyCount(int keyCount)
+    {
+        return ConcurrentHashMap.newMap(keyCount);
+    }
+
+    private ConcurrentMutableMap<K, C> getConcurrentMap()
+    {
+        return (ConcurrentMutableMap<K, C>) this.map;
+    }
+
+    private C copyOf(C values)
+    {
+        C copy = this.createCollection();
+        copy.addAll(values);
+        return copy;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.atomicTotalSize.get();
+    }
+
+    @Override
+    protected void incrementTotalSize()
+    {
+        this.atomicTotalSize.incrementAndGet();
+    }
+
+    @Override
+    protected void decrementTotalSize()
+    {
+        this.atomicTotalSize.decrementAndGet();
+    }
+
+    @Override
+    protected void addToTotalSize(int value)
+    {
+        this.atomicTotalSize.addAndGet(value);
+    }
+
+    @Override
+    protected void subtractFromTotalSize(int value)
+    {
+        this.atomicTotalSize.addAndGet(-value);
+    }
+
+    @Override
+    protected void clearTotalSize()
+    {
+        this.atomicTotalSize.set(0);
+    }
+
+    @Override
+    public boolean put(K key, V value)
+    {
+        ConcurrentMutableMap<K, C> concurrentMap = this.getConcurrentMap();
+        while (true)
+        {
+            C current = concurrentMap.get(key);
+            C updated = current == null ? this.createCollection() : this.copyOf(current);
+            if (!updated.add(value))
+            {
+                return false;
+            }
+            if (this.swap(concurrentMap, key, current, updated))
+            {
+                this.incrementTotalSize();
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public boolean putAll(K key, Iterable<? extends V> values)
+    {
+        if (Iterate.isEmpty(values))
+        {
+            return false;
+        }
+        ConcurrentMutableMap<K, C> concurrentMap = this.getConcurrentMap();
+        while (true)
+        {
+            C current = concurrentMap.get(key);
+            C updated = current == null ? this.createCollection() : this.copyOf(current);
+            int oldSize = updated.size();
+            int newSize = Iterate.addAllTo(values, updated).size();
+            if (newSize == oldSize)
+            {
+                return false;
+            }
+            if (this.swap(concurrentMap, key, current, updated))
+            {
+                this.addToTotalSize(newSize - oldSize);
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value)
+    {
+        ConcurrentMutableMap<K, C> concurrentMap = this.getConcurrentMap();
+        while (true)
+        {
+            C current = concurrentMap.get(key);
+            if (current == null)
+            {
+                return false;
+            }
+            C updated = this.copyOf(current);
+            if (!updated.remove(value))
+            {
+                return false;
+            }
+            boolean swapped = updated.isEmpty()
+                    ? concurrentMap.remove(key, current)
+                    : concurrentMap.replace((K) key, current, updated);
+            if (swapped)
+            {
+                this.decrementTotalSize();
+                return true;
+            }
+        }
+    }
+
+    private boolean swap(ConcurrentMutableMap<K, C> concurrentMap, K key, C current, C updated)
+    {
+        return current == null
+                ? concurrentMap.putIfAbsent(key, updated) == null
+                : concurrentMap.replace(key, current, updated);
+    }
+
+    /**
+     * Removes every key.  Unlike the other mutable multimaps, collections previously returned by {@link #get(Object)}
+     * keep the values they had, as they are snapshots which are never modified.
+     */
+    @Override
+    public void clear()
+    {
+        for (K key : this.map.keySet())
+        {
+            this.removeAll(key);
+        }
+    }
+}
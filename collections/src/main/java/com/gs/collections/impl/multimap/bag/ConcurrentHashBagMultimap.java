@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.multimap.bag;
+
+import java.io.Externalizable;
+
+import com.gs.collections.api.bag.ImmutableBag;
+import com.gs.collections.api.bag.MutableBag;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.api.multimap.Multimap;
+import com.gs.collections.api.multimap.bag.ImmutableBagMultimap;
+import com.gs.collections.api.multimap.bag.MutableBagMultimap;
+import com.gs.collections.api.tuple.Pair;
+import com.gs.collections.impl.bag.mutable.HashBag;
+import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+import com.gs.collections.impl.multimap.AbstractConcurrentMultimap;
+import com.gs.collections.impl.utility.ArrayIterate;
+
+/**
+ * A Multimap which is safe for concurrent reads and writes.  Writes to a key copy its values, and reads see a snapshot
+ * of the values of each key.  See {@link AbstractConcurrentMultimap} for details.
+ *
+ * @since 4.3
+ */
+public final class ConcurrentHashBagMultimap<K, V>
+        extends AbstractConcurrentMultimap<K, V, MutableBag<V>> implements MutableBagMultimap<K, V>, Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    public ConcurrentHashBagMultimap()
+    {
+    }
+
+    public ConcurrentHashBagMultimap(int initialCapacity)
+    {
+        super(ConcurrentHashMap.<K, MutableBag<V>>newMap(initialCapacity));
+    }
+
+    public ConcurrentHashBagMultimap(Multimap<? extends K, ? extends V> multimap)
+    {
+        this.putAll(multimap);
+    }
+
+    public ConcurrentHashBagMultimap(Pair<K, V>... pairs)
+    {
+        this();
+        ArrayIterate.forEach(pairs, new Procedure<Pair<K, V>>()
+        {
+            public void value(Pair<K, V> pair)
+            {
+                ConcurrentHashBagMultimap.this.put(pair.getOne(), pair.getTwo());
+            }
+        });
+    }
+
+    @Override
+    protected MutableBag<V> createCollection()
+    {
+        return HashBag.newBag(1);
+    }
+
+    public static <K, V> ConcurrentHashBagMultimap<K, V> newMultimap()
+    {
+        return new ConcurrentHashBagMultimap<K, V>();
+    }
+
+    public static <K, V> ConcurrentHashBagMultimap<K, V> newMultimap(int initialCapacity)
+    {
+        return new ConcurrentHashBagMultimap<K, V>(initialCapacity);
+    }
+
+    public static <K, V> ConcurrentHashBagMultimap<K, V> newMultimap(Multimap<? extends K, ? extends V> multimap)
+    {
+        return new ConcurrentHashBagMultimap<K, V>(multimap);
+    }
+
+    public static <K, V> ConcurrentHashBagMultimap<K, V> newMultimap(Pair<K, V>... pairs)
+    {
+        return new ConcurrentHashBagMultimap<K, V>(pairs);
+    }
+
+    public ConcurrentHashBagMultimap<K, V> newEmpty()
+    {
+        return new ConcurrentHashBagMultimap<K, V>();
+    }
+
+    public MutableBagMultimap<K, V> toMutable()
+    {
+        return new ConcurrentHashBagMultimap<K, V>(this);
+    }
+
+    public ImmutableBagMultimap<K, V> toImmutable()
+    {
+        final MutableMap<K, ImmutableBag<V>> map = UnifiedMap.newMap();
+
+        this.map.forEachKeyValue(new Procedure2<K, MutableBag<V>>()
+        {
+            public void value(K key, MutableBag<V> bag)
+            {
+                map.put(key, bag.toImmutable());
+            }
+        });
+
+        return new ImmutableBagMultimapImpl<K, V>(map);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.multimap.list;
+
+import java.io.Externalizable;
+
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.list.ImmutableList;
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.api.multimap.Multimap;
+import com.gs.collections.api.multimap.list.ImmutableListMultimap;
+import com.gs.collections.api.multimap.list.MutableListMultimap;
+import com.gs.collections.api.tuple.Pair;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+import com.gs.collections.impl.multimap.AbstractConcurrentMultimap;
+import com.gs.collections.impl.utility.ArrayIterate;
+
+/**
+ * A Multimap which is safe for concurrent reads and writes.  Writes to a key copy its values, and reads see a snapshot
+ * of the values of each key.  See {@link AbstractConcurrentMultimap} for details.
+ *
+ * @since 4.3
+ */
+public final class ConcurrentFastListMultimap<K, V>
+        extends AbstractConcurrentMultimap<K, V, MutableList<V>>
+        implements MutableListMultimap<K, V>, Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    public ConcurrentFastListMultimap()
+    {
+    }
+
+    public ConcurrentFastListMultimap(int initialCapacity)
+    {
+        super(ConcurrentHashMap.<K, MutableList<V>>newMap(initialCapacity));
+    }
+
+    public ConcurrentFastListMultimap(Multimap<? extends K, ? extends V> multimap)
+    {
+        this.putAll(multimap);
+    }
+
+    public ConcurrentFastListMultimap(Pair<K, V>... pairs)
+    {
+        this();
+        ArrayIterate.forEach(pairs, new Procedure<Pair<K, V>>()
+        {
+            public void value(Pair<K, V> pair)
+            {
+                ConcurrentFastListMultimap.this.put(pair.getOne(), pair.getTwo());
+            }
+        });
+    }
+
+    @Override
+    protected MutableList<V> createCollection()
+    {
+        return FastList.newList(1);
+    }
+
+    public static <K, V> ConcurrentFastListMultimap<K, V> newMultimap()
+    {
+        return new ConcurrentFastListMultimap<K, V>();
+    }
+
+    public static <K, V> ConcurrentFastListMultimap<K, V> newMultimap(int initialCapacity)
+    {
+        return new ConcurrentFastListMultimap<K, V>(initialCapacity);
+    }
+
+    public static <K, V> ConcurrentFastListMultimap<K, V> newMultimap(Multimap<? extends K, ? extends V> multimap)
+    {
+        return new ConcurrentFastListMultimap<K, V>(multimap);
+    }
+
+    public static <K, V> ConcurrentFastListMultimap<K, V> newMultimap(Pair<K, V>... pairs)
+    {
+        return new ConcurrentFastListMultimap<K, V>(pairs);
+    }
+
+    public ConcurrentFastListMultimap<K, V> newEmpty()
+    {
+        return new ConcurrentFastListMultimap<K, V>();
+    }
+
+    public MutableListMultimap<K, V> toMutable()
+    {
+        return new ConcurrentFastListMultimap<K, V>(this);
+    }
+
+    public ImmutableListMultimap<K, V> toImmutable()
+    {
+        final MutableMap<K, ImmutableList<V>> map = UnifiedMap.newMap();
+
+        this.map.forEachKeyValue(new Procedure2<K, MutableList<V>>()
+        {
+            public void value(K key, MutableList<V> list)
+            {
+                map.put(key, list.toImmutable());
+            }
+        });
+
+        return new ImmutableListMultimapImpl<K, V>(map);
+    }
+}
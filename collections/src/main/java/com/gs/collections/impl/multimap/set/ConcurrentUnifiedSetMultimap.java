@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.multimap.set;
+
+import java.io.Externalizable;
+
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.api.multimap.Multimap;
+import com.gs.collections.api.multimap.set.ImmutableSetMultimap;
+import com.gs.collections.api.multimap.set.MutableSetMultimap;
+import com.gs.collections.api.set.ImmutableSet;
+import com.gs.collections.api.set.MutableSet;
+import com.gs.collections.api.tuple.Pair;
+import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+import com.gs.collections.impl.multimap.AbstractConcurrentMultimap;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import com.gs.collections.impl.utility.ArrayIterate;
+
+/**
+ * A Multimap which is safe for concurrent reads and writes.  Writes to a key copy its values, and reads see a snapshot
+ * of the values of each key.  See {@link AbstractConcurrentMultimap} for details.
+ *
+ * @since 4.3
+ */
+public final class ConcurrentUnifiedSetMultimap<K, V>
+        extends AbstractConcurrentMultimap<K, V, MutableSet<V>> implements MutableSetMultimap<K, V>, Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    public ConcurrentUnifiedSetMultimap()
+    {
+    }
+
+    public ConcurrentUnifiedSetMultimap(int initialCapacity)
+    {
+        super(ConcurrentHashMap.<K, MutableSet<V>>newMap(initialCapacity));
+    }
+
+    public ConcurrentUnifiedSetMultimap(Multimap<? extends K, ? extends V> multimap)
+    {
+        this.putAll(multimap);
+    }
+
+    public ConcurrentUnifiedSetMultimap(Pair<K, V>... pairs)
+    {
+        this();
+        ArrayIterate.forEach(pairs, new Procedure<Pair<K, V>>()
+        {
+            public void value(Pair<K, V> pair)
+            {
+                ConcurrentUnifiedSetMultimap.this.put(pair.getOne(), pair.getTwo());
+            }
+        });
+    }
+
+    @Override
+    protected MutableSet<V> createCollection()
+    {
+        return UnifiedSet.newSet(1);
+    }
+
+    public static <K, V> ConcurrentUnifiedSetMultimap<K, V> newMultimap()
+    {
+        return new ConcurrentUnifiedSetMultimap<K, V>();
+    }
+
+    public static <K, V> ConcurrentUnifiedSetMultimap<K, V> newMultimap(int initialCapacity)
+    {
+        return new ConcurrentUnifiedSetMultimap<K, V>(initialCapacity);
+    }
+
+    public static <K, V> ConcurrentUnifiedSetMultimap<K, V> newMultimap(Multimap<? extends K, ? extends V> multimap)
+    {
+        return new ConcurrentUnifiedSetMultimap<K, V>(multimap);
+    }
+
+    public static <K, V> ConcurrentUnifiedSetMultimap<K, V> newMultimap(Pair<K, V>... pairs)
+    {
+        return new ConcurrentUnifiedSetMultimap<K, V>(pairs);
+    }
+
+    public ConcurrentUnifiedSetMultimap<K, V> newEmpty()
+    {
+        return new ConcurrentUnifiedSetMultimap<K, V>();
+    }
+
+    public MutableSetMultimap<K, V> toMutable()
+    {
+        return new ConcurrentUnifiedSetMultimap<K, V>(this);
+    }
+
+    public ImmutableSetMultimap<K, V> toImmutable()
+    {
+        final MutableMap<K, ImmutableSet<V>> map = UnifiedMap.newMap();
+
+        this.map.forEachKeyValue(new Procedure2<K, MutableSet<V>>()
+        {
+            public void value(K key, MutableSet<V> set)
+            {
+                map.put(key, set.toImmutable());
+            }
+        });
+
+        return new ImmutableSetMultimapImpl<K, V>(map);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.offheap;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Allocates and releases the direct {@link ByteBuffer}s used by the off-heap primitive collections.
+ * <p/>
+ * Direct memory is normally only returned to the operating system once the owning buffer has been garbage collected.
+ * {@link #free(ByteBuffer)} releases it immediately through the buffer's cleaner when the JVM exposes one, and otherwise
+ * leaves the buffer to the garbage collector.
+ *
+ * @since 4.3
+ */
+public final class DirectMemory
+{
+    private static final Method CLEANER_METHOD;
+    private static final Method CLEAN_METHOD;
+
+    static
+    {
+        Method cleanerMethod = null;
+        Method cleanMethod = null;
+        try
+        {
+            cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            cleanMethod = Class.forName("sun.misc.Cleaner").getMethod("clean");
+        }
+        catch (Exception ignored)
+        {
+            // Not a JVM with sun.misc.Cleaner, released buffers are left to the garbage collector
+        }
+        CLEANER_METHOD = cleanerMethod;
+        CLEAN_METHOD = cleanMethod;
+    }
+
+    private DirectMemory()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Allocates a zero filled direct buffer of {@code bytes} bytes in native byte order.
+     */
+    public static ByteBuffer allocate(int bytes)
+    {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Releases the memory of a buffer returned by {@link #allocate(int)}, or unmaps a buffer returned by
+     * {@link java.nio.channels.FileChannel#map}.  Neither the buffer nor any view of it may be used afterwards.
+     */
+    public static void free(ByteBuffer buffer)
+    {
+        if (CLEANER_METHOD == null || !buffer.isDirect())
+        {
+            return;
+        }
+        try
+        {
+            Object cleaner = CLEANER_METHOD.invoke(buffer);
+            if (cleaner != null)
+            {
+                CLEAN_METHOD.invoke(cleaner);
+            }
+        }
+        catch (Exception ignored)
+        {
+            // The cleaner is not accessible, the buffer is released when it is garbage collected
+        }
+    }
+}
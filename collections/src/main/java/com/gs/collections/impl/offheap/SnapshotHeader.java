@@ -0,0 +1,245 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.offheap;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * The fixed size header of a snapshot file written by the off-heap primitive hash maps and sets.
+ * <p/>
+ * A snapshot is the open-addressed table of a collection exactly as it is probed in memory, so that it can be mapped
+ * back with {@link FileChannel#map} and used without rehashing.  The file starts with this {@value #SIZE} byte header,
+ * followed by the table of keys at {@link #keysOffset()} and, for maps, the table of values at {@link #valuesOffset()}.
+ * The tables are written in native byte order and a snapshot can only be opened on a platform with the same byte order.
+ * <pre>
+ *  0  int   magic number
+ *  4  int   format version
+ *  8  byte  byte order of the tables, 0 for big endian and 1 for little endian
+ *  9  byte  key type, as a JVM type descriptor
+ * 10  byte  value type, as a JVM type descriptor, or 'V' for sets
+ * 11  byte  flags, 1 when the map contains the key 0 and 2 when it contains the key 1
+ * 12  int   table capacity
+ * 16  int   occupied with data
+ * 20  int   occupied with sentinels
+ * 24  long  bits of the value of key 0 for maps, the elements between 0 and 31 for sets
+ * 32  long  bits of the value of key 1 for maps, unused for sets
+ * </pre>
+ *
+ * @since 4.3
+ */
+public final class SnapshotHeader
+{
+    public static final int SIZE = 64;
+
+    private static final int MAGIC = 0x47534353;
+    private static final int VERSION = 1;
+    private static final int CONTAINS_ZERO_KEY = 1;
+    private static final int CONTAINS_ONE_KEY = 2;
+
+    private final char keyType;
+    private final char valueType;
+    private final int capacity;
+    private final int occupiedWithData;
+    private final int occupiedWithSentinels;
+    private final boolean containsZeroKey;
+    private final boolean containsOneKey;
+    private final long zeroBits;
+    private final long oneBits;
+
+    public SnapshotHeader(
+            char keyType,
+            char valueType,
+            int capacity,
+            int occupiedWithData,
+            int occupiedWithSentinels,
+            boolean containsZeroKey,
+            boolean containsOneKey,
+            long zeroBits,
+            long oneBits)
+    {
+        this.keyType = keyType;
+        this.valueType = valueType;
+        this.capacity = capacity;
+        this.occupiedWithData = occupiedWithData;
+        this.occupiedWithSentinels = occupiedWithSentinels;
+        this.containsZeroKey = containsZeroKey;
+        this.containsOneKey = containsOneKey;
+        this.zeroBits = zeroBits;
+        this.oneBits = oneBits;
+    }
+
+    /**
+     * Reads and validates the header of a snapshot of {@code keyType} keys and {@code valueType} values.
+     *
+     * @throws IOException if the file is not such a snapshot, is truncated or was written with another byte order
+     */
+    public static SnapshotHeader read(FileChannel channel, char keyType, char valueType) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+        while (buffer.hasRemaining())
+        {
+            if (channel.read(buffer, buffer.position()) < 0)
+            {
+                throw new EOFException("Snapshot header is truncated");
+            }
+        }
+        buffer.flip();
+        if (buffer.getInt(0) != MAGIC)
+        {
+            throw new IOException("Not a snapshot file");
+        }
+        if (buffer.getInt(4) != VERSION)
+        {
+            throw new IOException("Unsupported snapshot version: " + buffer.getInt(4));
+        }
+        if (buffer.get(8) != nativeOrderFlag())
+        {
+            throw new IOException("Snapshot was written with a different byte order than " + ByteOrder.nativeOrder());
+        }
+        char fileKeyType = (char) buffer.get(9);
+        char fileValueType = (char) buffer.get(10);
+        if (fileKeyType != keyType || fileValueType != valueType)
+        {
+            throw new IOException("Snapshot of " + fileKeyType + fileValueType + " cannot be read as " + keyType + valueType);
+        }
+        int flags = buffer.get(11);
+        SnapshotHeader header = new SnapshotHeader(
+                keyType,
+                valueType,
+                buffer.getInt(12),
+                buffer.getInt(16),
+                buffer.getInt(20),
+                (flags & CONTAINS_ZERO_KEY) != 0,
+                (flags & CONTAINS_ONE_KEY) != 0,
+                buffer.getLong(24),
+                buffer.getLong(32));
+        if (header.capacity <= 0 || Integer.bitCount(header.capacity) != 1)
+        {
+            throw new IOException("Snapshot capacity is not a power of two: " + header.capacity);
+        }
+        if (channel.size() < header.length())
+        {
+            throw new EOFException("Snapshot is truncated, expected " + header.length() + " bytes but found " + channel.size());
+        }
+        return header;
+    }
+
+    public void write(FileChannel channel) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.put(8, nativeOrderFlag());
+        buffer.put(9, (byte) this.keyType);
+        buffer.put(10, (byte) this.valueType);
+        buffer.put(11, (byte) ((this.containsZeroKey ? CONTAINS_ZERO_KEY : 0) | (this.containsOneKey ? CONTAINS_ONE_KEY : 0)));
+        buffer.putInt(12, this.capacity);
+        buffer.putInt(16, this.occupiedWithData);
+        buffer.putInt(20, this.occupiedWithSentinels);
+        buffer.putLong(24, this.zeroBits);
+        buffer.putLong(32, this.oneBits);
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer, buffer.position());
+        }
+    }
+
+    private static byte nativeOrderFlag()
+    {
+        return ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ? (byte) 0 : (byte) 1;
+    }
+
+    private static int bytesPerElement(char type)
+    {
+        switch (type)
+        {
+            case 'B':
+                return 1;
+            case 'S':
+            case 'C':
+                return 2;
+            case 'I':
+            case 'F':
+                return 4;
+            case 'J':
+            case 'D':
+                return 8;
+            case 'V':
+                return 0;
+            default:
+                throw new IllegalArgumentException("Unknown type descriptor: " + type);
+        }
+    }
+
+    public int getCapacity()
+    {
+        return this.capacity;
+    }
+
+    public int getOccupiedWithData()
+    {
+        return this.occupiedWithData;
+    }
+
+    public int getOccupiedWithSentinels()
+    {
+        return this.occupiedWithSentinels;
+    }
+
+    public boolean containsZeroKey()
+    {
+        return this.containsZeroKey;
+    }
+
+    public boolean containsOneKey()
+    {
+        return this.containsOneKey;
+    }
+
+    public long getZeroBits()
+    {
+        return this.zeroBits;
+    }
+
+    public long getOneBits()
+    {
+        return this.oneBits;
+    }
+
+    public long keysOffset()
+    {
+        return SIZE;
+    }
+
+    /**
+     * The values start on the next eight byte boundary after the keys, so that every element is naturally aligned.
+     */
+    public long valuesOffset()
+    {
+        long keysEnd = this.keysOffset() + (long) this.capacity * bytesPerElement(this.keyType);
+        return (keysEnd + 7L) & ~7L;
+    }
+
+    public long length()
+    {
+        return this.valuesOffset() + (long) this.capacity * bytesPerElement(this.valueType);
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * This package contains the storage used by the off-heap primitive collections.
+ * <p>
+ *     {@link com.gs.collections.impl.offheap.DirectMemory} allocates and releases direct buffers, and the generated
+ *     {@code <Primitive>OffHeapArray} classes are fixed length primitive arrays backed by one or more of them.
+ *     The collections built on top, such as {@code OffHeapLongArrayList}, {@code OffHeapLongHashSet} and
+ *     {@code OffHeapLongLongHashMap}, keep their elements outside of the garbage collected heap and must be closed to
+ *     release that memory promptly.
+ * </p>
+ */
+package com.gs.collections.impl.offheap;
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import java.util.concurrent.Executor;
+
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.utility.Iterate;
+
+/**
+ * A Combiner for procedures which each build a private partial result.  The partial results are merged pairwise, in
+ * rounds which run their merges in parallel on the executor, so no two threads ever write to the same result.  Pairs
+ * are formed from adjacent tasks and the right result is merged into the left one, so the order of the source is kept
+ * where the result has one.
+ *
+ * @since 4.3
+ */
+public abstract class AbstractMergingCombiner<BT, R>
+        extends AbstractProcedureCombiner<BT>
+{
+    private static final long serialVersionUID = 1L;
+
+    private final transient Executor executor;
+    private R result;
+
+    protected AbstractMergingCombiner(Executor executor)
+    {
+        super(false);
+        this.executor = executor;
+    }
+
+    protected abstract R resultOf(BT procedure);
+
+    /**
+     * Merges the source partial result into the target, which is the partial result of an earlier task.
+     */
+    protected abstract void merge(R target, R source);
+
+    protected abstract R newResult();
+
+    public void combineOne(BT procedure)
+    {
+        this.combineResult(this.resultOf(procedure));
+    }
+
+    @Override
+    public void combineAll(Iterable<BT> thingsToCombine)
+    {
+        FastList<R> partials = Iterate.collect(thingsToCombine, new Function<BT, R>()
+        {
+            public R valueOf(BT procedure)
+            {
+                return AbstractMergingCombiner.this.resultOf(procedure);
+            }
+        }, FastList.<R>newList());
+        while (partials.size() > 1)
+        {
+            partials = this.mergeRound(partials);
+        }
+        if (partials.notEmpty())
+        {
+            this.combineResult(partials.getFirst());
+        }
+    }
+
+    private void combineResult(R partial)
+    {
+        if (this.result == null)
+        {
+            this.result = partial;
+        }
+        else
+        {
+            this.merge(this.result, partial);
+        }
+    }
+
+    private FastList<R> mergeRound(final FastList<R> partials)
+    {
+        int pairCount = partials.size() / 2;
+        if (pairCount == 1)
+        {
+            this.merge(partials.get(0), partials.get(1));
+        }
+        else
+        {
+            ParallelIterate.forEach(Interval.zeroTo(pairCount - 1), new Procedure<Integer>()
+            {
+                public void value(Integer pair)
+                {
+                    int left = pair.intValue() * 2;
+                    AbstractMergingCombiner.this.merge(partials.get(left), partials.get(left + 1));
+                }
+            }, 1, this.executor);
+        }
+        FastList<R> merged = FastList.newList(pairCount + 1);
+        for (int i = 0; i < partials.size(); i += 2)
+        {
+            merged.add(partials.get(i));
+        }
+        return merged;
+    }
+
+    public R getResult()
+    {
+        if (this.result == null)
+        {
+            this.result = this.newResult();
+        }
+        return this.result;
+    }
+}
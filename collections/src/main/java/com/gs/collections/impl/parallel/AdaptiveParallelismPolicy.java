@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A ParallelismPolicy that sizes each chunk from what is left and from how long the chunks completed so far took.
+ * <p/>
+ * A chunk is never more than half of the remaining elements divided by the task count, so the chunks shrink
+ * geometrically towards the end of the iterable and the last elements are spread over all of the tasks.  Once some
+ * chunks have completed, a chunk is also never more than the number of elements expected to take the target chunk
+ * time at the average cost per element observed so far.  The first chunk each task claims is the minimum chunk size,
+ * which gives a cheap first measurement.
+ *
+ * @since 4.3
+ */
+public final class AdaptiveParallelismPolicy implements ParallelismPolicy
+{
+    public static final long DEFAULT_TARGET_CHUNK_NANOS = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    private final int taskCount;
+    private final int minChunkSize;
+    private final long targetChunkNanos;
+
+    public AdaptiveParallelismPolicy()
+    {
+        this(ParallelIterate.getDefaultMaxThreadPoolSize(), 1, DEFAULT_TARGET_CHUNK_NANOS);
+    }
+
+    public AdaptiveParallelismPolicy(int taskCount, int minChunkSize, long targetChunkNanos)
+    {
+        if (taskCount < 1 || minChunkSize < 1 || targetChunkNanos < 1L)
+        {
+            throw new IllegalArgumentException("Task count, minimum chunk size and target chunk time must be positive");
+        }
+        this.taskCount = taskCount;
+        this.minChunkSize = minChunkSize;
+        this.targetChunkNanos = targetChunkNanos;
+    }
+
+    public int getTaskCount(int size)
+    {
+        return this.taskCount;
+    }
+
+    public int getChunkSize(int remaining, int taskCount, int processedCount, long elapsedNanos)
+    {
+        if (processedCount == 0)
+        {
+            return this.minChunkSize;
+        }
+        long guidedSize = (long) remaining / (2L * (long) taskCount);
+        long latencyBoundSize = this.targetChunkNanos * (long) processedCount / Math.max(1L, elapsedNanos);
+        return (int) Math.max((long) this.minChunkSize, Math.min(guidedSize, latencyBoundSize));
+    }
+}
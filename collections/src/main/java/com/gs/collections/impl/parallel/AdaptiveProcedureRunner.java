@@ -0,0 +1,227 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.list.ListIterable;
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.utility.ArrayListIterate;
+import com.gs.collections.impl.utility.ListIterate;
+
+/**
+ * Runs a parallel iteration over a list as a set of tasks which each keep claiming the next chunk of the list from a
+ * shared cursor, with the chunk sizes chosen by a {@link ParallelismPolicy}.  A task which finishes early simply
+ * claims more chunks, so the work balances itself across the tasks whatever the cost of each element.
+ * <p/>
+ * Each chunk is processed by its own procedure from the ProcedureFactory.  The procedures are combined in the order
+ * of their chunks once all of the tasks have finished, so the result of an order sensitive Combiner is the same as
+ * with the fixed size batches of the other ParallelIterate methods.
+ *
+ * @since 4.3
+ */
+public final class AdaptiveProcedureRunner<T, BT extends Procedure<? super T>>
+{
+    private final List<T> list;
+    private final ProcedureFactory<BT> procedureFactory;
+    private final Combiner<BT> combiner;
+    private final ParallelismPolicy policy;
+    private final AtomicInteger nextIndex = new AtomicInteger(0);
+    private final AtomicInteger processedCount = new AtomicInteger(0);
+    private final AtomicLong elapsedNanos = new AtomicLong(0L);
+    private final MutableList<Chunk<BT>> completedChunks = FastList.newList();
+    private volatile Throwable error;
+
+    public AdaptiveProcedureRunner(
+            List<T> list,
+            ProcedureFactory<BT> procedureFactory,
+            Combiner<BT> combiner,
+            ParallelismPolicy policy)
+    {
+        this.list = list;
+        this.procedureFactory = procedureFactory;
+        this.combiner = combiner;
+        this.policy = policy;
+    }
+
+    public void executeAndCombine(Executor executor)
+    {
+        final int taskCount = this.getTaskCount();
+        final CountDownLatch latch = new CountDownLatch(taskCount);
+        for (int i = 0; i < taskCount; i++)
+        {
+            executor.execute(new Runnable()
+            {
+                public void run()
+                {
+                    try
+                    {
+                        AdaptiveProcedureRunner.this.processChunks(taskCount);
+                    }
+                    finally
+                    {
+                        latch.countDown();
+                    }
+                }
+            });
+        }
+        try
+        {
+            latch.await();
+        }
+        catch (InterruptedException e)
+        {
+            throw new RuntimeException("Combine failed", e);
+        }
+        this.combine();
+    }
+
+    /**
+     * Returns the number of tasks which should each run {@link #processChunks(int)}, as chosen by the policy.
+     */
+    public int getTaskCount()
+    {
+        int size = this.list.size();
+        return Math.max(1, Math.min(size, this.policy.getTaskCount(size)));
+    }
+
+    /**
+     * Claims and processes chunks until the list is exhausted or a task has failed.  Each of the tasks of an
+     * iteration runs this once, with the task count returned by {@link #getTaskCount()}.
+     */
+    public void processChunks(int taskCount)
+    {
+        try
+        {
+            this.claimAndProcessChunks(taskCount);
+        }
+        catch (Throwable newError)
+        {
+            this.error = newError;
+        }
+    }
+
+    /**
+     * Combines the procedures of the completed chunks in chunk order, once all of the tasks have finished.
+     */
+    public void combine()
+    {
+        if (this.error != null)
+        {
+            throw new RuntimeException("One or more parallel tasks failed", this.error);
+        }
+        this.combineChunks();
+    }
+
+    private void claimAndProcessChunks(int taskCount)
+    {
+        int size = this.list.size();
+        while (this.error == null)
+        {
+            int start = this.nextIndex.get();
+            if (start >= size)
+            {
+                return;
+            }
+            int remaining = size - start;
+            int chunkSize = Math.min(
+                    remaining,
+                    Math.max(1, this.policy.getChunkSize(remaining, taskCount, this.processedCount.get(), this.elapsedNanos.get())));
+            int end = start + chunkSize;
+            if (this.nextIndex.compareAndSet(start, end))
+            {
+                BT procedure = this.procedureFactory.create();
+                long startNanos = System.nanoTime();
+                this.forEach(start, end - 1, procedure);
+                this.elapsedNanos.addAndGet(System.nanoTime() - startNanos);
+                this.processedCount.addAndGet(chunkSize);
+                synchronized (this.completedChunks)
+                {
+                    this.completedChunks.add(new Chunk<BT>(start, procedure));
+                }
+            }
+        }
+    }
+
+    private void forEach(int from, int to, BT procedure)
+    {
+        if (this.list instanceof ListIterable)
+        {
+            ((ListIterable<T>) this.list).forEach(from, to, procedure);
+        }
+        else if (this.list instanceof ArrayList)
+        {
+            ArrayListIterate.forEach((ArrayList<T>) this.list, from, to, procedure);
+        }
+        else
+        {
+            ListIterate.forEach(this.list, from, to, procedure);
+        }
+    }
+
+    private void combineChunks()
+    {
+        this.completedChunks.sortThis(new Comparator<Chunk<BT>>()
+        {
+            public int compare(Chunk<BT> chunk1, Chunk<BT> chunk2)
+            {
+                return chunk1.start < chunk2.start ? -1 : chunk1.start == chunk2.start ? 0 : 1;
+            }
+        });
+        MutableList<BT> procedures = this.completedChunks.collect(new Function<Chunk<BT>, BT>()
+        {
+            private static final long serialVersionUID = 1L;
+
+            public BT valueOf(Chunk<BT> chunk)
+            {
+                return chunk.procedure;
+            }
+        });
+        if (this.combiner.useCombineOne())
+        {
+            for (int i = 0; i < procedures.size(); i++)
+            {
+                this.combiner.combineOne(procedures.get(i));
+            }
+        }
+        else
+        {
+            this.combiner.combineAll(procedures);
+        }
+    }
+
+    private static final class Chunk<BT>
+    {
+        private final int start;
+        private final BT procedure;
+
+        private Chunk(int start, BT procedure)
+        {
+            this.start = start;
+            this.procedure = procedure;
+        }
+    }
+}
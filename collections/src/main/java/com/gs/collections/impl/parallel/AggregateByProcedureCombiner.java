@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import java.util.concurrent.Executor;
+
+import com.gs.collections.api.block.function.Function2;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.impl.block.procedure.NonMutatingAggregationProcedure;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+
+/**
+ * Merges the partial maps of the tasks of a parallel aggregateBy, combining the values of a key found in both maps
+ * with the merge function.
+ *
+ * @since 4.3
+ */
+public final class AggregateByProcedureCombiner<T, K, V>
+        extends AbstractMergingCombiner<NonMutatingAggregationProcedure<T, K, V>, MutableMap<K, V>>
+{
+    private static final long serialVersionUID = 1L;
+
+    private final Function2<? super V, ? super V, ? extends V> mergeFunction;
+
+    public AggregateByProcedureCombiner(Function2<? super V, ? super V, ? extends V> mergeFunction, Executor executor)
+    {
+        super(executor);
+        this.mergeFunction = mergeFunction;
+    }
+
+    @Override
+    protected MutableMap<K, V> resultOf(NonMutatingAggregationProcedure<T, K, V> procedure)
+    {
+        return procedure.getMap();
+    }
+
+    @Override
+    protected void merge(final MutableMap<K, V> target, MutableMap<K, V> source)
+    {
+        source.forEachKeyValue(new Procedure2<K, V>()
+        {
+            public void value(K key, V value)
+            {
+                if (target.containsKey(key))
+                {
+                    target.put(key, AggregateByProcedureCombiner.this.mergeFunction.value(target.get(key), value));
+                }
+                else
+                {
+                    target.put(key, value);
+                }
+            }
+        });
+    }
+
+    @Override
+    protected MutableMap<K, V> newResult()
+    {
+        return UnifiedMap.newMap();
+    }
+}
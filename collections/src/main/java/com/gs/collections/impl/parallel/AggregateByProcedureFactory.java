@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.Function0;
+import com.gs.collections.api.block.function.Function2;
+import com.gs.collections.impl.block.procedure.NonMutatingAggregationProcedure;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+
+/**
+ * Creates a NonMutatingAggregationProcedure with a private UnifiedMap for each task.
+ *
+ * @since 4.3
+ */
+public final class AggregateByProcedureFactory<T, K, V> implements ProcedureFactory<NonMutatingAggregationProcedure<T, K, V>>
+{
+    private final Function<? super T, ? extends K> groupBy;
+    private final Function0<? extends V> zeroValueFactory;
+    private final Function2<? super V, ? super T, ? extends V> nonMutatingAggregator;
+
+    public AggregateByProcedureFactory(
+            Function<? super T, ? extends K> groupBy,
+            Function0<? extends V> zeroValueFactory,
+            Function2<? super V, ? super T, ? extends V> nonMutatingAggregator)
+    {
+        this.groupBy = groupBy;
+        this.zeroValueFactory = zeroValueFactory;
+        this.nonMutatingAggregator = nonMutatingAggregator;
+    }
+
+    public NonMutatingAggregationProcedure<T, K, V> create()
+    {
+        return new NonMutatingAggregationProcedure<T, K, V>(
+                UnifiedMap.<K, V>newMap(),
+                this.groupBy,
+                this.zeroValueFactory,
+                this.nonMutatingAggregator);
+    }
+}
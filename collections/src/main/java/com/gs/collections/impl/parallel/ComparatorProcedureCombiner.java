@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import com.gs.collections.impl.block.procedure.ComparatorProcedure;
+
+/**
+ * Combines the per task minimums or maximums of a parallel min or max by feeding them into one more procedure
+ * created by the same factory.
+ *
+ * @since 4.3
+ */
+public final class ComparatorProcedureCombiner<T>
+        extends AbstractProcedureCombiner<ComparatorProcedure<T>>
+{
+    private static final long serialVersionUID = 1L;
+    private final ComparatorProcedure<T> result;
+
+    public ComparatorProcedureCombiner(ComparatorProcedureFactory<T> factory)
+    {
+        super(true);
+        this.result = factory.create();
+    }
+
+    public void combineOne(ComparatorProcedure<T> procedure)
+    {
+        if (procedure.isVisitedAtLeastOnce())
+        {
+            this.result.value(procedure.getResult());
+        }
+    }
+
+    public T getResult()
+    {
+        return this.result.getResult();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import java.util.Comparator;
+
+import com.gs.collections.impl.block.procedure.ComparatorProcedure;
+import com.gs.collections.impl.block.procedure.MaxComparatorProcedure;
+import com.gs.collections.impl.block.procedure.MinComparatorProcedure;
+
+/**
+ * Creates a MinComparatorProcedure or a MaxComparatorProcedure for each task.
+ *
+ * @since 4.3
+ */
+public final class ComparatorProcedureFactory<T> implements ProcedureFactory<ComparatorProcedure<T>>
+{
+    private final Comparator<? super T> comparator;
+    private final boolean min;
+
+    private ComparatorProcedureFactory(Comparator<? super T> comparator, boolean min)
+    {
+        this.comparator = comparator;
+        this.min = min;
+    }
+
+    public static <T> ComparatorProcedureFactory<T> min(Comparator<? super T> comparator)
+    {
+        return new ComparatorProcedureFactory<T>(comparator, true);
+    }
+
+    public static <T> ComparatorProcedureFactory<T> max(Comparator<? super T> comparator)
+    {
+        return new ComparatorProcedureFactory<T>(comparator, false);
+    }
+
+    public ComparatorProcedure<T> create()
+    {
+        if (this.min)
+        {
+            return new MinComparatorProcedure<T>(this.comparator);
+        }
+        return new MaxComparatorProcedure<T>(this.comparator);
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.impl.utility.Iterate;
+
+/**
+ * Searches an iterable in parallel for an element which satisfies a predicate, stopping all of the tasks as soon as
+ * the search is decided.  Each task keeps claiming the next batch of the iterable and checks, before every element,
+ * whether a match has already been found.  Once one has, the tasks stop claiming batches and leave the batches they
+ * are in, so the cost of a search which hits early does not grow with the size of the input.
+ * <p/>
+ * A RandomAccess list is claimed by index from a shared cursor.  Any other iterable is claimed through its iterator,
+ * each task copying its next batch out of the shared iterator under a lock, so it is never copied further than the
+ * search gets.
+ * <p/>
+ * By default the search stops at the first match found by any task, which is not necessarily the first match in the
+ * iterable.  In encounter order, the tasks only stop scanning elements after the earliest match found so far, so the
+ * result is the same as the serial {@link Iterate#detect(Iterable, Predicate)}.
+ *
+ * @since 4.3
+ */
+public final class DetectTaskRunner<T>
+{
+    private static final int NOT_FOUND = Integer.MAX_VALUE;
+
+    private final List<T> list;
+    private final Iterator<T> iterator;
+    private final int size;
+    private final Predicate<? super T> predicate;
+    private final boolean inEncounterOrder;
+    private final int batchSize;
+    private final int taskCount;
+    private final AtomicInteger nextIndex = new AtomicInteger(0);
+    private final AtomicInteger foundIndex = new AtomicInteger(NOT_FOUND);
+    private T foundElement;
+    private volatile Throwable error;
+
+    public DetectTaskRunner(
+            Iterable<T> iterable,
+            Predicate<? super T> predicate,
+            boolean inEncounterOrder,
+            int batchSize,
+            int taskCount)
+    {
+        if (batchSize < 1 || taskCount < 1)
+        {
+            throw new IllegalArgumentException("Batch size and task count must be positive");
+        }
+        if (iterable instanceof RandomAccess && iterable instanceof List)
+        {
+            this.list = (List<T>) iterable;
+            this.iterator = null;
+        }
+        else
+        {
+            this.list = null;
+            this.iterator = iterable.iterator();
+        }
+        this.size = Iterate.sizeOf(iterable);
+        this.predicate = predicate;
+        this.inEncounterOrder = inEncounterOrder;
+        this.batchSize = batchSize;
+        this.taskCount = taskCount;
+    }
+
+    /**
+     * Runs the search, returning true if an element which satisfies the predicate was found.
+     */
+    public boolean execute(Executor executor)
+    {
+        final int count = this.getTaskCount();
+        if (count <= 1)
+        {
+            this.search();
+        }
+        else
+        {
+            final CountDownLatch latch = new CountDownLatch(count);
+            for (int i = 0; i < count; i++)
+            {
+                executor.execute(new Runnable()
+                {
+                    public void run()
+                    {
+                        try
+                        {
+                            DetectTaskRunner.this.search();
+                        }
+                        finally
+                        {
+                            latch.countDown();
+                        }
+                    }
+                });
+            }
+            try
+            {
+                latch.await();
+            }
+            catch (InterruptedException e)
+            {
+                throw new RuntimeException("Combine failed", e);
+            }
+        }
+        return this.isFound();
+    }
+
+    /**
+     * Returns the number of tasks which should each run {@link #search()}, which is never more than the number of
+     * batches.
+     */
+    public int getTaskCount()
+    {
+        int batchCount = this.size == 0 ? 0 : (this.size - 1) / this.batchSize + 1;
+        return Math.min(batchCount, this.taskCount);
+    }
+
+    /**
+     * Claims and searches batches until the search is decided or the iterable is exhausted.  Each of the tasks of a
+     * search runs this once.
+     */
+    public void search()
+    {
+        try
+        {
+            if (this.list == null)
+            {
+                this.searchIterator();
+            }
+            else
+            {
+                this.searchList();
+            }
+        }
+        catch (Throwable newError)
+        {
+            this.error = newError;
+        }
+    }
+
+    /**
+     * Returns true if an element which satisfies the predicate was found, once all of the tasks have finished.
+     */
+    public boolean isFound()
+    {
+        if (this.error != null)
+        {
+            throw new RuntimeException("One or more parallel tasks failed", this.error);
+        }
+        return this.foundIndex.get() != NOT_FOUND;
+    }
+
+    /**
+     * Returns the element found, or null if there was none.
+     */
+    public synchronized T getResult()
+    {
+        return this.isFound() ? this.foundElement : null;
+    }
+
+    private void searchList()
+    {
+        int listSize = this.list.size();
+        while (true)
+        {
+            int start = this.nextIndex.get();
+            if (start >= listSize || this.isDecidedBefore(start))
+            {
+                return;
+            }
+            int end = start + Math.min(this.batchSize, listSize - start);
+            if (this.nextIndex.compareAndSet(start, end))
+            {
+                for (int i = start; i < end && !this.isDecidedBefore(i); i++)
+                {
+                    T each = this.list.get(i);
+                    if (this.predicate.accept(each))
+                    {
+                        this.found(i, each);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void searchIterator()
+    {
+        Object[] batch = new Object[this.batchSize];
+        while (true)
+        {
+            int start;
+            int count = 0;
+            synchronized (this.iterator)
+            {
+                start = this.nextIndex.get();
+                if (this.isDecidedBefore(start))
+                {
+                    return;
+                }
+                while (count < this.batchSize && this.iterator.hasNext())
+                {
+                    batch[count++] = this.iterator.next();
+                }
+                this.nextIndex.set(start + count);
+            }
+            if (count == 0)
+            {
+                return;
+            }
+            for (int i = 0; i < count && !this.isDecidedBefore(start + i); i++)
+            {
+                T each = (T) batch[i];
+                if (this.predicate.accept(each))
+                {
+                    this.found(start + i, each);
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean isDecidedBefore(int index)
+    {
+        if (this.error != null)
+        {
+            return true;
+        }
+        int found = this.foundIndex.get();
+        return this.inEncounterOrder ? found < index : found != NOT_FOUND;
+    }
+
+    private synchronized void found(int index, T element)
+    {
+        if (index < this.foundIndex.get())
+        {
+            this.foundElement = element;
+            this.foundIndex.set(index);
+        }
+    }
+}
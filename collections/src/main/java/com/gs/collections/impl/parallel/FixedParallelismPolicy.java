@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+/**
+ * A ParallelismPolicy that always claims chunks of the same size, with one task per chunk.  This splits the iterable
+ * the same way as the batchSize parameter of the other ParallelIterate methods.  An optional maximum task count
+ * bounds how many chunks can be in progress at once, in which case each task claims chunks until the iterable is
+ * exhausted.
+ *
+ * @since 4.3
+ */
+public final class FixedParallelismPolicy implements ParallelismPolicy
+{
+    private final int batchSize;
+    private final int maxTaskCount;
+
+    public FixedParallelismPolicy(int batchSize)
+    {
+        this(batchSize, Integer.MAX_VALUE);
+    }
+
+    public FixedParallelismPolicy(int batchSize, int maxTaskCount)
+    {
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException("Batch size must be positive but was " + batchSize);
+        }
+        if (maxTaskCount < 1)
+        {
+            throw new IllegalArgumentException("Maximum task count must be positive but was " + maxTaskCount);
+        }
+        this.batchSize = batchSize;
+        this.maxTaskCount = maxTaskCount;
+    }
+
+    public int getTaskCount(int size)
+    {
+        return Math.min(this.maxTaskCount, Math.max(2, size / this.batchSize));
+    }
+
+    public int getChunkSize(int remaining, int taskCount, int processedCount, long elapsedNanos)
+    {
+        return this.batchSize;
+    }
+}
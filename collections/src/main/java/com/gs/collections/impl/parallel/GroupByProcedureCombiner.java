@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import java.util.concurrent.Executor;
+
+import com.gs.collections.api.multimap.MutableMultimap;
+import com.gs.collections.impl.block.procedure.MultimapPutProcedure;
+import com.gs.collections.impl.multimap.list.FastListMultimap;
+
+/**
+ * Merges the partial multimaps of the tasks of a parallel groupBy.
+ *
+ * @since 4.3
+ */
+public final class GroupByProcedureCombiner<K, V>
+        extends AbstractMergingCombiner<MultimapPutProcedure<K, V>, MutableMultimap<K, V>>
+{
+    private static final long serialVersionUID = 1L;
+
+    public GroupByProcedureCombiner(Executor executor)
+    {
+        super(executor);
+    }
+
+    @Override
+    protected MutableMultimap<K, V> resultOf(MultimapPutProcedure<K, V> procedure)
+    {
+        return procedure.getMultimap();
+    }
+
+    @Override
+    protected void merge(MutableMultimap<K, V> target, MutableMultimap<K, V> source)
+    {
+        target.putAll(source);
+    }
+
+    @Override
+    protected MutableMultimap<K, V> newResult()
+    {
+        return FastListMultimap.newMultimap();
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.impl.block.procedure.MultimapPutProcedure;
+import com.gs.collections.impl.multimap.list.FastListMultimap;
+
+/**
+ * Creates a MultimapPutProcedure with a private FastListMultimap for each task.
+ *
+ * @since 4.3
+ */
+public final class GroupByProcedureFactory<K, V> implements ProcedureFactory<MultimapPutProcedure<K, V>>
+{
+    private final Function<? super V, ? extends K> function;
+
+    public GroupByProcedureFactory(Function<? super V, ? extends K> function)
+    {
+        this.function = function;
+    }
+
+    public MultimapPutProcedure<K, V> create()
+    {
+        return new MultimapPutProcedure<K, V>(FastListMultimap.<K, V>newMultimap(), this.function);
+    }
+}
@@ -16,9 +16,13 @@
 
 package com.gs.collections.impl.parallel;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.concurrent.Executor;
 
 import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.impl.block.factory.Comparators;
+import com.gs.collections.impl.list.Interval;
 import com.gs.collections.impl.utility.ArrayIterate;
 
 import static com.gs.collections.impl.factory.Iterables.*;
@@ -27,6 +31,9 @@ import static com.gs.collections.impl.factory.Iterables.*;
  * The ParallelArrayIterate class contains a parallel forEach algorithm that work with Java arrays.  The forEach
  * algorithm employs a batching fork and join approach approach.  All Collections that are not array based use
  * ParallelArrayIterate to parallelize, by converting themselves to an array using toArray().
+ * <p/>
+ * The sort algorithm sorts contiguous runs of the array in parallel and then merges pairs of runs in parallel until
+ * a single sorted run remains.
  */
 public final class ParallelArrayIterate
 {
@@ -79,6 +86,128 @@ public final class ParallelArrayIterate
         }
     }
 
+    /**
+     * Sorts the first {@code size} elements of the array in parallel using the default executor.  A null comparator
+     * sorts the elements in their natural order.  Like {@link Arrays#sort(Object[], Comparator)} the sort is stable.
+     */
+    public static <T> void sort(T[] array, int size, Comparator<? super T> comparator)
+    {
+        ParallelArrayIterate.sort(array, size, comparator, ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <T> void sort(T[] array, int size, Comparator<? super T> comparator, Executor executor)
+    {
+        ParallelArrayIterate.sort(
+                array,
+                size,
+                comparator,
+                ParallelIterate.DEFAULT_MIN_FORK_SIZE,
+                ParallelIterate.DEFAULT_PARALLEL_TASK_COUNT,
+                executor);
+    }
+
+    /**
+     * Sorts the first {@code size} elements of the array in parallel, splitting the array into at most
+     * {@code taskCount} runs of at least {@code minForkSize} elements.  Arrays too small to split into two runs are
+     * sorted in the calling thread.
+     */
+    public static <T> void sort(
+            final T[] array,
+            int size,
+            Comparator<? super T> comparator,
+            int minForkSize,
+            int taskCount,
+            Executor executor)
+    {
+        int runCount = Math.min(taskCount, size / Math.max(1, minForkSize));
+        if (runCount < 2)
+        {
+            ArrayIterate.sort(array, size, comparator);
+            return;
+        }
+
+        final Comparator<? super T> order;
+        if (comparator == null)
+        {
+            order = Comparators.naturalOrder();
+        }
+        else
+        {
+            order = comparator;
+        }
+        final int[] runs = new int[runCount + 1];
+        for (int i = 0; i <= runCount; i++)
+        {
+            runs[i] = (int) ((long) size * i / runCount);
+        }
+        ParallelIterate.forEach(Interval.zeroTo(runCount - 1), new Procedure<Integer>()
+        {
+            public void value(Integer run)
+            {
+                Arrays.sort(array, runs[run], runs[run + 1], order);
+            }
+        }, 1, runCount, executor);
+
+        T[] source = array;
+        T[] target = (T[]) new Object[size];
+        int[] sourceRuns = runs;
+        while (sourceRuns.length > 2)
+        {
+            sourceRuns = ParallelArrayIterate.mergeRuns(source, target, sourceRuns, order, executor);
+            T[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != array)
+        {
+            System.arraycopy(source, 0, array, 0, size);
+        }
+    }
+
+    /**
+     * Merges each pair of adjacent runs of source into target, returning the bounds of the merged runs.
+     */
+    private static <T> int[] mergeRuns(
+            final T[] source,
+            final T[] target,
+            final int[] runs,
+            final Comparator<? super T> comparator,
+            Executor executor)
+    {
+        final int last = runs.length - 1;
+        int pairCount = (last + 1) / 2;
+        int[] mergedRuns = new int[pairCount + 1];
+        for (int i = 0; i < pairCount; i++)
+        {
+            mergedRuns[i] = runs[2 * i];
+        }
+        mergedRuns[pairCount] = runs[last];
+        ParallelIterate.forEach(Interval.zeroTo(pairCount - 1), new Procedure<Integer>()
+        {
+            public void value(Integer pair)
+            {
+                int from = runs[2 * pair];
+                int middle = runs[Math.min(2 * pair + 1, last)];
+                int to = runs[Math.min(2 * pair + 2, last)];
+                ParallelArrayIterate.merge(source, target, from, middle, to, comparator);
+            }
+        }, 1, pairCount, executor);
+        return mergedRuns;
+    }
+
+    private static <T> void merge(T[] source, T[] target, int from, int middle, int to, Comparator<? super T> comparator)
+    {
+        int left = from;
+        int right = middle;
+        int index = from;
+        while (left < middle && right < to)
+        {
+            target[index++] = comparator.compare(source[right], source[left]) < 0 ? source[right++] : source[left++];
+        }
+        System.arraycopy(source, left, target, index, middle - left);
+        System.arraycopy(source, right, target, index + middle - left, to - right);
+    }
+
     private static <T, BT extends Procedure<? super T>> void combineSingleProcedure(Combiner<BT> combiner, BT procedure)
     {
         if (combiner.useCombineOne())
@@ -17,7 +17,9 @@
 package com.gs.collections.impl.parallel;
 
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.RandomAccess;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
@@ -28,18 +30,27 @@ import java.util.concurrent.TimeUnit;
 import com.gs.collections.api.block.function.Function;
 import com.gs.collections.api.block.function.Function0;
 import com.gs.collections.api.block.function.Function2;
+import com.gs.collections.api.block.function.primitive.DoubleFunction;
+import com.gs.collections.api.block.function.primitive.FloatFunction;
+import com.gs.collections.api.block.function.primitive.IntFunction;
+import com.gs.collections.api.block.function.primitive.LongFunction;
 import com.gs.collections.api.block.predicate.Predicate;
 import com.gs.collections.api.block.procedure.Procedure;
 import com.gs.collections.api.block.procedure.Procedure2;
 import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
 import com.gs.collections.api.list.ListIterable;
+import com.gs.collections.api.list.MutableList;
 import com.gs.collections.api.map.MutableMap;
 import com.gs.collections.api.multimap.MutableMultimap;
+import com.gs.collections.impl.block.factory.Predicates;
 import com.gs.collections.impl.block.procedure.MultimapPutProcedure;
 import com.gs.collections.impl.block.procedure.MutatingAggregationProcedure;
 import com.gs.collections.impl.block.procedure.NonMutatingAggregationProcedure;
 import com.gs.collections.impl.list.fixed.ArrayAdapter;
+import com.gs.collections.impl.list.mutable.FastList;
 import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+import com.gs.collections.impl.map.mutable.primitive.ObjectLongHashMap;
 import com.gs.collections.impl.multimap.list.SynchronizedPutFastListMultimap;
 import com.gs.collections.impl.utility.Iterate;
 
@@ -62,6 +73,7 @@ public final class ParallelIterate
     static final int TASK_RATIO = 2;
     static final int DEFAULT_PARALLEL_TASK_COUNT = ParallelIterate.getDefaultTaskCount();
     static final ExecutorService EXECUTOR_SERVICE = ParallelIterate.newPooledExecutor(ParallelIterate.class.getSimpleName(), true);
+    static final ExecutorService BLOCKING_EXECUTOR_SERVICE = ParallelIterate.newElasticExecutor(ParallelIterate.class.getSimpleName() + "Blocking", true);
 
     private ParallelIterate()
     {
@@ -460,6 +472,102 @@ public final class ParallelIterate
         }
     }
 
+    /**
+     * Iterate over the collection specified in parallel, splitting it into chunks as chosen by the specified
+     * ParallelismPolicy.  Each task submitted to the executor keeps claiming the next chunk until the collection is
+     * exhausted, so an {@link AdaptiveParallelismPolicy} can shrink the chunks as the end approaches or as the elements
+     * turn out to be expensive, instead of leaving one long batch to finish while the other threads are idle.
+     * The {@code Procedure} used must be stateless, or use concurrent aware objects if they are to be shared.
+     * <p/>
+     * <pre>e.g.
+     * {@code final Map<Instrument, Price> prices = new ConcurrentHashMap<Instrument, Price>();}
+     * ParallelIterate.<b>forEach</b>(instruments, new Procedure()
+     * {
+     *     public void value(Object each)
+     *     {
+     *         prices.put((Instrument) each, pricer.price((Instrument) each));
+     *     }
+     * }, new AdaptiveParallelismPolicy());
+     * </pre>
+     *
+     * @since 4.3
+     */
+    public static <T> void forEach(Iterable<T> iterable, Procedure<? super T> procedure, ParallelismPolicy policy)
+    {
+        ParallelIterate.forEach(iterable, procedure, policy, ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <T> void forEach(Iterable<T> iterable, Procedure<? super T> procedure, ParallelismPolicy policy, Executor executor)
+    {
+        ParallelIterate.forEach(
+                iterable,
+                new PassThruProcedureFactory<Procedure<? super T>>(procedure),
+                Combiners.<Procedure<? super T>>passThru(),
+                policy,
+                executor);
+    }
+
+    /**
+     * Iterate over the collection specified in parallel for a {@code Procedure} which spends most of its time blocked,
+     * such as on a remote call or a cache load.  Each element is run as its own chunk on a shared elastic executor, by
+     * at most concurrencyLimit tasks at once, so the number of concurrent calls is bounded by the limit rather than
+     * by the number of processors.
+     * <p/>
+     * e.g.
+     * <pre>
+     * {@code final Map<Key, Record> records = new ConcurrentHashMap<Key, Record>();}
+     * ParallelIterate.<b>forEachBlocking</b>(keys, new Procedure()
+     * {
+     *     public void value(Object each)
+     *     {
+     *         records.put((Key) each, store.load((Key) each));
+     *     }
+     * }, 256);
+     * </pre>
+     *
+     * @param concurrencyLimit The maximum number of elements processed at the same time.
+     * @see #newElasticExecutor(String, boolean)
+     * @since 4.3
+     */
+    public static <T> void forEachBlocking(Iterable<T> iterable, Procedure<? super T> procedure, int concurrencyLimit)
+    {
+        ParallelIterate.forEachBlocking(iterable, procedure, concurrencyLimit, 1, ParallelIterate.BLOCKING_EXECUTOR_SERVICE);
+    }
+
+    public static <T> void forEachBlocking(
+            Iterable<T> iterable,
+            Procedure<? super T> procedure,
+            int concurrencyLimit,
+            int batchSize,
+            Executor executor)
+    {
+        ParallelIterate.forEach(iterable, procedure, new FixedParallelismPolicy(batchSize, concurrencyLimit), executor);
+    }
+
+    /**
+     * Iterate over the collection specified in parallel, splitting it into chunks as chosen by the specified
+     * ParallelismPolicy.  Every chunk is processed by its own procedure from the ProcedureFactory, and the procedures
+     * are combined in the order of their chunks after all of the tasks have finished.
+     *
+     * @see AdaptiveProcedureRunner
+     * @since 4.3
+     */
+    public static <T, BT extends Procedure<? super T>> void forEach(
+            Iterable<T> iterable,
+            ProcedureFactory<BT> procedureFactory,
+            Combiner<BT> combiner,
+            ParallelismPolicy policy,
+            Executor executor)
+    {
+        if (Iterate.notEmpty(iterable))
+        {
+            List<T> list = (iterable instanceof RandomAccess || iterable instanceof ListIterable) && iterable instanceof List
+                    ? (List<T>) iterable
+                    : ArrayAdapter.adapt((T[]) Iterate.toArray(iterable));
+            new AdaptiveProcedureRunner<T, BT>(list, procedureFactory, combiner, policy).executeAndCombine(executor);
+        }
+    }
+
     public static <T, BT extends Procedure<? super T>> void forEachInListOnExecutor(
             List<T> list,
             ProcedureFactory<BT> procedureFactory,
@@ -726,6 +834,362 @@ public final class ParallelIterate
         return combiner.getCount();
     }
 
+    /**
+     * Same effect as {@link Iterate#detect(Iterable, Predicate)}, but executed in parallel batches which all stop as
+     * soon as any of them finds an element which satisfies the predicate.  The element returned is not necessarily
+     * the first one in the iterable.
+     *
+     * @return An element which satisfies the predicate, or null if there is none.
+     * @see ParallelIterate#detect(Iterable, Predicate, boolean)
+     * @since 4.3
+     */
+    public static <T> T detect(Iterable<T> iterable, Predicate<? super T> predicate)
+    {
+        return ParallelIterate.detect(iterable, predicate, false);
+    }
+
+    /**
+     * Same effect as {@link Iterate#detect(Iterable, Predicate)}, but executed in parallel batches which stop as soon
+     * as the result is known.
+     *
+     * @param inEncounterOrder If the result must be the first element in the iterable which satisfies the predicate.
+     *                         If not, the search can stop at the first match found by any batch.
+     * @since 4.3
+     */
+    public static <T> T detect(Iterable<T> iterable, Predicate<? super T> predicate, boolean inEncounterOrder)
+    {
+        return ParallelIterate.detect(iterable, predicate, inEncounterOrder, ParallelIterate.DEFAULT_MIN_FORK_SIZE, ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <T> T detect(
+            Iterable<T> iterable,
+            Predicate<? super T> predicate,
+            boolean inEncounterOrder,
+            int batchSize,
+            Executor executor)
+    {
+        DetectTaskRunner<T> runner = new DetectTaskRunner<T>(
+                iterable,
+                predicate,
+                inEncounterOrder,
+                batchSize,
+                ParallelIterate.DEFAULT_PARALLEL_TASK_COUNT);
+        runner.execute(executor);
+        return runner.getResult();
+    }
+
+    /**
+     * Same effect as {@link Iterate#anySatisfy(Iterable, Predicate)}, but executed in parallel batches which all stop
+     * as soon as any of them finds an element which satisfies the predicate.
+     *
+     * @since 4.3
+     */
+    public static <T> boolean anySatisfy(Iterable<T> iterable, Predicate<? super T> predicate)
+    {
+        return ParallelIterate.anySatisfy(iterable, predicate, ParallelIterate.DEFAULT_MIN_FORK_SIZE, ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <T> boolean anySatisfy(Iterable<T> iterable, Predicate<? super T> predicate, int batchSize, Executor executor)
+    {
+        return new DetectTaskRunner<T>(iterable, predicate, false, batchSize, ParallelIterate.DEFAULT_PARALLEL_TASK_COUNT)
+                .execute(executor);
+    }
+
+    /**
+     * Same effect as {@link Iterate#allSatisfy(Iterable, Predicate)}, but executed in parallel batches which all stop
+     * as soon as any of them finds an element which does not satisfy the predicate.
+     *
+     * @since 4.3
+     */
+    public static <T> boolean allSatisfy(Iterable<T> iterable, Predicate<? super T> predicate)
+    {
+        return ParallelIterate.allSatisfy(iterable, predicate, ParallelIterate.DEFAULT_MIN_FORK_SIZE, ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <T> boolean allSatisfy(Iterable<T> iterable, Predicate<? super T> predicate, int batchSize, Executor executor)
+    {
+        return !ParallelIterate.anySatisfy(iterable, Predicates.not(predicate), batchSize, executor);
+    }
+
+    /**
+     * Same effect as {@link Iterate#noneSatisfy(Iterable, Predicate)}, but executed in parallel batches which all stop
+     * as soon as any of them finds an element which satisfies the predicate.
+     *
+     * @since 4.3
+     */
+    public static <T> boolean noneSatisfy(Iterable<T> iterable, Predicate<? super T> predicate)
+    {
+        return ParallelIterate.noneSatisfy(iterable, predicate, ParallelIterate.DEFAULT_MIN_FORK_SIZE, ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <T> boolean noneSatisfy(Iterable<T> iterable, Predicate<? super T> predicate, int batchSize, Executor executor)
+    {
+        return !ParallelIterate.anySatisfy(iterable, predicate, batchSize, executor);
+    }
+
+    /**
+     * Same effect as {@link Iterate#sumOfInt(Iterable, IntFunction)}, but executed in parallel batches.
+     *
+     * @since 4.3
+     */
+    public static <T> long sumOfInt(Iterable<T> iterable, IntFunction<? super T> function)
+    {
+        return ParallelIterate.sumOfInt(iterable, function, ParallelIterate.DEFAULT_MIN_FORK_SIZE, ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <T> long sumOfInt(Iterable<T> iterable, IntFunction<? super T> function, int batchSize, Executor executor)
+    {
+        return ParallelIterate.sumOfLong(iterable, ParallelIterate.toLongFunction(function), batchSize, executor);
+    }
+
+    /**
+     * Same effect as {@link Iterate#sumOfLong(Iterable, LongFunction)}, but executed in parallel batches.
+     *
+     * @since 4.3
+     */
+    public static <T> long sumOfLong(Iterable<T> iterable, LongFunction<? super T> function)
+    {
+        return ParallelIterate.sumOfLong(iterable, function, ParallelIterate.DEFAULT_MIN_FORK_SIZE, ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <T> long sumOfLong(Iterable<T> iterable, LongFunction<? super T> function, int batchSize, Executor executor)
+    {
+        SumOfLongCombiner<T> combiner = new SumOfLongCombiner<T>();
+        ParallelIterate.forEach(
+                iterable,
+                new SumOfLongProcedureFactory<T>(function),
+                combiner,
+                batchSize,
+                executor);
+        return combiner.getSum();
+    }
+
+    /**
+     * Same effect as {@link Iterate#sumOfFloat(Iterable, FloatFunction)}, but executed in parallel batches.
+     *
+     * @since 4.3
+     */
+    public static <T> double sumOfFloat(Iterable<T> iterable, FloatFunction<? super T> function)
+    {
+        return ParallelIterate.sumOfFloat(iterable, function, ParallelIterate.DEFAULT_MIN_FORK_SIZE, ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <T> double sumOfFloat(Iterable<T> iterable, FloatFunction<? super T> function, int batchSize, Executor executor)
+    {
+        return ParallelIterate.sumOfDouble(iterable, ParallelIterate.toDoubleFunction(function), batchSize, executor);
+    }
+
+    /**
+     * Same effect as {@link Iterate#sumOfDouble(Iterable, DoubleFunction)}, but executed in parallel batches.  Each
+     * batch keeps a Kahan compensated sum, and the sums and compensations of the batches are combined in batch order,
+     * so the result is the same on every run with the same batch size.
+     *
+     * @since 4.3
+     */
+    public static <T> double sumOfDouble(Iterable<T> iterable, DoubleFunction<? super T> function)
+    {
+        return ParallelIterate.sumOfDouble(iterable, function, ParallelIterate.DEFAULT_MIN_FORK_SIZE, ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <T> double sumOfDouble(Iterable<T> iterable, DoubleFunction<? super T> function, int batchSize, Executor executor)
+    {
+        SumOfDoubleProcedureFactory<T> procedureFactory = new SumOfDoubleProcedureFactory<T>(function);
+        SumOfDoubleCombiner<T> combiner = new SumOfDoubleCombiner<T>(procedureFactory);
+        ParallelIterate.forEach(
+                iterable,
+                procedureFactory,
+                combiner,
+                batchSize,
+                executor);
+        return combiner.getSum();
+    }
+
+    /**
+     * Groups the elements of the iterable by the groupBy function and sums the int values of each group, executed in
+     * parallel batches which each sum into a private map.  The partial maps are merged after the tasks finish.
+     *
+     * @since 4.3
+     */
+    public static <T, V> ObjectLongHashMap<V> sumByInt(
+            Iterable<T> iterable,
+            Function<? super T, ? extends V> groupBy,
+            IntFunction<? super T> function)
+    {
+        return ParallelIterate.sumByInt(iterable, groupBy, function, ParallelIterate.DEFAULT_MIN_FORK_SIZE, ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <T, V> ObjectLongHashMap<V> sumByInt(
+            Iterable<T> iterable,
+            Function<? super T, ? extends V> groupBy,
+            IntFunction<? super T> function,
+            int batchSize,
+            Executor executor)
+    {
+        return ParallelIterate.sumByLong(iterable, groupBy, ParallelIterate.toLongFunction(function), batchSize, executor);
+    }
+
+    /**
+     * Groups the elements of the iterable by the groupBy function and sums the long values of each group, executed in
+     * parallel batches which each sum into a private map.  The partial maps are merged after the tasks finish.
+     *
+     * @since 4.3
+     */
+    public static <T, V> ObjectLongHashMap<V> sumByLong(
+            Iterable<T> iterable,
+            Function<? super T, ? extends V> groupBy,
+            LongFunction<? super T> function)
+    {
+        return ParallelIterate.sumByLong(iterable, groupBy, function, ParallelIterate.DEFAULT_MIN_FORK_SIZE, ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <T, V> ObjectLongHashMap<V> sumByLong(
+            Iterable<T> iterable,
+            Function<? super T, ? extends V> groupBy,
+            LongFunction<? super T> function,
+            int batchSize,
+            Executor executor)
+    {
+        SumByLongProcedureCombiner<T, V> combiner = new SumByLongProcedureCombiner<T, V>(executor);
+        ParallelIterate.forEach(
+                iterable,
+                new SumByLongProcedureFactory<T, V>(groupBy, function),
+                combiner,
+                batchSize,
+                executor);
+        return combiner.getResult();
+    }
+
+    /**
+     * Groups the elements of the iterable by the groupBy function and sums the float values of each group, executed in
+     * parallel batches which each sum into a private map.  The partial maps are merged after the tasks finish.
+     *
+     * @since 4.3
+     */
+    public static <T, V> ObjectDoubleHashMap<V> sumByFloat(
+            Iterable<T> iterable,
+            Function<? super T, ? extends V> groupBy,
+            FloatFunction<? super T> function)
+    {
+        return ParallelIterate.sumByFloat(iterable, groupBy, function, ParallelIterate.DEFAULT_MIN_FORK_SIZE, ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <T, V> ObjectDoubleHashMap<V> sumByFloat(
+            Iterable<T> iterable,
+            Function<? super T, ? extends V> groupBy,
+            FloatFunction<? super T> function,
+            int batchSize,
+            Executor executor)
+    {
+        return ParallelIterate.sumByDouble(iterable, groupBy, ParallelIterate.toDoubleFunction(function), batchSize, executor);
+    }
+
+    /**
+     * Groups the elements of the iterable by the groupBy function and sums the double values of each group, executed
+     * in parallel batches which each sum into a private map.  Each sum is Kahan compensated, within the batches and
+     * when the partial maps are merged after the tasks finish.
+     *
+     * @since 4.3
+     */
+    public static <T, V> ObjectDoubleHashMap<V> sumByDouble(
+            Iterable<T> iterable,
+            Function<? super T, ? extends V> groupBy,
+            DoubleFunction<? super T> function)
+    {
+        return ParallelIterate.sumByDouble(iterable, groupBy, function, ParallelIterate.DEFAULT_MIN_FORK_SIZE, ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <T, V> ObjectDoubleHashMap<V> sumByDouble(
+            Iterable<T> iterable,
+            Function<? super T, ? extends V> groupBy,
+            DoubleFunction<? super T> function,
+            int batchSize,
+            Executor executor)
+    {
+        SumByDoubleProcedureFactory<T, V> procedureFactory = new SumByDoubleProcedureFactory<T, V>(groupBy, function);
+        SumByDoubleProcedureCombiner<T, V> combiner = new SumByDoubleProcedureCombiner<T, V>(procedureFactory, executor);
+        ParallelIterate.forEach(
+                iterable,
+                procedureFactory,
+                combiner,
+                batchSize,
+                executor);
+        return combiner.getResult().getResult();
+    }
+
+    /**
+     * Same effect as {@link Iterate#min(Iterable, Comparator)}, but executed in parallel batches.
+     *
+     * @throws NoSuchElementException if the iterable is empty
+     * @since 4.3
+     */
+    public static <T> T min(Iterable<T> iterable, Comparator<? super T> comparator)
+    {
+        return ParallelIterate.min(iterable, comparator, ParallelIterate.DEFAULT_MIN_FORK_SIZE, ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <T> T min(Iterable<T> iterable, Comparator<? super T> comparator, int batchSize, Executor executor)
+    {
+        return ParallelIterate.minOrMax(iterable, ComparatorProcedureFactory.<T>min(comparator), batchSize, executor);
+    }
+
+    /**
+     * Same effect as {@link Iterate#max(Iterable, Comparator)}, but executed in parallel batches.
+     *
+     * @throws NoSuchElementException if the iterable is empty
+     * @since 4.3
+     */
+    public static <T> T max(Iterable<T> iterable, Comparator<? super T> comparator)
+    {
+        return ParallelIterate.max(iterable, comparator, ParallelIterate.DEFAULT_MIN_FORK_SIZE, ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <T> T max(Iterable<T> iterable, Comparator<? super T> comparator, int batchSize, Executor executor)
+    {
+        return ParallelIterate.minOrMax(iterable, ComparatorProcedureFactory.<T>max(comparator), batchSize, executor);
+    }
+
+    private static <T> T minOrMax(
+            Iterable<T> iterable,
+            ComparatorProcedureFactory<T> procedureFactory,
+            int batchSize,
+            Executor executor)
+    {
+        ComparatorProcedureCombiner<T> combiner = new ComparatorProcedureCombiner<T>(procedureFactory);
+        ParallelIterate.forEach(
+                iterable,
+                procedureFactory,
+                combiner,
+                batchSize,
+                executor);
+        return combiner.getResult();
+    }
+
+    private static <T> LongFunction<T> toLongFunction(final IntFunction<? super T> function)
+    {
+        return new LongFunction<T>()
+        {
+            private static final long serialVersionUID = 1L;
+
+            public long longValueOf(T each)
+            {
+                return (long) function.intValueOf(each);
+            }
+        };
+    }
+
+    private static <T> DoubleFunction<T> toDoubleFunction(final FloatFunction<? super T> function)
+    {
+        return new DoubleFunction<T>()
+        {
+            private static final long serialVersionUID = 1L;
+
+            public double doubleValueOf(T each)
+            {
+                return (double) function.floatValueOf(each);
+            }
+        };
+    }
+
     /**
      * Same effect as {@link Iterate#collect(Iterable, Function)},
      * but executed in parallel batches.
@@ -804,6 +1268,43 @@ public final class ParallelIterate
         return (R) combiner.getResult();
     }
 
+    /**
+     * Same effect as {@link Iterate#collect(Iterable, Function)}, but for a function which spends most of its time
+     * blocked, such as on a remote call or a cache load.  Each element is run as its own chunk on a shared elastic
+     * executor, by at most concurrencyLimit tasks at once.
+     *
+     * @param concurrencyLimit The maximum number of elements processed at the same time.
+     * @return The collected elements, in the order of the input.
+     * @see #forEachBlocking(Iterable, Procedure, int)
+     * @since 4.3
+     */
+    public static <T, V> MutableList<V> collectBlocking(
+            Iterable<T> iterable,
+            Function<? super T, V> function,
+            int concurrencyLimit)
+    {
+        return ParallelIterate.collectBlocking(iterable, function, concurrencyLimit, 1, ParallelIterate.BLOCKING_EXECUTOR_SERVICE);
+    }
+
+    public static <T, V> MutableList<V> collectBlocking(
+            Iterable<T> iterable,
+            Function<? super T, V> function,
+            int concurrencyLimit,
+            int batchSize,
+            Executor executor)
+    {
+        int size = Iterate.sizeOf(iterable);
+        FastListCollectProcedureCombiner<T, V> combiner =
+                new FastListCollectProcedureCombiner<T, V>(iterable, FastList.<V>newList(size), size, false);
+        ParallelIterate.forEach(
+                iterable,
+                new FastListCollectProcedureFactory<T, V>(function, batchSize),
+                combiner,
+                new FixedParallelismPolicy(batchSize, concurrencyLimit),
+                executor);
+        return (MutableList<V>) combiner.getResult();
+    }
+
     public static <T, V> Collection<V> flatCollect(
             Iterable<T> iterable,
             Function<? super T, Collection<V>> function)
@@ -1051,6 +1552,67 @@ public final class ParallelIterate
         return mutableMap;
     }
 
+    /**
+     * Same effect as {@link #aggregateBy(Iterable, Function, Function0, Function2)}, but each task aggregates into
+     * a private map instead of one shared ConcurrentHashMap.  The partial maps are merged pairwise after the tasks
+     * finish, using the mergeFunction to combine two values aggregated for the same key.  There is no contention
+     * between the tasks, so this scales much better when there are few distinct keys.
+     *
+     * @since 4.3
+     */
+    public static <T, K, V> MutableMap<K, V> aggregateBy(
+            Iterable<T> iterable,
+            Function<? super T, ? extends K> groupBy,
+            Function0<? extends V> zeroValueFactory,
+            Function2<? super V, ? super T, ? extends V> nonMutatingAggregator,
+            Function2<? super V, ? super V, ? extends V> mergeFunction)
+    {
+        return ParallelIterate.aggregateBy(
+                iterable,
+                groupBy,
+                zeroValueFactory,
+                nonMutatingAggregator,
+                mergeFunction,
+                ParallelIterate.DEFAULT_MIN_FORK_SIZE);
+    }
+
+    public static <T, K, V> MutableMap<K, V> aggregateBy(
+            Iterable<T> iterable,
+            Function<? super T, ? extends K> groupBy,
+            Function0<? extends V> zeroValueFactory,
+            Function2<? super V, ? super T, ? extends V> nonMutatingAggregator,
+            Function2<? super V, ? super V, ? extends V> mergeFunction,
+            int batchSize)
+    {
+        return ParallelIterate.aggregateBy(
+                iterable,
+                groupBy,
+                zeroValueFactory,
+                nonMutatingAggregator,
+                mergeFunction,
+                batchSize,
+                ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <T, K, V> MutableMap<K, V> aggregateBy(
+            Iterable<T> iterable,
+            Function<? super T, ? extends K> groupBy,
+            Function0<? extends V> zeroValueFactory,
+            Function2<? super V, ? super T, ? extends V> nonMutatingAggregator,
+            Function2<? super V, ? super V, ? extends V> mergeFunction,
+            int batchSize,
+            Executor executor)
+    {
+        AggregateByProcedureCombiner<T, K, V> combiner = new AggregateByProcedureCombiner<T, K, V>(mergeFunction, executor);
+        ParallelIterate.forEach(
+                iterable,
+                new AggregateByProcedureFactory<T, K, V>(groupBy, zeroValueFactory, nonMutatingAggregator),
+                combiner,
+                batchSize,
+                executor);
+        return combiner.getResult();
+    }
+
     public static <T, K, V> MutableMap<K, V> aggregateInPlaceBy(
             Iterable<T> iterable,
             Function<? super T, ? extends K> groupBy,
@@ -1225,6 +1787,44 @@ public final class ParallelIterate
         return concurrentMultimap;
     }
 
+    /**
+     * Same effect as {@link Iterate#groupBy(Iterable, Function)}, but executed in parallel batches which each write
+     * into a private FastListMultimap.  The partial multimaps are merged pairwise after the tasks finish, so the tasks
+     * never contend on a shared multimap, and the values of each key keep the order of the iterable.
+     *
+     * @since 4.3
+     */
+    public static <K, V> MutableMultimap<K, V> groupByMerged(
+            Iterable<V> iterable,
+            Function<? super V, ? extends K> function)
+    {
+        return ParallelIterate.groupByMerged(iterable, function, ParallelIterate.DEFAULT_MIN_FORK_SIZE);
+    }
+
+    public static <K, V> MutableMultimap<K, V> groupByMerged(
+            Iterable<V> iterable,
+            Function<? super V, ? extends K> function,
+            int batchSize)
+    {
+        return ParallelIterate.groupByMerged(iterable, function, batchSize, ParallelIterate.EXECUTOR_SERVICE);
+    }
+
+    public static <K, V> MutableMultimap<K, V> groupByMerged(
+            Iterable<V> iterable,
+            Function<? super V, ? extends K> function,
+            int batchSize,
+            Executor executor)
+    {
+        GroupByProcedureCombiner<K, V> combiner = new GroupByProcedureCombiner<K, V>(executor);
+        ParallelIterate.forEach(
+                iterable,
+                new GroupByProcedureFactory<K, V>(function),
+                combiner,
+                batchSize,
+                executor);
+        return combiner.getResult();
+    }
+
     /**
      * Returns a brand new ExecutorService using the specified poolName with the specified maximum thread pool size. The
      * same poolName may be used more than once resulting in multiple pools with the same name.
@@ -1254,6 +1854,26 @@ public final class ParallelIterate
         return ParallelIterate.newPooledExecutor(ParallelIterate.getDefaultMaxThreadPoolSize(), poolName, useDaemonThreads);
     }
 
+    /**
+     * Returns a brand new ExecutorService using the specified poolName which starts a new thread whenever a task is
+     * submitted and no thread is idle, and lets threads which have been idle for a minute die.  This suits tasks which
+     * spend most of their time blocked, where a pool sized to the number of processors would leave the processors
+     * idle.  The concurrency of such an executor should be bounded by the caller, as in
+     * {@link #forEachBlocking(Iterable, Procedure, int)}.
+     *
+     * @since 4.3
+     */
+    public static ExecutorService newElasticExecutor(String poolName, boolean useDaemonThreads)
+    {
+        return new ThreadPoolExecutor(
+                0,
+                Integer.MAX_VALUE,
+                60L,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<Runnable>(),
+                new CollectionsThreadFactory(poolName, useDaemonThreads));
+    }
+
     public static int getDefaultTaskCount()
     {
         return ParallelIterate.getDefaultMaxThreadPoolSize() * ParallelIterate.getTaskRatio();
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+/**
+ * Decides how an adaptive parallel iteration is split.  The policy picks how many tasks to submit to the executor,
+ * and each task then keeps claiming the next chunk of the iterable until it is exhausted.  Since the size of every
+ * chunk is asked for just before it is claimed, a policy can shrink the chunks as the end of the iterable approaches
+ * or as the observed cost per element grows, so that a few expensive elements do not leave most threads idle.
+ *
+ * @see AdaptiveParallelismPolicy
+ * @see FixedParallelismPolicy
+ * @see ParallelIterate#forEach(Iterable, ProcedureFactory, Combiner, ParallelismPolicy, java.util.concurrent.Executor)
+ * @since 4.3
+ */
+public interface ParallelismPolicy
+{
+    /**
+     * Returns the number of tasks to submit to the executor for an iterable of the specified size.
+     */
+    int getTaskCount(int size);
+
+    /**
+     * Returns the size of the next chunk to claim.
+     *
+     * @param remaining      The number of elements not yet claimed by any task.
+     * @param taskCount      The number of tasks returned by {@link #getTaskCount(int)}.
+     * @param processedCount The number of elements in the chunks completed so far.
+     * @param elapsedNanos   The total time spent processing the chunks completed so far.
+     */
+    int getChunkSize(int remaining, int taskCount, int processedCount, long elapsedNanos);
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import java.util.concurrent.Executor;
+
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.impl.block.procedure.SumByDoubleProcedure;
+
+/**
+ * Merges the partial sums of the tasks of a parallel sumByFloat or sumByDouble. The sum and the negated compensation
+ * of each partial are both added to the target, so the low order bits each task kept are not lost in the merge.
+ *
+ * @since 4.3
+ */
+public final class SumByDoubleProcedureCombiner<T, V>
+        extends AbstractMergingCombiner<SumByDoubleProcedure<T, V>, SumByDoubleProcedure<T, V>>
+{
+    private static final long serialVersionUID = 1L;
+
+    private final SumByDoubleProcedureFactory<T, V> factory;
+
+    public SumByDoubleProcedureCombiner(SumByDoubleProcedureFactory<T, V> factory, Executor executor)
+    {
+        super(executor);
+        this.factory = factory;
+    }
+
+    @Override
+    protected SumByDoubleProcedure<T, V> resultOf(SumByDoubleProcedure<T, V> procedure)
+    {
+        return procedure;
+    }
+
+    @Override
+    protected void merge(final SumByDoubleProcedure<T, V> target, SumByDoubleProcedure<T, V> source)
+    {
+        source.getSums().forEachKeyValue(new Procedure2<V, double[]>()
+        {
+            public void value(V key, double[] sum)
+            {
+                target.add(key, sum[0]);
+                target.add(key, -sum[1]);
+            }
+        });
+    }
+
+    @Override
+    protected SumByDoubleProcedure<T, V> newResult()
+    {
+        return this.factory.create();
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.primitive.DoubleFunction;
+import com.gs.collections.impl.block.procedure.SumByDoubleProcedure;
+
+/**
+ * Creates a SumByDoubleProcedure with private sum and compensation maps for each task.
+ *
+ * @since 4.3
+ */
+public final class SumByDoubleProcedureFactory<T, V> implements ProcedureFactory<SumByDoubleProcedure<T, V>>
+{
+    private final Function<? super T, ? extends V> groupBy;
+    private final DoubleFunction<? super T> function;
+
+    public SumByDoubleProcedureFactory(Function<? super T, ? extends V> groupBy, DoubleFunction<? super T> function)
+    {
+        this.groupBy = groupBy;
+        this.function = function;
+    }
+
+    public SumByDoubleProcedure<T, V> create()
+    {
+        return new SumByDoubleProcedure<T, V>(this.groupBy, this.function);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import java.util.concurrent.Executor;
+
+import com.gs.collections.api.block.procedure.primitive.ObjectLongProcedure;
+import com.gs.collections.impl.block.procedure.SumByLongProcedure;
+import com.gs.collections.impl.map.mutable.primitive.ObjectLongHashMap;
+
+/**
+ * Merges the partial sums of the tasks of a parallel sumByInt or sumByLong.
+ *
+ * @since 4.3
+ */
+public final class SumByLongProcedureCombiner<T, V>
+        extends AbstractMergingCombiner<SumByLongProcedure<T, V>, ObjectLongHashMap<V>>
+{
+    private static final long serialVersionUID = 1L;
+
+    public SumByLongProcedureCombiner(Executor executor)
+    {
+        super(executor);
+    }
+
+    @Override
+    protected ObjectLongHashMap<V> resultOf(SumByLongProcedure<T, V> procedure)
+    {
+        return procedure.getResult();
+    }
+
+    @Override
+    protected void merge(final ObjectLongHashMap<V> target, ObjectLongHashMap<V> source)
+    {
+        source.forEachKeyValue(new ObjectLongProcedure<V>()
+        {
+            public void value(V key, long value)
+            {
+                target.addToValue(key, value);
+            }
+        });
+    }
+
+    @Override
+    protected ObjectLongHashMap<V> newResult()
+    {
+        return ObjectLongHashMap.newMap();
+    }
+}
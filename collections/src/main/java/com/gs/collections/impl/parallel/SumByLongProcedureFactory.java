@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.primitive.LongFunction;
+import com.gs.collections.impl.block.procedure.SumByLongProcedure;
+
+/**
+ * Creates a SumByLongProcedure with a private ObjectLongHashMap for each task.
+ *
+ * @since 4.3
+ */
+public final class SumByLongProcedureFactory<T, V> implements ProcedureFactory<SumByLongProcedure<T, V>>
+{
+    private final Function<? super T, ? extends V> groupBy;
+    private final LongFunction<? super T> function;
+
+    public SumByLongProcedureFactory(Function<? super T, ? extends V> groupBy, LongFunction<? super T> function)
+    {
+        this.groupBy = groupBy;
+        this.function = function;
+    }
+
+    public SumByLongProcedure<T, V> create()
+    {
+        return new SumByLongProcedure<T, V>(this.groupBy, this.function);
+    }
+}
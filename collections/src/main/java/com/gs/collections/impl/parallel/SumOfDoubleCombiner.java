@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import com.gs.collections.impl.block.procedure.SumOfDoubleProcedure;
+
+/**
+ * Combines the partial Kahan sums of the tasks of a parallel sumOfFloat or sumOfDouble, adding both the sum and
+ * the negated compensation of each task.  The partial sums are combined in the order of their batches once all of the
+ * tasks have finished, rather than in the order the tasks complete, so the result is the same on every run with the
+ * same batches.
+ *
+ * @since 4.3
+ */
+public final class SumOfDoubleCombiner<T>
+        extends AbstractProcedureCombiner<SumOfDoubleProcedure<T>>
+{
+    private static final long serialVersionUID = 1L;
+    private final SumOfDoubleProcedure<T> sum;
+
+    public SumOfDoubleCombiner(SumOfDoubleProcedureFactory<T> factory)
+    {
+        super(false);
+        this.sum = factory.create();
+    }
+
+    public void combineOne(SumOfDoubleProcedure<T> procedure)
+    {
+        this.sum.add(procedure.getResult());
+        this.sum.add(-procedure.getCompensation());
+    }
+
+    public double getSum()
+    {
+        return this.sum.getResult();
+    }
+}
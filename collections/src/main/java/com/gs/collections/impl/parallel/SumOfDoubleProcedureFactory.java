@@ -0,0 +1,38 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import com.gs.collections.api.block.function.primitive.DoubleFunction;
+import com.gs.collections.impl.block.procedure.SumOfDoubleProcedure;
+
+/**
+ * @since 4.3
+ */
+public final class SumOfDoubleProcedureFactory<T> implements ProcedureFactory<SumOfDoubleProcedure<T>>
+{
+    private final DoubleFunction<? super T> function;
+
+    public SumOfDoubleProcedureFactory(DoubleFunction<? super T> function)
+    {
+        this.function = function;
+    }
+
+    public SumOfDoubleProcedure<T> create()
+    {
+        return new SumOfDoubleProcedure<T>(this.function);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.set.immutable;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.Set;
+
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.impl.map.immutable.PersistentImmutableMap;
+import net.jcip.annotations.Immutable;
+
+/**
+ * PersistentImmutableSet is an ImmutableSet backed by a {@link PersistentImmutableMap}, a hash array mapped trie.
+ * {@link #newWith(Object)} and {@link #newWithout(Object)} copy only the nodes on the path from the root to the
+ * element, so they are O(log32 n) and the new set shares every other node with the original.
+ *
+ * @since 4.3
+ */
+@Immutable
+public final class PersistentImmutableSet<T>
+        extends AbstractImmutableSet<T>
+        implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final PersistentImmutableSet<?> EMPTY = new PersistentImmutableSet<Object>(PersistentImmutableMap.<Object, Boolean>empty());
+
+    private final PersistentImmutableMap<T, Boolean> delegate;
+
+    private PersistentImmutableSet(PersistentImmutableMap<T, Boolean> delegate)
+    {
+        this.delegate = delegate;
+    }
+
+    public static <T> PersistentImmutableSet<T> empty()
+    {
+        return (PersistentImmutableSet<T>) EMPTY;
+    }
+
+    public static <T> PersistentImmutableSet<T> newSet(Iterable<? extends T> iterable)
+    {
+        return PersistentImmutableSet.<T>empty().newWithAll(iterable);
+    }
+
+    public static <T> PersistentImmutableSet<T> newSetWith(T... elements)
+    {
+        PersistentImmutableSet<T> result = PersistentImmutableSet.empty();
+        for (T element : elements)
+        {
+            result = result.newWith(element);
+        }
+        return result;
+    }
+
+    public int size()
+    {
+        return this.delegate.size();
+    }
+
+    @Override
+    public boolean contains(Object object)
+    {
+        return this.delegate.containsKey(object);
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return this.delegate.keySet().iterator();
+    }
+
+    public void forEach(Procedure<? super T> procedure)
+    {
+        this.delegate.forEachKey(procedure);
+    }
+
+    @Override
+    public T getFirst()
+    {
+        Iterator<T> iterator = this.iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    @Override
+    public T getLast()
+    {
+        T last = null;
+        for (Iterator<T> iterator = this.iterator(); iterator.hasNext(); )
+        {
+            last = iterator.next();
+        }
+        return last;
+    }
+
+    @Override
+    public PersistentImmutableSet<T> newWith(T element)
+    {
+        return this.wrap(this.delegate.newWithKeyValue(element, Boolean.TRUE));
+    }
+
+    @Override
+    public PersistentImmutableSet<T> newWithout(T element)
+    {
+        return this.wrap(this.delegate.newWithoutKey(element));
+    }
+
+    @Override
+    public PersistentImmutableSet<T> newWithAll(Iterable<? extends T> elements)
+    {
+        PersistentImmutableMap<T, Boolean> result = this.delegate;
+        for (T element : elements)
+        {
+            result = result.newWithKeyValue(element, Boolean.TRUE);
+        }
+        return this.wrap(result);
+    }
+
+    @Override
+    public PersistentImmutableSet<T> newWithoutAll(Iterable<? extends T> elements)
+    {
+        return this.wrap(this.delegate.newWithoutAllKeys(elements));
+    }
+
+    private PersistentImmutableSet<T> wrap(PersistentImmutableMap<T, Boolean> map)
+    {
+        if (map == this.delegate)
+        {
+            return this;
+        }
+        return map.isEmpty() ? PersistentImmutableSet.<T>empty() : new PersistentImmutableSet<T>(map);
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (!(object instanceof Set))
+        {
+            return false;
+        }
+        Set<?> other = (Set<?>) object;
+        return this.size() == other.size() && this.containsAll(other);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        for (Iterator<T> iterator = this.iterator(); iterator.hasNext(); )
+        {
+            hashCode += this.nullSafeHashCode(iterator.next());
+        }
+        return hashCode;
+    }
+
+    private Object readResolve()
+    {
+        return this.delegate.isEmpty() ? EMPTY : this;
+    }
+}
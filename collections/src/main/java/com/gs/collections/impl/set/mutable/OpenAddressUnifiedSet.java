@@ -0,0 +1,531 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.set.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.gs.collections.api.RichIterable;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.impl.block.factory.Procedures2;
+import com.gs.collections.impl.utility.Iterate;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * OpenAddressUnifiedSet is a MutableSet which resolves collisions by linear probing within its table instead of
+ * chaining overflow buckets off a slot, as {@link UnifiedSet} does, so a lookup never allocates or follows a pointer
+ * to another array.
+ * <p/>
+ * The spread hash code of every element is cached in a parallel int[], so a lookup only calls equals on elements
+ * whose hash codes match, and growing the table never calls hashCode.  Removal shifts later elements of the same run
+ * back instead of leaving removed-element markers behind.
+ *
+ * @since 4.3
+ */
+@NotThreadSafe
+public class OpenAddressUnifiedSet<T>
+        extends AbstractMutableSet<T>
+        implements Externalizable
+{
+    private static final Object NULL_KEY = new Object()
+    {
+        @Override
+        public boolean equals(Object obj)
+        {
+            throw new RuntimeException("Possible corruption through unsynchronized concurrent modification.");
+        }
+
+        @Override
+        public int hashCode()
+        {
+            throw new RuntimeException("Possible corruption through unsynchronized concurrent modification.");
+        }
+
+        @Override
+        public String toString()
+        {
+            return "OpenAddressUnifiedSet.NULL_KEY";
+        }
+    };
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 8;
+
+    private static final long serialVersionUID = 1L;
+
+    private transient Object[] table;
+
+    private transient int[] hashes;
+
+    private transient int occupied;
+
+    private transient int maxSize;
+
+    public OpenAddressUnifiedSet()
+    {
+        this.allocate(DEFAULT_INITIAL_CAPACITY << 1);
+    }
+
+    public OpenAddressUnifiedSet(int initialCapacity)
+    {
+        if (initialCapacity < 0)
+        {
+            throw new IllegalArgumentException("initial capacity cannot be less than 0");
+        }
+        this.init((int) Math.ceil(initialCapacity / LOAD_FACTOR));
+    }
+
+    public OpenAddressUnifiedSet(Collection<? extends T> collection)
+    {
+        this(Math.max(collection.size(), DEFAULT_INITIAL_CAPACITY));
+        this.addAll(collection);
+    }
+
+    public static <T> OpenAddressUnifiedSet<T> newSet()
+    {
+        return new OpenAddressUnifiedSet<T>();
+    }
+
+    public static <T> OpenAddressUnifiedSet<T> newSet(int size)
+    {
+        return new OpenAddressUnifiedSet<T>(size);
+    }
+
+    public static <T> OpenAddressUnifiedSet<T> newSet(Iterable<? extends T> source)
+    {
+        if (source instanceof Collection)
+        {
+            return new OpenAddressUnifiedSet<T>((Collection<T>) source);
+        }
+        if (source == null)
+        {
+            throw new NullPointerException();
+        }
+        OpenAddressUnifiedSet<T> result = source instanceof RichIterable
+                ? OpenAddressUnifiedSet.<T>newSet(((RichIterable<?>) source).size())
+                : OpenAddressUnifiedSet.<T>newSet();
+        Iterate.forEachWith(source, Procedures2.<T>addToCollection(), result);
+        return result;
+    }
+
+    public static <T> OpenAddressUnifiedSet<T> newSetWith(T... elements)
+    {
+        return OpenAddressUnifiedSet.<T>newSet(elements.length).with(elements);
+    }
+
+    private void init(int initialCapacity)
+    {
+        int capacity = 1;
+        while (capacity < initialCapacity)
+        {
+            capacity <<= 1;
+        }
+        this.allocate(capacity);
+    }
+
+    private void allocate(int capacity)
+    {
+        this.table = new Object[capacity];
+        this.hashes = new int[capacity];
+        // need at least one free slot for open addressing
+        this.maxSize = Math.min(capacity - 1, (int) (capacity * LOAD_FACTOR));
+    }
+
+    private int hash(Object key)
+    {
+        // This function ensures that hashCodes that differ only by
+        // constant multiples at each bit position have a bounded
+        // number of collisions (approximately 8 at default load factor).
+        int h = this.computeHashCode((T) key);
+        h ^= h >>> 20 ^ h >>> 12;
+        h ^= h >>> 7 ^ h >>> 4;
+        return h;
+    }
+
+    /**
+     * Returns the hash code of the element, which may be null.  It is called once when the element is added and once
+     * for each lookup, but never when the table grows.
+     */
+    protected int computeHashCode(T element)
+    {
+        return element == null ? 0 : element.hashCode();
+    }
+
+    /**
+     * Returns whether the non-null element already in the table is equal to the element being looked up, which may be
+     * null.  It is only called when the hash codes of the two are equal.
+     */
+    protected boolean elementsEqual(T tableKey, Object element)
+    {
+        return tableKey.equals(element);
+    }
+
+    /**
+     * Returns the slot holding key, or the empty slot at which key would be added if it is absent.  Elements are only
+     * compared with equals when their cached hash codes match.
+     */
+    private int probe(Object key, int hash)
+    {
+        int mask = this.table.length - 1;
+        int slot = hash & mask;
+        while (true)
+        {
+            Object cur = this.table[slot];
+            if (cur == null || this.hashes[slot] == hash && this.nonNullTableObjectEquals(cur, key))
+            {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Empties the slot and moves each later element of the same run whose probe sequence passes through the emptied
+     * slot back into it, so that every remaining element is still reachable from its home slot.
+     */
+    private void removeSlot(int slot)
+    {
+        int mask = this.table.length - 1;
+        int empty = slot;
+        int next = (slot + 1) & mask;
+        while (this.table[next] != null)
+        {
+            int home = this.hashes[next] & mask;
+            if (((next - home) & mask) >= ((next - empty) & mask))
+            {
+                this.table[empty] = this.table[next];
+                this.hashes[empty] = this.hashes[next];
+                empty = next;
+            }
+            next = (next + 1) & mask;
+        }
+        this.table[empty] = null;
+        this.hashes[empty] = 0;
+        this.occupied--;
+    }
+
+    private void rehash(int newCapacity)
+    {
+        Object[] oldTable = this.table;
+        int[] oldHashes = this.hashes;
+        this.allocate(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldTable.length; i++)
+        {
+            Object cur = oldTable[i];
+            if (cur != null)
+            {
+                int hash = oldHashes[i];
+                int slot = hash & mask;
+                while (this.table[slot] != null)
+                {
+                    slot = (slot + 1) & mask;
+                }
+                this.table[slot] = cur;
+                this.hashes[slot] = hash;
+            }
+        }
+    }
+
+    @Override
+    public OpenAddressUnifiedSet<T> clone()
+    {
+        return new OpenAddressUnifiedSet<T>(this);
+    }
+
+    @Override
+    public OpenAddressUnifiedSet<T> newEmpty()
+    {
+        return OpenAddressUnifiedSet.newSet();
+    }
+
+    public OpenAddressUnifiedSet<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    public OpenAddressUnifiedSet<T> with(T element1, T element2)
+    {
+        this.add(element1);
+        this.add(element2);
+        return this;
+    }
+
+    public OpenAddressUnifiedSet<T> with(T element1, T element2, T element3)
+    {
+        this.add(element1);
+        this.add(element2);
+        this.add(element3);
+        return this;
+    }
+
+    public OpenAddressUnifiedSet<T> with(T... elements)
+    {
+        this.addAll(Arrays.asList(elements));
+        return this;
+    }
+
+    public OpenAddressUnifiedSet<T> withAll(Iterable<? extends T> iterable)
+    {
+        this.addAllIterable(iterable);
+        return this;
+    }
+
+    public OpenAddressUnifiedSet<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    public OpenAddressUnifiedSet<T> withoutAll(Iterable<? extends T> elements)
+    {
+        this.removeAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public boolean add(T key)
+    {
+        int hash = this.hash(key);
+        int slot = this.probe(key, hash);
+        if (this.table[slot] != null)
+        {
+            return false;
+        }
+        this.table[slot] = toSentinelIfNull(key);
+        this.hashes[slot] = hash;
+        if (++this.occupied > this.maxSize)
+        {
+            this.rehash(this.table.length << 1);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object key)
+    {
+        int slot = this.probe(key, this.hash(key));
+        if (this.table[slot] == null)
+        {
+            return false;
+        }
+        this.removeSlot(slot);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object key)
+    {
+        return this.table[this.probe(key, this.hash(key))] != null;
+    }
+
+    @Override
+    public void clear()
+    {
+        if (this.occupied == 0)
+        {
+            return;
+        }
+        this.occupied = 0;
+        Object[] set = this.table;
+        for (int i = set.length; i-- > 0; )
+        {
+            set[i] = null;
+        }
+        int[] hashes = this.hashes;
+        for (int i = hashes.length; i-- > 0; )
+        {
+            hashes[i] = 0;
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        return this.occupied;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.occupied == 0;
+    }
+
+    @Override
+    public void forEach(Procedure<? super T> procedure)
+    {
+        for (int i = 0; i < this.table.length; i++)
+        {
+            Object cur = this.table[i];
+            if (cur != null)
+            {
+                procedure.value(this.nonSentinel(cur));
+            }
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new PositionalIterator();
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+
+        if (!(object instanceof Set))
+        {
+            return false;
+        }
+
+        Set<?> other = (Set<?>) object;
+        return this.size() == other.size() && this.containsAll(other);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        for (int i = 0; i < this.table.length; i++)
+        {
+            Object cur = this.table[i];
+            if (cur != null)
+            {
+                hashCode += this.computeHashCode(this.nonSentinel(cur));
+            }
+        }
+        return hashCode;
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int size = in.readInt();
+        this.init(Math.max((int) (size / LOAD_FACTOR) + 1, DEFAULT_INITIAL_CAPACITY));
+        for (int i = 0; i < size; i++)
+        {
+            this.add((T) in.readObject());
+        }
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeInt(this.size());
+        for (int i = 0; i < this.table.length; i++)
+        {
+            Object cur = this.table[i];
+            if (cur != null)
+            {
+                out.writeObject(this.nonSentinel(cur));
+            }
+        }
+    }
+
+    private T nonSentinel(Object key)
+    {
+        return key == NULL_KEY ? null : (T) key;
+    }
+
+    private static Object toSentinelIfNull(Object key)
+    {
+        if (key == null)
+        {
+            return NULL_KEY;
+        }
+        return key;
+    }
+
+    private boolean nonNullTableObjectEquals(Object cur, Object key)
+    {
+        return cur == key || (cur == NULL_KEY ? key == null : key != null && this.elementsEqual((T) cur, key));
+    }
+
+    /**
+     * Visits the occupied slots in table order, starting just after the first empty slot.  A removal only moves
+     * elements back within their run, so removal through the iterator never moves an unvisited element behind it or a
+     * visited element ahead of it.
+     */
+    private final class PositionalIterator implements Iterator<T>
+    {
+        private final int start = this.firstEmptySlot();
+        private int offset;
+        private int current = -1;
+
+        private int firstEmptySlot()
+        {
+            Object[] table = OpenAddressUnifiedSet.this.table;
+            int slot = 0;
+            while (table[slot] != null)
+            {
+                slot++;
+            }
+            return slot;
+        }
+
+        public boolean hasNext()
+        {
+            Object[] table = OpenAddressUnifiedSet.this.table;
+            int mask = table.length - 1;
+            while (this.offset < table.length)
+            {
+                if (table[(this.start + this.offset) & mask] != null)
+                {
+                    return true;
+                }
+                this.offset++;
+            }
+            return false;
+        }
+
+        public T next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            this.current = this.offset;
+            this.offset++;
+            Object[] table = OpenAddressUnifiedSet.this.table;
+            return OpenAddressUnifiedSet.this.nonSentinel(table[(this.start + this.current) & (table.length - 1)]);
+        }
+
+        public void remove()
+        {
+            if (this.current == -1)
+            {
+                throw new IllegalStateException();
+            }
+            OpenAddressUnifiedSet.this.removeSlot((this.start + this.current) & (OpenAddressUnifiedSet.this.table.length - 1));
+            // a later element may have been moved back into the removed slot
+            this.offset = this.current;
+            this.current = -1;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import com.gs.collections.api.LazyIterable;
 import com.gs.collections.api.RichIterable;
@@ -59,6 +60,7 @@ import com.gs.collections.api.multimap.MutableMultimap;
 import com.gs.collections.api.partition.set.PartitionMutableSet;
 import com.gs.collections.api.set.ImmutableSet;
 import com.gs.collections.api.set.MutableSet;
+import com.gs.collections.api.set.ParallelUnsortedSetIterable;
 import com.gs.collections.api.set.Pool;
 import com.gs.collections.api.set.SetIterable;
 import com.gs.collections.api.set.UnsortedSetIterable;
@@ -101,6 +103,7 @@ import com.gs.collections.impl.block.procedure.primitive.CollectLongProcedure;
 import com.gs.collections.impl.block.procedure.primitive.CollectShortProcedure;
 import com.gs.collections.impl.factory.Lists;
 import com.gs.collections.impl.factory.Sets;
+import com.gs.collections.impl.lazy.parallel.UnifiedSetParallelIterable;
 import com.gs.collections.impl.list.mutable.FastList;
 import com.gs.collections.impl.map.mutable.UnifiedMap;
 import com.gs.collections.impl.map.sorted.mutable.TreeSortedMap;
@@ -519,6 +522,17 @@ public class UnifiedSet<K>
         while (true);
     }
 
+    /**
+     * Returns a parallel iterable over this set which evaluates in batches of roughly {@code batchSize} table slots
+     * using the specified executor.
+     *
+     * @since 4.3
+     */
+    public ParallelUnsortedSetIterable<K> asParallel(ExecutorService executorService, int batchSize)
+    {
+        return new UnifiedSetParallelIterable<K>(this, executorService, batchSize);
+    }
+
     public int getBatchCount(int batchSize)
     {
         return Math.max(1, this.table.length / batchSize);
@@ -0,0 +1,637 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.set.sorted.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.SortedSet;
+
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.Function2;
+import com.gs.collections.api.block.function.primitive.BooleanFunction;
+import com.gs.collections.api.block.function.primitive.ByteFunction;
+import com.gs.collections.api.block.function.primitive.CharFunction;
+import com.gs.collections.api.block.function.primitive.DoubleFunction;
+import com.gs.collections.api.block.function.primitive.FloatFunction;
+import com.gs.collections.api.block.function.primitive.IntFunction;
+import com.gs.collections.api.block.function.primitive.LongFunction;
+import com.gs.collections.api.block.function.primitive.ShortFunction;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.block.predicate.Predicate2;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.api.list.primitive.MutableBooleanList;
+import com.gs.collections.api.list.primitive.MutableByteList;
+import com.gs.collections.api.list.primitive.MutableCharList;
+import com.gs.collections.api.list.primitive.MutableDoubleList;
+import com.gs.collections.api.list.primitive.MutableFloatList;
+import com.gs.collections.api.list.primitive.MutableIntList;
+import com.gs.collections.api.list.primitive.MutableLongList;
+import com.gs.collections.api.list.primitive.MutableShortList;
+import com.gs.collections.api.partition.set.sorted.PartitionMutableSortedSet;
+import com.gs.collections.api.set.SetIterable;
+import com.gs.collections.api.set.sorted.ImmutableSortedSet;
+import com.gs.collections.api.set.sorted.MutableSortedSet;
+import com.gs.collections.api.set.sorted.SortedSetIterable;
+import com.gs.collections.api.tuple.Pair;
+import com.gs.collections.impl.block.factory.Comparators;
+import com.gs.collections.impl.block.factory.Functions;
+import com.gs.collections.impl.block.procedure.CollectionAddProcedure;
+import com.gs.collections.impl.block.procedure.PartitionProcedure;
+import com.gs.collections.impl.block.procedure.SelectInstancesOfProcedure;
+import com.gs.collections.impl.block.procedure.checked.CheckedProcedure;
+import com.gs.collections.impl.block.procedure.primitive.CollectBooleanProcedure;
+import com.gs.collections.impl.block.procedure.primitive.CollectByteProcedure;
+import com.gs.collections.impl.block.procedure.primitive.CollectCharProcedure;
+import com.gs.collections.impl.block.procedure.primitive.CollectDoubleProcedure;
+import com.gs.collections.impl.block.procedure.primitive.CollectFloatProcedure;
+import com.gs.collections.impl.block.procedure.primitive.CollectIntProcedure;
+import com.gs.collections.impl.block.procedure.primitive.CollectLongProcedure;
+import com.gs.collections.impl.block.procedure.primitive.CollectShortProcedure;
+import com.gs.collections.impl.collection.mutable.AbstractMutableCollection;
+import com.gs.collections.impl.factory.SortedSets;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.list.mutable.primitive.BooleanArrayList;
+import com.gs.collections.impl.list.mutable.primitive.ByteArrayList;
+import com.gs.collections.impl.list.mutable.primitive.CharArrayList;
+import com.gs.collections.impl.list.mutable.primitive.DoubleArrayList;
+import com.gs.collections.impl.list.mutable.primitive.FloatArrayList;
+import com.gs.collections.impl.list.mutable.primitive.IntArrayList;
+import com.gs.collections.impl.list.mutable.primitive.LongArrayList;
+import com.gs.collections.impl.list.mutable.primitive.ShortArrayList;
+import com.gs.collections.impl.map.sorted.mutable.BTreeSortedMap;
+import com.gs.collections.impl.multimap.set.sorted.TreeSortedSetMultimap;
+import com.gs.collections.impl.partition.set.sorted.PartitionTreeSortedSet;
+import com.gs.collections.impl.utility.ArrayIterate;
+import com.gs.collections.impl.utility.Iterate;
+import com.gs.collections.impl.utility.internal.IterableIterate;
+import com.gs.collections.impl.utility.internal.SetIterables;
+import com.gs.collections.impl.utility.internal.SetIterate;
+import com.gs.collections.impl.utility.internal.SortedSetIterables;
+
+/**
+ * A BTreeSortedSet is a MutableSortedSet backed by the keys of a {@link BTreeSortedMap}, which keeps up to 64 elements
+ * in sorted order in each leaf of a B+tree instead of one per TreeSet entry.  Iterating the set, or a
+ * {@link #subSet(Object, Object)}, {@link #headSet(Object)} or {@link #tailSet(Object)} view of it, walks the linked
+ * leaves and compares no elements after finding the first one in range.
+ *
+ * @since 4.3
+ */
+public final class BTreeSortedSet<T>
+        extends AbstractMutableCollection<T>
+        implements Externalizable, MutableSortedSet<T>
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The value of every key of the map, so that put returns null only for a key which was not there.
+     */
+    private static final Object PRESENT = Boolean.TRUE;
+
+    private BTreeSortedMap<T, Object> map;
+
+    public BTreeSortedSet()
+    {
+        this.map = BTreeSortedMap.newMap();
+    }
+
+    public BTreeSortedSet(Iterable<? extends T> iterable)
+    {
+        this.map = BTreeSortedMap.newMap();
+        this.addAllIterable(iterable);
+    }
+
+    public BTreeSortedSet(Comparator<? super T> comparator)
+    {
+        this.map = BTreeSortedMap.newMap(comparator);
+    }
+
+    /**
+     * The elements of set are added in order, so each is appended to the last leaf of the tree.
+     */
+    public BTreeSortedSet(SortedSet<T> set)
+    {
+        this(set.comparator(), set);
+    }
+
+    public BTreeSortedSet(Comparator<? super T> comparator, Iterable<? extends T> iterable)
+    {
+        this(comparator);
+        this.addAllIterable(iterable);
+    }
+
+    public static <T> BTreeSortedSet<T> newSet()
+    {
+        return new BTreeSortedSet<T>();
+    }
+
+    public static <T> BTreeSortedSet<T> newSet(Comparator<? super T> comparator)
+    {
+        return new BTreeSortedSet<T>(comparator);
+    }
+
+    public static <T> BTreeSortedSet<T> newSet(Iterable<? extends T> source)
+    {
+        if (source instanceof SortedSet<?>)
+        {
+            return new BTreeSortedSet<T>((SortedSet<T>) source);
+        }
+        BTreeSortedSet<T> sortedSet = BTreeSortedSet.newSet();
+        Iterate.forEach(source, CollectionAddProcedure.on(sortedSet));
+        return sortedSet;
+    }
+
+    public static <T> BTreeSortedSet<T> newSet(Comparator<? super T> comparator, Iterable<? extends T> iterable)
+    {
+        return new BTreeSortedSet<T>(comparator, iterable);
+    }
+
+    public static <T> BTreeSortedSet<T> newSetWith(T... elements)
+    {
+        return new BTreeSortedSet<T>().with(elements);
+    }
+
+    public static <T> BTreeSortedSet<T> newSetWith(Comparator<? super T> comparator, T... elements)
+    {
+        return new BTreeSortedSet<T>(comparator).with(elements);
+    }
+
+    @Override
+    public MutableSortedSet<T> asUnmodifiable()
+    {
+        return UnmodifiableSortedSet.of(this);
+    }
+
+    @Override
+    public MutableSortedSet<T> asSynchronized()
+    {
+        return SynchronizedSortedSet.of(this);
+    }
+
+    public ImmutableSortedSet<T> toImmutable()
+    {
+        return SortedSets.immutable.ofSortedSet(this);
+    }
+
+    @Override
+    public boolean add(T element)
+    {
+        return this.map.put(element, PRESENT) == null;
+    }
+
+    @Override
+    public boolean remove(Object element)
+    {
+        int oldSize = this.map.size();
+        this.map.remove(element);
+        return this.map.size() != oldSize;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> collection)
+    {
+        int oldSize = this.map.size();
+        for (T each : collection)
+        {
+            this.map.put(each, PRESENT);
+        }
+        return this.map.size() != oldSize;
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        return this.map.containsKey(o);
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> collection)
+    {
+        return this.keys().containsAll(collection);
+    }
+
+    @Override
+    public void clear()
+    {
+        this.map.clear();
+    }
+
+    @Override
+    public BTreeSortedSet<T> clone()
+    {
+        try
+        {
+            BTreeSortedSet<T> clone = (BTreeSortedSet<T>) super.clone();
+            clone.map = this.map.clone();
+            return clone;
+        }
+        catch (CloneNotSupportedException e)
+        {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        return this.keys().equals(object);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.keys().hashCode();
+    }
+
+    public BTreeSortedSet<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    public BTreeSortedSet<T> with(T element1, T element2)
+    {
+        this.add(element1);
+        this.add(element2);
+        return this;
+    }
+
+    public BTreeSortedSet<T> with(T element1, T element2, T element3)
+    {
+        this.add(element1);
+        this.add(element2);
+        this.add(element3);
+        return this;
+    }
+
+    public BTreeSortedSet<T> with(T... elements)
+    {
+        ArrayIterate.forEach(elements, CollectionAddProcedure.on(this));
+        return this;
+    }
+
+    public BTreeSortedSet<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    public BTreeSortedSet<T> withAll(Iterable<? extends T> elements)
+    {
+        this.addAllIterable(elements);
+        return this;
+    }
+
+    public BTreeSortedSet<T> withoutAll(Iterable<? extends T> elements)
+    {
+        this.removeAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public BTreeSortedSet<T> newEmpty()
+    {
+        return BTreeSortedSet.newSet(this.comparator());
+    }
+
+    @Override
+    public BTreeSortedSet<T> select(Predicate<? super T> predicate)
+    {
+        return IterableIterate.select(this, predicate, this.newEmpty());
+    }
+
+    @Override
+    public BTreeSortedSet<T> reject(Predicate<? super T> predicate)
+    {
+        return IterableIterate.reject(this, predicate, this.newEmpty());
+    }
+
+    public PartitionMutableSortedSet<T> partition(Predicate<? super T> predicate)
+    {
+        PartitionTreeSortedSet<T> partitionTreeSortedSet = new PartitionTreeSortedSet<T>(this.comparator());
+        this.forEach(new PartitionProcedure<T>(predicate, partitionTreeSortedSet));
+        return partitionTreeSortedSet;
+    }
+
+    public <S> BTreeSortedSet<S> selectInstancesOf(Class<S> clazz)
+    {
+        BTreeSortedSet<S> result = (BTreeSortedSet<S>) this.newEmpty();
+        this.forEach(new SelectInstancesOfProcedure<S>(clazz, result));
+        return result;
+    }
+
+    @Override
+    public <V> MutableList<V> collect(Function<? super T, ? extends V> function)
+    {
+        return IterableIterate.collect(this, function, FastList.<V>newList());
+    }
+
+    @Override
+    public MutableBooleanList collectBoolean(BooleanFunction<? super T> booleanFunction)
+    {
+        BooleanArrayList result = new BooleanArrayList(this.size());
+        this.forEach(new CollectBooleanProcedure<T>(booleanFunction, result));
+        return result;
+    }
+
+    @Override
+    public MutableByteList collectByte(ByteFunction<? super T> byteFunction)
+    {
+        ByteArrayList result = new ByteArrayList(this.size());
+        this.forEach(new CollectByteProcedure<T>(byteFunction, result));
+        return result;
+    }
+
+    @Override
+    public MutableCharList collectChar(CharFunction<? super T> charFunction)
+    {
+        CharArrayList result = new CharArrayList(this.size());
+        this.forEach(new CollectCharProcedure<T>(charFunction, result));
+        return result;
+    }
+
+    @Override
+    public MutableDoubleList collectDouble(DoubleFunction<? super T> doubleFunction)
+    {
+        DoubleArrayList result = new DoubleArrayList(this.size());
+        this.forEach(new CollectDoubleProcedure<T>(doubleFunction, result));
+        return result;
+    }
+
+    @Override
+    public MutableFloatList collectFloat(FloatFunction<? super T> floatFunction)
+    {
+        FloatArrayList result = new FloatArrayList(this.size());
+        this.forEach(new CollectFloatProcedure<T>(floatFunction, result));
+        return result;
+    }
+
+    @Override
+    public MutableIntList collectInt(IntFunction<? super T> intFunction)
+    {
+        IntArrayList result = new IntArrayList(this.size());
+        this.forEach(new CollectIntProcedure<T>(intFunction, result));
+        return result;
+    }
+
+    @Override
+    public MutableLongList collectLong(LongFunction<? super T> longFunction)
+    {
+        LongArrayList result = new LongArrayList(this.size());
+        this.forEach(new CollectLongProcedure<T>(longFunction, result));
+        return result;
+    }
+
+    @Override
+    public MutableShortList collectShort(ShortFunction<? super T> shortFunction)
+    {
+        ShortArrayList result = new ShortArrayList(this.size());
+        this.forEach(new CollectShortProcedure<T>(shortFunction, result));
+        return result;
+    }
+
+    @Override
+    public <V> MutableList<V> flatCollect(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return Iterate.flatCollect(this, function, FastList.<V>newList());
+    }
+
+    @Override
+    public <V> MutableList<V> collectIf(
+            Predicate<? super T> predicate,
+            Function<? super T, ? extends V> function)
+    {
+        return Iterate.collectIf(this, predicate, function, FastList.<V>newList());
+    }
+
+    public <V> TreeSortedSetMultimap<V, T> groupBy(Function<? super T, ? extends V> function)
+    {
+        return Iterate.groupBy(this, function, TreeSortedSetMultimap.<V, T>newMultimap(this.comparator()));
+    }
+
+    public <V> TreeSortedSetMultimap<V, T> groupByEach(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return Iterate.groupByEach(this, function, TreeSortedSetMultimap.<V, T>newMultimap(this.comparator()));
+    }
+
+    @Override
+    public <P> BTreeSortedSet<T> selectWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        return Iterate.selectWith(this, predicate, parameter, this.newEmpty());
+    }
+
+    @Override
+    public <P> BTreeSortedSet<T> rejectWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        return Iterate.rejectWith(this, predicate, parameter, this.newEmpty());
+    }
+
+    @Override
+    public <P, V> MutableList<V> collectWith(Function2<? super T, ? super P, ? extends V> function, P parameter)
+    {
+        return Iterate.collectWith(this, function, parameter, FastList.<V>newList());
+    }
+
+    public <S> BTreeSortedSet<Pair<T, S>> zip(Iterable<S> that)
+    {
+        Comparator<? super T> comparator = this.comparator();
+        if (comparator == null)
+        {
+            BTreeSortedSet<Pair<T, S>> pairs = BTreeSortedSet.newSet(Comparators.<Pair<T, S>, T>byFunction(Functions.<T>firstOfPair(), Comparators.<T>naturalOrder()));
+            return Iterate.zip(this, that, pairs);
+        }
+        return Iterate.zip(this, that, BTreeSortedSet.<Pair<T, S>>newSet(Comparators.<T>byFirstOfPair(comparator)));
+    }
+
+    public BTreeSortedSet<Pair<T, Integer>> zipWithIndex()
+    {
+        Comparator<? super T> comparator = this.comparator();
+        if (comparator == null)
+        {
+            BTreeSortedSet<Pair<T, Integer>> pairs = BTreeSortedSet.newSet(Comparators.<Pair<T, Integer>, T>byFunction(Functions.<T>firstOfPair(), Comparators.<T>naturalOrder()));
+            return Iterate.zipWithIndex(this, pairs);
+        }
+        return Iterate.zipWithIndex(this, BTreeSortedSet.<Pair<T, Integer>>newSet(Comparators.<T>byFirstOfPair(comparator)));
+    }
+
+    @Override
+    public boolean removeAllIterable(Iterable<?> iterable)
+    {
+        return SetIterate.removeAllIterable(this, iterable);
+    }
+
+    public Comparator<? super T> comparator()
+    {
+        return this.map.comparator();
+    }
+
+    public MutableSortedSet<T> subSet(T fromElement, T toElement)
+    {
+        return this.keys().subSet(fromElement, toElement);
+    }
+
+    public MutableSortedSet<T> headSet(T toElement)
+    {
+        return this.keys().headSet(toElement);
+    }
+
+    public MutableSortedSet<T> tailSet(T fromElement)
+    {
+        return this.keys().tailSet(fromElement);
+    }
+
+    public T first()
+    {
+        return this.map.firstKey();
+    }
+
+    public T last()
+    {
+        return this.map.lastKey();
+    }
+
+    @Override
+    public T getFirst()
+    {
+        return this.first();
+    }
+
+    @Override
+    public T getLast()
+    {
+        return this.last();
+    }
+
+    public MutableSortedSet<SortedSetIterable<T>> powerSet()
+    {
+        return (MutableSortedSet<SortedSetIterable<T>>) (MutableSortedSet<?>) SortedSetIterables.powerSet(this);
+    }
+
+    public <B> LazyIterable<Pair<T, B>> cartesianProduct(SetIterable<B> set)
+    {
+        return SetIterables.cartesianProduct(this, set);
+    }
+
+    public BTreeSortedSet<T> union(SetIterable<? extends T> set)
+    {
+        return SetIterables.unionInto(this, set, this.newEmpty());
+    }
+
+    public BTreeSortedSet<T> intersect(SetIterable<? extends T> set)
+    {
+        return SetIterables.intersectInto(this, set, this.newEmpty());
+    }
+
+    public BTreeSortedSet<T> difference(SetIterable<? extends T> subtrahendSet)
+    {
+        return SetIterables.differenceInto(this, subtrahendSet, this.newEmpty());
+    }
+
+    public MutableSortedSet<T> symmetricDifference(SetIterable<? extends T> setB)
+    {
+        return SetIterables.symmetricDifferenceInto(this, setB, this.newEmpty());
+    }
+
+    public <R extends Set<T>> R unionInto(SetIterable<? extends T> set, R targetSet)
+    {
+        return SetIterables.unionInto(this, set, targetSet);
+    }
+
+    public <R extends Set<T>> R intersectInto(SetIterable<? extends T> set, R targetSet)
+    {
+        return SetIterables.intersectInto(this, set, targetSet);
+    }
+
+    public <R extends Set<T>> R differenceInto(SetIterable<? extends T> subtrahendSet, R targetSet)
+    {
+        return SetIterables.differenceInto(this, subtrahendSet, targetSet);
+    }
+
+    public <R extends Set<T>> R symmetricDifferenceInto(SetIterable<? extends T> set, R targetSet)
+    {
+        return SetIterables.symmetricDifferenceInto(this, set, targetSet);
+    }
+
+    public boolean isSubsetOf(SetIterable<? extends T> candidateSuperset)
+    {
+        return SetIterables.isSubsetOf(this, candidateSuperset);
+    }
+
+    public boolean isProperSubsetOf(SetIterable<? extends T> candidateSuperset)
+    {
+        return SetIterables.isProperSubsetOf(this, candidateSuperset);
+    }
+
+    @Override
+    public void forEach(Procedure<? super T> procedure)
+    {
+        this.map.forEachKey(procedure);
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return this.keys().iterator();
+    }
+
+    @Override
+    public int size()
+    {
+        return this.map.size();
+    }
+
+    public void writeExternal(final ObjectOutput out) throws IOException
+    {
+        out.writeObject(this.comparator());
+        out.writeInt(this.size());
+        this.forEach(new CheckedProcedure<T>()
+        {
+            @Override
+            public void safeValue(T each) throws Exception
+            {
+                out.writeObject(each);
+            }
+        });
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        this.map = BTreeSortedMap.newMap((Comparator<T>) in.readObject());
+        int size = in.readInt();
+        for (int i = 0; i < size; i++)
+        {
+            this.add((T) in.readObject());
+        }
+    }
+
+    public int compareTo(SortedSetIterable<T> otherSet)
+    {
+        return SortedSetIterables.compare(this, otherSet);
+    }
+
+    private MutableSortedSet<T> keys()
+    {
+        return this.map.sortedKeySet(PRESENT);
+    }
+}
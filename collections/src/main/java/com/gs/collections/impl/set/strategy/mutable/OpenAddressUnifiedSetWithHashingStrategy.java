@@ -0,0 +1,220 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.set.strategy.mutable;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.gs.collections.api.RichIterable;
+import com.gs.collections.api.block.HashingStrategy;
+import com.gs.collections.impl.block.factory.Procedures2;
+import com.gs.collections.impl.set.mutable.OpenAddressUnifiedSet;
+import com.gs.collections.impl.utility.Iterate;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * OpenAddressUnifiedSetWithHashingStrategy is an {@link OpenAddressUnifiedSet} which relies on a HashingStrategy
+ * provided by a developer, instead of the hashCode and equals of the elements, to compute the hash codes of elements
+ * and to compare them.
+ * <p/>
+ * Since the set caches the hash code of every element, the strategy's computeHashCode is called only once for each
+ * element added and never when the table grows, and its equals is only called for elements whose hash codes match.
+ * This makes the set a good choice for elements whose hash codes or equality are expensive to compute.
+ *
+ * @since 4.3
+ */
+@NotThreadSafe
+public class OpenAddressUnifiedSetWithHashingStrategy<T> extends OpenAddressUnifiedSet<T>
+{
+    private static final long serialVersionUID = 1L;
+
+    private HashingStrategy<? super T> hashingStrategy;
+
+    /**
+     * @deprecated No argument default constructor used for serialization. Instantiating an
+     *             OpenAddressUnifiedSetWithHashingStrategy with this constructor will have a null hashingStrategy and
+     *             throw NullPointerException when used.
+     */
+    @Deprecated
+    public OpenAddressUnifiedSetWithHashingStrategy()
+    {
+    }
+
+    public OpenAddressUnifiedSetWithHashingStrategy(HashingStrategy<? super T> hashingStrategy)
+    {
+        this.hashingStrategy = OpenAddressUnifiedSetWithHashingStrategy.checkNotNull(hashingStrategy);
+    }
+
+    public OpenAddressUnifiedSetWithHashingStrategy(HashingStrategy<? super T> hashingStrategy, int initialCapacity)
+    {
+        super(initialCapacity);
+        this.hashingStrategy = OpenAddressUnifiedSetWithHashingStrategy.checkNotNull(hashingStrategy);
+    }
+
+    public OpenAddressUnifiedSetWithHashingStrategy(
+            HashingStrategy<? super T> hashingStrategy,
+            Collection<? extends T> collection)
+    {
+        this(hashingStrategy, collection.size());
+        this.addAll(collection);
+    }
+
+    private static <T> HashingStrategy<? super T> checkNotNull(HashingStrategy<? super T> hashingStrategy)
+    {
+        if (hashingStrategy == null)
+        {
+            throw new IllegalArgumentException("Cannot Instantiate OpenAddressUnifiedSetWithHashingStrategy with null HashingStrategy");
+        }
+        return hashingStrategy;
+    }
+
+    public static <T> OpenAddressUnifiedSetWithHashingStrategy<T> newSet(HashingStrategy<? super T> hashingStrategy)
+    {
+        return new OpenAddressUnifiedSetWithHashingStrategy<T>(hashingStrategy);
+    }
+
+    public static <T> OpenAddressUnifiedSetWithHashingStrategy<T> newSet(
+            HashingStrategy<? super T> hashingStrategy,
+            int size)
+    {
+        return new OpenAddressUnifiedSetWithHashingStrategy<T>(hashingStrategy, size);
+    }
+
+    public static <T> OpenAddressUnifiedSetWithHashingStrategy<T> newSet(
+            HashingStrategy<? super T> hashingStrategy,
+            Iterable<? extends T> source)
+    {
+        if (source instanceof Collection)
+        {
+            return new OpenAddressUnifiedSetWithHashingStrategy<T>(hashingStrategy, (Collection<T>) source);
+        }
+        if (source == null)
+        {
+            throw new NullPointerException();
+        }
+        OpenAddressUnifiedSetWithHashingStrategy<T> result = source instanceof RichIterable
+                ? OpenAddressUnifiedSetWithHashingStrategy.<T>newSet(hashingStrategy, ((RichIterable<?>) source).size())
+                : OpenAddressUnifiedSetWithHashingStrategy.<T>newSet(hashingStrategy);
+        Iterate.forEachWith(source, Procedures2.<T>addToCollection(), result);
+        return result;
+    }
+
+    public static <T> OpenAddressUnifiedSetWithHashingStrategy<T> newSetWith(
+            HashingStrategy<? super T> hashingStrategy,
+            T... elements)
+    {
+        return OpenAddressUnifiedSetWithHashingStrategy.<T>newSet(hashingStrategy, elements.length).with(elements);
+    }
+
+    public HashingStrategy<? super T> hashingStrategy()
+    {
+        return this.hashingStrategy;
+    }
+
+    @Override
+    protected int computeHashCode(T element)
+    {
+        return this.hashingStrategy.computeHashCode(element);
+    }
+
+    @Override
+    protected boolean elementsEqual(T tableKey, Object element)
+    {
+        return this.hashingStrategy.equals(tableKey, (T) element);
+    }
+
+    @Override
+    public OpenAddressUnifiedSetWithHashingStrategy<T> clone()
+    {
+        return new OpenAddressUnifiedSetWithHashingStrategy<T>(this.hashingStrategy, this);
+    }
+
+    @Override
+    public OpenAddressUnifiedSetWithHashingStrategy<T> newEmpty()
+    {
+        return OpenAddressUnifiedSetWithHashingStrategy.newSet(this.hashingStrategy);
+    }
+
+    @Override
+    public OpenAddressUnifiedSetWithHashingStrategy<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    @Override
+    public OpenAddressUnifiedSetWithHashingStrategy<T> with(T element1, T element2)
+    {
+        this.add(element1);
+        this.add(element2);
+        return this;
+    }
+
+    @Override
+    public OpenAddressUnifiedSetWithHashingStrategy<T> with(T element1, T element2, T element3)
+    {
+        this.add(element1);
+        this.add(element2);
+        this.add(element3);
+        return this;
+    }
+
+    @Override
+    public OpenAddressUnifiedSetWithHashingStrategy<T> with(T... elements)
+    {
+        this.addAll(Arrays.asList(elements));
+        return this;
+    }
+
+    @Override
+    public OpenAddressUnifiedSetWithHashingStrategy<T> withAll(Iterable<? extends T> iterable)
+    {
+        this.addAllIterable(iterable);
+        return this;
+    }
+
+    @Override
+    public OpenAddressUnifiedSetWithHashingStrategy<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    @Override
+    public OpenAddressUnifiedSetWithHashingStrategy<T> withoutAll(Iterable<? extends T> elements)
+    {
+        this.removeAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        this.hashingStrategy = (HashingStrategy<? super T>) in.readObject();
+        super.readExternal(in);
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeObject(this.hashingStrategy);
+        super.writeExternal(out);
+    }
+}
@@ -0,0 +1,987 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.stack.immutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EmptyStackException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.api.RichIterable;
+import com.gs.collections.api.bag.MutableBag;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.Function0;
+import com.gs.collections.api.block.function.Function2;
+import com.gs.collections.api.block.function.primitive.BooleanFunction;
+import com.gs.collections.api.block.function.primitive.ByteFunction;
+import com.gs.collections.api.block.function.primitive.CharFunction;
+import com.gs.collections.api.block.function.primitive.DoubleFunction;
+import com.gs.collections.api.block.function.primitive.DoubleObjectToDoubleFunction;
+import com.gs.collections.api.block.function.primitive.FloatFunction;
+import com.gs.collections.api.block.function.primitive.FloatObjectToFloatFunction;
+import com.gs.collections.api.block.function.primitive.IntFunction;
+import com.gs.collections.api.block.function.primitive.IntObjectToIntFunction;
+import com.gs.collections.api.block.function.primitive.LongFunction;
+import com.gs.collections.api.block.function.primitive.LongObjectToLongFunction;
+import com.gs.collections.api.block.function.primitive.ShortFunction;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.block.predicate.Predicate2;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import com.gs.collections.api.list.ListIterable;
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.api.map.MapIterable;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.api.map.sorted.MutableSortedMap;
+import com.gs.collections.api.multimap.MutableMultimap;
+import com.gs.collections.api.multimap.list.ImmutableListMultimap;
+import com.gs.collections.api.partition.stack.PartitionImmutableStack;
+import com.gs.collections.api.set.MutableSet;
+import com.gs.collections.api.set.sorted.MutableSortedSet;
+import com.gs.collections.api.stack.ImmutableStack;
+import com.gs.collections.api.stack.MutableStack;
+import com.gs.collections.api.stack.StackIterable;
+import com.gs.collections.api.stack.primitive.ImmutableBooleanStack;
+import com.gs.collections.api.stack.primitive.ImmutableByteStack;
+import com.gs.collections.api.stack.primitive.ImmutableCharStack;
+import com.gs.collections.api.stack.primitive.ImmutableDoubleStack;
+import com.gs.collections.api.stack.primitive.ImmutableFloatStack;
+import com.gs.collections.api.stack.primitive.ImmutableIntStack;
+import com.gs.collections.api.stack.primitive.ImmutableLongStack;
+import com.gs.collections.api.stack.primitive.ImmutableShortStack;
+import com.gs.collections.api.tuple.Pair;
+import com.gs.collections.impl.block.factory.Comparators;
+import com.gs.collections.impl.block.procedure.CollectionAddProcedure;
+import com.gs.collections.impl.block.procedure.MutatingAggregationProcedure;
+import com.gs.collections.impl.block.procedure.NonMutatingAggregationProcedure;
+import com.gs.collections.impl.block.procedure.checked.CheckedProcedure;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+import com.gs.collections.impl.multimap.list.FastListMultimap;
+import com.gs.collections.impl.partition.stack.PartitionArrayStack;
+import com.gs.collections.impl.stack.mutable.ArrayStack;
+import com.gs.collections.impl.stack.mutable.primitive.BooleanArrayStack;
+import com.gs.collections.impl.stack.mutable.primitive.ByteArrayStack;
+import com.gs.collections.impl.stack.mutable.primitive.CharArrayStack;
+import com.gs.collections.impl.stack.mutable.primitive.DoubleArrayStack;
+import com.gs.collections.impl.stack.mutable.primitive.FloatArrayStack;
+import com.gs.collections.impl.stack.mutable.primitive.IntArrayStack;
+import com.gs.collections.impl.stack.mutable.primitive.LongArrayStack;
+import com.gs.collections.impl.stack.mutable.primitive.ShortArrayStack;
+import com.gs.collections.impl.utility.LazyIterate;
+import net.jcip.annotations.Immutable;
+/**
+ * ImmutableConsStack is an ImmutableStack stored as a singly linked list of cells, each holding one item and the
+ * stack below it.  {@link #push(Object)}, {@link #pop()} and {@link #peek()} are O(1), and every stack derived from
+ * another by push or pop shares all of its cells below the top with the original, so keeping many versions of a stack,
+ * such as an undo log or one evaluation stack per branch, only costs one cell per push.
+ * <p/>
+ * {@link #peekAt(int)} is O(index), where it is O(1) for the array backed stacks returned by {@code Stacks.immutable}.
+ *
+ * @since 4.3
+ */
+@Immutable
+public final class ImmutableConsStack<T> implements ImmutableStack<T>, Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final ImmutableConsStack<?> EMPTY = new ImmutableConsStack<Object>(null, null, 0);
+
+    private final T item;
+    private final ImmutableConsStack<T> next;
+    private final int size;
+
+    private ImmutableConsStack(T item, ImmutableConsStack<T> next, int size)
+    {
+        this.item = item;
+        this.next = next;
+        this.size = size;
+    }
+
+    public static <T> ImmutableConsStack<T> newStack()
+    {
+        return (ImmutableConsStack<T>) EMPTY;
+    }
+
+    public static <T> ImmutableConsStack<T> newStack(Iterable<? extends T> iterable)
+    {
+        ImmutableConsStack<T> result = ImmutableConsStack.newStack();
+        for (T each : iterable)
+        {
+            result = result.push(each);
+        }
+        return result;
+    }
+
+    public static <T> ImmutableConsStack<T> newStackWith(T... elements)
+    {
+        ImmutableConsStack<T> result = ImmutableConsStack.newStack();
+        for (T each : elements)
+        {
+            result = result.push(each);
+        }
+        return result;
+    }
+
+    public static <T> ImmutableConsStack<T> newStackFromTopToBottom(Iterable<? extends T> items)
+    {
+        return ImmutableConsStack.newStackWith((T[]) FastList.newList(items).reverseThis().toArray());
+    }
+
+    public static <T> ImmutableConsStack<T> newStackFromTopToBottom(T... items)
+    {
+        ImmutableConsStack<T> result = ImmutableConsStack.newStack();
+        for (int i = items.length - 1; i >= 0; i--)
+        {
+            result = result.push(items[i]);
+        }
+        return result;
+    }
+
+    public ImmutableConsStack<T> push(T item)
+    {
+        return new ImmutableConsStack<T>(item, this, this.size + 1);
+    }
+
+    public ImmutableConsStack<T> pop()
+    {
+        this.checkEmptyStack();
+        return this.next;
+    }
+
+    public ImmutableConsStack<T> pop(int count)
+    {
+        this.checkNegativeCount(count);
+        if (this.checkZeroCount(count))
+        {
+            return this;
+        }
+        this.checkEmptyStack();
+        this.checkSizeLessThanCount(count);
+        ImmutableConsStack<T> result = this;
+        while (count > 0)
+        {
+            result = result.next;
+            count--;
+        }
+        return result;
+    }
+
+    public T peek()
+    {
+        this.checkEmptyStack();
+        return this.item;
+    }
+
+    private void checkEmptyStack()
+    {
+        if (this.size == 0)
+        {
+            throw new EmptyStackException();
+        }
+    }
+
+    public ListIterable<T> peek(int count)
+    {
+        this.checkNegativeCount(count);
+        if (this.checkZeroCount(count))
+        {
+            return FastList.newList();
+        }
+        this.checkEmptyStack();
+        this.checkSizeLessThanCount(count);
+        FastList<T> result = FastList.newList(count);
+        ImmutableConsStack<T> each = this;
+        for (int i = 0; i < count; i++)
+        {
+            result.add(each.item);
+            each = each.next;
+        }
+        return result;
+    }
+
+    private boolean checkZeroCount(int count)
+    {
+        return count == 0;
+    }
+
+    private void checkSizeLessThanCount(int count)
+    {
+        if (this.size < count)
+        {
+            throw new IllegalArgumentException("Count must be less than size: Count = " + count + " Size = " + this.size);
+        }
+    }
+
+    private void checkNegativeCount(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be positive but was " + count);
+        }
+    }
+
+    public T peekAt(int index)
+    {
+        this.checkNegativeCount(index);
+        this.checkEmptyStack();
+        if (index >= this.size)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+        ImmutableConsStack<T> each = this;
+        for (int i = 0; i < index; i++)
+        {
+            each = each.next;
+        }
+        return each.item;
+    }
+
+    public T getFirst()
+    {
+        return this.peek();
+    }
+
+    public T getLast()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    public boolean contains(Object object)
+    {
+        for (ImmutableConsStack<T> each = this; each.size > 0; each = each.next)
+        {
+            if (Comparators.nullSafeEquals(each.item, object))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean containsAllIterable(Iterable<?> source)
+    {
+        return this.toSet().containsAllIterable(source);
+    }
+
+    public boolean containsAll(Collection<?> source)
+    {
+        return this.toSet().containsAll(source);
+    }
+
+    public boolean containsAllArguments(Object... elements)
+    {
+        return this.toSet().containsAllArguments(elements);
+    }
+
+    public MutableStack<T> toStack()
+    {
+        return ArrayStack.newStackFromTopToBottom(this);
+    }
+
+    public ImmutableStack<T> select(Predicate<? super T> predicate)
+    {
+        return ImmutableConsStack.newStackFromTopToBottom(this.toList().select(predicate).toList());
+    }
+
+    public <R extends Collection<T>> R select(Predicate<? super T> predicate, R target)
+    {
+        return this.toList().select(predicate, target);
+    }
+
+    public <P, R extends Collection<T>> R selectWith(Predicate2<? super T, ? super P> predicate, P parameter, R targetCollection)
+    {
+        return this.toList().selectWith(predicate, parameter, targetCollection);
+    }
+
+    public ImmutableStack<T> reject(Predicate<? super T> predicate)
+    {
+        return ImmutableConsStack.newStackFromTopToBottom(this.toList().reject(predicate).toList());
+    }
+
+    public <R extends Collection<T>> R reject(Predicate<? super T> predicate, R target)
+    {
+        return this.toList().reject(predicate, target);
+    }
+
+    public <P, R extends Collection<T>> R rejectWith(Predicate2<? super T, ? super P> predicate, P parameter, R targetCollection)
+    {
+        return this.toList().rejectWith(predicate, parameter, targetCollection);
+    }
+
+    public PartitionImmutableStack<T> partition(Predicate<? super T> predicate)
+    {
+        PartitionArrayStack<T> partitionMutableStack = new PartitionArrayStack<T>(predicate);
+        this.forEach(new PartitionArrayStack.PartitionProcedure<T>(predicate, partitionMutableStack));
+        return partitionMutableStack.toImmutable();
+    }
+
+    public <S> RichIterable<S> selectInstancesOf(Class<S> clazz)
+    {
+        return ImmutableConsStack.newStackFromTopToBottom(this.toList().selectInstancesOf(clazz).toList());
+    }
+
+    public <V> ImmutableStack<V> collect(Function<? super T, ? extends V> function)
+    {
+        return ImmutableConsStack.newStackFromTopToBottom(this.toList().collect(function));
+    }
+
+    public ImmutableBooleanStack collectBoolean(final BooleanFunction<? super T> booleanFunction)
+    {
+        final BooleanArrayStack result = new BooleanArrayStack();
+        this.toList().reverseForEach(new Procedure<T>()
+        {
+            public void value(T each)
+            {
+                result.push(booleanFunction.booleanValueOf(each));
+            }
+        });
+        return result.toImmutable();
+    }
+
+    public ImmutableByteStack collectByte(final ByteFunction<? super T> byteFunction)
+    {
+        final ByteArrayStack result = new ByteArrayStack();
+        this.toList().reverseForEach(new Procedure<T>()
+        {
+            public void value(T each)
+            {
+                result.push(byteFunction.byteValueOf(each));
+            }
+        });
+        return result.toImmutable();
+    }
+
+    public ImmutableCharStack collectChar(final CharFunction<? super T> charFunction)
+    {
+        final CharArrayStack result = new CharArrayStack();
+        this.toList().reverseForEach(new Procedure<T>()
+        {
+            public void value(T each)
+            {
+                result.push(charFunction.charValueOf(each));
+            }
+        });
+        return result.toImmutable();
+    }
+
+    public ImmutableDoubleStack collectDouble(final DoubleFunction<? super T> doubleFunction)
+    {
+        final DoubleArrayStack result = new DoubleArrayStack();
+        this.toList().reverseForEach(new Procedure<T>()
+        {
+            public void value(T each)
+            {
+                result.push(doubleFunction.doubleValueOf(each));
+            }
+        });
+        return result.toImmutable();
+    }
+
+    public ImmutableFloatStack collectFloat(final FloatFunction<? super T> floatFunction)
+    {
+        final FloatArrayStack result = new FloatArrayStack();
+        this.toList().reverseForEach(new Procedure<T>()
+        {
+            public void value(T each)
+            {
+                result.push(floatFunction.floatValueOf(each));
+            }
+        });
+        return result.toImmutable();
+    }
+
+    public ImmutableIntStack collectInt(final IntFunction<? super T> intFunction)
+    {
+        final IntArrayStack result = new IntArrayStack();
+        this.toList().reverseForEach(new Procedure<T>()
+        {
+            public void value(T each)
+            {
+                result.push(intFunction.intValueOf(each));
+            }
+        });
+        return result.toImmutable();
+    }
+
+    public ImmutableLongStack collectLong(final LongFunction<? super T> longFunction)
+    {
+        final LongArrayStack result = new LongArrayStack();
+        this.toList().reverseForEach(new Procedure<T>()
+        {
+            public void value(T each)
+            {
+                result.push(longFunction.longValueOf(each));
+            }
+        });
+        return result.toImmutable();
+    }
+
+    public ImmutableShortStack collectShort(final ShortFunction<? super T> shortFunction)
+    {
+        final ShortArrayStack result = new ShortArrayStack();
+        this.toList().reverseForEach(new Procedure<T>()
+        {
+            public void value(T each)
+            {
+                result.push(shortFunction.shortValueOf(each));
+            }
+        });
+        return result.toImmutable();
+    }
+
+    public <V, R extends Collection<V>> R collect(Function<? super T, ? extends V> function, R target)
+    {
+        return this.toList().collect(function, target);
+    }
+
+    public <P, V, R extends Collection<V>> R collectWith(Function2<? super T, ? super P, ? extends V> function, P parameter, R targetCollection)
+    {
+        return this.toList().collectWith(function, parameter, targetCollection);
+    }
+
+    public <V> ImmutableStack<V> collectIf(Predicate<? super T> predicate, Function<? super T, ? extends V> function)
+    {
+        return ImmutableConsStack.newStackFromTopToBottom(this.toList().collectIf(predicate, function).toList());
+    }
+
+    public <V, R extends Collection<V>> R collectIf(Predicate<? super T> predicate, Function<? super T, ? extends V> function, R target)
+    {
+        return this.toList().collectIf(predicate, function, target);
+    }
+
+    public <V> ImmutableStack<V> flatCollect(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return ImmutableConsStack.newStackFromTopToBottom(this.toList().flatCollect(function).toList());
+    }
+
+    public <V, R extends Collection<V>> R flatCollect(Function<? super T, ? extends Iterable<V>> function, R target)
+    {
+        return this.toList().flatCollect(function, target);
+    }
+
+    public T detect(Predicate<? super T> predicate)
+    {
+        for (ImmutableConsStack<T> each = this; each.size > 0; each = each.next)
+        {
+            if (predicate.accept(each.item))
+            {
+                return each.item;
+            }
+        }
+        return null;
+    }
+
+    public T detectIfNone(Predicate<? super T> predicate, Function0<? extends T> function)
+    {
+        for (ImmutableConsStack<T> each = this; each.size > 0; each = each.next)
+        {
+            if (predicate.accept(each.item))
+            {
+                return each.item;
+            }
+        }
+        return function.value();
+    }
+
+    public int count(Predicate<? super T> predicate)
+    {
+        int count = 0;
+        for (ImmutableConsStack<T> each = this; each.size > 0; each = each.next)
+        {
+            if (predicate.accept(each.item))
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public boolean anySatisfy(Predicate<? super T> predicate)
+    {
+        for (ImmutableConsStack<T> each = this; each.size > 0; each = each.next)
+        {
+            if (predicate.accept(each.item))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean allSatisfy(Predicate<? super T> predicate)
+    {
+        for (ImmutableConsStack<T> each = this; each.size > 0; each = each.next)
+        {
+            if (!predicate.accept(each.item))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean noneSatisfy(Predicate<? super T> predicate)
+    {
+        return !this.anySatisfy(predicate);
+    }
+
+    public <IV> IV injectInto(IV injectedValue, Function2<? super IV, ? super T, ? extends IV> function)
+    {
+        IV result = injectedValue;
+        for (ImmutableConsStack<T> each = this; each.size > 0; each = each.next)
+        {
+            result = function.value(result, each.item);
+        }
+        return result;
+    }
+
+    public int injectInto(int injectedValue, IntObjectToIntFunction<? super T> intObjectToIntFunction)
+    {
+        return this.toList().injectInto(injectedValue, intObjectToIntFunction);
+    }
+
+    public long injectInto(long injectedValue, LongObjectToLongFunction<? super T> longObjectToLongFunction)
+    {
+        return this.toList().injectInto(injectedValue, longObjectToLongFunction);
+    }
+
+    public double injectInto(double injectedValue, DoubleObjectToDoubleFunction<? super T> doubleObjectToDoubleFunction)
+    {
+        return this.toList().injectInto(injectedValue, doubleObjectToDoubleFunction);
+    }
+
+    public float injectInto(float injectedValue, FloatObjectToFloatFunction<? super T> floatObjectToFloatFunction)
+    {
+        return this.toList().injectInto(injectedValue, floatObjectToFloatFunction);
+    }
+
+    public MutableList<T> toList()
+    {
+        FastList<T> result = FastList.newList(this.size);
+        this.forEach(CollectionAddProcedure.on(result));
+        return result;
+    }
+
+    public MutableList<T> toSortedList()
+    {
+        return this.toList().toSortedList();
+    }
+
+    public MutableList<T> toSortedList(Comparator<? super T> comparator)
+    {
+        return this.toList().toSortedList(comparator);
+    }
+
+    public <V extends Comparable<? super V>> MutableList<T> toSortedListBy(Function<? super T, ? extends V> function)
+    {
+        return this.toList().toSortedListBy(function);
+    }
+
+    public MutableSet<T> toSet()
+    {
+        return this.toList().toSet();
+    }
+
+    public MutableSortedSet<T> toSortedSet()
+    {
+        return this.toList().toSortedSet();
+    }
+
+    public MutableSortedSet<T> toSortedSet(Comparator<? super T> comparator)
+    {
+        return this.toList().toSortedSet(comparator);
+    }
+
+    public <V extends Comparable<? super V>> MutableSortedSet<T> toSortedSetBy(Function<? super T, ? extends V> function)
+    {
+        return this.toList().toSortedSetBy(function);
+    }
+
+    public MutableBag<T> toBag()
+    {
+        return this.toList().toBag();
+    }
+
+    public <NK, NV> MutableMap<NK, NV> toMap(Function<? super T, ? extends NK> keyFunction, Function<? super T, ? extends NV> valueFunction)
+    {
+        return this.toList().toMap(keyFunction, valueFunction);
+    }
+
+    public <NK, NV> MutableSortedMap<NK, NV> toSortedMap(Function<? super T, ? extends NK> keyFunction, Function<? super T, ? extends NV> valueFunction)
+    {
+        return this.toList().toSortedMap(keyFunction, valueFunction);
+    }
+
+    public <NK, NV> MutableSortedMap<NK, NV> toSortedMap(Comparator<? super NK> comparator, Function<? super T, ? extends NK> keyFunction, Function<? super T, ? extends NV> valueFunction)
+    {
+        return this.toList().toSortedMap(comparator, keyFunction, valueFunction);
+    }
+
+    public LazyIterable<T> asLazy()
+    {
+        return LazyIterate.adapt(this);
+    }
+
+    public Object[] toArray()
+    {
+        return this.toList().toArray();
+    }
+
+    public <T> T[] toArray(T[] a)
+    {
+        return this.toList().toArray(a);
+    }
+
+    public T min(Comparator<? super T> comparator)
+    {
+        return this.toList().min(comparator);
+    }
+
+    public T max(Comparator<? super T> comparator)
+    {
+        return this.toList().max(comparator);
+    }
+
+    public T min()
+    {
+        return this.toList().min();
+    }
+
+    public T max()
+    {
+        return this.toList().max();
+    }
+
+    public <V extends Comparable<? super V>> T minBy(Function<? super T, ? extends V> function)
+    {
+        return this.toList().minBy(function);
+    }
+
+    public <V extends Comparable<? super V>> T maxBy(Function<? super T, ? extends V> function)
+    {
+        return this.toList().maxBy(function);
+    }
+
+    public long sumOfInt(IntFunction<? super T> intFunction)
+    {
+        return this.toList().sumOfInt(intFunction);
+    }
+
+    public double sumOfFloat(FloatFunction<? super T> floatFunction)
+    {
+        return this.toList().sumOfFloat(floatFunction);
+    }
+
+    public long sumOfLong(LongFunction<? super T> longFunction)
+    {
+        return this.toList().sumOfLong(longFunction);
+    }
+
+    public double sumOfDouble(DoubleFunction<? super T> doubleFunction)
+    {
+        return this.toList().sumOfDouble(doubleFunction);
+    }
+
+    public String makeString()
+    {
+        return this.toList().makeString();
+    }
+
+    public String makeString(String separator)
+    {
+        return this.toList().makeString(separator);
+    }
+
+    public String makeString(String start, String separator, String end)
+    {
+        return this.toList().makeString(start, separator, end);
+    }
+
+    public void appendString(Appendable appendable)
+    {
+        this.toList().appendString(appendable);
+    }
+
+    public void appendString(Appendable appendable, String separator)
+    {
+        this.toList().appendString(appendable, separator);
+    }
+
+    public void appendString(Appendable appendable, String start, String separator, String end)
+    {
+        this.toList().appendString(appendable, start, separator, end);
+    }
+
+    public <V> ImmutableListMultimap<V, T> groupBy(Function<? super T, ? extends V> function)
+    {
+        return this.groupBy(function, FastListMultimap.<V, T>newMultimap()).toImmutable();
+    }
+
+    public <V, R extends MutableMultimap<V, T>> R groupBy(Function<? super T, ? extends V> function, R target)
+    {
+        return this.toList().groupBy(function, target);
+    }
+
+    public <V> ImmutableListMultimap<V, T> groupByEach(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return this.groupByEach(function, FastListMultimap.<V, T>newMultimap()).toImmutable();
+    }
+
+    public <V, R extends MutableMultimap<V, T>> R groupByEach(Function<? super T, ? extends Iterable<V>> function, R target)
+    {
+        return this.toList().groupByEach(function, target);
+    }
+
+    public <S> ImmutableStack<Pair<T, S>> zip(Iterable<S> that)
+    {
+        return ImmutableConsStack.newStackFromTopToBottom(this.toList().zip(that).toList());
+    }
+
+    public <S, R extends Collection<Pair<T, S>>> R zip(Iterable<S> that, R target)
+    {
+        return this.toList().zip(that, target);
+    }
+
+    public ImmutableStack<Pair<T, Integer>> zipWithIndex()
+    {
+        int maxIndex = this.size - 1;
+        Interval indicies = Interval.fromTo(0, maxIndex);
+
+        return ImmutableConsStack.newStackFromTopToBottom(this.toList().zip(indicies).toList());
+    }
+
+    public <R extends Collection<Pair<T, Integer>>> R zipWithIndex(R target)
+    {
+        return this.toList().zipWithIndex(target);
+    }
+
+    public RichIterable<RichIterable<T>> chunk(int size)
+    {
+        return this.toList().chunk(size);
+    }
+
+    public <K, V> MapIterable<K, V> aggregateInPlaceBy(Function<? super T, ? extends K> groupBy, Function0<? extends V> zeroValueFactory, Procedure2<? super V, ? super T> mutatingAggregator)
+    {
+        MutableMap<K, V> map = UnifiedMap.newMap();
+        this.forEach(new MutatingAggregationProcedure<T, K, V>(map, groupBy, zeroValueFactory, mutatingAggregator));
+        return map;
+    }
+
+    public <K, V> MapIterable<K, V> aggregateBy(Function<? super T, ? extends K> groupBy, Function0<? extends V> zeroValueFactory, Function2<? super V, ? super T, ? extends V> nonMutatingAggregator)
+    {
+        MutableMap<K, V> map = UnifiedMap.newMap();
+        this.forEach(new NonMutatingAggregationProcedure<T, K, V>(map, groupBy, zeroValueFactory, nonMutatingAggregator));
+        return map;
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    public boolean notEmpty()
+    {
+        return this.size > 0;
+    }
+
+    public void forEach(Procedure<? super T> procedure)
+    {
+        for (ImmutableConsStack<T> each = this; each.size > 0; each = each.next)
+        {
+            procedure.value(each.item);
+        }
+    }
+
+    public void forEachWithIndex(ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        int index = 0;
+        for (ImmutableConsStack<T> each = this; each.size > 0; each = each.next)
+        {
+            objectIntProcedure.value(each.item, index++);
+        }
+    }
+
+    public <P> void forEachWith(Procedure2<? super T, ? super P> procedure, P parameter)
+    {
+        for (ImmutableConsStack<T> each = this; each.size > 0; each = each.next)
+        {
+            procedure.value(each.item, parameter);
+        }
+    }
+
+    public Iterator<T> iterator()
+    {
+        return new ConsStackIterator<T>(this);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof StackIterable<?>))
+        {
+            return false;
+        }
+
+        StackIterable<?> that = (StackIterable<?>) o;
+        if (this.size != that.size())
+        {
+            return false;
+        }
+        Iterator<T> thisIterator = this.iterator();
+        Iterator<?> thatIterator = that.iterator();
+        while (thisIterator.hasNext() && thatIterator.hasNext())
+        {
+            if (!Comparators.nullSafeEquals(thisIterator.next(), thatIterator.next()))
+            {
+                return false;
+            }
+        }
+        return !thisIterator.hasNext() && !thatIterator.hasNext();
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.makeString("[", ", ", "]");
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 1;
+        for (ImmutableConsStack<T> each = this; each.size > 0; each = each.next)
+        {
+            hashCode = 31 * hashCode + (each.item == null ? 0 : each.item.hashCode());
+        }
+        return hashCode;
+    }
+
+    private Object writeReplace()
+    {
+        return new ImmutableStackSerializationProxy<T>(this);
+    }
+
+    private static final class ConsStackIterator<T> implements Iterator<T>
+    {
+        private ImmutableConsStack<T> current;
+
+        private ConsStackIterator(ImmutableConsStack<T> current)
+        {
+            this.current = current;
+        }
+
+        public boolean hasNext()
+        {
+            return this.current.size > 0;
+        }
+
+        public T next()
+        {
+            if (this.current.size == 0)
+            {
+                throw new NoSuchElementException();
+            }
+            T result = this.current.item;
+            this.current = this.current.next;
+            return result;
+        }
+
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot remove from an ImmutableStack");
+        }
+    }
+
+    private static class ImmutableStackSerializationProxy<T> implements Externalizable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private StackIterable<T> stack;
+
+        @SuppressWarnings("UnusedDeclaration")
+        public ImmutableStackSerializationProxy()
+        {
+            // Empty constructor for Externalizable class
+        }
+
+        protected ImmutableStackSerializationProxy(StackIterable<T> stack)
+        {
+            this.stack = stack;
+        }
+
+        public void writeExternal(final ObjectOutput out) throws IOException
+        {
+            out.writeInt(this.stack.size());
+            try
+            {
+                this.stack.forEach(new CheckedProcedure<T>()
+                {
+                    @Override
+                    public void safeValue(T object) throws IOException
+                    {
+                        out.writeObject(object);
+                    }
+                });
+            }
+            catch (RuntimeException e)
+            {
+                if (e.getCause() instanceof IOException)
+                {
+                    throw (IOException) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+        {
+            int size = in.readInt();
+            Object[] items = new Object[size];
+
+            for (int i = 0; i < size; i++)
+            {
+                items[i] = in.readObject();
+            }
+
+            this.stack = ImmutableConsStack.newStackFromTopToBottom((T[]) items);
+        }
+
+        protected Object readResolve()
+        {
+            return this.stack;
+        }
+    }
+}
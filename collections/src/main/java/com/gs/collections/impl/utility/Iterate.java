@@ -23,6 +23,7 @@ import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.RandomAccess;
 import java.util.SortedSet;
 
@@ -2450,6 +2451,78 @@ public final class Iterate
         return Iterate.max(iterable, Comparators.naturalOrder());
     }
 
+    /**
+     * Returns the {@code k} greatest elements of the iterable according to the comparator, greatest first, or all of
+     * the elements if there are fewer than {@code k}.  Only {@code k} elements are held at a time, in a bounded heap,
+     * so the iterable is never copied or sorted in full.
+     *
+     * @since 4.3
+     */
+    public static <T> MutableList<T> topK(Iterable<T> iterable, int k, final Comparator<? super T> comparator)
+    {
+        if (k < 0)
+        {
+            throw new IllegalArgumentException("k must not be negative but was " + k);
+        }
+        if (k == 0)
+        {
+            return FastList.newList();
+        }
+        final int capacity = k;
+        final PriorityQueue<T> heap = new PriorityQueue<T>(Math.min(k, 1024), comparator);
+        Iterate.forEach(iterable, new Procedure<T>()
+        {
+            public void value(T each)
+            {
+                if (heap.size() < capacity)
+                {
+                    heap.add(each);
+                }
+                else if (comparator.compare(each, heap.peek()) > 0)
+                {
+                    heap.poll();
+                    heap.add(each);
+                }
+            }
+        });
+        FastList<T> result = FastList.newList(heap.size());
+        while (!heap.isEmpty())
+        {
+            result.add(heap.poll());
+        }
+        return result.reverseThis();
+    }
+
+    /**
+     * Returns the {@code k} least elements of the iterable according to the comparator, least first, or all of the
+     * elements if there are fewer than {@code k}.
+     *
+     * @see #topK(Iterable, int, Comparator)
+     * @since 4.3
+     */
+    public static <T> MutableList<T> bottomK(Iterable<T> iterable, int k, Comparator<? super T> comparator)
+    {
+        return Iterate.topK(iterable, k, Collections.reverseOrder(comparator));
+    }
+
+    /**
+     * @see #topK(Iterable, int, Comparator)
+     * @since 4.3
+     */
+    public static <T> MutableList<T> topK(Iterable<T> iterable, int k)
+    {
+        return Iterate.topK(iterable, k, Comparators.naturalOrder());
+    }
+
+    /**
+     * @see #bottomK(Iterable, int, Comparator)
+     * @since 4.3
+     */
+    public static <T> MutableList<T> bottomK(Iterable<T> iterable, int k)
+    {
+        return Iterate.bottomK(iterable, k, Comparators.naturalOrder());
+    }
+
     public static <T> T getOnly(Iterable<T> iterable)
     {
         if (iterable != null)
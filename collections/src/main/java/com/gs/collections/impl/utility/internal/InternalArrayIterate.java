@@ -21,6 +21,8 @@ import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
 
 public final class InternalArrayIterate
 {
+    private static final int INSERTIONSORT_THRESHOLD = 7;
+
     private InternalArrayIterate()
     {
         throw new AssertionError("Suppress default constructor for noninstantiability");
@@ -61,4 +63,75 @@ public final class InternalArrayIterate
             }
         }
     }
+
+    /**
+     * Sorts the first {@code size} items by the corresponding keys, moving each key along with its item.  The sort is
+     * stable, and lets callers extract each key once instead of once per comparison.
+     */
+    public static <T, V extends Comparable<? super V>> void sortByKeys(T[] items, V[] keys, int size)
+    {
+        T[] itemsCopy = (T[]) new Object[size];
+        System.arraycopy(items, 0, itemsCopy, 0, size);
+        V[] keysCopy = (V[]) new Comparable[size];
+        System.arraycopy(keys, 0, keysCopy, 0, size);
+        InternalArrayIterate.mergeSortByKeys(itemsCopy, keysCopy, items, keys, 0, size);
+    }
+
+    /**
+     * Sorts the range of the target arrays, using the source arrays, which must hold the same elements in the range, as
+     * scratch space.
+     */
+    private static <T, V extends Comparable<? super V>> void mergeSortByKeys(
+            T[] sourceItems,
+            V[] sourceKeys,
+            T[] targetItems,
+            V[] targetKeys,
+            int from,
+            int to)
+    {
+        if (to - from < INSERTIONSORT_THRESHOLD)
+        {
+            for (int i = from + 1; i < to; i++)
+            {
+                T item = targetItems[i];
+                V key = targetKeys[i];
+                int j = i;
+                for (; j > from && targetKeys[j - 1].compareTo(key) > 0; j--)
+                {
+                    targetItems[j] = targetItems[j - 1];
+                    targetKeys[j] = targetKeys[j - 1];
+                }
+                targetItems[j] = item;
+                targetKeys[j] = key;
+            }
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        InternalArrayIterate.mergeSortByKeys(targetItems, targetKeys, sourceItems, sourceKeys, from, middle);
+        InternalArrayIterate.mergeSortByKeys(targetItems, targetKeys, sourceItems, sourceKeys, middle, to);
+
+        if (sourceKeys[middle - 1].compareTo(sourceKeys[middle]) <= 0)
+        {
+            System.arraycopy(sourceItems, from, targetItems, from, to - from);
+            System.arraycopy(sourceKeys, from, targetKeys, from, to - from);
+            return;
+        }
+
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++)
+        {
+            if (right >= to || left < middle && sourceKeys[left].compareTo(sourceKeys[right]) <= 0)
+            {
+                targetItems[i] = sourceItems[left];
+                targetKeys[i] = sourceKeys[left++];
+            }
+            else
+            {
+                targetItems[i] = sourceItems[right];
+                targetKeys[i] = sourceKeys[right++];
+            }
+        }
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.forkjoin;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.impl.parallel.AdaptiveProcedureRunner;
+import com.gs.collections.impl.parallel.Combiner;
+import com.gs.collections.impl.parallel.ParallelismPolicy;
+import com.gs.collections.impl.parallel.ProcedureFactory;
+
+/**
+ * Runs the chunk claiming tasks of an {@link AdaptiveProcedureRunner} as ForkJoinTasks.  The tasks are forked from
+ * a root task invoked on the pool and then joined, so the calling thread waits in the pool's own join rather than
+ * on a latch, and idle workers can steal the tasks which have not started yet.
+ *
+ * @since 4.3
+ */
+public class FJAdaptiveProcedureRunner<T, PT extends Procedure<? super T>>
+{
+    private final AdaptiveProcedureRunner<T, PT> runner;
+
+    public FJAdaptiveProcedureRunner(
+            List<T> list,
+            ProcedureFactory<PT> procedureFactory,
+            Combiner<PT> combiner,
+            ParallelismPolicy policy)
+    {
+        this.runner = new AdaptiveProcedureRunner<>(list, procedureFactory, combiner, policy);
+    }
+
+    public void executeAndCombine(ForkJoinPool executor)
+    {
+        final int taskCount = this.runner.getTaskCount();
+        executor.invoke(new FJForkAllAction(taskCount, new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                FJAdaptiveProcedureRunner.this.runner.processChunks(taskCount);
+            }
+        }));
+        this.runner.combine();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.forkjoin;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.impl.list.mutable.FastList;
+
+/**
+ * Runs the same Runnable as a number of ForkJoinTasks which are forked and then joined.  When invoked on a pool, the
+ * caller waits in the pool's own join and idle workers can steal the tasks which have not started yet.
+ *
+ * @since 4.3
+ */
+final class FJForkAllAction extends RecursiveAction
+{
+    private static final long serialVersionUID = 1L;
+
+    private final int taskCount;
+    private final Runnable task;
+
+    FJForkAllAction(int taskCount, Runnable task)
+    {
+        this.taskCount = taskCount;
+        this.task = task;
+    }
+
+    @Override
+    protected void compute()
+    {
+        MutableList<ForkJoinTask<?>> tasks = FastList.newList(this.taskCount);
+        for (int i = 0; i < this.taskCount; i++)
+        {
+            tasks.add(ForkJoinTask.adapt(this.task));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+}
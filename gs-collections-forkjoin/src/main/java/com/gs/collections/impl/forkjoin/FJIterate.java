@@ -31,6 +31,7 @@ import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
 import com.gs.collections.api.list.ListIterable;
 import com.gs.collections.api.map.MutableMap;
 import com.gs.collections.api.multimap.MutableMultimap;
+import com.gs.collections.impl.block.factory.Predicates;
 import com.gs.collections.impl.block.procedure.MultimapPutProcedure;
 import com.gs.collections.impl.block.procedure.MutatingAggregationProcedure;
 import com.gs.collections.impl.block.procedure.NonMutatingAggregationProcedure;
@@ -45,6 +46,7 @@ import com.gs.collections.impl.parallel.Combiner;
 import com.gs.collections.impl.parallel.Combiners;
 import com.gs.collections.impl.parallel.CountCombiner;
 import com.gs.collections.impl.parallel.CountProcedureFactory;
+import com.gs.collections.impl.parallel.DetectTaskRunner;
 import com.gs.collections.impl.parallel.FastListCollectProcedureCombiner;
 import com.gs.collections.impl.parallel.FastListCollectProcedureFactory;
 import com.gs.collections.impl.parallel.FlatCollectProcedureCombiner;
@@ -52,6 +54,7 @@ import com.gs.collections.impl.parallel.FlatCollectProcedureFactory;
 import com.gs.collections.impl.parallel.ObjectIntProcedureFactory;
 import com.gs.collections.impl.parallel.ParallelArrayIterate;
 import com.gs.collections.impl.parallel.ParallelIterate;
+import com.gs.collections.impl.parallel.ParallelismPolicy;
 import com.gs.collections.impl.parallel.PassThruCombiner;
 import com.gs.collections.impl.parallel.PassThruObjectIntProcedureFactory;
 import com.gs.collections.impl.parallel.PassThruProcedureFactory;
@@ -432,6 +435,70 @@ public final class FJIterate
         }
     }
 
+    /**
+     * Iterate over the collection specified in parallel on the default ForkJoinPool, splitting it into chunks as
+     * chosen by the specified ParallelismPolicy.  This uses the same chunking as
+     * {@link ParallelIterate#forEach(Iterable, Procedure, ParallelismPolicy)}, with the pool's workers claiming chunks
+     * until the collection is exhausted.
+     *
+     * @since 4.3
+     */
+    public static <T> void forEach(Iterable<T> iterable, Procedure<? super T> procedure, ParallelismPolicy policy)
+    {
+        FJIterate.forEach(iterable, procedure, policy, FJIterate.FORK_JOIN_POOL);
+    }
+
+    public static <T> void forEach(Iterable<T> iterable, Procedure<? super T> procedure, ParallelismPolicy policy, ForkJoinPool executor)
+    {
+        FJIterate.forEach(
+                iterable,
+                new PassThruProcedureFactory<Procedure<? super T>>(procedure),
+                Combiners.<Procedure<? super T>>passThru(),
+                policy,
+                executor);
+    }
+
+    /**
+     * Iterate over the collection specified in parallel on the specified ForkJoinPool, splitting it into chunks as
+     * chosen by the specified ParallelismPolicy.  The chunk claiming tasks are forked and joined on the pool.  When
+     * called from inside another parallel forEach, the collection is iterated serially, as with the other forEach
+     * methods.
+     *
+     * @see FJAdaptiveProcedureRunner
+     * @since 4.3
+     */
+    public static <T, PT extends Procedure<? super T>> void forEach(
+            Iterable<T> iterable,
+            ProcedureFactory<PT> procedureFactory,
+            Combiner<PT> combiner,
+            ParallelismPolicy policy,
+            ForkJoinPool executor)
+    {
+        if (Iterate.notEmpty(iterable))
+        {
+            if (FJIterate.executedInsideOfForEach())
+            {
+                PT procedure = procedureFactory.create();
+                Iterate.forEach(iterable, procedure);
+                if (combiner.useCombineOne())
+                {
+                    combiner.combineOne(procedure);
+                }
+                else
+                {
+                    combiner.combineAll(Lists.immutable.of(procedure));
+                }
+            }
+            else
+            {
+                List<T> list = iterable instanceof RandomAccess && iterable instanceof List
+                        ? (List<T>) iterable
+                        : ArrayAdapter.adapt((T[]) Iterate.toArray(iterable));
+                new FJAdaptiveProcedureRunner<>(list, procedureFactory, combiner, policy).executeAndCombine(executor);
+            }
+        }
+    }
+
     public static <T, PT extends Procedure<? super T>> void forEachInListOnExecutor(
             List<T> list,
             ProcedureFactory<PT> procedureFactory,
@@ -670,6 +737,113 @@ public final class FJIterate
         return combiner.getCount();
     }
 
+    /**
+     * Same effect as {@link Iterate#detect(Iterable, Predicate)}, but executed in parallel batches which all stop as
+     * soon as any of them finds an element which satisfies the predicate.  The element returned is not necessarily
+     * the first one in the iterable.
+     *
+     * @return An element which satisfies the predicate, or null if there is none.
+     * @since 4.3
+     */
+    public static <T> T detect(Iterable<T> iterable, Predicate<? super T> predicate)
+    {
+        return FJIterate.detect(iterable, predicate, false);
+    }
+
+    /**
+     * Same effect as {@link Iterate#detect(Iterable, Predicate)}, but executed in parallel batches which stop as soon
+     * as the result is known.
+     *
+     * @param inEncounterOrder If the result must be the first element in the iterable which satisfies the predicate.
+     *                         If not, the search can stop at the first match found by any batch.
+     * @since 4.3
+     */
+    public static <T> T detect(Iterable<T> iterable, Predicate<? super T> predicate, boolean inEncounterOrder)
+    {
+        return FJIterate.detect(iterable, predicate, inEncounterOrder, FJIterate.DEFAULT_MIN_FORK_SIZE, FJIterate.FORK_JOIN_POOL);
+    }
+
+    public static <T> T detect(
+            Iterable<T> iterable,
+            Predicate<? super T> predicate,
+            boolean inEncounterOrder,
+            int batchSize,
+            ForkJoinPool executor)
+    {
+        DetectTaskRunner<T> runner = new DetectTaskRunner<>(iterable, predicate, inEncounterOrder, batchSize, FJIterate.DEFAULT_PARALLEL_TASK_COUNT);
+        FJIterate.search(runner, executor);
+        return runner.getResult();
+    }
+
+    /**
+     * Same effect as {@link Iterate#anySatisfy(Iterable, Predicate)}, but executed in parallel batches which all stop
+     * as soon as any of them finds an element which satisfies the predicate.
+     *
+     * @since 4.3
+     */
+    public static <T> boolean anySatisfy(Iterable<T> iterable, Predicate<? super T> predicate)
+    {
+        return FJIterate.anySatisfy(iterable, predicate, FJIterate.DEFAULT_MIN_FORK_SIZE, FJIterate.FORK_JOIN_POOL);
+    }
+
+    public static <T> boolean anySatisfy(Iterable<T> iterable, Predicate<? super T> predicate, int batchSize, ForkJoinPool executor)
+    {
+        return FJIterate.search(new DetectTaskRunner<>(iterable, predicate, false, batchSize, FJIterate.DEFAULT_PARALLEL_TASK_COUNT), executor);
+    }
+
+    private static boolean search(final DetectTaskRunner<?> runner, ForkJoinPool executor)
+    {
+        int taskCount = runner.getTaskCount();
+        if (taskCount <= 1 || FJIterate.executedInsideOfForEach())
+        {
+            runner.search();
+        }
+        else
+        {
+            executor.invoke(new FJForkAllAction(taskCount, new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    runner.search();
+                }
+            }));
+        }
+        return runner.isFound();
+    }
+
+    /**
+     * Same effect as {@link Iterate#allSatisfy(Iterable, Predicate)}, but executed in parallel batches which all stop
+     * as soon as any of them finds an element which does not satisfy the predicate.
+     *
+     * @since 4.3
+     */
+    public static <T> boolean allSatisfy(Iterable<T> iterable, Predicate<? super T> predicate)
+    {
+        return FJIterate.allSatisfy(iterable, predicate, FJIterate.DEFAULT_MIN_FORK_SIZE, FJIterate.FORK_JOIN_POOL);
+    }
+
+    public static <T> boolean allSatisfy(Iterable<T> iterable, Predicate<? super T> predicate, int batchSize, ForkJoinPool executor)
+    {
+        return !FJIterate.anySatisfy(iterable, Predicates.not(predicate), batchSize, executor);
+    }
+
+    /**
+     * Same effect as {@link Iterate#noneSatisfy(Iterable, Predicate)}, but executed in parallel batches which all stop
+     * as soon as any of them finds an element which satisfies the predicate.
+     *
+     * @since 4.3
+     */
+    public static <T> boolean noneSatisfy(Iterable<T> iterable, Predicate<? super T> predicate)
+    {
+        return FJIterate.noneSatisfy(iterable, predicate, FJIterate.DEFAULT_MIN_FORK_SIZE, FJIterate.FORK_JOIN_POOL);
+    }
+
+    public static <T> boolean noneSatisfy(Iterable<T> iterable, Predicate<? super T> predicate, int batchSize, ForkJoinPool executor)
+    {
+        return !FJIterate.anySatisfy(iterable, predicate, batchSize, executor);
+    }
+
     /**
      * Same effect as {@link Iterate#collect(Iterable, Function)},
      * but executed in parallel batches.
@@ -58,6 +58,8 @@ import com.gs.collections.impl.multimap.bag.HashBagMultimap;
 import com.gs.collections.impl.multimap.bag.SynchronizedPutHashBagMultimap;
 import com.gs.collections.impl.multimap.set.SynchronizedPutUnifiedSetMultimap;
 import com.gs.collections.impl.parallel.AbstractProcedureCombiner;
+import com.gs.collections.impl.parallel.AdaptiveParallelismPolicy;
+import com.gs.collections.impl.parallel.FixedParallelismPolicy;
 import com.gs.collections.impl.parallel.PassThruCombiner;
 import com.gs.collections.impl.parallel.PassThruObjectIntProcedureFactory;
 import com.gs.collections.impl.parallel.PassThruProcedureFactory;
@@ -261,6 +263,88 @@ public class FJIterateTest
         Assert.assertEquals(40, sum7.getSum());
     }
 
+    @Test
+    public void forEachWithParallelismPolicy()
+    {
+        IntegerSum sum1 = new IntegerSum(0);
+        List<Integer> list1 = FJIterateTest.createIntegerList(1000);
+        FJIterate.forEach(list1, new SumProcedure(sum1), new SumCombiner(sum1), new AdaptiveParallelismPolicy(), this.executor);
+        Assert.assertEquals(1000, sum1.getSum());
+
+        IntegerSum sum2 = new IntegerSum(0);
+        MutableList<Integer> list2 = FastList.newList(FJIterateTest.createIntegerList(35));
+        FJIterate.forEach(list2, new SumProcedure(sum2), new SumCombiner(sum2), new FixedParallelismPolicy(4), this.executor);
+        Assert.assertEquals(35, sum2.getSum());
+
+        final AtomicInteger count = new AtomicInteger(0);
+        FJIterate.forEach(Interval.oneTo(100).toSet(), new Procedure<Integer>()
+        {
+            @Override
+            public void value(Integer each)
+            {
+                count.incrementAndGet();
+            }
+        }, new AdaptiveParallelismPolicy());
+        Assert.assertEquals(100, count.get());
+    }
+
+    @Test
+    public void forEachWithParallelismPolicyNested()
+    {
+        final AtomicInteger count = new AtomicInteger(0);
+        final MutableList<Integer> inner = Interval.oneTo(100).toList();
+        FJIterate.forEach(Interval.oneTo(50).toList(), new Procedure<Integer>()
+        {
+            @Override
+            public void value(Integer each)
+            {
+                FJIterate.forEach(inner, new Procedure<Integer>()
+                {
+                    @Override
+                    public void value(Integer innerEach)
+                    {
+                        count.incrementAndGet();
+                    }
+                }, new AdaptiveParallelismPolicy(), FJIterateTest.this.executor);
+            }
+        }, new AdaptiveParallelismPolicy(), this.executor);
+        Assert.assertEquals(5000, count.get());
+    }
+
+    @Test
+    public void detectNested()
+    {
+        final AtomicInteger found = new AtomicInteger(0);
+        final MutableList<Integer> inner = Interval.oneTo(20000).toList();
+        FJIterate.forEach(Interval.oneTo(20).toList(), new Procedure<Integer>()
+        {
+            @Override
+            public void value(Integer each)
+            {
+                if (FJIterate.anySatisfy(inner, Predicates.equal(each), 100, FJIterateTest.this.executor))
+                {
+                    found.incrementAndGet();
+                }
+            }
+        }, 1, 20, this.executor);
+        Assert.assertEquals(20, found.get());
+    }
+
+    @Test
+    public void detectAndSatisfy()
+    {
+        MutableList<Integer> list = Interval.oneTo(20000).toList();
+        Assert.assertTrue(FJIterate.detect(list, Predicates.greaterThan(15000)) > 15000);
+        Assert.assertEquals(Integer.valueOf(15001), FJIterate.detect(list, Predicates.greaterThan(15000), true, 100, this.executor));
+        Assert.assertNull(FJIterate.detect(list, Predicates.greaterThan(20000), false, 100, this.executor));
+        Assert.assertTrue(FJIterate.anySatisfy(list, Predicates.greaterThan(19999)));
+        Assert.assertFalse(FJIterate.anySatisfy(list, Predicates.greaterThan(20000), 100, this.executor));
+        Assert.assertTrue(FJIterate.allSatisfy(list, Predicates.lessThan(20001)));
+        Assert.assertFalse(FJIterate.allSatisfy(list, Predicates.lessThan(20000), 100, this.executor));
+        Assert.assertTrue(FJIterate.noneSatisfy(list, Predicates.greaterThan(20000)));
+        Assert.assertFalse(FJIterate.noneSatisfy(Interval.oneTo(20000).toSet(), Predicates.greaterThan(19999), 100, this.executor));
+    }
+
     @Test
     public void testForEachImmutable()
     {
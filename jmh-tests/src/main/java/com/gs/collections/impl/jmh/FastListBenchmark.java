@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gs.collections.impl.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.impl.list.mutable.FastList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(2)
+public class FastListBenchmark
+{
+    private static final int PROBES = 64;
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    public KeyDistribution distribution;
+
+    private Integer[] elements;
+    private Integer[] probes;
+    private FastList<Integer> list;
+
+    @Setup
+    public void setUp()
+    {
+        this.elements = this.distribution.boxedKeys(this.size);
+        this.list = FastList.newListWith(this.elements);
+        this.probes = new Integer[PROBES];
+        for (int i = 0; i < PROBES; i++)
+        {
+            this.probes[i] = this.elements[(i * 31) % this.size];
+        }
+    }
+
+    @Benchmark
+    public FastList<Integer> add()
+    {
+        FastList<Integer> result = FastList.newList();
+        for (Integer each : this.elements)
+        {
+            result.add(each);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int contains()
+    {
+        int found = 0;
+        for (Integer probe : this.probes)
+        {
+            if (this.list.contains(probe))
+            {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public void forEach(final Blackhole blackhole)
+    {
+        this.list.forEach(new Procedure<Integer>()
+        {
+            public void value(Integer each)
+            {
+                blackhole.consume(each);
+            }
+        });
+    }
+
+    @Benchmark
+    public void iterator(Blackhole blackhole)
+    {
+        for (Integer each : this.list)
+        {
+            blackhole.consume(each);
+        }
+    }
+}
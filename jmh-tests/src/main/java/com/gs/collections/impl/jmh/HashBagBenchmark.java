@@ -0,0 +1,100 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gs.collections.impl.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import com.gs.collections.impl.bag.mutable.HashBag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(2)
+public class HashBagBenchmark
+{
+    private static final int DISTINCT_DIVISOR = 4;
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "STRIDED"})
+    public KeyDistribution distribution;
+
+    private Integer[] elements;
+    private HashBag<Integer> bag;
+
+    @Setup
+    public void setUp()
+    {
+        Integer[] distinct = this.distribution.boxedKeys(Math.max(1, this.size / DISTINCT_DIVISOR));
+        this.elements = new Integer[this.size];
+        for (int i = 0; i < this.size; i++)
+        {
+            this.elements[i] = distinct[i % distinct.length];
+        }
+        this.bag = HashBag.newBagWith(this.elements);
+    }
+
+    @Benchmark
+    public HashBag<Integer> add()
+    {
+        HashBag<Integer> result = HashBag.newBag();
+        for (Integer each : this.elements)
+        {
+            result.add(each);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long occurrencesOf()
+    {
+        long total = 0L;
+        for (Integer each : this.elements)
+        {
+            total += this.bag.occurrencesOf(each);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public void forEachWithOccurrences(final Blackhole blackhole)
+    {
+        this.bag.forEachWithOccurrences(new ObjectIntProcedure<Integer>()
+        {
+            public void value(Integer each, int occurrences)
+            {
+                blackhole.consume(each);
+                blackhole.consume(occurrences);
+            }
+        });
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gs.collections.impl.jmh;
+
+import java.util.Random;
+
+/**
+ * The shapes of key used to populate the benchmarked collections.  Sequential keys are the best case for the
+ * hash spreading functions, while strided keys share their low bits and are the usual source of collisions.
+ */
+public enum KeyDistribution
+{
+    SEQUENTIAL
+            {
+                @Override
+                public int key(Random random, int index)
+                {
+                    return index;
+                }
+            },
+    RANDOM
+            {
+                @Override
+                public int key(Random random, int index)
+                {
+                    return random.nextInt();
+                }
+            },
+    STRIDED
+            {
+                @Override
+                public int key(Random random, int index)
+                {
+                    return index << 10;
+                }
+            };
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    public abstract int key(Random random, int index);
+
+    /**
+     * Returns {@code size} keys drawn from this distribution.  The same size always produces the same keys so that
+     * runs can be compared with each other.
+     */
+    public int[] keys(int size)
+    {
+        Random random = new Random(SEED);
+        int[] keys = new int[size];
+        for (int i = 0; i < size; i++)
+        {
+            keys[i] = this.key(random, i);
+        }
+        return keys;
+    }
+
+    public Integer[] boxedKeys(int size)
+    {
+        int[] keys = this.keys(size);
+        Integer[] boxed = new Integer[size];
+        for (int i = 0; i < size; i++)
+        {
+            boxed[i] = keys[i];
+        }
+        return boxed;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gs.collections.impl.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.primitive.IntFunction;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.block.predicate.primitive.IntPredicate;
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.impl.block.factory.IntegerPredicates;
+import com.gs.collections.impl.block.factory.PrimitiveFunctions;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.list.primitive.IntInterval;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the same select/collect/sum pipeline evaluated eagerly, lazily over boxed values and lazily over primitives.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(2)
+public class LazyIterableBenchmark
+{
+    private static final Predicate<Integer> IS_EVEN = IntegerPredicates.isEven();
+    private static final Function<Integer, Integer> TIMES_THREE = new Function<Integer, Integer>()
+    {
+        public Integer valueOf(Integer each)
+        {
+            return each * 3;
+        }
+    };
+    private static final IntFunction<Integer> TIMES_THREE_INT = new IntFunction<Integer>()
+    {
+        public int intValueOf(Integer each)
+        {
+            return each * 3;
+        }
+    };
+    private static final IntPredicate IS_EVEN_INT = new IntPredicate()
+    {
+        public boolean accept(int value)
+        {
+            return (value & 1) == 0;
+        }
+    };
+    private static final IntFunction<Integer> UNBOX = PrimitiveFunctions.unboxIntegerToInt();
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private MutableList<Integer> list;
+    private IntInterval interval;
+
+    @Setup
+    public void setUp()
+    {
+        this.list = Interval.oneTo(this.size).toList();
+        this.interval = IntInterval.oneTo(this.size);
+    }
+
+    @Benchmark
+    public long eager()
+    {
+        return this.list.select(IS_EVEN).collect(TIMES_THREE).sumOfInt(UNBOX);
+    }
+
+    @Benchmark
+    public long lazy()
+    {
+        return this.list.asLazy().select(IS_EVEN).collect(TIMES_THREE).sumOfInt(UNBOX);
+    }
+
+    @Benchmark
+    public long lazyCollectInt()
+    {
+        return this.list.asLazy().select(IS_EVEN).collectInt(TIMES_THREE_INT).sum();
+    }
+
+    @Benchmark
+    public long lazyIntInterval()
+    {
+        return this.interval.asLazy().select(IS_EVEN_INT).sum() * 3L;
+    }
+}
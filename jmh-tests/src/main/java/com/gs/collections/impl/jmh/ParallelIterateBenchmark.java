@@ -0,0 +1,134 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gs.collections.impl.jmh;
+
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.impl.block.factory.Functions;
+import com.gs.collections.impl.block.factory.IntegerPredicates;
+import com.gs.collections.impl.forkjoin.FJIterate;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.parallel.ParallelIterate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the executor based {@link ParallelIterate}, the fork/join based {@link FJIterate} and the lazy
+ * {@link FastList#asParallel} view on the same list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(2)
+public class ParallelIterateBenchmark
+{
+    private static final Predicate<Integer> IS_EVEN = IntegerPredicates.isEven();
+    private static final Function<Object, String> TO_STRING = Functions.getToString();
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"10000"})
+    public int batchSize;
+
+    private FastList<Integer> list;
+    private ExecutorService executorService;
+
+    @Setup
+    public void setUp()
+    {
+        this.list = (FastList<Integer>) Interval.oneTo(this.size).toList();
+        this.executorService = ParallelIterate.newPooledExecutor(ParallelIterateBenchmark.class.getSimpleName(), true);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        this.executorService.shutdownNow();
+    }
+
+    @Benchmark
+    public Collection<Integer> selectParallelIterate()
+    {
+        return ParallelIterate.select(this.list, IS_EVEN);
+    }
+
+    @Benchmark
+    public Collection<Integer> selectFJIterate()
+    {
+        return FJIterate.select(this.list, IS_EVEN);
+    }
+
+    @Benchmark
+    public MutableList<Integer> selectAsParallel()
+    {
+        return this.list.asParallel(this.executorService, this.batchSize).select(IS_EVEN).toList();
+    }
+
+    @Benchmark
+    public int countParallelIterate()
+    {
+        return ParallelIterate.count(this.list, IS_EVEN);
+    }
+
+    @Benchmark
+    public int countFJIterate()
+    {
+        return FJIterate.count(this.list, IS_EVEN);
+    }
+
+    @Benchmark
+    public int countAsParallel()
+    {
+        return this.list.asParallel(this.executorService, this.batchSize).count(IS_EVEN);
+    }
+
+    @Benchmark
+    public Collection<String> collectParallelIterate()
+    {
+        return ParallelIterate.collect(this.list, TO_STRING);
+    }
+
+    @Benchmark
+    public Collection<String> collectFJIterate()
+    {
+        return FJIterate.collect(this.list, TO_STRING);
+    }
+
+    @Benchmark
+    public MutableList<String> collectAsParallel()
+    {
+        return this.list.asParallel(this.executorService, this.batchSize).collect(TO_STRING).toList();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gs.collections.impl.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(2)
+public class UnifiedMapBenchmark
+{
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "STRIDED"})
+    public KeyDistribution distribution;
+
+    private Integer[] keys;
+    private UnifiedMap<Integer, Integer> map;
+
+    @Setup
+    public void setUp()
+    {
+        this.keys = this.distribution.boxedKeys(this.size);
+        this.map = UnifiedMap.newMap();
+        for (Integer key : this.keys)
+        {
+            this.map.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public UnifiedMap<Integer, Integer> put()
+    {
+        UnifiedMap<Integer, Integer> result = UnifiedMap.newMap();
+        for (Integer key : this.keys)
+        {
+            result.put(key, key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole)
+    {
+        for (Integer key : this.keys)
+        {
+            blackhole.consume(this.map.get(key));
+        }
+    }
+
+    @Benchmark
+    public int containsKey()
+    {
+        int found = 0;
+        for (Integer key : this.keys)
+        {
+            if (this.map.containsKey(key))
+            {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public void forEachKeyValue(final Blackhole blackhole)
+    {
+        this.map.forEachKeyValue(new Procedure2<Integer, Integer>()
+        {
+            public void value(Integer key, Integer value)
+            {
+                blackhole.consume(key);
+                blackhole.consume(value);
+            }
+        });
+    }
+}
@@ -21,17 +21,30 @@ package com.gs.collections.impl.memory;
 import java.text.NumberFormat;
 
 import com.gs.collections.api.block.function.Function0;
-import com.gs.collections.api.block.procedure.primitive.IntProcedure;
-import com.gs.collections.impl.list.Interval;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.api.map.sorted.MutableSortedMap;
+import com.gs.collections.api.set.MutableSet;
+import com.gs.collections.impl.block.factory.Functions0;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+import com.gs.collections.impl.map.sorted.mutable.TreeSortedMap;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Measures the exact number of bytes retained by containers using {@link ObjectGraphSizer}.  The JVM running the
+ * memory tests must be started with {@code -javaagent} pointing at the jar containing {@link ObjectSizeAgent}.
+ * <p/>
+ * Every measurement is recorded by category so that {@link #logComparisonTable()} can print the containers of a
+ * category side by side, one row per size.
+ */
 public final class MemoryTestBench
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(MemoryTestBench.class);
 
-    private static final GCAndSleepProcedure GC_AND_SLEEP_PROCEDURE = new GCAndSleepProcedure();
-    private static final Interval GC_INTERVAL = Interval.oneTo(20);
+    private static final MutableMap<String, MutableSortedMap<Integer, MutableMap<String, Long>>> RESULTS = UnifiedMap.newMap();
+    private static final MutableMap<String, MutableSet<String>> CONTAINERS = UnifiedMap.newMap();
+
     private final Class<?> clazz;
 
     private MemoryTestBench(Class<?> clazz)
@@ -45,66 +58,98 @@ public final class MemoryTestBench
     }
 
     /**
-     * From newsletter 193
-     * (http://www.javaspecialists.eu/archive/Issue193.html).  Used
-     * to estimate memory usage by objects.
+     * Returns the bytes retained by the container created by {@code factory}.  Objects reachable from the factory
+     * itself, such as the input data it copies from, are not counted, so only the container's own structure and the
+     * objects it allocated are included.
      */
     public long calculateMemoryUsage(Function0<?> factory)
     {
-        // Clean the slate and prep
-        this.forceGCAndSleepMultipleTimes();
         Object container = factory.value();
         if (!this.clazz.isInstance(container))
         {
             throw new RuntimeException();
         }
-        long memory = this.currentUsedMemory();
-        //noinspection UnusedAssignment,ReuseOfLocalVariable
-        container = null;
-        this.forceGCAndSleepMultipleTimes();
-
-        // Calculate memory before creation
-        long memory2 = this.currentUsedMemory();
-        //noinspection UnusedAssignment,ReuseOfLocalVariable
-        container = factory.value();
-        // Get rid of transient garbage
-        this.forceGCAndSleepMultipleTimes();
-        // Calculate new used memory
-        return this.currentUsedMemory() - memory2;
+        return new ObjectGraphSizer().exclude(factory).sizeOf(container);
     }
 
-    private long currentUsedMemory()
-    {
-        Runtime runtime = Runtime.getRuntime();
-        return runtime.totalMemory() - runtime.freeMemory();
-    }
-
-    private void forceGCAndSleepMultipleTimes()
+    public void printContainerMemoryUsage(String category, int size, Function0<?> factory)
     {
-        GC_INTERVAL.forEach(GC_AND_SLEEP_PROCEDURE);
+        long memoryUsed = this.calculateMemoryUsage(factory);
+        String memoryUsedInBytes = NumberFormat.getInstance().format(memoryUsed);
+        String sizeFormatted = NumberFormat.getInstance().format(size);
+        String bytesPerElement = size == 0 ? "n/a" : String.format("%.2f", (double) memoryUsed / size);
+        LOGGER.info("{} {} size {} bytes {} bytes/element {}", category, this.clazz.getName(), sizeFormatted, memoryUsedInBytes, bytesPerElement);
+        MemoryTestBench.record(category, this.clazz.getName(), size, memoryUsed);
     }
 
-    public void printContainerMemoryUsage(String category, int size, Function0<?> factory)
+    private static synchronized void record(String category, String container, int size, long memoryUsed)
     {
-        String memoryUsedInBytes = NumberFormat.getInstance().format(this.calculateMemoryUsage(factory));
-        String sizeFormatted = NumberFormat.getInstance().format(size);
-        LOGGER.info("{} {} size {} bytes {}", category, this.clazz.getName(), sizeFormatted, memoryUsedInBytes);
+        CONTAINERS.getIfAbsentPut(category, Functions0.<String>newUnifiedSet()).add(container);
+        RESULTS.getIfAbsentPut(category, new Function0<MutableSortedMap<Integer, MutableMap<String, Long>>>()
+        {
+            public MutableSortedMap<Integer, MutableMap<String, Long>> value()
+            {
+                return TreeSortedMap.newMap();
+            }
+        }).getIfAbsentPut(size, Functions0.<String, Long>newUnifiedMap()).put(container, memoryUsed);
     }
 
-    private static class GCAndSleepProcedure implements IntProcedure
+    /**
+     * Logs one table per category recorded so far, with a row per size and a column per container giving the retained
+     * bytes and bytes per element.  Memory tests call this from an {@code @AfterClass} method.
+     */
+    public static synchronized void logComparisonTable()
     {
-        @Override
-        public void value(int each)
+        for (String category : RESULTS.keysView().toSortedList())
         {
-            System.gc();
-            try
+            MutableSortedMap<Integer, MutableMap<String, Long>> rows = RESULTS.get(category);
+            StringBuilder table = new StringBuilder();
+            table.append(String.format("%12s", "size"));
+            Iterable<String> containers = CONTAINERS.get(category).toSortedList();
+            for (String container : containers)
             {
-                Thread.sleep(100);
+                table.append(String.format(" %36s", MemoryTestBench.abbreviate(container)));
             }
-            catch (InterruptedException e)
+            table.append('\n');
+            for (Integer size : rows.keySet())
             {
-                throw new RuntimeException(e);
+                table.append(String.format("%12d", size));
+                MutableMap<String, Long> row = rows.get(size);
+                for (String container : containers)
+                {
+                    Long bytes = row.get(container);
+                    String cell = bytes == null
+                            ? "-"
+                            : size == 0 ? String.valueOf(bytes) : String.format("%d (%.2f/e)", bytes, (double) bytes / size);
+                    table.append(String.format(" %36s", cell));
+                }
+                table.append('\n');
             }
+            LOGGER.info("Retained bytes for {}\n{}", category, table);
+        }
+        RESULTS.clear();
+        CONTAINERS.clear();
+    }
+
+    private static String abbreviate(String className)
+    {
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        if (className.startsWith("com.gs.collections"))
+        {
+            return "gs." + simpleName;
+        }
+        if (className.startsWith("java."))
+        {
+            return "jdk." + simpleName;
+        }
+        if (className.startsWith("gnu.trove"))
+        {
+            return "trove." + simpleName;
+        }
+        if (className.startsWith("com.google"))
+        {
+            return "guava." + simpleName;
         }
+        return simpleName;
     }
 }
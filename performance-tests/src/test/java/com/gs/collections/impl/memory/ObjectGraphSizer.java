@@ -0,0 +1,186 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.memory;
+
+import java.lang.instrument.Instrumentation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+
+/**
+ * Computes the exact number of bytes retained by an object graph by walking every reference reachable from a root and
+ * summing {@link Instrumentation#getObjectSize(Object)} for each object found.  Unlike measuring the heap before and
+ * after allocation the result does not depend on the garbage collector, so it is the same on every run of the same
+ * JVM.
+ * <p/>
+ * Objects referenced directly from static fields (shared sentinels, empty arrays, singletons) and objects reachable
+ * from graphs passed to {@link #exclude(Object)} are not counted, except for the root itself.
+ */
+public final class ObjectGraphSizer
+{
+    private static final Field[] NO_FIELDS = new Field[0];
+    private static final ConcurrentHashMap<Class<?>, Field[]> REFERENCE_FIELDS = ConcurrentHashMap.newMap();
+    private static final Function<Class<?>, Field[]> TO_REFERENCE_FIELDS = new Function<Class<?>, Field[]>()
+    {
+        public Field[] valueOf(Class<?> each)
+        {
+            return ObjectGraphSizer.referenceFieldsOf(each);
+        }
+    };
+
+    private final Instrumentation instrumentation;
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+    private final Set<Class<?>> seenClasses = Collections.newSetFromMap(new IdentityHashMap<Class<?>, Boolean>());
+
+    public ObjectGraphSizer()
+    {
+        this(ObjectSizeAgent.getInstrumentation());
+    }
+
+    public ObjectGraphSizer(Instrumentation instrumentation)
+    {
+        this.instrumentation = instrumentation;
+    }
+
+    /**
+     * Marks every object reachable from {@code root} as already accounted for, so that later calls to
+     * {@link #sizeOf(Object)} do not count it.  Used to leave out the input data held by a factory.
+     */
+    public ObjectGraphSizer exclude(Object root)
+    {
+        this.walk(root, false);
+        return this;
+    }
+
+    /**
+     * Returns the number of bytes retained by {@code root} and every object reachable from it which has not been
+     * excluded or counted before.
+     */
+    public long sizeOf(Object root)
+    {
+        this.visited.remove(root);
+        return this.walk(root, true);
+    }
+
+    private long walk(Object root, boolean count)
+    {
+        long size = 0L;
+        Deque<Object> stack = new ArrayDeque<Object>();
+        if (root != null)
+        {
+            stack.push(root);
+        }
+        while (!stack.isEmpty())
+        {
+            Object each = stack.pop();
+            if (!this.visited.add(each))
+            {
+                continue;
+            }
+            Class<?> type = each.getClass();
+            this.excludeStaticReferences(type);
+            if (count)
+            {
+                size += this.instrumentation.getObjectSize(each);
+            }
+            if (type.isArray())
+            {
+                if (!type.getComponentType().isPrimitive())
+                {
+                    for (int i = 0, length = Array.getLength(each); i < length; i++)
+                    {
+                        ObjectGraphSizer.pushIfTraversable(stack, Array.get(each, i));
+                    }
+                }
+            }
+            else
+            {
+                for (Field field : REFERENCE_FIELDS.getIfAbsentPutWith(type, TO_REFERENCE_FIELDS, type))
+                {
+                    ObjectGraphSizer.pushIfTraversable(stack, ObjectGraphSizer.get(field, each));
+                }
+            }
+        }
+        return size;
+    }
+
+    private void excludeStaticReferences(Class<?> type)
+    {
+        for (Class<?> current = type; current != null && this.seenClasses.add(current); current = current.getSuperclass())
+        {
+            for (Field field : current.getDeclaredFields())
+            {
+                if (Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive())
+                {
+                    field.setAccessible(true);
+                    Object value = ObjectGraphSizer.get(field, null);
+                    if (value != null)
+                    {
+                        this.visited.add(value);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void pushIfTraversable(Deque<Object> stack, Object value)
+    {
+        if (value != null && !(value instanceof Class) && !(value instanceof ClassLoader) && !(value instanceof Thread))
+        {
+            stack.push(value);
+        }
+    }
+
+    private static Object get(Field field, Object target)
+    {
+        try
+        {
+            return field.get(target);
+        }
+        catch (IllegalAccessException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Field[] referenceFieldsOf(Class<?> type)
+    {
+        MutableList<Field> fields = FastList.newList();
+        for (Class<?> current = type; current != null; current = current.getSuperclass())
+        {
+            for (Field field : current.getDeclaredFields())
+            {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive())
+                {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        }
+        return fields.isEmpty() ? NO_FIELDS : fields.toArray(new Field[fields.size()]);
+    }
+}
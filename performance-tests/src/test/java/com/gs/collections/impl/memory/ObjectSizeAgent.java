@@ -0,0 +1,53 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.memory;
+
+import java.lang.instrument.Instrumentation;
+
+/**
+ * Java agent which hands the JVM's {@link Instrumentation} to {@link ObjectGraphSizer}.  The performance-tests build
+ * packages it as {@code memory-agent.jar} and passes it to the test JVM with {@code -javaagent}.
+ */
+public final class ObjectSizeAgent
+{
+    private static volatile Instrumentation instrumentation;
+
+    private ObjectSizeAgent()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    public static void premain(String agentArgs, Instrumentation inst)
+    {
+        ObjectSizeAgent.instrumentation = inst;
+    }
+
+    public static void agentmain(String agentArgs, Instrumentation inst)
+    {
+        ObjectSizeAgent.instrumentation = inst;
+    }
+
+    public static Instrumentation getInstrumentation()
+    {
+        Instrumentation result = ObjectSizeAgent.instrumentation;
+        if (result == null)
+        {
+            throw new IllegalStateException("ObjectSizeAgent is not loaded, run the JVM with -javaagent:<path to memory-agent.jar>");
+        }
+        return result;
+    }
+}
@@ -24,11 +24,18 @@ import com.gs.collections.impl.MemoryTests;
 import com.gs.collections.impl.bag.mutable.HashBag;
 import com.gs.collections.impl.list.primitive.IntInterval;
 import com.gs.collections.impl.memory.MemoryTestBench;
+import org.junit.AfterClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 public class ImmutableBagMemoryTest
 {
+    @AfterClass
+    public static void logComparisonTable()
+    {
+        MemoryTestBench.logComparisonTable();
+    }
+
     @Test
     @Category(MemoryTests.class)
     public void memoryForScaledImmutableBags()
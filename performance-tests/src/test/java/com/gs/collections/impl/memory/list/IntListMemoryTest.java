@@ -26,11 +26,18 @@ import com.gs.collections.impl.list.mutable.primitive.IntArrayList;
 import com.gs.collections.impl.memory.MemoryTestBench;
 import com.gs.collections.impl.memory.TestDataFactory;
 import gnu.trove.list.array.TIntArrayList;
+import org.junit.AfterClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 public class IntListMemoryTest
 {
+    @AfterClass
+    public static void logComparisonTable()
+    {
+        MemoryTestBench.logComparisonTable();
+    }
+
     @Test
     @Category(MemoryTests.class)
     public void memoryForScaledLists()
@@ -23,11 +23,18 @@ import com.gs.collections.impl.list.Interval;
 import com.gs.collections.impl.list.mutable.primitive.IntArrayList;
 import com.gs.collections.impl.memory.MemoryTestBench;
 import gnu.trove.list.array.TIntArrayList;
+import org.junit.AfterClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 public class IntListPresizedMemoryTest
 {
+    @AfterClass
+    public static void logComparisonTable()
+    {
+        MemoryTestBench.logComparisonTable();
+    }
+
     @Test
     @Category(MemoryTests.class)
     public void memoryForScaledLists()
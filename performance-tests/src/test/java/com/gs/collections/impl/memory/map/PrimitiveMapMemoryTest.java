@@ -0,0 +1,185 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.memory.map;
+
+import java.lang.reflect.Method;
+
+import com.gs.collections.api.block.function.Function0;
+import com.gs.collections.api.block.procedure.primitive.IntProcedure;
+import com.gs.collections.api.set.primitive.IntSet;
+import com.gs.collections.impl.MemoryTests;
+import com.gs.collections.impl.memory.MemoryTestBench;
+import com.gs.collections.impl.memory.TestDataFactory;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Measures every generated primitive hash map, including the object-primitive and primitive-object variants, through
+ * reflection so that new key or value types are picked up without a hand written factory for each pair.
+ */
+public class PrimitiveMapMemoryTest
+{
+    private static final String PACKAGE = "com.gs.collections.impl.map.mutable.primitive.";
+    private static final String[] KEY_TYPES = {"Byte", "Short", "Char", "Int", "Long", "Float", "Double", "Object"};
+    private static final String[] VALUE_TYPES = {"Boolean", "Byte", "Short", "Char", "Int", "Long", "Float", "Double", "Object"};
+
+    @AfterClass
+    public static void logComparisonTable()
+    {
+        MemoryTestBench.logComparisonTable();
+    }
+
+    @Test
+    @Category(MemoryTests.class)
+    public void memoryForScaledPrimitiveMaps()
+    {
+        for (int size = 0; size < 1000001; size += 250000)
+        {
+            this.memoryForScaledPrimitiveMaps(size);
+        }
+    }
+
+    public void memoryForScaledPrimitiveMaps(int size)
+    {
+        for (String keyType : KEY_TYPES)
+        {
+            for (String valueType : VALUE_TYPES)
+            {
+                if (!("Object".equals(keyType) && "Object".equals(valueType)))
+                {
+                    Class<?> mapClass = PrimitiveMapMemoryTest.loadClass(PACKAGE + keyType + valueType + "HashMap");
+                    MemoryTestBench.on(mapClass)
+                            .printContainerMemoryUsage("PrimitiveMap", size, new PrimitiveMapFactory(mapClass, size));
+                }
+            }
+        }
+    }
+
+    private static Class<?> loadClass(String className)
+    {
+        try
+        {
+            return Class.forName(className);
+        }
+        catch (ClassNotFoundException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static class PrimitiveMapFactory implements Function0<Object>
+    {
+        private final Class<?> mapClass;
+        private final Method put;
+        private final IntSet data;
+
+        public PrimitiveMapFactory(Class<?> mapClass, int size)
+        {
+            this.mapClass = mapClass;
+            this.put = PrimitiveMapMemoryTest.findPut(mapClass);
+            this.data = TestDataFactory.createRandomSet(size);
+        }
+
+        @Override
+        public Object value()
+        {
+            try
+            {
+                final Object map = this.mapClass.newInstance();
+                final Class<?>[] parameterTypes = this.put.getParameterTypes();
+                this.data.forEach(new IntProcedure()
+                {
+                    public void value(int each)
+                    {
+                        PrimitiveMapFactory.this.put(map, PrimitiveMapMemoryTest.convert(parameterTypes[0], each), PrimitiveMapMemoryTest.convert(parameterTypes[1], each));
+                    }
+                });
+                return map;
+            }
+            catch (InstantiationException e)
+            {
+                throw new RuntimeException(e);
+            }
+            catch (IllegalAccessException e)
+            {
+                throw new RuntimeException(e);
+            }
+        }
+
+        private void put(Object map, Object key, Object value)
+        {
+            try
+            {
+                this.put.invoke(map, key, value);
+            }
+            catch (Exception e)
+            {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private static Method findPut(Class<?> mapClass)
+    {
+        for (Method method : mapClass.getMethods())
+        {
+            if ("put".equals(method.getName()) && method.getParameterTypes().length == 2 && !method.isBridge())
+            {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException(mapClass.getName() + " has no put method");
+    }
+
+    private static Object convert(Class<?> type, int value)
+    {
+        if (type == boolean.class)
+        {
+            return (value & 1) == 0;
+        }
+        if (type == byte.class)
+        {
+            return (byte) value;
+        }
+        if (type == short.class)
+        {
+            return (short) value;
+        }
+        if (type == char.class)
+        {
+            return (char) value;
+        }
+        if (type == int.class)
+        {
+            return value;
+        }
+        if (type == long.class)
+        {
+            return (long) value;
+        }
+        if (type == float.class)
+        {
+            return (float) value;
+        }
+        if (type == double.class)
+        {
+            return (double) value;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.list.immutable;
+
+import com.gs.collections.impl.test.Verify;
+import org.junit.Test;
+
+public class PersistentImmutableListTest
+{
+    @Test
+    public void serializedForm()
+    {
+        Verify.assertSerializedForm(
+                1L,
+                "rO0ABXNyAD5jb20uZ3MuY29sbGVjdGlvbnMuaW1wbC5saXN0LmltbXV0YWJsZS5QZXJzaXN0ZW50\n"
+                        + "SW1tdXRhYmxlTGlzdAAAAAAAAAABAgAESQAFc2hpZnRJAARzaXplWwAEcm9vdHQAE1tMamF2YS9s\n"
+                        + "YW5nL09iamVjdDtbAAR0YWlscQB+AAF4cAAAAAUAAAADdXIAE1tMamF2YS5sYW5nLk9iamVjdDuQ\n"
+                        + "zlifEHMpbAIAAHhwAAAAIHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwdXEAfgADAAAA\n"
+                        + "A3NyABFqYXZhLmxhbmcuSW50ZWdlchLioKT3gYc4AgABSQAFdmFsdWV4cgAQamF2YS5sYW5nLk51\n"
+                        + "bWJlcoaslR0LlOCLAgAAeHAAAAABc3EAfgAGAAAAAnNxAH4ABgAAAAM=",
+                PersistentImmutableList.newListWith(1, 2, 3));
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.map.immutable;
+
+import com.gs.collections.impl.test.Verify;
+import org.junit.Test;
+
+public class PersistentImmutableMapTest
+{
+    @Test
+    public void serializedForm()
+    {
+        Verify.assertSerializedForm(
+                1L,
+                "rO0ABXNyADxjb20uZ3MuY29sbGVjdGlvbnMuaW1wbC5tYXAuaW1tdXRhYmxlLlBlcnNpc3RlbnRJ\n"
+                        + "bW11dGFibGVNYXAAAAAAAAAAAQIABFoACmhhc051bGxLZXlJAARzaXplTAAJbnVsbFZhbHVldAAS\n"
+                        + "TGphdmEvbGFuZy9PYmplY3Q7TAAEcm9vdHQAQ0xjb20vZ3MvY29sbGVjdGlvbnMvaW1wbC9tYXAv\n"
+                        + "aW1tdXRhYmxlL1BlcnNpc3RlbnRJbW11dGFibGVNYXAkTm9kZTt4cAAAAAACcHNyAE5jb20uZ3Mu\n"
+                        + "Y29sbGVjdGlvbnMuaW1wbC5tYXAuaW1tdXRhYmxlLlBlcnNpc3RlbnRJbW11dGFibGVNYXAkQml0\n"
+                        + "bWFwSW5kZXhlZE5vZGUAAAAAAAAAAQIAAUkABmJpdG1hcHhyAEFjb20uZ3MuY29sbGVjdGlvbnMu\n"
+                        + "aW1wbC5tYXAuaW1tdXRhYmxlLlBlcnNpc3RlbnRJbW11dGFibGVNYXAkTm9kZQAAAAAAAAABAgAB\n"
+                        + "WwAFYXJyYXl0ABNbTGphdmEvbGFuZy9PYmplY3Q7eHB1cgATW0xqYXZhLmxhbmcuT2JqZWN0O5DO\n"
+                        + "WJ8QcylsAgAAeHAAAAAEc3IAEWphdmEubGFuZy5JbnRlZ2VyEuKgpPeBhzgCAAFJAAV2YWx1ZXhy\n"
+                        + "ABBqYXZhLmxhbmcuTnVtYmVyhqyVHQuU4IsCAAB4cAAAAAF0AAExc3EAfgAKAAAAAnQAATIAAAAG\n"
+                        + "",
+                PersistentImmutableMap.newWithKeysValues(1, "1", 2, "2"));
+    }
+}
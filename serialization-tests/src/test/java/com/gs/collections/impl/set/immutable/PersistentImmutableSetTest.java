@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.set.immutable;
+
+import com.gs.collections.impl.test.Verify;
+import org.junit.Test;
+
+public class PersistentImmutableSetTest
+{
+    @Test
+    public void serializedForm()
+    {
+        Verify.assertSerializedForm(
+                1L,
+                "rO0ABXNyADxjb20uZ3MuY29sbGVjdGlvbnMuaW1wbC5zZXQuaW1tdXRhYmxlLlBlcnNpc3RlbnRJ\n"
+                        + "bW11dGFibGVTZXQAAAAAAAAAAQIAAUwACGRlbGVnYXRldAA+TGNvbS9ncy9jb2xsZWN0aW9ucy9p\n"
+                        + "bXBsL21hcC9pbW11dGFibGUvUGVyc2lzdGVudEltbXV0YWJsZU1hcDt4cHNyADxjb20uZ3MuY29s\n"
+                        + "bGVjdGlvbnMuaW1wbC5tYXAuaW1tdXRhYmxlLlBlcnNpc3RlbnRJbW11dGFibGVNYXAAAAAAAAAA\n"
+                        + "AQIABFoACmhhc051bGxLZXlJAARzaXplTAAJbnVsbFZhbHVldAASTGphdmEvbGFuZy9PYmplY3Q7\n"
+                        + "TAAEcm9vdHQAQ0xjb20vZ3MvY29sbGVjdGlvbnMvaW1wbC9tYXAvaW1tdXRhYmxlL1BlcnNpc3Rl\n"
+                        + "bnRJbW11dGFibGVNYXAkTm9kZTt4cAAAAAADcHNyAE5jb20uZ3MuY29sbGVjdGlvbnMuaW1wbC5t\n"
+                        + "YXAuaW1tdXRhYmxlLlBlcnNpc3RlbnRJbW11dGFibGVNYXAkQml0bWFwSW5kZXhlZE5vZGUAAAAA\n"
+                        + "AAAAAQIAAUkABmJpdG1hcHhyAEFjb20uZ3MuY29sbGVjdGlvbnMuaW1wbC5tYXAuaW1tdXRhYmxl\n"
+                        + "LlBlcnNpc3RlbnRJbW11dGFibGVNYXAkTm9kZQAAAAAAAAABAgABWwAFYXJyYXl0ABNbTGphdmEv\n"
+                        + "bGFuZy9PYmplY3Q7eHB1cgATW0xqYXZhLmxhbmcuT2JqZWN0O5DOWJ8QcylsAgAAeHAAAAAGc3IA\n"
+                        + "EWphdmEubGFuZy5JbnRlZ2VyEuKgpPeBhzgCAAFJAAV2YWx1ZXhyABBqYXZhLmxhbmcuTnVtYmVy\n"
+                        + "hqyVHQuU4IsCAAB4cAAAAAFzcgARamF2YS5sYW5nLkJvb2xlYW7NIHKA1Zz67gIAAVoABXZhbHVl\n"
+                        + "eHABc3EAfgANAAAAAnEAfgARc3EAfgANAAAAA3EAfgARAAAADg==",
+                PersistentImmutableSet.newSetWith(1, 2, 3));
+    }
+}
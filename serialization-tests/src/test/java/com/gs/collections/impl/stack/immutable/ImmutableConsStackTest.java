@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.stack.immutable;
+
+import com.gs.collections.impl.test.Verify;
+import org.junit.Test;
+
+public class ImmutableConsStackTest
+{
+    @Test
+    public void serializedForm()
+    {
+        Verify.assertSerializedForm(
+                1L,
+                "rO0ABXNyAFtjb20uZ3MuY29sbGVjdGlvbnMuaW1wbC5zdGFjay5pbW11dGFibGUuSW1tdXRhYmxl\n"
+                        + "Q29uc1N0YWNrJEltbXV0YWJsZVN0YWNrU2VyaWFsaXphdGlvblByb3h5AAAAAAAAAAEMAAB4cHcE\n"
+                        + "AAAAAHg=",
+                ImmutableConsStack.newStack());
+    }
+
+    @Test
+    public void serializedForm_with_elements()
+    {
+        Verify.assertSerializedForm(
+                1L,
+                "rO0ABXNyAFtjb20uZ3MuY29sbGVjdGlvbnMuaW1wbC5zdGFjay5pbW11dGFibGUuSW1tdXRhYmxl\n"
+                        + "Q29uc1N0YWNrJEltbXV0YWJsZVN0YWNrU2VyaWFsaXphdGlvblByb3h5AAAAAAAAAAEMAAB4cHcE\n"
+                        + "AAAABXBwcHBweA==",
+                ImmutableConsStack.newStackWith(null, null, null, null, null));
+    }
+}
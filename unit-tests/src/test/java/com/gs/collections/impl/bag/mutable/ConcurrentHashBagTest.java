@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.bag.mutable;
+
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.gs.collections.api.bag.MutableBag;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.parallel.ParallelIterate;
+import com.gs.collections.impl.test.Verify;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentHashBagTest
+        extends MutableBagTestCase
+{
+    private ExecutorService executor;
+
+    @Before
+    public void setUp()
+    {
+        this.executor = Executors.newFixedThreadPool(20);
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Override
+    protected <T> MutableBag<T> classUnderTest()
+    {
+        return ConcurrentHashBag.newBag();
+    }
+
+    @Test
+    public void newBagFromIterable()
+    {
+        assertBagsEqual(
+                HashBag.newBagWith(1, 2, 2, 3, 3, 3),
+                ConcurrentHashBag.newBag(FastList.<Integer>newListWith(1, 2, 2, 3, 3, 3)));
+    }
+
+    @Test
+    public void newBagFromBag()
+    {
+        Assert.assertEquals(
+                HashBag.newBagWith(1, 2, 2, 3, 3, 3, 4, 4, 4, 4),
+                ConcurrentHashBag.newBag(HashBag.newBagWith(1, 2, 2, 3, 3, 3, 4, 4, 4, 4)));
+    }
+
+    @Test
+    public void nullItems()
+    {
+        ConcurrentHashBag<String> bag = ConcurrentHashBag.newBagWith(null, null, "a");
+        Assert.assertEquals(2, bag.occurrencesOf(null));
+        Assert.assertTrue(bag.contains(null));
+        Assert.assertEquals(HashBag.newBagWith(null, null, "a"), bag.snapshot());
+        Assert.assertTrue(bag.removeOccurrences(null, 5));
+        Assert.assertFalse(bag.contains(null));
+        Verify.assertSize(1, bag);
+    }
+
+    @Test
+    public void iteratorRemove()
+    {
+        ConcurrentHashBag<Integer> bag = ConcurrentHashBag.newBagWith(1, 1, 2);
+        Iterator<Integer> iterator = bag.iterator();
+        while (iterator.hasNext())
+        {
+            if (iterator.next() == 1)
+            {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(HashBag.newBagWith(2), bag);
+        Verify.assertSize(1, bag);
+    }
+
+    @Test
+    public void concurrentAddOccurrences()
+    {
+        final ConcurrentHashBag<Integer> bag = ConcurrentHashBag.newBag();
+        ParallelIterate.forEach(Interval.oneTo(100000), new Procedure<Integer>()
+        {
+            public void value(Integer each)
+            {
+                bag.addOccurrences(each % 10, 2);
+            }
+        }, 100, this.executor);
+        Assert.assertEquals(200000, bag.size());
+        Assert.assertEquals(10, bag.sizeDistinct());
+        for (int i = 0; i < 10; i++)
+        {
+            Assert.assertEquals(20000, bag.occurrencesOf(i));
+        }
+    }
+
+    @Test
+    public void concurrentAddAndRemove()
+    {
+        final ConcurrentHashBag<Integer> bag = ConcurrentHashBag.newBag();
+        ParallelIterate.forEach(Interval.oneTo(100000), new Procedure<Integer>()
+        {
+            public void value(Integer each)
+            {
+                bag.add(each % 3);
+                Assert.assertTrue(bag.remove(each % 3));
+            }
+        }, 100, this.executor);
+        Verify.assertEmpty(bag);
+        Assert.assertEquals(0, bag.sizeDistinct());
+        Assert.assertEquals(HashBag.newBag(), bag.snapshot());
+    }
+}
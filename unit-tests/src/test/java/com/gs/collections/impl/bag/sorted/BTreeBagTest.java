@@ -0,0 +1,281 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.bag.sorted;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Random;
+
+import com.gs.collections.api.bag.sorted.MutableSortedBag;
+import com.gs.collections.impl.bag.mutable.sorted.BTreeBag;
+import com.gs.collections.impl.bag.mutable.sorted.TreeBag;
+import com.gs.collections.impl.block.factory.Comparators;
+import com.gs.collections.impl.block.factory.Predicates;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.test.SerializeTestHelper;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link BTreeBag}.
+ */
+public class BTreeBagTest extends AbstractSortedBagTestCase
+{
+    @Override
+    protected <T> MutableSortedBag<T> classUnderTest()
+    {
+        return BTreeBag.newBag();
+    }
+
+    @Override
+    protected <T> MutableSortedBag<T> classUnderTest(Comparator<? super T> comparator)
+    {
+        return BTreeBag.newBag(comparator);
+    }
+
+    @Override
+    protected <T> MutableSortedBag<T> classUnderTest(T... elements)
+    {
+        return BTreeBag.newBagWith(elements);
+    }
+
+    @Override
+    protected <T> MutableSortedBag<T> classUnderTest(Comparator<? super T> comparator, T... elements)
+    {
+        return BTreeBag.newBag(comparator, Arrays.asList(elements));
+    }
+
+    @Override
+    @Test(expected = UnsupportedOperationException.class)
+    public void asSynchronized()
+    {
+        //not yet supported
+        this.classUnderTest().asSynchronized();
+    }
+
+    @Override
+    @Test
+    public void serialization()
+    {
+        MutableSortedBag<Integer> bag = this.newWith(1, 2, 3, 4, 5);
+        Verify.assertPostSerializedEqualsAndHashCode(bag);
+        BTreeBag<Integer> large = BTreeBag.newBag(Collections.<Integer>reverseOrder(), Interval.oneTo(1000));
+        large.addOccurrences(500, 10);
+        Verify.assertPostSerializedEqualsAndHashCode(large);
+        Verify.assertSortedBagsEqual(large, SerializeTestHelper.serializeDeserialize(large));
+    }
+
+    @Test
+    public void sortedBagConstructor()
+    {
+        MutableSortedBag<String> bagA = BTreeBag.newBag(FastList.newListWith("a", "c", "b", "d"));
+        Verify.assertSortedBagsEqual(bagA, BTreeBag.newBag(bagA));
+        TreeBag<Integer> treeBag = TreeBag.newBagWith(Collections.<Integer>reverseOrder(), 1, 2, 2, 3);
+        Verify.assertSortedBagsEqual(treeBag, BTreeBag.newBag(treeBag));
+        Assert.assertEquals(treeBag, BTreeBag.newBag(treeBag));
+        Assert.assertEquals(BTreeBag.newBag(treeBag), treeBag);
+        Assert.assertEquals(treeBag.hashCode(), BTreeBag.newBag(treeBag).hashCode());
+    }
+
+    @Test
+    public void matchesTreeBagUnderRandomUpdates()
+    {
+        Random random = new Random(42L);
+        BTreeBag<Integer> bag = BTreeBag.newBag();
+        TreeBag<Integer> expected = TreeBag.newBag();
+        for (int i = 0; i < 50000; i++)
+        {
+            Integer item = random.nextInt(5000);
+            int occurrences = random.nextInt(3);
+            if (random.nextInt(5) < 3)
+            {
+                bag.addOccurrences(item, occurrences);
+                expected.addOccurrences(item, occurrences);
+            }
+            else
+            {
+                Assert.assertEquals(expected.removeOccurrences(item, occurrences), bag.removeOccurrences(item, occurrences));
+            }
+            if (i % 5000 == 0)
+            {
+                Verify.assertSortedBagsEqual(expected, bag);
+            }
+        }
+        Verify.assertSortedBagsEqual(expected, bag);
+        Assert.assertEquals(expected.size(), bag.size());
+        Assert.assertEquals(expected.sizeDistinct(), bag.sizeDistinct());
+        Assert.assertEquals(expected.toStringOfItemToCount(), bag.toStringOfItemToCount());
+        Assert.assertEquals(expected.getFirst(), bag.getFirst());
+        Assert.assertEquals(expected.getLast(), bag.getLast());
+
+        bag.removeAllIterable(Interval.zeroTo(4999));
+        Verify.assertEmpty(bag);
+        Assert.assertEquals(0, bag.sizeDistinct());
+        Assert.assertNull(bag.getFirst());
+    }
+
+    @Test
+    public void shrinkFromManyLevels()
+    {
+        Random random = new Random(7L);
+        BTreeBag<Integer> bag = BTreeBag.newBag();
+        TreeBag<Integer> expected = TreeBag.newBag();
+        for (int i = 0; i < 200000; i++)
+        {
+            Integer item = random.nextInt(1000000);
+            bag.add(item);
+            expected.add(item);
+        }
+        FastList<Integer> items = FastList.newList(expected.toSet());
+        Collections.shuffle(items, random);
+        for (int i = 0; i < items.size(); i++)
+        {
+            Integer item = items.get(i);
+            Assert.assertEquals(expected.occurrencesOf(item), bag.occurrencesOf(item));
+            Assert.assertTrue(bag.removeOccurrences(item, Integer.MAX_VALUE));
+            expected.removeOccurrences(item, Integer.MAX_VALUE);
+            if (i % 20000 == 0)
+            {
+                Verify.assertSortedBagsEqual(expected, bag);
+                Assert.assertEquals(expected.sizeDistinct(), bag.sizeDistinct());
+                Integer probe = random.nextInt(1000000);
+                Assert.assertEquals(expected.select(Predicates.lessThan(probe)).size(), bag.occurrencesBelow(probe));
+            }
+        }
+        Verify.assertEmpty(bag);
+    }
+
+    @Test
+    public void addInOrderAndRemoveInOrder()
+    {
+        BTreeBag<Integer> bag = BTreeBag.newBag();
+        for (int i = 0; i < 100000; i++)
+        {
+            bag.add(i);
+        }
+        Verify.assertSize(100000, bag);
+        Assert.assertEquals(Integer.valueOf(0), bag.getFirst());
+        Assert.assertEquals(Integer.valueOf(99999), bag.getLast());
+        for (int i = 0; i < 99990; i++)
+        {
+            Assert.assertTrue(bag.remove(i));
+        }
+        Verify.assertSortedBagsEqual(BTreeBag.newBag(Interval.fromTo(99990, 99999)), bag);
+    }
+
+    @Test
+    public void occurrencesBelowAndIndexOf()
+    {
+        BTreeBag<Integer> bag = BTreeBag.newBag();
+        for (int i = 0; i < 1000; i += 2)
+        {
+            bag.addOccurrences(i, 3);
+        }
+        Assert.assertEquals(0, bag.occurrencesBelow(0));
+        Assert.assertEquals(0, bag.occurrencesBelow(-1));
+        Assert.assertEquals(3, bag.occurrencesBelow(1));
+        Assert.assertEquals(3, bag.occurrencesBelow(2));
+        Assert.assertEquals(300, bag.occurrencesBelow(200));
+        Assert.assertEquals(1500, bag.occurrencesBelow(5000));
+        Assert.assertEquals(0, bag.indexOf(0));
+        Assert.assertEquals(300, bag.indexOf(200));
+        Assert.assertEquals(-1, bag.indexOf(201));
+        Assert.assertEquals(1497, bag.indexOf(998));
+
+        BTreeBag<Integer> reversed = BTreeBag.newBagWith(Collections.<Integer>reverseOrder(), 1, 2, 2, 3, 3, 3);
+        Assert.assertEquals(0, reversed.indexOf(3));
+        Assert.assertEquals(3, reversed.indexOf(2));
+        Assert.assertEquals(5, reversed.occurrencesBelow(1));
+    }
+
+    @Test
+    public void rangeCopies()
+    {
+        BTreeBag<Integer> bag = BTreeBag.newBag();
+        for (int i = 0; i < 1000; i++)
+        {
+            bag.addOccurrences(i, i % 3 + 1);
+        }
+        BTreeBag<Integer> subBag = bag.subBag(100, 200);
+        Verify.assertSortedBagsEqual(bag.select(Predicates.betweenInclusive(100, 199)), subBag);
+        Verify.assertSortedBagsEqual(bag.select(Predicates.lessThan(300)), bag.headBag(300));
+        Verify.assertSortedBagsEqual(bag.select(Predicates.greaterThanOrEqualTo(700)), bag.tailBag(700));
+        Verify.assertEmpty(bag.subBag(100, 100));
+        Verify.assertSortedBagsEqual(bag, bag.tailBag(-5));
+
+        BTreeBag<Integer> reversed = BTreeBag.newBagWith(Collections.<Integer>reverseOrder(), 1, 2, 2, 3, 3, 3, 4);
+        Verify.assertSortedBagsEqual(BTreeBag.newBagWith(Collections.<Integer>reverseOrder(), 2, 2, 3, 3, 3), reversed.subBag(3, 1));
+        Assert.assertSame(reversed.comparator(), reversed.headBag(2).comparator());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void subBag_throws_when_bounds_are_reversed()
+    {
+        BTreeBag.newBagWith(1, 2, 3).subBag(3, 1);
+    }
+
+    @Test
+    public void iteratorRemoveAcrossLeaves()
+    {
+        BTreeBag<Integer> bag = BTreeBag.newBag();
+        for (int i = 0; i < 1000; i++)
+        {
+            bag.addOccurrences(i, 2);
+        }
+        Iterator<Integer> iterator = bag.iterator();
+        int visited = 0;
+        while (iterator.hasNext())
+        {
+            Integer each = iterator.next();
+            visited++;
+            if (each % 3 != 0)
+            {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(2000, visited);
+        TreeBag<Integer> expected = TreeBag.newBag();
+        for (int i = 0; i < 1000; i += 3)
+        {
+            expected.addOccurrences(i, 2);
+        }
+        Verify.assertSortedBagsEqual(expected, bag);
+    }
+
+    @Test
+    public void reverseComparator()
+    {
+        BTreeBag<Integer> bag = BTreeBag.newBag(Comparators.<Integer>reverseNaturalOrder(), Interval.oneTo(500));
+        bag.addAllIterable(Interval.oneTo(500));
+        Assert.assertEquals(Integer.valueOf(500), bag.getFirst());
+        Assert.assertEquals(Integer.valueOf(1), bag.getLast());
+        Assert.assertEquals(Integer.valueOf(1), bag.min());
+        Assert.assertEquals(Integer.valueOf(500), bag.max());
+        FastList<Integer> expected = FastList.newList();
+        for (int i = 500; i > 0; i--)
+        {
+            expected.add(i);
+            expected.add(i);
+        }
+        Assert.assertEquals(expected, bag.toList());
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.gs.collections.api.InternalIterable;
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import com.gs.collections.impl.block.factory.Functions;
+import com.gs.collections.impl.block.factory.Predicates;
+import com.gs.collections.impl.block.factory.Procedures;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.test.Verify;
+import com.gs.collections.impl.utility.LazyIterate;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FusedIterableTest extends AbstractLazyIterableTestCase
+{
+    private static final Function<Integer, Integer> INCREMENT = new Function<Integer, Integer>()
+    {
+        public Integer valueOf(Integer each)
+        {
+            return each + 1;
+        }
+    };
+
+    @Override
+    protected <T> LazyIterable<T> newWith(T... elements)
+    {
+        return LazyIterate.select(FastList.newListWith(elements), Predicates.alwaysTrue()).collect(Functions.<T>getPassThru());
+    }
+
+    private LazyIterable<String> newFusedChain()
+    {
+        return Interval.oneTo(10)
+                .asLazy()
+                .select(Predicates.greaterThan(2))
+                .collect(INCREMENT)
+                .reject(Predicates.greaterThan(10))
+                .select(Predicates.lessThan(9))
+                .collect(Functions.getToString());
+    }
+
+    @Test
+    public void chainsAreFused()
+    {
+        Verify.assertInstanceOf(FusedIterable.class, Interval.oneTo(5).asLazy().select(Predicates.alwaysTrue()).select(Predicates.alwaysTrue()));
+        Verify.assertInstanceOf(FusedIterable.class, Interval.oneTo(5).asLazy().select(Predicates.alwaysTrue()).collect(Functions.getToString()));
+        Verify.assertInstanceOf(FusedIterable.class, Interval.oneTo(5).asLazy().collect(Functions.getToString()).select(Predicates.alwaysTrue()));
+        Verify.assertInstanceOf(FusedIterable.class, Interval.oneTo(5).asLazy().collect(Functions.getToString()).collect(Functions.getToString()));
+        Verify.assertInstanceOf(FusedIterable.class, Interval.oneTo(5).asLazy().reject(Predicates.alwaysFalse()).collect(Functions.getToString()));
+        Verify.assertInstanceOf(FusedIterable.class, this.newFusedChain());
+    }
+
+    @Test
+    public void forEach()
+    {
+        StringBuilder builder = new StringBuilder();
+        this.newFusedChain().forEach(Procedures.append(builder));
+        Assert.assertEquals("45678", builder.toString());
+    }
+
+    @Test
+    public void forEachWithIndex()
+    {
+        final StringBuilder builder = new StringBuilder();
+        this.newFusedChain().forEachWithIndex(new ObjectIntProcedure<String>()
+        {
+            public void value(String each, int index)
+            {
+                builder.append(each);
+                builder.append(index);
+            }
+        });
+        Assert.assertEquals("4051627384", builder.toString());
+    }
+
+    @Test
+    public void forEachWith()
+    {
+        StringBuilder builder = new StringBuilder();
+        this.newFusedChain().forEachWith(new Procedure2<String, StringBuilder>()
+        {
+            public void value(String each, StringBuilder aBuilder)
+            {
+                aBuilder.append(each);
+            }
+        }, builder);
+        Assert.assertEquals("45678", builder.toString());
+    }
+
+    @Override
+    @Test
+    public void iterator()
+    {
+        InternalIterable<String> fused = this.newFusedChain();
+        StringBuilder builder = new StringBuilder();
+        for (String each : fused)
+        {
+            builder.append(each);
+        }
+        Assert.assertEquals("45678", builder.toString());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void iterator_throws()
+    {
+        Iterator<String> iterator = this.newFusedChain().select(Predicates.alwaysFalse()).iterator();
+        Assert.assertFalse(iterator.hasNext());
+        iterator.next();
+    }
+
+    @Test
+    public void sizeWithoutFilters()
+    {
+        LazyIterable<String> collected = Interval.oneTo(5).asLazy().collect(Functions.getToString()).collect(Functions.getToString());
+        Verify.assertSize(5, collected.toList());
+        Assert.assertEquals(5, collected.size());
+        Assert.assertTrue(collected.notEmpty());
+        Assert.assertEquals(5, this.newFusedChain().size());
+        Assert.assertTrue(this.newFusedChain().select(Predicates.alwaysFalse()).isEmpty());
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.gs.collections.api.ParallelIterable;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.Function0;
+import com.gs.collections.api.block.function.Function2;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.map.MapIterable;
+import com.gs.collections.impl.bag.mutable.HashBag;
+import com.gs.collections.impl.block.factory.IntegerPredicates;
+import com.gs.collections.impl.block.factory.Predicates;
+import com.gs.collections.impl.block.factory.PrimitiveFunctions;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.multimap.bag.HashBagMultimap;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public abstract class AbstractParallelIterableTestCase
+{
+    protected static final int SIZE = 20000;
+    protected static final int BATCH_SIZE = 500;
+
+    protected static final Function<Integer, String> EVEN_OR_ODD = new Function<Integer, String>()
+    {
+        public String valueOf(Integer value)
+        {
+            return value % 2 == 0 ? "Even" : "Odd";
+        }
+    };
+
+    protected static final Function<Integer, Integer> TIMES_THREE = new Function<Integer, Integer>()
+    {
+        public Integer valueOf(Integer value)
+        {
+            return value * 3;
+        }
+    };
+
+    protected static final Function<Integer, Interval> ZERO_TO_SMALL = new Function<Integer, Interval>()
+    {
+        public Interval valueOf(Integer value)
+        {
+            return Interval.zeroTo(value % 4);
+        }
+    };
+
+    protected ExecutorService executorService;
+
+    @Before
+    public void setUp()
+    {
+        this.executorService = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.executorService.shutdownNow();
+    }
+
+    /**
+     * Returns a parallel iterable over the integers from 1 to {@link #SIZE}.
+     */
+    protected abstract ParallelIterable<Integer> classUnderTest();
+
+    @Test
+    public void select()
+    {
+        Assert.assertEquals(
+                Interval.oneTo(SIZE).select(IntegerPredicates.isEven()).toBag(),
+                this.classUnderTest().select(IntegerPredicates.isEven()).toBag());
+    }
+
+    @Test
+    public void reject()
+    {
+        Assert.assertEquals(
+                Interval.oneTo(SIZE).reject(IntegerPredicates.isEven()).toBag(),
+                this.classUnderTest().reject(IntegerPredicates.isEven()).toBag());
+    }
+
+    @Test
+    public void collect()
+    {
+        Assert.assertEquals(
+                Interval.oneTo(SIZE).collect(EVEN_OR_ODD).toBag(),
+                this.classUnderTest().collect(EVEN_OR_ODD).toBag());
+    }
+
+    @Test
+    public void flatCollect()
+    {
+        Assert.assertEquals(
+                Interval.oneTo(SIZE).flatCollect(ZERO_TO_SMALL).toBag(),
+                this.classUnderTest().flatCollect(ZERO_TO_SMALL).toBag());
+    }
+
+    @Test
+    public void fusedChain()
+    {
+        long expected = Interval.oneTo(SIZE)
+                .select(Predicates.greaterThan(100))
+                .collect(TIMES_THREE)
+                .select(IntegerPredicates.isOdd())
+                .flatCollect(ZERO_TO_SMALL)
+                .sumOfInt(PrimitiveFunctions.unboxIntegerToInt());
+        long actual = this.classUnderTest()
+                .select(Predicates.greaterThan(100))
+                .collect(TIMES_THREE)
+                .select(IntegerPredicates.isOdd())
+                .flatCollect(ZERO_TO_SMALL)
+                .sumOfInt(PrimitiveFunctions.unboxIntegerToInt());
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void forEach()
+    {
+        final AtomicLong sum = new AtomicLong();
+        this.classUnderTest().forEach(new Procedure<Integer>()
+        {
+            public void value(Integer each)
+            {
+                sum.addAndGet(each.longValue());
+            }
+        });
+        Assert.assertEquals((long) SIZE * (SIZE + 1) / 2, sum.get());
+    }
+
+    @Test
+    public void detect()
+    {
+        Integer found = this.classUnderTest().detect(Predicates.greaterThan(SIZE / 2));
+        Assert.assertTrue(found > SIZE / 2);
+        Assert.assertNull(this.classUnderTest().detect(Predicates.greaterThan(SIZE)));
+        Assert.assertEquals(Integer.valueOf(SIZE), this.classUnderTest().detect(Predicates.equal(SIZE)));
+    }
+
+    @Test
+    public void anySatisfy()
+    {
+        Assert.assertTrue(this.classUnderTest().anySatisfy(Predicates.equal(SIZE - 1)));
+        Assert.assertFalse(this.classUnderTest().anySatisfy(Predicates.greaterThan(SIZE)));
+    }
+
+    @Test
+    public void allSatisfy()
+    {
+        Assert.assertTrue(this.classUnderTest().allSatisfy(Predicates.lessThanOrEqualTo(SIZE)));
+        Assert.assertFalse(this.classUnderTest().allSatisfy(Predicates.lessThan(SIZE)));
+    }
+
+    @Test
+    public void noneSatisfy()
+    {
+        Assert.assertTrue(this.classUnderTest().noneSatisfy(Predicates.greaterThan(SIZE)));
+        Assert.assertFalse(this.classUnderTest().noneSatisfy(Predicates.equal(1)));
+    }
+
+    @Test
+    public void count()
+    {
+        Assert.assertEquals(SIZE / 2, this.classUnderTest().count(IntegerPredicates.isEven()));
+        Assert.assertEquals(0, this.classUnderTest().count(Predicates.greaterThan(SIZE)));
+    }
+
+    @Test
+    public void toCollections()
+    {
+        Assert.assertEquals(Interval.oneTo(SIZE).toBag(), HashBag.newBag(this.classUnderTest().toList()));
+        Assert.assertEquals(Interval.oneTo(SIZE).toSet(), this.classUnderTest().toSet());
+        Assert.assertEquals(Interval.oneTo(SIZE).toBag(), this.classUnderTest().toBag());
+    }
+
+    @Test
+    public void sumOf()
+    {
+        long expected = (long) SIZE * (SIZE + 1) / 2;
+        Assert.assertEquals(expected, this.classUnderTest().sumOfInt(PrimitiveFunctions.unboxIntegerToInt()));
+        Assert.assertEquals(expected, this.classUnderTest().sumOfLong(PrimitiveFunctions.unboxIntegerToLong()));
+        Assert.assertEquals((double) expected, this.classUnderTest().sumOfFloat(PrimitiveFunctions.unboxIntegerToFloat()), 0.0);
+        Assert.assertEquals((double) expected, this.classUnderTest().sumOfDouble(PrimitiveFunctions.unboxIntegerToDouble()), 0.0);
+    }
+
+    @Test
+    public void groupBy()
+    {
+        Assert.assertEquals(
+                HashBagMultimap.newMultimap(Interval.oneTo(SIZE).groupBy(EVEN_OR_ODD)),
+                HashBagMultimap.newMultimap(this.classUnderTest().groupBy(EVEN_OR_ODD)));
+    }
+
+    @Test
+    public void aggregateBy()
+    {
+        MapIterable<String, Integer> aggregation = this.classUnderTest().aggregateBy(
+                EVEN_OR_ODD,
+                new Function0<Integer>()
+                {
+                    public Integer value()
+                    {
+                        return Integer.valueOf(0);
+                    }
+                },
+                new Function2<Integer, Integer, Integer>()
+                {
+                    public Integer value(Integer count, Integer each)
+                    {
+                        return count + 1;
+                    }
+                });
+        Assert.assertEquals(Integer.valueOf(SIZE / 2), aggregation.get("Even"));
+        Assert.assertEquals(Integer.valueOf(SIZE / 2), aggregation.get("Odd"));
+    }
+
+    @Test
+    public void aggregateInPlaceBy()
+    {
+        MapIterable<String, AtomicInteger> aggregation = this.classUnderTest().aggregateInPlaceBy(
+                EVEN_OR_ODD,
+                new Function0<AtomicInteger>()
+                {
+                    public AtomicInteger value()
+                    {
+                        return new AtomicInteger(0);
+                    }
+                },
+                new Procedure2<AtomicInteger, Integer>()
+                {
+                    public void value(AtomicInteger count, Integer each)
+                    {
+                        count.incrementAndGet();
+                    }
+                });
+        Assert.assertEquals(SIZE / 2, aggregation.get("Even").get());
+        Assert.assertEquals(SIZE / 2, aggregation.get("Odd").get());
+    }
+
+    @Test
+    public void smallerThanBatchSize()
+    {
+        UnifiedSet<Integer> set = UnifiedSet.newSetWith(1, 2, 3);
+        Assert.assertEquals(6L, set.asParallel(this.executorService, BATCH_SIZE).sumOfInt(PrimitiveFunctions.unboxIntegerToInt()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveBatchSize()
+    {
+        UnifiedSet.newSetWith(1, 2, 3).asParallel(this.executorService, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullExecutorService()
+    {
+        UnifiedSet.newSetWith(1, 2, 3).asParallel(null, BATCH_SIZE);
+    }
+}
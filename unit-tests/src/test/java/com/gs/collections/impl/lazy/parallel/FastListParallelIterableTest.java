@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel;
+
+import com.gs.collections.api.ParallelIterable;
+import com.gs.collections.api.list.ParallelListIterable;
+import com.gs.collections.impl.block.factory.IntegerPredicates;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.multimap.list.FastListMultimap;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FastListParallelIterableTest extends AbstractParallelIterableTestCase
+{
+    @Override
+    protected ParallelListIterable<Integer> classUnderTest()
+    {
+        return FastList.newList(Interval.oneTo(SIZE)).asParallel(this.executorService, BATCH_SIZE);
+    }
+
+    @Test
+    public void toListKeepsOrder()
+    {
+        Assert.assertEquals(Interval.oneTo(SIZE), this.classUnderTest().toList());
+        Assert.assertEquals(
+                Interval.oneTo(SIZE).select(IntegerPredicates.isOdd()).collect(TIMES_THREE).toList(),
+                this.classUnderTest().select(IntegerPredicates.isOdd()).collect(TIMES_THREE).toList());
+        Assert.assertEquals(
+                Interval.oneTo(SIZE).flatCollect(ZERO_TO_SMALL).toList(),
+                this.classUnderTest().flatCollect(ZERO_TO_SMALL).toList());
+    }
+
+    @Test
+    public void groupByKeepsOrder()
+    {
+        Assert.assertEquals(
+                FastListMultimap.newMultimap(Interval.oneTo(SIZE).groupBy(EVEN_OR_ODD)),
+                this.classUnderTest().groupBy(EVEN_OR_ODD));
+    }
+
+    @Test
+    public void chainsStayParallelLists()
+    {
+        ParallelIterable<String> chain = this.classUnderTest().reject(IntegerPredicates.isEven()).collect(EVEN_OR_ODD);
+        Assert.assertTrue(chain instanceof ParallelListIterable);
+    }
+}
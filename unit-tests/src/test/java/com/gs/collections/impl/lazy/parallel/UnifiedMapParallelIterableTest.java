@@ -0,0 +1,39 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel;
+
+import com.gs.collections.api.ParallelIterable;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+
+public class UnifiedMapParallelIterableTest extends AbstractParallelIterableTestCase
+{
+    @Override
+    protected ParallelIterable<Integer> classUnderTest()
+    {
+        final UnifiedMap<String, Integer> map = UnifiedMap.newMap();
+        Interval.oneTo(SIZE).forEach(new Procedure<Integer>()
+        {
+            public void value(Integer each)
+            {
+                map.put(String.valueOf(each), each);
+            }
+        });
+        return map.asParallel(this.executorService, BATCH_SIZE);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel;
+
+import com.gs.collections.api.set.ParallelUnsortedSetIterable;
+import com.gs.collections.impl.block.factory.IntegerPredicates;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.multimap.set.UnifiedSetMultimap;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UnifiedSetParallelIterableTest extends AbstractParallelIterableTestCase
+{
+    @Override
+    protected ParallelUnsortedSetIterable<Integer> classUnderTest()
+    {
+        return UnifiedSet.newSet(Interval.oneTo(SIZE)).asParallel(this.executorService, BATCH_SIZE);
+    }
+
+    @Test
+    public void selectStaysUnique()
+    {
+        ParallelUnsortedSetIterable<Integer> odds = this.classUnderTest().select(IntegerPredicates.isOdd());
+        Assert.assertEquals(Interval.oneTo(SIZE).select(IntegerPredicates.isOdd()).toSet(), odds.toSet());
+        Assert.assertEquals(SIZE / 2, odds.toList().size());
+    }
+
+    @Test
+    public void groupByIntoSetMultimap()
+    {
+        Assert.assertEquals(
+                UnifiedSetMultimap.newMultimap(Interval.oneTo(SIZE).groupBy(EVEN_OR_ODD)),
+                this.classUnderTest().groupBy(EVEN_OR_ODD));
+    }
+}
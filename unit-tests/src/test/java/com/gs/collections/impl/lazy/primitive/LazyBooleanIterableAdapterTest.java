@@ -19,15 +19,19 @@ package com.gs.collections.impl.lazy.primitive;
 import java.util.Arrays;
 
 import com.gs.collections.api.RichIterable;
+import com.gs.collections.api.block.function.primitive.BooleanToIntFunction;
 import com.gs.collections.api.block.function.primitive.BooleanToObjectFunction;
 import com.gs.collections.api.block.predicate.primitive.BooleanPredicate;
 import com.gs.collections.api.block.procedure.primitive.BooleanProcedure;
 import com.gs.collections.api.iterator.BooleanIterator;
 import com.gs.collections.impl.bag.mutable.primitive.BooleanHashBag;
 import com.gs.collections.impl.block.factory.primitive.BooleanPredicates;
+import com.gs.collections.impl.list.mutable.FastList;
 import com.gs.collections.impl.list.mutable.primitive.BooleanArrayList;
+import com.gs.collections.impl.list.mutable.primitive.IntArrayList;
 import com.gs.collections.impl.set.mutable.primitive.BooleanHashSet;
 import com.gs.collections.impl.test.Verify;
+import com.gs.collections.impl.tuple.primitive.PrimitiveTuples;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -195,4 +199,50 @@ public class LazyBooleanIterableAdapterTest
     {
         Assert.assertEquals(BooleanHashBag.newBagWith(false, true, true), this.iterable.toBag());
     }
+
+    @Test
+    public void collectInt()
+    {
+        BooleanToIntFunction toInt = new BooleanToIntFunction()
+        {
+            public int valueOf(boolean parameter)
+            {
+                return parameter ? 1 : 0;
+            }
+        };
+        Assert.assertEquals(2L, this.iterable.collectInt(toInt).sum());
+        Assert.assertEquals(IntArrayList.newListWith(1, 0, 1), this.iterable.collectInt(toInt).toList());
+        Assert.assertEquals(1L, this.iterable.take(2).collectInt(toInt).sum());
+    }
+
+    @Test
+    public void takeAndDrop()
+    {
+        Assert.assertEquals(BooleanArrayList.newListWith(true, false), this.iterable.take(2).toList());
+        Assert.assertEquals(BooleanArrayList.newListWith(true), this.iterable.drop(2).toList());
+        Verify.assertEmpty(this.iterable.drop(3));
+        Verify.assertSize(3, this.iterable.take(4));
+    }
+
+    @Test
+    public void distinct()
+    {
+        Assert.assertEquals(BooleanArrayList.newListWith(true, false), this.iterable.distinct().toList());
+    }
+
+    @Test
+    public void chunk()
+    {
+        Assert.assertEquals(
+                FastList.newListWith(BooleanArrayList.newListWith(true, false), BooleanArrayList.newListWith(true)),
+                this.iterable.chunk(2).toList());
+    }
+
+    @Test
+    public void zip()
+    {
+        Assert.assertEquals(
+                FastList.newListWith(PrimitiveTuples.pair("a", true), PrimitiveTuples.pair("b", false)),
+                this.iterable.zip(FastList.newListWith("a", "b")).toList());
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.list.immutable;
+
+import com.gs.collections.api.list.ImmutableList;
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link PersistentImmutableList}.
+ */
+public class PersistentImmutableListTest extends AbstractImmutableListTestCase
+{
+    @Override
+    protected ImmutableList<Integer> classUnderTest()
+    {
+        return PersistentImmutableList.newList(Interval.oneTo(3));
+    }
+
+    @Test
+    public void newWithAcrossTrieLevels()
+    {
+        PersistentImmutableList<Integer> list = PersistentImmutableList.empty();
+        MutableList<Integer> expected = FastList.newList();
+        for (int i = 0; i < 40000; i++)
+        {
+            PersistentImmutableList<Integer> previous = list;
+            list = list.newWith(i);
+            expected.add(i);
+            Assert.assertEquals(i, previous.size());
+            if ((i & (i - 1)) == 0 || i % 1057 == 0)
+            {
+                Assert.assertEquals(expected, list);
+                Assert.assertEquals(expected, PersistentImmutableList.newList(expected));
+            }
+        }
+        for (int i = 0; i < 40000; i += 31)
+        {
+            Assert.assertEquals(Integer.valueOf(i), list.get(i));
+        }
+        Assert.assertEquals(expected, list);
+    }
+
+    @Test
+    public void withoutLast()
+    {
+        PersistentImmutableList<Integer> list = PersistentImmutableList.newList(Interval.zeroTo(1100));
+        MutableList<Integer> expected = FastList.newList(Interval.zeroTo(1100));
+        while (list.notEmpty())
+        {
+            list = list.withoutLast();
+            expected.remove(expected.size() - 1);
+            if (expected.size() % 29 == 0 || expected.size() < 70)
+            {
+                Assert.assertEquals(expected, list);
+            }
+            Assert.assertEquals(list.newWith(-1).withoutLast(), list);
+        }
+        Assert.assertSame(PersistentImmutableList.empty(), list);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void withoutLastOfEmpty()
+    {
+        PersistentImmutableList.empty().withoutLast();
+    }
+
+    @Test
+    public void newWithoutFromTheMiddle()
+    {
+        PersistentImmutableList<Integer> list = PersistentImmutableList.newList(Interval.oneTo(100));
+        MutableList<Integer> expected = FastList.newList(Interval.oneTo(100));
+        expected.remove(Integer.valueOf(50));
+        Assert.assertEquals(expected, list.newWithout(50));
+        Verify.assertInstanceOf(PersistentImmutableList.class, list.newWithout(50));
+        Assert.assertSame(list, list.newWithout(101));
+        Assert.assertEquals(Interval.oneTo(99), list.newWithout(100));
+    }
+
+    @Test
+    public void sharesStructure()
+    {
+        PersistentImmutableList<Integer> base = PersistentImmutableList.newList(Interval.oneTo(1000));
+        PersistentImmutableList<Integer> first = base.newWith(1001);
+        PersistentImmutableList<Integer> second = base.newWith(-1);
+        Assert.assertEquals(Interval.oneTo(1000), base);
+        Assert.assertEquals(Interval.oneTo(1001), first);
+        Assert.assertEquals(Integer.valueOf(-1), second.getLast());
+        Assert.assertEquals(1001, second.size());
+    }
+
+    @Test
+    public void serializationOfLargeList()
+    {
+        PersistentImmutableList<Integer> list = PersistentImmutableList.newList(Interval.oneTo(2000));
+        Verify.assertPostSerializedEqualsAndHashCode(list);
+        Verify.assertPostSerializedIdentity(PersistentImmutableList.empty());
+    }
+}
@@ -37,11 +37,14 @@ import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
 import com.gs.collections.api.list.MutableList;
 import com.gs.collections.api.set.MutableSet;
 import com.gs.collections.api.tuple.Twin;
+import com.gs.collections.impl.Counter;
+import com.gs.collections.impl.block.factory.Comparators;
 import com.gs.collections.impl.block.factory.Functions;
 import com.gs.collections.impl.block.factory.Functions0;
 import com.gs.collections.impl.block.factory.Predicates;
 import com.gs.collections.impl.block.factory.Predicates2;
 import com.gs.collections.impl.block.factory.Procedures;
+import com.gs.collections.impl.block.factory.StringFunctions;
 import com.gs.collections.impl.block.function.AddFunction;
 import com.gs.collections.impl.block.function.MaxSizeFunction;
 import com.gs.collections.impl.block.function.MinSizeFunction;
@@ -1177,6 +1180,38 @@ public class FastListTest extends AbstractListTestCase
         }
     }
 
+    @Test
+    public void sortThisParallel()
+    {
+        FastList<Integer> integers = FastList.newList(Interval.oneTo(25000));
+        Collections.shuffle(integers);
+        Assert.assertEquals(Interval.oneTo(25000), integers.sortThisParallel());
+        Assert.assertEquals(Interval.oneTo(25000).reverseThis(), integers.sortThisParallel(Collections.<Integer>reverseOrder()));
+        Assert.assertEquals(FastList.newListWith(1, 2, 3), this.newWith(3, 1, 2).sortThisParallel());
+    }
+
+    @Test
+    public void sortThisByEvaluatesFunctionOncePerElement()
+    {
+        final Counter counter = new Counter();
+        FastList<String> strings = FastList.newList();
+        for (int i = 0; i < 100; i++)
+        {
+            strings.add(String.valueOf(i * 7919 % 1000));
+        }
+        FastList<String> expected = FastList.newList(strings).sortThis(Comparators.byFunction(StringFunctions.length()));
+        strings.sortThisBy(new Function<String, Integer>()
+        {
+            public Integer valueOf(String each)
+            {
+                counter.increment();
+                return each.length();
+            }
+        });
+        Assert.assertEquals(100, counter.getCount());
+        Assert.assertEquals(expected, strings);
+    }
+
     @Test
     public void testNewListWithCollection()
     {
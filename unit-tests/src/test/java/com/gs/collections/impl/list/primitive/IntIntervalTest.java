@@ -271,6 +271,33 @@ public class IntIntervalTest
     {
         Assert.assertEquals(2.5, IntInterval.oneTo(4).median(), 0.0);
         Assert.assertEquals(3.0, IntInterval.oneTo(5).median(), 0.0);
+        Assert.assertEquals(2.5, IntInterval.fromToBy(4, 1, -1).median(), 0.0);
+        Assert.assertEquals(5.0, IntInterval.fromToBy(1, 9, 2).median(), 0.0);
+    }
+
+    @Test
+    public void percentile()
+    {
+        Assert.assertEquals(1.0, IntInterval.oneTo(5).percentile(0.0), 0.0);
+        Assert.assertEquals(1.4, IntInterval.oneTo(5).percentile(10.0), 1.0e-9);
+        Assert.assertEquals(5.0, IntInterval.fromToBy(5, 1, -1).percentile(100.0), 0.0);
+        Assert.assertEquals(2.0, IntInterval.fromToBy(5, 1, -1).percentile(25.0), 0.0);
+        Assert.assertArrayEquals(new double[]{2.0, 3.0, 4.0}, IntInterval.fromToBy(5, 1, -1).quantiles(4), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void percentileThrowsOnInvalidPercentile()
+    {
+        IntInterval.oneTo(5).percentile(-0.5);
+    }
+
+    @Test
+    public void topKAndBottomK()
+    {
+        Assert.assertArrayEquals(new int[]{9, 7}, IntInterval.fromToBy(1, 9, 2).topK(2));
+        Assert.assertArrayEquals(new int[]{9, 7}, IntInterval.fromToBy(9, 1, -2).topK(2));
+        Assert.assertArrayEquals(new int[]{1, 3, 5, 7, 9}, IntInterval.fromToBy(9, 1, -2).bottomK(10));
+        Assert.assertArrayEquals(new int[]{}, IntInterval.oneTo(5).bottomK(0));
     }
 
     @Test
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.map.immutable;
+
+import java.io.Serializable;
+
+import com.gs.collections.api.map.ImmutableMap;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link PersistentImmutableMap}.
+ */
+public class PersistentImmutableMapTest extends ImmutableMapTestCase
+{
+    @Override
+    protected ImmutableMap<Integer, String> classUnderTest()
+    {
+        return PersistentImmutableMap.<Integer, String>newWithKeysValues(1, "1", 2, "2", 3, "3").newWithKeyValue(4, "4");
+    }
+
+    @Override
+    protected int size()
+    {
+        return 4;
+    }
+
+    @Test
+    @Override
+    public void testToString()
+    {
+        Assert.assertEquals(UnifiedMap.newMap(this.classUnderTest().castToMap()).toString(), this.classUnderTest().toString());
+    }
+
+    @Test
+    public void newWithKeyValueAndNewWithoutKey()
+    {
+        PersistentImmutableMap<Integer, Integer> map = PersistentImmutableMap.empty();
+        UnifiedMap<Integer, Integer> expected = UnifiedMap.newMap();
+        for (int i = 0; i < 5000; i++)
+        {
+            map = map.newWithKeyValue(i * 7919, i);
+            expected.put(i * 7919, i);
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+        for (int i = 0; i < 5000; i += 3)
+        {
+            PersistentImmutableMap<Integer, Integer> previous = map;
+            map = map.newWithoutKey(i * 7919);
+            expected.remove(i * 7919);
+            Assert.assertTrue(previous.containsKey(i * 7919));
+            Assert.assertFalse(map.containsKey(i * 7919));
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(expected.size(), map.size());
+        Assert.assertSame(map, map.newWithoutKey(-1));
+        Assert.assertSame(map, map.newWithKeyValue(7919, map.get(7919)));
+    }
+
+    @Test
+    public void nullKey()
+    {
+        PersistentImmutableMap<Integer, String> map = PersistentImmutableMap.newWithKeysValues(null, "null", 1, "1");
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals("null", map.get(null));
+        Assert.assertTrue(map.containsKey(null));
+        Assert.assertEquals(UnifiedMap.newWithKeysValues(null, "null", 1, "1"), map);
+        PersistentImmutableMap<Integer, String> without = map.newWithoutKey(null);
+        Assert.assertFalse(without.containsKey(null));
+        Assert.assertEquals(UnifiedMap.newWithKeysValues(1, "1"), without);
+    }
+
+    @Test
+    public void collidingKeys()
+    {
+        PersistentImmutableMap<CollidingKey, Integer> map = PersistentImmutableMap.empty();
+        UnifiedMap<CollidingKey, Integer> expected = UnifiedMap.newMap();
+        for (int i = 0; i < 100; i++)
+        {
+            map = map.newWithKeyValue(new CollidingKey(i), i);
+            expected.put(new CollidingKey(i), i);
+        }
+        Assert.assertEquals(expected, map);
+        for (int i = 0; i < 100; i += 2)
+        {
+            map = map.newWithoutKey(new CollidingKey(i));
+            expected.remove(new CollidingKey(i));
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(50, map.keySet().size());
+        for (int i = 1; i < 100; i += 2)
+        {
+            map = map.newWithoutKey(new CollidingKey(i));
+        }
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void serialization()
+    {
+        PersistentImmutableMap<Integer, String> map = PersistentImmutableMap.newWithKeysValues(null, "null", 1, "1", 2, "2");
+        Verify.assertPostSerializedEqualsAndHashCode(map);
+        Verify.assertPostSerializedIdentity(PersistentImmutableMap.empty());
+    }
+
+    private static final class CollidingKey implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int value;
+
+        private CollidingKey(int value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            return o instanceof CollidingKey && ((CollidingKey) o).value == this.value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.value % 3;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.map.mutable;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import com.gs.collections.api.block.predicate.Predicate2;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import com.gs.collections.impl.test.SerializeTestHelper;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link OpenAddressUnifiedMap}.
+ */
+public class OpenAddressUnifiedMapTest extends UnifiedMapTestCase
+{
+    @Override
+    public <K, V> MutableMap<K, V> newMap()
+    {
+        return OpenAddressUnifiedMap.newMap();
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeyValue(K key, V value)
+    {
+        return OpenAddressUnifiedMap.newWithKeysValues(key, value);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return OpenAddressUnifiedMap.newWithKeysValues(key1, value1, key2, value2);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(
+            K key1, V value1, K key2, V value2, K key3,
+            V value3)
+    {
+        return OpenAddressUnifiedMap.newWithKeysValues(key1, value1, key2, value2, key3, value3);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(
+            K key1, V value1, K key2, V value2, K key3,
+            V value3, K key4, V value4)
+    {
+        return OpenAddressUnifiedMap.newWithKeysValues(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    /**
+     * Colliding keys are spread over the table as it grows, so they are not iterated in insertion order.
+     */
+    @Override
+    @Test
+    public void iterator_many_collisions()
+    {
+        Assert.assertEquals(MORE_COLLISIONS.toSet(), UnifiedSet.newSet(this.mapWithCollisionsOfSize(9).values()));
+    }
+
+    @Test
+    public void removeAndReinsert()
+    {
+        OpenAddressUnifiedMap<Integer, Integer> map = OpenAddressUnifiedMap.newMap();
+        UnifiedMap<Integer, Integer> expected = UnifiedMap.newMap();
+        for (int i = 0; i < 1000; i++)
+        {
+            Integer key = i << 16;
+            map.put(key, i);
+            expected.put(key, i);
+        }
+        for (int round = 0; round < 5; round++)
+        {
+            for (int i = round; i < 1000; i += 5)
+            {
+                Assert.assertEquals(Integer.valueOf(i), map.remove(i << 16));
+                expected.remove(i << 16);
+            }
+            Assert.assertEquals(expected, map);
+            Verify.assertSize(expected.size(), map);
+        }
+        for (int i = 0; i < 1000; i++)
+        {
+            map.put(i << 16, -i);
+            expected.put(i << 16, -i);
+        }
+        Assert.assertEquals(expected, map);
+    }
+
+    @Test
+    public void iteratorRemoveVisitsEveryKeyOnce()
+    {
+        for (int size = 1; size < 200; size += 7)
+        {
+            OpenAddressUnifiedMap<Integer, Integer> map = OpenAddressUnifiedMap.newMap();
+            for (int i = 0; i < size; i++)
+            {
+                map.put(i * 31, i);
+            }
+            MutableMap<Integer, Integer> visited = UnifiedMap.newMap();
+            Iterator<Map.Entry<Integer, Integer>> iterator = map.entrySet().iterator();
+            while (iterator.hasNext())
+            {
+                Map.Entry<Integer, Integer> entry = iterator.next();
+                Assert.assertNull(visited.put(entry.getKey(), entry.getValue()));
+                if (entry.getValue() % 2 == 0)
+                {
+                    iterator.remove();
+                }
+            }
+            Verify.assertSize(size, visited);
+            Assert.assertEquals(visited.reject(new Predicate2<Integer, Integer>()
+            {
+                public boolean accept(Integer key, Integer value)
+                {
+                    return value % 2 == 0;
+                }
+            }), map);
+        }
+    }
+
+    @Test
+    public void serialization()
+    {
+        OpenAddressUnifiedMap<Integer, String> map = OpenAddressUnifiedMap.newMap();
+        for (Integer each : Interval.oneTo(100))
+        {
+            map.put(each, each.toString());
+        }
+        map.put(null, null);
+        OpenAddressUnifiedMap<Integer, String> copy = SerializeTestHelper.serializeDeserialize(map);
+        Assert.assertEquals(map, copy);
+        Verify.assertInstanceOf(OpenAddressUnifiedMap.class, copy);
+    }
+}
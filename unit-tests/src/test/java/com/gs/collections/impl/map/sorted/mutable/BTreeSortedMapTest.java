@@ -0,0 +1,377 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.map.sorted.mutable;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.gs.collections.api.map.sorted.MutableSortedMap;
+import com.gs.collections.api.set.sorted.MutableSortedSet;
+import com.gs.collections.impl.block.factory.Comparators;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+import com.gs.collections.impl.test.SerializeTestHelper;
+import com.gs.collections.impl.test.Verify;
+import com.gs.collections.impl.tuple.Tuples;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BTreeSortedMapTest extends MutableSortedMapTestCase
+{
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMap()
+    {
+        return BTreeSortedMap.newMap();
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMapWithKeyValue(K key, V value)
+    {
+        return BTreeSortedMap.newMapWith(key, value);
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return BTreeSortedMap.newMapWith(key1, value1, key2, value2);
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMapWithKeysValues(
+            K key1, V value1, K key2, V value2, K key3,
+            V value3)
+    {
+        return BTreeSortedMap.newMapWith(key1, value1, key2, value2, key3, value3);
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMapWithKeysValues(
+            K key1, V value1, K key2, V value2, K key3,
+            V value3, K key4, V value4)
+    {
+        return BTreeSortedMap.newMapWith(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMap(Comparator<? super K> comparator)
+    {
+        return BTreeSortedMap.newMap(comparator);
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMapWithKeyValue(Comparator<? super K> comparator, K key, V value)
+    {
+        return BTreeSortedMap.<K, V>newMap(comparator).with(key, value);
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMapWithKeysValues(Comparator<? super K> comparator, K key1, V value1, K key2, V value2)
+    {
+        return BTreeSortedMap.<K, V>newMap(comparator).with(key1, value1, key2, value2);
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMapWithKeysValues(Comparator<? super K> comparator,
+            K key1, V value1, K key2, V value2, K key3,
+            V value3)
+    {
+        return BTreeSortedMap.<K, V>newMap(comparator).with(key1, value1, key2, value2, key3, value3);
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMapWithKeysValues(Comparator<? super K> comparator,
+            K key1, V value1, K key2, V value2, K key3,
+            V value3, K key4, V value4)
+    {
+        return BTreeSortedMap.<K, V>newMap(comparator).with(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    @Test
+    public void testConstructors()
+    {
+        UnifiedMap<Integer, String> unifiedMap = UnifiedMap.newWithKeysValues(1, "One", 2, "Two", 3, "Three");
+        BTreeSortedMap<Integer, String> sortedMap = BTreeSortedMap.newMap(unifiedMap);
+        BTreeSortedMap<Integer, String> revSortedMap = BTreeSortedMap.newMap(Comparators.<Integer>reverseNaturalOrder(),
+                unifiedMap);
+
+        Verify.assertMapsEqual(unifiedMap, sortedMap);
+        Verify.assertMapsEqual(unifiedMap, revSortedMap);
+        Verify.assertListsEqual(FastList.newListWith(1, 2, 3), sortedMap.keySet().toList());
+        Verify.assertListsEqual(FastList.newListWith(3, 2, 1), revSortedMap.keySet().toList());
+
+        BTreeSortedMap<Integer, String> sortedMap2 = BTreeSortedMap.newMap(revSortedMap);
+        Assert.assertEquals(revSortedMap.comparator(), sortedMap2.comparator());
+        Verify.assertMapsEqual(revSortedMap, sortedMap2);
+    }
+
+    @Test
+    public void newMapWithPairs()
+    {
+        BTreeSortedMap<Integer, Integer> revSortedMap = BTreeSortedMap.newMapWith(Comparators.<Integer>reverseNaturalOrder(),
+                Tuples.pair(1, 4), Tuples.pair(2, 3), Tuples.pair(3, 2), Tuples.pair(4, 1));
+
+        Verify.assertSize(4, revSortedMap);
+
+        Verify.assertMapsEqual(UnifiedMap.newMapWith(Tuples.pair(1, 4), Tuples.pair(2, 3), Tuples.pair(3, 2), Tuples.pair(4, 1)),
+                revSortedMap);
+        Verify.assertListsEqual(FastList.newListWith(4, 3, 2, 1), revSortedMap.keySet().toList());
+        Verify.assertListsEqual(FastList.newListWith(1, 2, 3, 4), revSortedMap.valuesView().toList());
+    }
+
+    @Override
+    @Test
+    public void testClone()
+    {
+        super.testClone();
+        BTreeSortedMap<Integer, Integer> sortedMap = BTreeSortedMap.<Integer, Integer>newMapWith(Tuples.pair(1, 4), Tuples.pair(2, 3), Tuples.pair(3, 2), Tuples.pair(4, 1));
+        MutableSortedMap<Integer, Integer> clone = sortedMap.clone();
+        Assert.assertNotSame(sortedMap, clone);
+        Assert.assertEquals(sortedMap, clone);
+        sortedMap.removeKey(1);
+        Assert.assertTrue(clone.containsKey(1));
+    }
+
+    @Test
+    public void randomOperationsMatchTreeMap()
+    {
+        Random random = new Random(42L);
+        BTreeSortedMap<Integer, Integer> map = BTreeSortedMap.newMap();
+        TreeMap<Integer, Integer> expected = new TreeMap<Integer, Integer>();
+        for (int i = 0; i < 100000; i++)
+        {
+            Integer key = random.nextInt(5000);
+            if (random.nextInt(3) == 0)
+            {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            }
+            else
+            {
+                Assert.assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(expected.toString(), map.toString());
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+        Assert.assertEquals(expected.firstKey(), map.firstKey());
+        Assert.assertEquals(expected.lastKey(), map.lastKey());
+        Verify.assertListsEqual(FastList.newList(expected.keySet()), map.keySet().toList());
+        Verify.assertListsEqual(FastList.newList(expected.values()), map.values().toList());
+    }
+
+    @Test
+    public void ascendingAndDescendingPutsAndRemoves()
+    {
+        BTreeSortedMap<Integer, String> map = BTreeSortedMap.newMap();
+        for (int i = 0; i < 10000; i++)
+        {
+            Assert.assertNull(map.put(i, String.valueOf(i)));
+        }
+        Verify.assertSize(10000, map);
+        Assert.assertEquals(Integer.valueOf(0), map.firstKey());
+        Assert.assertEquals(Integer.valueOf(9999), map.lastKey());
+        for (int i = 9999; i >= 5000; i--)
+        {
+            Assert.assertEquals(String.valueOf(i), map.remove(i));
+        }
+        for (int i = 0; i < 4999; i++)
+        {
+            Assert.assertEquals(String.valueOf(i), map.removeKey(i));
+        }
+        Assert.assertEquals(UnifiedMap.newWithKeysValues(4999, "4999"), map);
+        Assert.assertEquals("4999", map.remove(4999));
+        Verify.assertEmpty(map);
+        Assert.assertNull(map.get(4999));
+    }
+
+    @Test
+    public void bulkLoadFromSortedMap()
+    {
+        for (int size = 0; size < 10000; size = size * 3 + 1)
+        {
+            TreeMap<Integer, Integer> source = new TreeMap<Integer, Integer>(Comparators.<Integer>reverseNaturalOrder());
+            for (int i = 0; i < size; i++)
+            {
+                source.put(i, -i);
+            }
+            BTreeSortedMap<Integer, Integer> map = BTreeSortedMap.newMap(source);
+            Assert.assertEquals(source.comparator(), map.comparator());
+            Assert.assertEquals(source, map);
+            Verify.assertListsEqual(FastList.newList(source.keySet()), map.keySet().toList());
+            for (int i = 0; i < size; i += 2)
+            {
+                Assert.assertEquals(Integer.valueOf(-i), map.remove(i));
+            }
+            for (int i = size; i < size * 2; i++)
+            {
+                map.put(i, -i);
+                source.put(i, -i);
+            }
+            for (int i = 0; i < size; i += 2)
+            {
+                source.remove(i);
+            }
+            Assert.assertEquals(source, map);
+        }
+    }
+
+    @Test
+    public void rangeViews()
+    {
+        BTreeSortedMap<Integer, Integer> map = BTreeSortedMap.newMap();
+        TreeMap<Integer, Integer> expected = new TreeMap<Integer, Integer>();
+        for (int i = 0; i < 3000; i += 3)
+        {
+            map.put(i, i * 2);
+            expected.put(i, i * 2);
+        }
+        int[] bounds = {-5, 0, 1, 2, 3, 100, 191, 192, 193, 1500, 2997, 2998, 3000, 4000};
+        for (int from : bounds)
+        {
+            Assert.assertEquals(expected.tailMap(from), map.tailMap(from));
+            Assert.assertEquals(expected.headMap(from), map.headMap(from));
+            Verify.assertListsEqual(FastList.newList(expected.headMap(from).keySet()), map.headMap(from).keySet().toList());
+            for (int to : bounds)
+            {
+                if (from <= to)
+                {
+                    SortedMap<Integer, Integer> expectedRange = expected.subMap(from, to);
+                    MutableSortedMap<Integer, Integer> range = map.subMap(from, to);
+                    Assert.assertEquals(expectedRange, range);
+                    Assert.assertEquals(expectedRange.size(), range.size());
+                    Assert.assertEquals(expectedRange.isEmpty(), range.isEmpty());
+                    Verify.assertListsEqual(FastList.newList(expectedRange.values()), range.valuesView().toList());
+                    if (!expectedRange.isEmpty())
+                    {
+                        Assert.assertEquals(expectedRange.firstKey(), range.firstKey());
+                        Assert.assertEquals(expectedRange.lastKey(), range.lastKey());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void rangeViewWritesThrough()
+    {
+        BTreeSortedMap<Integer, String> map = BTreeSortedMap.newMap();
+        for (Integer each : Interval.oneTo(1000))
+        {
+            map.put(each, each.toString());
+        }
+        MutableSortedMap<Integer, String> range = map.subMap(100, 900);
+        Verify.assertSize(800, range);
+        Assert.assertEquals(Integer.valueOf(100), range.firstKey());
+        Assert.assertEquals(Integer.valueOf(899), range.lastKey());
+        Assert.assertNull(range.get(900));
+        Assert.assertFalse(range.containsKey(99));
+
+        Iterator<Map.Entry<Integer, String>> iterator = range.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            Map.Entry<Integer, String> entry = iterator.next();
+            if (entry.getKey() % 2 == 0)
+            {
+                iterator.remove();
+            }
+            else
+            {
+                entry.setValue("odd");
+            }
+        }
+        Verify.assertSize(400, range);
+        Verify.assertSize(600, map);
+        Assert.assertEquals("odd", map.get(101));
+        Assert.assertFalse(map.containsKey(100));
+        Assert.assertTrue(map.containsKey(900));
+
+        range.put(500, "500");
+        Assert.assertEquals("500", map.get(500));
+        try
+        {
+            range.put(900, "900");
+            Assert.fail();
+        }
+        catch (IllegalArgumentException ignored)
+        {
+        }
+        try
+        {
+            range.subMap(50, 200);
+            Assert.fail();
+        }
+        catch (IllegalArgumentException ignored)
+        {
+        }
+        Assert.assertEquals(Integer.valueOf(201), range.tailMap(200).firstKey());
+        Assert.assertEquals(Integer.valueOf(199), range.headMap(200).lastKey());
+
+        range.headMap(500).clear();
+        Verify.assertSize(201, range);
+        Assert.assertEquals(Integer.valueOf(500), range.firstKey());
+        Assert.assertTrue(map.containsKey(99));
+
+        map.subMap(0, 2000).clear();
+        Verify.assertEmpty(map);
+        try
+        {
+            range.firstKey();
+            Assert.fail();
+        }
+        catch (NoSuchElementException ignored)
+        {
+        }
+    }
+
+    @Test
+    public void sortedKeySet()
+    {
+        BTreeSortedMap<Integer, Integer> map = BTreeSortedMap.newMap(Comparators.<Integer>reverseNaturalOrder());
+        for (int i = 0; i < 500; i++)
+        {
+            map.put(i, i);
+        }
+        MutableSortedSet<Integer> keys = map.sortedKeySet();
+        Assert.assertEquals(Integer.valueOf(499), keys.first());
+        Assert.assertEquals(Integer.valueOf(0), keys.last());
+        Assert.assertEquals(Interval.fromTo(300, 201), keys.subSet(300, 200).toList());
+        Assert.assertTrue(keys.headSet(100).remove(200));
+        Assert.assertFalse(keys.headSet(100).remove(50));
+        Assert.assertFalse(map.containsKey(200));
+        Verify.assertSize(499, keys);
+    }
+
+    @Test
+    public void serialization()
+    {
+        BTreeSortedMap<Integer, String> map = BTreeSortedMap.newMap(Comparators.<Integer>reverseNaturalOrder());
+        for (Integer each : Interval.oneTo(1000))
+        {
+            map.put(each, each.toString());
+        }
+        BTreeSortedMap<Integer, String> copy = SerializeTestHelper.serializeDeserialize(map);
+        Assert.assertEquals(map, copy);
+        Verify.assertListsEqual(map.keySet().toList(), copy.keySet().toList());
+        copy.put(0, "0");
+        Assert.assertEquals(Integer.valueOf(0), copy.lastKey());
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.map.strategy.mutable;
+
+import com.gs.collections.api.block.HashingStrategy;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.impl.block.factory.HashingStrategies;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+import com.gs.collections.impl.map.mutable.UnifiedMapTestCase;
+import com.gs.collections.impl.merge.Person;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import com.gs.collections.impl.test.SerializeTestHelper;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link OpenAddressUnifiedMapWithHashingStrategy}.
+ */
+public class OpenAddressUnifiedMapWithHashingStrategyTest extends UnifiedMapTestCase
+{
+    private static final HashingStrategy<Object> DEFAULT_STRATEGY =
+            HashingStrategies.nullSafeHashingStrategy(HashingStrategies.defaultStrategy());
+
+    private static final HashingStrategy<Person> LAST_NAME_HASHING_STRATEGY = HashingStrategies.fromFunction(Person.TO_LAST);
+
+    @Override
+    public <K, V> MutableMap<K, V> newMap()
+    {
+        return OpenAddressUnifiedMapWithHashingStrategy.newMap(DEFAULT_STRATEGY);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeyValue(K key, V value)
+    {
+        return OpenAddressUnifiedMapWithHashingStrategy.newWithKeysValues(DEFAULT_STRATEGY, key, value);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return OpenAddressUnifiedMapWithHashingStrategy.newWithKeysValues(DEFAULT_STRATEGY, key1, value1, key2, value2);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(
+            K key1, V value1, K key2, V value2, K key3,
+            V value3)
+    {
+        return OpenAddressUnifiedMapWithHashingStrategy.newWithKeysValues(DEFAULT_STRATEGY, key1, value1, key2, value2, key3, value3);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(
+            K key1, V value1, K key2, V value2, K key3,
+            V value3, K key4, V value4)
+    {
+        return OpenAddressUnifiedMapWithHashingStrategy.newWithKeysValues(DEFAULT_STRATEGY, key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    /**
+     * Colliding keys are spread over the table as it grows, so they are not iterated in insertion order.
+     */
+    @Override
+    @Test
+    public void iterator_many_collisions()
+    {
+        Assert.assertEquals(MORE_COLLISIONS.toSet(), UnifiedSet.newSet(this.mapWithCollisionsOfSize(9).values()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullHashingStrategy()
+    {
+        new OpenAddressUnifiedMapWithHashingStrategy<Object, Object>(null);
+    }
+
+    @Test
+    public void hashingStrategy()
+    {
+        OpenAddressUnifiedMapWithHashingStrategy<Person, Integer> map = OpenAddressUnifiedMapWithHashingStrategy.newWithKeysValues(
+                LAST_NAME_HASHING_STRATEGY,
+                new Person("Jane", "Doe"), 1,
+                new Person("Jane", "Smith"), 2);
+        Assert.assertSame(LAST_NAME_HASHING_STRATEGY, map.hashingStrategy());
+        Assert.assertEquals(Integer.valueOf(1), map.put(new Person("John", "Doe"), 3));
+        Verify.assertSize(2, map);
+        Assert.assertEquals(Integer.valueOf(3), map.get(new Person("Joe", "Doe")));
+        Assert.assertTrue(map.containsKey(new Person("Joe", "Smith")));
+        Assert.assertEquals(Integer.valueOf(2), map.remove(new Person("John", "Smith")));
+        Verify.assertSize(1, map);
+        Assert.assertSame(LAST_NAME_HASHING_STRATEGY, ((OpenAddressUnifiedMapWithHashingStrategy<Person, Integer>) map.clone()).hashingStrategy());
+        Assert.assertSame(LAST_NAME_HASHING_STRATEGY, ((OpenAddressUnifiedMapWithHashingStrategy<Person, Integer>) map.newEmpty()).hashingStrategy());
+    }
+
+    @Test
+    public void computeHashCodeOncePerKey()
+    {
+        final int[] hashCodeCalls = new int[1];
+        HashingStrategy<Integer> countingStrategy = new HashingStrategy<Integer>()
+        {
+            public int computeHashCode(Integer object)
+            {
+                hashCodeCalls[0]++;
+                return object.hashCode();
+            }
+
+            public boolean equals(Integer object1, Integer object2)
+            {
+                return object1.equals(object2);
+            }
+        };
+        OpenAddressUnifiedMapWithHashingStrategy<Integer, Integer> map = OpenAddressUnifiedMapWithHashingStrategy.newMap(countingStrategy);
+        for (int i = 0; i < 1000; i++)
+        {
+            map.put(i, i);
+        }
+        Assert.assertEquals(1000, hashCodeCalls[0]);
+    }
+
+    @Test
+    public void serialization()
+    {
+        OpenAddressUnifiedMapWithHashingStrategy<Integer, String> map = OpenAddressUnifiedMapWithHashingStrategy.newMap(DEFAULT_STRATEGY);
+        for (Integer each : Interval.oneTo(100))
+        {
+            map.put(each, each.toString());
+        }
+        map.put(null, null);
+        OpenAddressUnifiedMapWithHashingStrategy<Integer, String> copy = SerializeTestHelper.serializeDeserialize(map);
+        Assert.assertEquals(map, copy);
+        Assert.assertEquals(UnifiedMap.newMap(map), copy);
+        Verify.assertInstanceOf(OpenAddressUnifiedMapWithHashingStrategy.class, copy);
+    }
+}
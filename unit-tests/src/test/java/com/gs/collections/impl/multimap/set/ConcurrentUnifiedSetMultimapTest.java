@@ -0,0 +1,207 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.multimap.set;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.gs.collections.api.RichIterable;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.collection.MutableCollection;
+import com.gs.collections.api.multimap.Multimap;
+import com.gs.collections.api.multimap.MutableMultimap;
+import com.gs.collections.api.tuple.Pair;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.multimap.AbstractMutableMultimapTestCase;
+import com.gs.collections.impl.parallel.ParallelIterate;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import com.gs.collections.impl.test.Verify;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test of {@link ConcurrentUnifiedSetMultimap}.
+ */
+public class ConcurrentUnifiedSetMultimapTest extends AbstractMutableMultimapTestCase
+{
+    private ExecutorService executor;
+
+    @Before
+    public void setUp()
+    {
+        this.executor = Executors.newFixedThreadPool(20);
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Override
+    public <K, V> ConcurrentUnifiedSetMultimap<K, V> newMultimap()
+    {
+        return ConcurrentUnifiedSetMultimap.newMultimap();
+    }
+
+    @Override
+    public <K, V> ConcurrentUnifiedSetMultimap<K, V> newMultimapWithKeyValue(K key, V value)
+    {
+        ConcurrentUnifiedSetMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key, value);
+        return mutableMultimap;
+    }
+
+    @Override
+    public <K, V> ConcurrentUnifiedSetMultimap<K, V> newMultimapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        ConcurrentUnifiedSetMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        return mutableMultimap;
+    }
+
+    @Override
+    protected <V> MutableCollection<V> createCollection(V... args)
+    {
+        return UnifiedSet.newSetWith(args);
+    }
+
+    @Override
+    public <K, V> Multimap<K, V> newMultimap(Pair<K, V>... pairs)
+    {
+        return ConcurrentUnifiedSetMultimap.newMultimap(pairs);
+    }
+
+    @Override
+    public <K, V> ConcurrentUnifiedSetMultimap<K, V> newMultimapWithKeysValues(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3)
+    {
+        ConcurrentUnifiedSetMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        mutableMultimap.put(key3, value3);
+        return mutableMultimap;
+    }
+
+    @Override
+    public <K, V> ConcurrentUnifiedSetMultimap<K, V> newMultimapWithKeysValues(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3,
+            K key4, V value4)
+    {
+        ConcurrentUnifiedSetMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        mutableMultimap.put(key3, value3);
+        mutableMultimap.put(key4, value4);
+        return mutableMultimap;
+    }
+
+    @Test
+    @Override
+    public void testClear()
+    {
+        MutableMultimap<Integer, Object> multimap =
+                this.<Integer, Object>newMultimapWithKeysValues(1, "One", 2, "Two", 3, "Three", 4, "Four");
+        multimap.clear();
+        Verify.assertEmpty(multimap);
+    }
+
+    @Test
+    @Override
+    public void testToString()
+    {
+        MutableMultimap<String, Integer> multimap =
+                this.newMultimapWithKeysValues("One", 1, "One", 2);
+        String toString = multimap.toString();
+        Assert.assertTrue("{One=[1, 2]}".equals(toString) || "{One=[2, 1]}".equals(toString));
+    }
+
+    @Test
+    public void getReturnsSnapshot()
+    {
+        ConcurrentUnifiedSetMultimap<Integer, Integer> multimap = this.newMultimapWithKeyValue(1, 1);
+        RichIterable<Integer> values = multimap.get(1);
+        multimap.put(1, 2);
+        multimap.clear();
+        Assert.assertEquals(UnifiedSet.newSetWith(1), values);
+        Verify.assertEmpty(multimap);
+    }
+
+    @Test
+    public void concurrentPutAndRemove()
+    {
+        final ConcurrentUnifiedSetMultimap<Integer, Integer> multimap = this.newMultimap();
+        ParallelIterate.forEach(Interval.oneTo(20000), new Procedure<Integer>()
+        {
+            public void value(Integer each)
+            {
+                Assert.assertTrue(multimap.put(each % 100, each));
+            }
+        }, 100, this.executor);
+        Verify.assertSize(20000, multimap);
+        Assert.assertEquals(100, multimap.sizeDistinct());
+        for (int i = 0; i < 100; i++)
+        {
+            Verify.assertSize(200, multimap.get(i));
+        }
+
+        ParallelIterate.forEach(Interval.oneTo(20000), new Procedure<Integer>()
+        {
+            public void value(Integer each)
+            {
+                Assert.assertTrue(multimap.remove(each % 100, each));
+            }
+        }, 100, this.executor);
+        Verify.assertEmpty(multimap);
+        Assert.assertEquals(0, multimap.sizeDistinct());
+    }
+
+    @Test
+    public void concurrentReadsDuringWrites()
+    {
+        final ConcurrentUnifiedSetMultimap<Integer, Integer> multimap = this.newMultimap();
+        ParallelIterate.forEach(Interval.oneTo(20000), new Procedure<Integer>()
+        {
+            public void value(Integer each)
+            {
+                final int key = each % 10;
+                if (each % 2 == 0)
+                {
+                    multimap.put(key, each);
+                }
+                else
+                {
+                    multimap.get(key).forEach(new Procedure<Integer>()
+                    {
+                        public void value(Integer value)
+                        {
+                            Assert.assertEquals(key, value % 10);
+                        }
+                    });
+                }
+            }
+        }, 100, this.executor);
+        Verify.assertSize(10000, multimap);
+    }
+}
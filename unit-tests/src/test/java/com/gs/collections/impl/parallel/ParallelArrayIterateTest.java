@@ -16,7 +16,13 @@
 
 package com.gs.collections.impl.parallel;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+
 import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.impl.block.factory.Comparators;
+import com.gs.collections.impl.block.factory.StringFunctions;
 import com.gs.collections.impl.list.Interval;
 import com.gs.collections.impl.math.IntegerSum;
 import com.gs.collections.impl.math.LongSum;
@@ -175,4 +181,58 @@ public class ParallelArrayIterateTest
     {
         ArrayIterate.forEach(array, new SumProcedure<Object>(linearSum));
     }
+
+    @Test
+    public void sort()
+    {
+        Integer[] array = new Integer[1000];
+        for (int i = 0; i < array.length; i++)
+        {
+            array[i] = i * 7919 % 257;
+        }
+        Integer[] expected = array.clone();
+        Arrays.sort(expected);
+        ParallelArrayIterate.sort(array, array.length, null, 10, 7, ParallelIterate.EXECUTOR_SERVICE);
+        Assert.assertArrayEquals(expected, array);
+
+        Arrays.sort(expected, Collections.reverseOrder());
+        ParallelArrayIterate.sort(array, array.length, Collections.<Integer>reverseOrder(), 10, 8, ParallelIterate.EXECUTOR_SERVICE);
+        Assert.assertArrayEquals(expected, array);
+    }
+
+    @Test
+    public void sortPrefix()
+    {
+        Integer[] array = {5, 4, 3, 2, 1, 0};
+        ParallelArrayIterate.sort(array, 4, null, 1, 3, ParallelIterate.EXECUTOR_SERVICE);
+        Assert.assertArrayEquals(new Integer[]{2, 3, 4, 5, 1, 0}, array);
+    }
+
+    @Test
+    public void sortIsStable()
+    {
+        String[] array = new String[500];
+        for (int i = 0; i < array.length; i++)
+        {
+            array[i] = String.valueOf(i * 7919 % 1000);
+        }
+        Comparator<String> byLength = Comparators.byFunction(StringFunctions.length());
+        String[] expected = array.clone();
+        Arrays.sort(expected, byLength);
+        ParallelArrayIterate.sort(array, array.length, byLength, 10, 16, ParallelIterate.EXECUTOR_SERVICE);
+        Assert.assertArrayEquals(expected, array);
+    }
+
+    @Test
+    public void sortException()
+    {
+        final Object[] array = {1, "2", 3, "4"};
+        Verify.assertThrows(RuntimeException.class, new Runnable()
+        {
+            public void run()
+            {
+                ParallelArrayIterate.sort(array, array.length, null, 1, 2, ParallelIterate.EXECUTOR_SERVICE);
+            }
+        });
+    }
 }
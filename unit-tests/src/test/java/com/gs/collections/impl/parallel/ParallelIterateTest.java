@@ -22,6 +22,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -32,6 +34,7 @@ import com.gs.collections.api.bag.Bag;
 import com.gs.collections.api.block.function.Function;
 import com.gs.collections.api.block.function.Function0;
 import com.gs.collections.api.block.function.Function2;
+import com.gs.collections.api.block.function.primitive.DoubleFunction;
 import com.gs.collections.api.block.predicate.Predicate;
 import com.gs.collections.api.block.procedure.Procedure;
 import com.gs.collections.api.block.procedure.Procedure2;
@@ -44,9 +47,12 @@ import com.gs.collections.api.multimap.Multimap;
 import com.gs.collections.api.multimap.MutableMultimap;
 import com.gs.collections.api.set.MutableSet;
 import com.gs.collections.impl.bag.mutable.HashBag;
+import com.gs.collections.impl.block.factory.Comparators;
 import com.gs.collections.impl.block.factory.Functions;
 import com.gs.collections.impl.block.factory.HashingStrategies;
+import com.gs.collections.impl.block.factory.IntegerPredicates;
 import com.gs.collections.impl.block.factory.Predicates;
+import com.gs.collections.impl.block.factory.PrimitiveFunctions;
 import com.gs.collections.impl.block.factory.StringFunctions;
 import com.gs.collections.impl.factory.Lists;
 import com.gs.collections.impl.list.Interval;
@@ -55,6 +61,8 @@ import com.gs.collections.impl.list.mutable.CompositeFastList;
 import com.gs.collections.impl.list.mutable.FastList;
 import com.gs.collections.impl.list.mutable.ListAdapter;
 import com.gs.collections.impl.map.mutable.UnifiedMap;
+import com.gs.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+import com.gs.collections.impl.map.mutable.primitive.ObjectLongHashMap;
 import com.gs.collections.impl.multimap.bag.HashBagMultimap;
 import com.gs.collections.impl.multimap.bag.SynchronizedPutHashBagMultimap;
 import com.gs.collections.impl.multimap.set.SynchronizedPutUnifiedSetMultimap;
@@ -62,6 +70,7 @@ import com.gs.collections.impl.set.mutable.UnifiedSet;
 import com.gs.collections.impl.set.strategy.mutable.UnifiedSetWithHashingStrategy;
 import com.gs.collections.impl.test.Verify;
 import com.gs.collections.impl.utility.ArrayIterate;
+import com.gs.collections.impl.utility.Iterate;
 import com.gs.collections.impl.utility.LazyIterate;
 import org.junit.After;
 import org.junit.Assert;
@@ -313,6 +322,169 @@ public class ParallelIterateTest
         });
     }
 
+    @Test
+    public void forEachWithParallelismPolicy()
+    {
+        this.iterables.forEach(new Procedure<RichIterable<Integer>>()
+        {
+            public void value(RichIterable<Integer> each)
+            {
+                ParallelIterateTest.this.basicForEachWithParallelismPolicy(each);
+            }
+        });
+    }
+
+    private void basicForEachWithParallelismPolicy(RichIterable<Integer> iterable)
+    {
+        final AtomicInteger adaptiveSum = new AtomicInteger(0);
+        ParallelIterate.forEach(iterable, new Procedure<Integer>()
+        {
+            public void value(Integer each)
+            {
+                adaptiveSum.addAndGet(each);
+            }
+        }, new AdaptiveParallelismPolicy());
+        Assert.assertEquals(20100, adaptiveSum.get());
+
+        final AtomicInteger fixedSum = new AtomicInteger(0);
+        ParallelIterate.forEach(iterable, new Procedure<Integer>()
+        {
+            public void value(Integer each)
+            {
+                fixedSum.addAndGet(each);
+            }
+        }, new FixedParallelismPolicy(6), this.executor);
+        Assert.assertEquals(20100, fixedSum.get());
+    }
+
+    @Test
+    public void forEachWithParallelismPolicyCombinesChunksInOrder()
+    {
+        MutableList<Integer> list = Interval.oneTo(20000).toList();
+        FastListCollectProcedureCombiner<Integer, String> combiner =
+                new FastListCollectProcedureCombiner<Integer, String>(list, FastList.<String>newList(), list.size(), false);
+        ParallelIterate.forEach(
+                list,
+                new FastListCollectProcedureFactory<Integer, String>(Functions.getToString(), 100),
+                combiner,
+                new AdaptiveParallelismPolicy(4, 1, 1000L),
+                this.executor);
+        Assert.assertEquals(list.collect(Functions.getToString()), combiner.getResult());
+    }
+
+    @Test
+    public void forEachBlocking()
+    {
+        this.iterables.forEach(new Procedure<RichIterable<Integer>>()
+        {
+            public void value(RichIterable<Integer> each)
+            {
+                ParallelIterateTest.this.basicForEachBlocking(each);
+            }
+        });
+    }
+
+    private void basicForEachBlocking(RichIterable<Integer> iterable)
+    {
+        final AtomicInteger sum1 = new AtomicInteger(0);
+        ParallelIterate.forEachBlocking(iterable, new Procedure<Integer>()
+        {
+            public void value(Integer each)
+            {
+                sum1.addAndGet(each);
+            }
+        }, 3);
+        Assert.assertEquals(20100, sum1.get());
+
+        final AtomicInteger sum2 = new AtomicInteger(0);
+        ParallelIterate.forEachBlocking(iterable, new Procedure<Integer>()
+        {
+            public void value(Integer each)
+            {
+                sum2.addAndGet(each);
+            }
+        }, 3, 7, this.executor);
+        Assert.assertEquals(20100, sum2.get());
+    }
+
+    @Test
+    public void forEachBlockingRespectsConcurrencyLimit()
+    {
+        final AtomicInteger running = new AtomicInteger(0);
+        final AtomicInteger maxRunning = new AtomicInteger(0);
+        ParallelIterate.forEachBlocking(Interval.oneTo(100), new Procedure<Integer>()
+        {
+            public void value(Integer each)
+            {
+                int nowRunning = running.incrementAndGet();
+                int max = maxRunning.get();
+                while (nowRunning > max && !maxRunning.compareAndSet(max, nowRunning))
+                {
+                    max = maxRunning.get();
+                }
+                try
+                {
+                    Thread.sleep(1L);
+                }
+                catch (InterruptedException e)
+                {
+                    throw new RuntimeException(e);
+                }
+                running.decrementAndGet();
+            }
+        }, 4);
+        Assert.assertTrue(maxRunning.get() <= 4);
+    }
+
+    @Test
+    public void collectBlocking()
+    {
+        this.iterables.forEach(new Procedure<RichIterable<Integer>>()
+        {
+            public void value(RichIterable<Integer> each)
+            {
+                ParallelIterateTest.this.basicCollectBlocking(each);
+            }
+        });
+    }
+
+    private void basicCollectBlocking(RichIterable<Integer> iterable)
+    {
+        MutableList<String> expected = FastList.newList(iterable).collect(Functions.getToString());
+        Assert.assertEquals(expected, ParallelIterate.collectBlocking(iterable, Functions.getToString(), 3));
+        Assert.assertEquals(expected, ParallelIterate.collectBlocking(iterable, Functions.getToString(), 3, 7, this.executor));
+    }
+
+    @Test
+    public void forEachWithParallelismPolicyAndException()
+    {
+        Verify.assertThrows(RuntimeException.class, new Runnable()
+        {
+            public void run()
+            {
+                ParallelIterate.forEach(createIntegerList(5), EXCEPTION_PROCEDURE, new AdaptiveParallelismPolicy());
+            }
+        });
+    }
+
+    @Test
+    public void adaptiveParallelismPolicy()
+    {
+        AdaptiveParallelismPolicy policy = new AdaptiveParallelismPolicy(4, 10, 1000L);
+        Assert.assertEquals(4, policy.getTaskCount(1000000));
+        Assert.assertEquals(10, policy.getChunkSize(1000000, 4, 0, 0L));
+        Assert.assertEquals(1000, policy.getChunkSize(1000000, 4, 100, 100L));
+        Assert.assertEquals(125, policy.getChunkSize(1000, 4, 100, 1L));
+        Assert.assertEquals(10, policy.getChunkSize(1000000, 4, 10, 1000000L));
+        Verify.assertThrows(IllegalArgumentException.class, new Runnable()
+        {
+            public void run()
+            {
+                new AdaptiveParallelismPolicy(0, 1, 1L);
+            }
+        });
+    }
+
     @Test
     public void testForEachWithIndexToArrayUsingFastListSerialPath()
     {
@@ -466,6 +638,254 @@ public class ParallelIterateTest
         Assert.assertEquals(100, actual2);
     }
 
+    @Test
+    public void detect()
+    {
+        this.iterables.forEach(new Procedure<RichIterable<Integer>>()
+        {
+            public void value(RichIterable<Integer> each)
+            {
+                ParallelIterateTest.this.basicDetect(each);
+            }
+        });
+    }
+
+    private void basicDetect(RichIterable<Integer> iterable)
+    {
+        Integer anyMatch = ParallelIterate.detect(iterable, Predicates.greaterThan(150));
+        Assert.assertTrue(anyMatch > 150);
+        Integer anyMatchInBatches = ParallelIterate.detect(iterable, Predicates.greaterThan(150), false, 6, this.executor);
+        Assert.assertTrue(anyMatchInBatches > 150);
+        Assert.assertEquals(
+                Iterate.detect(iterable, Predicates.greaterThan(150)),
+                ParallelIterate.detect(iterable, Predicates.greaterThan(150), true, 6, this.executor));
+        Assert.assertNull(ParallelIterate.detect(iterable, Predicates.greaterThan(200), false, 6, this.executor));
+    }
+
+    @Test
+    public void detectInEncounterOrder()
+    {
+        MutableList<Integer> list = Interval.oneTo(100000).toList();
+        for (int i = 0; i < 10; i++)
+        {
+            Assert.assertEquals(
+                    Integer.valueOf(1000),
+                    ParallelIterate.detect(list, IntegerPredicates.isEven().and(Predicates.greaterThan(999)), true, 100, this.executor));
+        }
+    }
+
+    @Test
+    public void detectInEncounterOrderWithoutRandomAccess()
+    {
+        MutableList<Integer> list = ListAdapter.adapt(new LinkedList<Integer>(Interval.oneTo(100000)));
+        for (int i = 0; i < 10; i++)
+        {
+            Assert.assertEquals(
+                    Integer.valueOf(1000),
+                    ParallelIterate.detect(list, IntegerPredicates.isEven().and(Predicates.greaterThan(999)), true, 100, this.executor));
+        }
+        Assert.assertNull(ParallelIterate.detect(list, Predicates.greaterThan(100000), true, 100, this.executor));
+    }
+
+    @Test
+    public void detectShortCircuitsWithoutRandomAccess()
+    {
+        final AtomicInteger evaluated = new AtomicInteger(0);
+        Predicate<Integer> isFirst = new Predicate<Integer>()
+        {
+            public boolean accept(Integer each)
+            {
+                evaluated.incrementAndGet();
+                return each == 1;
+            }
+        };
+        Assert.assertTrue(ParallelIterate.anySatisfy(Interval.oneTo(1000000).toSet(), isFirst, 1000, this.executor));
+        Assert.assertTrue(evaluated.get() < 1000000 / 2);
+    }
+
+    @Test
+    public void detectShortCircuits()
+    {
+        final AtomicInteger evaluated = new AtomicInteger(0);
+        Predicate<Integer> isFirst = new Predicate<Integer>()
+        {
+            public boolean accept(Integer each)
+            {
+                evaluated.incrementAndGet();
+                return each == 1;
+            }
+        };
+        Assert.assertTrue(ParallelIterate.anySatisfy(Interval.oneTo(1000000).toList(), isFirst, 1000, this.executor));
+        Assert.assertTrue(evaluated.get() < 1000000 / 2);
+    }
+
+    @Test
+    public void anySatisfyAllSatisfyNoneSatisfy()
+    {
+        this.iterables.forEach(new Procedure<RichIterable<Integer>>()
+        {
+            public void value(RichIterable<Integer> each)
+            {
+                ParallelIterateTest.this.basicSatisfy(each);
+            }
+        });
+    }
+
+    private void basicSatisfy(RichIterable<Integer> iterable)
+    {
+        Assert.assertTrue(ParallelIterate.anySatisfy(iterable, Predicates.greaterThan(199)));
+        Assert.assertFalse(ParallelIterate.anySatisfy(iterable, Predicates.greaterThan(200), 6, this.executor));
+        Assert.assertTrue(ParallelIterate.allSatisfy(iterable, Predicates.lessThan(201)));
+        Assert.assertFalse(ParallelIterate.allSatisfy(iterable, Predicates.lessThan(200), 6, this.executor));
+        Assert.assertTrue(ParallelIterate.noneSatisfy(iterable, Predicates.greaterThan(200)));
+        Assert.assertFalse(ParallelIterate.noneSatisfy(iterable, Predicates.greaterThan(199), 6, this.executor));
+    }
+
+    @Test
+    public void detectWithException()
+    {
+        Verify.assertThrows(RuntimeException.class, new Runnable()
+        {
+            public void run()
+            {
+                ParallelIterate.anySatisfy(Interval.oneTo(100).toList(), new Predicate<Integer>()
+                {
+                    public boolean accept(Integer each)
+                    {
+                        throw new RuntimeException("Thread death on its way!");
+                    }
+                }, 10, ParallelIterateTest.this.executor);
+            }
+        });
+    }
+
+    @Test
+    public void sumOf()
+    {
+        this.iterables.forEach(new Procedure<RichIterable<Integer>>()
+        {
+            public void value(RichIterable<Integer> each)
+            {
+                ParallelIterateTest.this.basicSumOf(each);
+            }
+        });
+    }
+
+    private void basicSumOf(RichIterable<Integer> iterable)
+    {
+        Assert.assertEquals(20100L, ParallelIterate.sumOfInt(iterable, PrimitiveFunctions.unboxIntegerToInt()));
+        Assert.assertEquals(20100L, ParallelIterate.sumOfInt(iterable, PrimitiveFunctions.unboxIntegerToInt(), 6, this.executor));
+        Assert.assertEquals(20100L, ParallelIterate.sumOfLong(iterable, PrimitiveFunctions.unboxIntegerToLong()));
+        Assert.assertEquals(20100L, ParallelIterate.sumOfLong(iterable, PrimitiveFunctions.unboxIntegerToLong(), 6, this.executor));
+        Assert.assertEquals(20100.0, ParallelIterate.sumOfFloat(iterable, PrimitiveFunctions.unboxIntegerToFloat()), 0.0);
+        Assert.assertEquals(20100.0, ParallelIterate.sumOfFloat(iterable, PrimitiveFunctions.unboxIntegerToFloat(), 6, this.executor), 0.0);
+        Assert.assertEquals(20100.0, ParallelIterate.sumOfDouble(iterable, PrimitiveFunctions.unboxIntegerToDouble()), 0.0);
+        Assert.assertEquals(20100.0, ParallelIterate.sumOfDouble(iterable, PrimitiveFunctions.unboxIntegerToDouble(), 6, this.executor), 0.0);
+    }
+
+    @Test
+    public void sumOfDoubleIsCompensated()
+    {
+        MutableList<Double> tenths = FastList.newList(Collections.nCopies(100000, 0.1));
+        DoubleFunction<Double> unbox = new DoubleFunction<Double>()
+        {
+            public double doubleValueOf(Double each)
+            {
+                return each;
+            }
+        };
+        Assert.assertEquals(10000.0, ParallelIterate.sumOfDouble(tenths, unbox, 1000, this.executor), 1.0e-10);
+        Assert.assertEquals(
+                10000.0,
+                ParallelIterate.sumByDouble(tenths, Functions.<Double, String>getFixedValue("tenths"), unbox, 1000, this.executor).get("tenths"),
+                1.0e-10);
+    }
+
+    @Test
+    public void sumOfDoubleCombinesBatchesInOrder()
+    {
+        final Random random = new Random(42L);
+        MutableList<Double> values = Interval.oneTo(100000).toList().collect(new Function<Integer, Double>()
+        {
+            public Double valueOf(Integer each)
+            {
+                return random.nextDouble() * Math.pow(10.0, random.nextInt(20) - 10);
+            }
+        });
+        DoubleFunction<Double> unbox = new DoubleFunction<Double>()
+        {
+            public double doubleValueOf(Double each)
+            {
+                return each;
+            }
+        };
+        double expected = ParallelIterate.sumOfDouble(values, unbox, 1000, this.executor);
+        for (int i = 0; i < 10; i++)
+        {
+            Assert.assertEquals(expected, ParallelIterate.sumOfDouble(values, unbox, 1000, this.executor), 0.0);
+        }
+    }
+
+    @Test
+    public void sumBy()
+    {
+        this.iterables.forEach(new Procedure<RichIterable<Integer>>()
+        {
+            public void value(RichIterable<Integer> each)
+            {
+                ParallelIterateTest.this.basicSumBy(each);
+            }
+        });
+    }
+
+    private void basicSumBy(RichIterable<Integer> iterable)
+    {
+        ObjectLongHashMap<String> expectedLongs = ObjectLongHashMap.newWithKeysValues("Even", 10100L, "Odd", 10000L);
+        Assert.assertEquals(expectedLongs, ParallelIterate.sumByInt(iterable, EVEN_OR_ODD, PrimitiveFunctions.unboxIntegerToInt()));
+        Assert.assertEquals(expectedLongs, ParallelIterate.sumByInt(iterable, EVEN_OR_ODD, PrimitiveFunctions.unboxIntegerToInt(), 6, this.executor));
+        Assert.assertEquals(expectedLongs, ParallelIterate.sumByLong(iterable, EVEN_OR_ODD, PrimitiveFunctions.unboxIntegerToLong()));
+        Assert.assertEquals(expectedLongs, ParallelIterate.sumByLong(iterable, EVEN_OR_ODD, PrimitiveFunctions.unboxIntegerToLong(), 6, this.executor));
+
+        ObjectDoubleHashMap<String> expectedDoubles = ObjectDoubleHashMap.newWithKeysValues("Even", 10100.0, "Odd", 10000.0);
+        Assert.assertEquals(expectedDoubles, ParallelIterate.sumByFloat(iterable, EVEN_OR_ODD, PrimitiveFunctions.unboxIntegerToFloat()));
+        Assert.assertEquals(expectedDoubles, ParallelIterate.sumByFloat(iterable, EVEN_OR_ODD, PrimitiveFunctions.unboxIntegerToFloat(), 6, this.executor));
+        Assert.assertEquals(expectedDoubles, ParallelIterate.sumByDouble(iterable, EVEN_OR_ODD, PrimitiveFunctions.unboxIntegerToDouble()));
+        Assert.assertEquals(expectedDoubles, ParallelIterate.sumByDouble(iterable, EVEN_OR_ODD, PrimitiveFunctions.unboxIntegerToDouble(), 6, this.executor));
+    }
+
+    @Test
+    public void minAndMax()
+    {
+        this.iterables.forEach(new Procedure<RichIterable<Integer>>()
+        {
+            public void value(RichIterable<Integer> each)
+            {
+                ParallelIterateTest.this.basicMinAndMax(each);
+            }
+        });
+    }
+
+    private void basicMinAndMax(RichIterable<Integer> iterable)
+    {
+        Assert.assertEquals(Integer.valueOf(1), ParallelIterate.min(iterable, Comparators.naturalOrder()));
+        Assert.assertEquals(Integer.valueOf(1), ParallelIterate.min(iterable, Comparators.naturalOrder(), 6, this.executor));
+        Assert.assertEquals(Integer.valueOf(200), ParallelIterate.max(iterable, Comparators.naturalOrder()));
+        Assert.assertEquals(Integer.valueOf(200), ParallelIterate.max(iterable, Comparators.naturalOrder(), 6, this.executor));
+        Assert.assertEquals(Integer.valueOf(200), ParallelIterate.min(iterable, Comparators.reverseNaturalOrder(), 6, this.executor));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void minOfEmpty()
+    {
+        ParallelIterate.min(FastList.<Integer>newList(), Comparators.naturalOrder());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void maxOfEmpty()
+    {
+        ParallelIterate.max(UnifiedSet.<Integer>newSet(), Comparators.naturalOrder(), 6, this.executor);
+    }
+
     @Test
     public void reject()
     {
@@ -689,6 +1109,67 @@ public class ParallelIterateTest
         Assert.assertEquals(9000, aggregation.get("3").intValue());
     }
 
+    @Test
+    public void aggregateByWithMergeFunction()
+    {
+        Function2<Integer, Integer, Integer> sumAggregator = new Function2<Integer, Integer, Integer>()
+        {
+            public Integer value(Integer aggregate, Integer value)
+            {
+                return aggregate + value;
+            }
+        };
+        MutableList<Integer> list = LazyIterate.adapt(Collections.nCopies(1000, 1))
+                .concatenate(Collections.nCopies(2000, 2))
+                .concatenate(Collections.nCopies(3000, 3))
+                .toList();
+        Collections.shuffle(list);
+        MapIterable<String, Integer> aggregation =
+                ParallelIterate.aggregateBy(list, Functions.getToString(), INTEGER_NEW, sumAggregator, sumAggregator, 70, this.executor);
+        Assert.assertEquals(UnifiedMap.newWithKeysValues("1", 1000, "2", 4000, "3", 9000), aggregation);
+
+        Function2<Integer, Integer, Integer> countAggregator = new Function2<Integer, Integer, Integer>()
+        {
+            public Integer value(Integer aggregate, Integer value)
+            {
+                return aggregate + 1;
+            }
+        };
+        Assert.assertEquals(
+                UnifiedMap.newWithKeysValues("Even", 10000, "Odd", 10000),
+                ParallelIterate.aggregateBy(Interval.oneTo(20000), EVEN_OR_ODD, INTEGER_NEW, countAggregator, sumAggregator));
+        Verify.assertEmpty(ParallelIterate.aggregateBy(FastList.<Integer>newList(), EVEN_OR_ODD, INTEGER_NEW, countAggregator, sumAggregator));
+    }
+
+    @Test
+    public void groupByMerged()
+    {
+        LazyIterable<Integer> iterable = Interval.oneTo(1000).concatenate(Interval.oneTo(1000)).concatenate(Interval.oneTo(1000));
+        Multimap<String, Integer> expected = iterable.toList().groupBy(Functions.getToString());
+        Assert.assertEquals(expected, ParallelIterate.groupByMerged(iterable.toList(), Functions.getToString(), 70, this.executor));
+        Assert.assertEquals(expected, ParallelIterate.groupByMerged(iterable.toList(), Functions.getToString()));
+        Assert.assertEquals(
+                HashBagMultimap.newMultimap(iterable.toSet().groupBy(Functions.getToString())),
+                HashBagMultimap.newMultimap(ParallelIterate.groupByMerged(iterable.toSet(), Functions.getToString(), 70)));
+
+        MutableList<Integer> source = Interval.oneTo(10000).toList();
+        Multimap<Integer, Integer> byRemainder = ParallelIterate.groupByMerged(source, new Function<Integer, Integer>()
+        {
+            public Integer valueOf(Integer each)
+            {
+                return each % 3;
+            }
+        }, 100, this.executor);
+        Assert.assertEquals(source.select(Predicates.attributeEqual(new Function<Integer, Integer>()
+        {
+            public Integer valueOf(Integer each)
+            {
+                return each % 3;
+            }
+        }, 1)), byRemainder.get(1));
+        Verify.assertEmpty(ParallelIterate.groupByMerged(FastList.<Integer>newList(), Functions.getToString()));
+    }
+
     private static List<Integer> createIntegerList(int size)
     {
         return Collections.nCopies(size, Integer.valueOf(1));
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.set.immutable;
+
+import com.gs.collections.api.set.ImmutableSet;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link PersistentImmutableSet}.
+ */
+public class PersistentImmutableSetTest extends AbstractImmutableUnifiedSetTestCase
+{
+    @Override
+    public ImmutableSet<Integer> newSet(Integer... elements)
+    {
+        return PersistentImmutableSet.newSetWith(elements);
+    }
+
+    @Override
+    public ImmutableSet<Integer> newSetWith(int one, int two)
+    {
+        return PersistentImmutableSet.newSetWith(one, two);
+    }
+
+    @Override
+    public ImmutableSet<Integer> newSetWith(int one, int two, int three)
+    {
+        return PersistentImmutableSet.newSetWith(one, two, three);
+    }
+
+    @Override
+    public ImmutableSet<Integer> newSetWith(int... littleElements)
+    {
+        Integer[] bigElements = new Integer[littleElements.length];
+        for (int i = 0; i < littleElements.length; i++)
+        {
+            bigElements[i] = littleElements[i];
+        }
+        return PersistentImmutableSet.newSetWith(bigElements);
+    }
+
+    @Test
+    public void newWithAndNewWithout()
+    {
+        PersistentImmutableSet<Integer> set = PersistentImmutableSet.newSet(Interval.oneTo(3000));
+        UnifiedSet<Integer> expected = UnifiedSet.newSet(Interval.oneTo(3000));
+        Verify.assertSetsEqual(expected, set);
+        Assert.assertSame(set, set.newWith(1));
+        Assert.assertSame(set, set.newWithout(0));
+        PersistentImmutableSet<Integer> without = set.newWithout(1500);
+        Assert.assertEquals(3000, set.size());
+        Assert.assertEquals(2999, without.size());
+        Assert.assertFalse(without.contains(1500));
+        Verify.assertSetsEqual(UnifiedSet.newSet(Interval.oneTo(3000)).without(1500), without);
+        Assert.assertSame(PersistentImmutableSet.empty(), set.newWithoutAll(Interval.oneTo(3000)));
+    }
+
+    @Test
+    public void serialization()
+    {
+        PersistentImmutableSet<Integer> set = PersistentImmutableSet.newSet(Interval.oneTo(100)).newWith(null);
+        Verify.assertPostSerializedEqualsAndHashCode(set);
+        Verify.assertPostSerializedIdentity(PersistentImmutableSet.empty());
+    }
+}
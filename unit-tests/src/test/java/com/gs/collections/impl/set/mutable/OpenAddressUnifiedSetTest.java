@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.set.mutable;
+
+import java.util.Iterator;
+
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.set.MutableSet;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.test.SerializeTestHelper;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test suite for {@link OpenAddressUnifiedSet}.
+ */
+public class OpenAddressUnifiedSetTest extends AbstractMutableSetTestCase
+{
+    @Override
+    protected <T> MutableSet<T> classUnderTest()
+    {
+        return OpenAddressUnifiedSet.newSet();
+    }
+
+    @Test
+    public void removeAndReinsert()
+    {
+        OpenAddressUnifiedSet<Integer> set = OpenAddressUnifiedSet.newSet();
+        UnifiedSet<Integer> expected = UnifiedSet.newSet();
+        for (int i = 0; i < 1000; i++)
+        {
+            set.add(i << 16);
+            expected.add(i << 16);
+        }
+        for (int round = 0; round < 5; round++)
+        {
+            for (int i = round; i < 1000; i += 5)
+            {
+                Assert.assertTrue(set.remove(i << 16));
+                Assert.assertFalse(set.remove(i << 16));
+                expected.remove(i << 16);
+            }
+            Verify.assertSetsEqual(expected, set);
+        }
+        for (int i = 0; i < 1000; i++)
+        {
+            Assert.assertTrue(set.add(i << 16));
+        }
+        Verify.assertSize(1000, set);
+    }
+
+    @Test
+    public void iteratorRemoveVisitsEveryElementOnce()
+    {
+        for (int size = 1; size < 200; size += 7)
+        {
+            OpenAddressUnifiedSet<Integer> set = OpenAddressUnifiedSet.newSet();
+            for (int i = 0; i < size; i++)
+            {
+                set.add(i * 31);
+            }
+            MutableSet<Integer> visited = UnifiedSet.newSet();
+            Iterator<Integer> iterator = set.iterator();
+            while (iterator.hasNext())
+            {
+                Integer each = iterator.next();
+                Assert.assertTrue(visited.add(each));
+                if (each % 2 == 0)
+                {
+                    iterator.remove();
+                }
+            }
+            Verify.assertSize(size, visited);
+            Verify.assertSetsEqual(visited.select(new Predicate<Integer>()
+            {
+                public boolean accept(Integer each)
+                {
+                    return each % 2 != 0;
+                }
+            }), set);
+        }
+    }
+
+    @Test
+    public void serialization()
+    {
+        OpenAddressUnifiedSet<Integer> set = OpenAddressUnifiedSet.newSet(Interval.oneTo(100));
+        set.add(null);
+        OpenAddressUnifiedSet<Integer> copy = SerializeTestHelper.serializeDeserialize(set);
+        Verify.assertSetsEqual(set, copy);
+        Verify.assertInstanceOf(OpenAddressUnifiedSet.class, copy);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.set.mutable;
+
+import com.gs.collections.api.block.HashingStrategy;
+import com.gs.collections.api.set.MutableSet;
+import com.gs.collections.impl.block.factory.HashingStrategies;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.merge.Person;
+import com.gs.collections.impl.set.strategy.mutable.OpenAddressUnifiedSetWithHashingStrategy;
+import com.gs.collections.impl.test.SerializeTestHelper;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test suite for {@link OpenAddressUnifiedSetWithHashingStrategy}.
+ */
+public class OpenAddressUnifiedSetWithHashingStrategyTest extends AbstractMutableSetTestCase
+{
+    private static final HashingStrategy<Object> DEFAULT_STRATEGY =
+            HashingStrategies.nullSafeHashingStrategy(HashingStrategies.defaultStrategy());
+
+    private static final HashingStrategy<Person> LAST_NAME_HASHING_STRATEGY = HashingStrategies.fromFunction(Person.TO_LAST);
+
+    @Override
+    protected <T> MutableSet<T> classUnderTest()
+    {
+        return OpenAddressUnifiedSetWithHashingStrategy.newSet(DEFAULT_STRATEGY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullHashingStrategy()
+    {
+        new OpenAddressUnifiedSetWithHashingStrategy<Object>(null);
+    }
+
+    @Test
+    public void hashingStrategy()
+    {
+        OpenAddressUnifiedSetWithHashingStrategy<Person> set = OpenAddressUnifiedSetWithHashingStrategy.newSetWith(
+                LAST_NAME_HASHING_STRATEGY,
+                new Person("Jane", "Doe"),
+                new Person("Jane", "Smith"),
+                new Person("John", "Doe"));
+        Assert.assertSame(LAST_NAME_HASHING_STRATEGY, set.hashingStrategy());
+        Verify.assertSize(2, set);
+        Assert.assertTrue(set.contains(new Person("Joe", "Smith")));
+        Assert.assertTrue(set.remove(new Person("Joe", "Doe")));
+        Verify.assertSize(1, set);
+        Assert.assertSame(LAST_NAME_HASHING_STRATEGY, set.clone().hashingStrategy());
+        Assert.assertSame(LAST_NAME_HASHING_STRATEGY, set.newEmpty().hashingStrategy());
+    }
+
+    @Test
+    public void computeHashCodeOncePerElement()
+    {
+        final int[] hashCodeCalls = new int[1];
+        HashingStrategy<Integer> countingStrategy = new HashingStrategy<Integer>()
+        {
+            public int computeHashCode(Integer object)
+            {
+                hashCodeCalls[0]++;
+                return object.hashCode();
+            }
+
+            public boolean equals(Integer object1, Integer object2)
+            {
+                return object1.equals(object2);
+            }
+        };
+        OpenAddressUnifiedSetWithHashingStrategy<Integer> set = OpenAddressUnifiedSetWithHashingStrategy.newSet(countingStrategy);
+        for (int i = 0; i < 1000; i++)
+        {
+            set.add(i);
+        }
+        Assert.assertEquals(1000, hashCodeCalls[0]);
+    }
+
+    @Test
+    public void serialization()
+    {
+        OpenAddressUnifiedSetWithHashingStrategy<Integer> set = OpenAddressUnifiedSetWithHashingStrategy.newSet(DEFAULT_STRATEGY, Interval.oneTo(100));
+        set.add(null);
+        OpenAddressUnifiedSetWithHashingStrategy<Integer> copy = SerializeTestHelper.serializeDeserialize(set);
+        Verify.assertSetsEqual(set, copy);
+        Verify.assertInstanceOf(OpenAddressUnifiedSetWithHashingStrategy.class, copy);
+    }
+}
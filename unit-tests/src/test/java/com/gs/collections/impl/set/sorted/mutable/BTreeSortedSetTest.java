@@ -0,0 +1,165 @@
+/*
+ * Copyright 2013 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.set.sorted.mutable;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.api.set.sorted.MutableSortedSet;
+import com.gs.collections.impl.block.factory.Comparators;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BTreeSortedSetTest extends AbstractSortedSetTestCase
+{
+    @Override
+    protected <T> BTreeSortedSet<T> classUnderTest()
+    {
+        return BTreeSortedSet.newSet();
+    }
+
+    @Override
+    protected <T> BTreeSortedSet<T> classUnderTest(T... elements)
+    {
+        return BTreeSortedSet.newSetWith(elements);
+    }
+
+    @Override
+    protected <T> BTreeSortedSet<T> classUnderTest(Comparator<? super T> comparator, T... elements)
+    {
+        return BTreeSortedSet.newSetWith(comparator, elements);
+    }
+
+    @Override
+    @Test
+    public void asSynchronized()
+    {
+        Verify.assertInstanceOf(SynchronizedSortedSet.class, this.classUnderTest().asSynchronized());
+    }
+
+    @Override
+    @Test
+    public void asUnmodifiable()
+    {
+        Verify.assertInstanceOf(UnmodifiableSortedSet.class, this.classUnderTest().asUnmodifiable());
+    }
+
+    @Test
+    public void sortedSetIterableConstructor()
+    {
+        BTreeSortedSet<Integer> sortedSetA = BTreeSortedSet.newSet(Collections.<Integer>reverseOrder());
+        BTreeSortedSet<Integer> sortedSetB = BTreeSortedSet.newSet(sortedSetA.with(1).with(2, 3).with(4, 5, 6));
+        Verify.assertSortedSetsEqual(sortedSetA, sortedSetB);
+        Assert.assertTrue(sortedSetA.first().equals(sortedSetB.first()) && sortedSetB.first() == 6);
+        Verify.assertSortedSetsEqual(sortedSetB, new BTreeSortedSet<Integer>(sortedSetB));
+    }
+
+    @Test
+    public void sortedSetConstructor()
+    {
+        SortedSet<String> setA = new TreeSet<String>(FastList.newListWith("a", "c", "b", "d"));
+        Verify.assertSortedSetsEqual(setA, BTreeSortedSet.newSet(setA));
+        Verify.assertSortedSetsEqual(setA, new BTreeSortedSet<String>(setA));
+    }
+
+    @Test
+    public void iterableConstructor()
+    {
+        LazyIterable<Integer> integerLazyIterable = FastList.newListWith(2, 4, 1, 3).asLazy();
+        BTreeSortedSet<Integer> sortedSet = BTreeSortedSet.newSet(integerLazyIterable);
+        Verify.assertSortedSetsEqual(BTreeSortedSet.newSetWith(1, 2, 3, 4), sortedSet);
+    }
+
+    @Test
+    public void serialization()
+    {
+        MutableSortedSet<Integer> set = this.newWith(1, 2, 3, 4, 5);
+        Verify.assertPostSerializedEqualsAndHashCode(set);
+    }
+
+    @Test
+    public void randomOperationsMatchTreeSet()
+    {
+        Random random = new Random(7L);
+        BTreeSortedSet<Integer> set = BTreeSortedSet.newSet();
+        TreeSet<Integer> expected = new TreeSet<Integer>();
+        for (int i = 0; i < 100000; i++)
+        {
+            Integer element = random.nextInt(5000);
+            if (random.nextInt(3) == 0)
+            {
+                Assert.assertEquals(expected.remove(element), set.remove(element));
+            }
+            else
+            {
+                Assert.assertEquals(expected.add(element), set.add(element));
+            }
+        }
+        Verify.assertSortedSetsEqual(expected, set);
+        Assert.assertEquals(expected.hashCode(), set.hashCode());
+        Assert.assertEquals(expected.first(), set.first());
+        Assert.assertEquals(expected.last(), set.last());
+    }
+
+    @Test
+    public void rangeViews()
+    {
+        BTreeSortedSet<Integer> set = BTreeSortedSet.newSet(Interval.zeroTo(2000));
+        TreeSet<Integer> expected = new TreeSet<Integer>(Interval.zeroTo(2000));
+        Verify.assertSortedSetsEqual(expected.subSet(64, 1000), set.subSet(64, 1000));
+        Verify.assertSortedSetsEqual(expected.headSet(128), set.headSet(128));
+        Verify.assertSortedSetsEqual(expected.tailSet(1999), set.tailSet(1999));
+        Verify.assertSortedSetsEqual(expected.subSet(500, 500), set.subSet(500, 500));
+
+        MutableSortedSet<Integer> range = set.subSet(100, 200);
+        Iterator<Integer> iterator = range.iterator();
+        while (iterator.hasNext())
+        {
+            if (iterator.next() % 2 == 0)
+            {
+                iterator.remove();
+            }
+        }
+        Verify.assertSize(50, range);
+        Verify.assertSize(1951, set);
+        Assert.assertTrue(range.add(150));
+        Assert.assertTrue(set.contains(150));
+        range.clear();
+        Verify.assertSize(1901, set);
+        Assert.assertEquals(Integer.valueOf(99), set.headSet(200).last());
+        Assert.assertEquals(Integer.valueOf(200), set.tailSet(100).first());
+    }
+
+    @Test
+    public void reverseOrderSortedSetConstructor()
+    {
+        TreeSet<Integer> source = new TreeSet<Integer>(Comparators.<Integer>reverseNaturalOrder());
+        source.addAll(Interval.oneTo(1000));
+        BTreeSortedSet<Integer> set = BTreeSortedSet.newSet(source);
+        Verify.assertSortedSetsEqual(source, set);
+        Assert.assertEquals(Integer.valueOf(1000), set.first());
+        Assert.assertEquals(FastList.newList(source), set.toList());
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.stack.immutable;
+
+import java.util.EmptyStackException;
+
+import com.gs.collections.api.stack.ImmutableStack;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.stack.mutable.ArrayStack;
+import com.gs.collections.impl.test.SerializeTestHelper;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ImmutableConsStack}.
+ */
+public class ImmutableConsStackTest extends ImmutableStackTestCase
+{
+    @Override
+    protected <T> ImmutableStack<T> newStackWith(T... elements)
+    {
+        return ImmutableConsStack.newStackWith(elements);
+    }
+
+    @Override
+    protected <T> ImmutableStack<T> newStackFromTopToBottom(T... elements)
+    {
+        return ImmutableConsStack.newStackFromTopToBottom(elements);
+    }
+
+    @Override
+    protected <T> ImmutableStack<T> newStackFromTopToBottom(Iterable<T> elements)
+    {
+        return ImmutableConsStack.newStackFromTopToBottom(elements);
+    }
+
+    @Override
+    protected <T> ImmutableStack<T> newStack(Iterable<T> elements)
+    {
+        return ImmutableConsStack.newStack(elements);
+    }
+
+    @Override
+    @Test
+    public void testEquals()
+    {
+        super.testEquals();
+        Assert.assertEquals(ImmutableConsStack.newStack(), ArrayStack.newStackWith());
+        Assert.assertEquals(ImmutableConsStack.newStackWith(1, 2, 3), ImmutableArrayStack.newStackWith(1, 2, 3));
+        Assert.assertEquals(ImmutableArrayStack.newStackWith(1, 2, 3), ImmutableConsStack.newStackWith(1, 2, 3));
+        Assert.assertEquals(
+                ImmutableArrayStack.newStackWith(1, 2, 3).hashCode(),
+                ImmutableConsStack.newStackWith(1, 2, 3).hashCode());
+        Assert.assertNotEquals(this.newStackWith(4, 5, 6), ArrayStack.newStackWith(1, 2, 3));
+    }
+
+    @Test
+    public void push()
+    {
+        ImmutableStack<Integer> stack = this.newStackWith(1, 2, 3);
+        ImmutableStack<Integer> modifiedStack = stack.push(4);
+        Assert.assertEquals(this.newStackWith(1, 2, 3, 4), modifiedStack);
+        Assert.assertNotSame(modifiedStack, stack);
+        Assert.assertEquals(this.newStackWith(1, 2, 3), stack);
+        modifiedStack.push(5);
+        Assert.assertEquals(this.newStackWith(1, 2, 3), stack);
+
+        ImmutableStack<Integer> stack1 = this.newStackWith();
+        ImmutableStack<Integer> modifiedStack1 = stack1.push(1);
+        Assert.assertEquals(this.newStackWith(1), modifiedStack1);
+        Assert.assertNotSame(modifiedStack1, stack1);
+        Assert.assertEquals(this.newStackWith(), stack1);
+    }
+
+    @Test
+    public void pop()
+    {
+        Verify.assertThrows(EmptyStackException.class, new Runnable()
+        {
+            public void run()
+            {
+                ImmutableConsStackTest.this.newStackWith().pop();
+            }
+        });
+
+        ImmutableStack<Integer> stack = this.newStackWith(1, 2, 3);
+        ImmutableStack<Integer> modifiedStack = stack.pop();
+        Assert.assertEquals(this.newStackWith(1, 2), modifiedStack);
+        Assert.assertNotSame(modifiedStack, stack);
+        Assert.assertEquals(this.newStackWith(1, 2, 3), stack);
+    }
+
+    @Test
+    public void popCount()
+    {
+        Verify.assertThrows(EmptyStackException.class, new Runnable()
+        {
+            public void run()
+            {
+                ImmutableConsStackTest.this.newStackWith().pop(1);
+            }
+        });
+
+        Assert.assertEquals(this.newStackWith(), this.newStackWith().pop(0));
+        Assert.assertEquals(this.newStackWith(1), this.newStackWith(1, 2, 3).pop(2));
+        Assert.assertEquals(this.newStackWith(), this.newStackWith(1, 2, 3).pop(3));
+
+        final ImmutableStack<Integer> stack1 = this.newStackWith(1);
+        Verify.assertThrows(IllegalArgumentException.class, new Runnable()
+        {
+            public void run()
+            {
+                stack1.pop(2);
+            }
+        });
+    }
+
+    @Test
+    public void pushAndPopShareCells()
+    {
+        ImmutableConsStack<Integer> base = ImmutableConsStack.newStackWith(1, 2, 3);
+        ImmutableConsStack<Integer> left = base.push(4);
+        ImmutableConsStack<Integer> right = base.push(5).push(6);
+        Assert.assertSame(base, left.pop());
+        Assert.assertSame(base, right.pop(2));
+        Assert.assertSame(base.pop(), right.pop(3));
+        Assert.assertSame(ImmutableConsStack.newStack(), base.pop(3));
+        Assert.assertEquals(ImmutableConsStack.newStackFromTopToBottom(4, 3, 2, 1), left);
+        Assert.assertEquals(ImmutableConsStack.newStackFromTopToBottom(6, 5, 3, 2, 1), right);
+    }
+
+    @Test
+    public void peekAtOutOfRange()
+    {
+        Verify.assertThrows(IndexOutOfBoundsException.class, new Runnable()
+        {
+            public void run()
+            {
+                ImmutableConsStack.newStackWith(1, 2, 3).peekAt(3);
+            }
+        });
+    }
+
+    @Test
+    public void largeStack()
+    {
+        ImmutableConsStack<Integer> stack = ImmutableConsStack.newStack(Interval.oneTo(100000));
+        Assert.assertEquals(100000, stack.size());
+        Assert.assertEquals(Integer.valueOf(100000), stack.peek());
+        Assert.assertEquals(Integer.valueOf(1), stack.peekAt(99999));
+        Assert.assertEquals(Interval.oneTo(100000).reverseThis(), stack.toList());
+        Assert.assertEquals(stack, SerializeTestHelper.serializeDeserialize(stack));
+    }
+}
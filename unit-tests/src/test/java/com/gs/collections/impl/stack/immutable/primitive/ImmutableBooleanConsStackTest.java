@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.stack.immutable.primitive;
+
+import java.util.EmptyStackException;
+
+import com.gs.collections.api.BooleanIterable;
+import com.gs.collections.api.stack.primitive.ImmutableBooleanStack;
+import com.gs.collections.impl.list.mutable.primitive.BooleanArrayList;
+import com.gs.collections.impl.stack.mutable.primitive.BooleanArrayStack;
+import com.gs.collections.impl.test.SerializeTestHelper;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ImmutableBooleanConsStack}.
+ */
+public class ImmutableBooleanConsStackTest extends AbstractImmutableBooleanStackTestCase
+{
+    @Override
+    protected ImmutableBooleanStack classUnderTest()
+    {
+        return ImmutableBooleanConsStack.newStackWith(true, false, true, false);
+    }
+
+    @Override
+    protected ImmutableBooleanStack newWith(boolean... elements)
+    {
+        return ImmutableBooleanConsStack.newStackWith(elements);
+    }
+
+    @Override
+    protected ImmutableBooleanStack newWithTopToBottom(boolean... elements)
+    {
+        return ImmutableBooleanConsStack.newStackFromTopToBottom(elements);
+    }
+
+    @Override
+    protected ImmutableBooleanStack newWithIterableTopToBottom(BooleanIterable iterable)
+    {
+        return ImmutableBooleanConsStack.newStackFromTopToBottom(iterable);
+    }
+
+    @Override
+    protected ImmutableBooleanStack newWithIterable(BooleanIterable iterable)
+    {
+        return ImmutableBooleanConsStack.newStack(iterable);
+    }
+
+    @Test
+    public void newWithIterable()
+    {
+        Assert.assertEquals(BooleanArrayStack.newStackWith(true, true, false), this.newWithIterable(BooleanArrayList.newListWith(true, true, false)));
+    }
+
+    @Test
+    public void newWithTopToBottom()
+    {
+        Assert.assertEquals(BooleanArrayStack.newStackFromTopToBottom(true, true, false), this.newWithTopToBottom(true, true, false));
+    }
+
+    @Test
+    public void pushAndPopShareCells()
+    {
+        ImmutableBooleanConsStack base = ImmutableBooleanConsStack.newStackWith(true, false);
+        ImmutableBooleanConsStack left = base.push(true);
+        ImmutableBooleanConsStack right = base.push(false).push(false);
+        Assert.assertSame(base, left.pop());
+        Assert.assertSame(base, right.pop(2));
+        Assert.assertSame(ImmutableBooleanConsStack.newStack(), base.pop(2));
+        Assert.assertEquals(BooleanArrayStack.newStackFromTopToBottom(false, false, false, true), right);
+    }
+
+    @Test(expected = EmptyStackException.class)
+    public void pop_empty_throws_exception()
+    {
+        ImmutableBooleanConsStack.newStack().pop();
+    }
+
+    @Test
+    public void serialization()
+    {
+        ImmutableBooleanStack stack = this.classUnderTest();
+        ImmutableBooleanStack copy = SerializeTestHelper.serializeDeserialize(stack);
+        Assert.assertEquals(stack, copy);
+        Assert.assertTrue(copy instanceof ImmutableBooleanConsStack);
+    }
+}
@@ -2535,4 +2535,30 @@ public class IterateTest
     {
         Iterate.maxBy(null, null);
     }
+
+    @Test
+    public void topK()
+    {
+        Assert.assertEquals(FastList.newListWith(9, 8, 7), Iterate.topK(FastList.newListWith(4, 9, 1, 7, 3, 8, 2, 6, 5), 3));
+        Assert.assertEquals(FastList.newListWith(3, 2, 1), Iterate.topK(Arrays.asList(2, 3, 1), 5));
+        Assert.assertEquals(FastList.newListWith(3, 3, 2), Iterate.topK(HashBag.newBagWith(1, 2, 3, 3), 3));
+        Assert.assertEquals(FastList.newListWith(1, 2), Iterate.topK(Interval.oneTo(9), 2, Collections.<Integer>reverseOrder()));
+        Verify.assertEmpty(Iterate.topK(Interval.oneTo(9), 0));
+        Verify.assertEmpty(Iterate.topK(FastList.<Integer>newList(), 3));
+    }
+
+    @Test
+    public void bottomK()
+    {
+        Assert.assertEquals(FastList.newListWith(1, 2, 3), Iterate.bottomK(FastList.newListWith(4, 9, 1, 7, 3, 8, 2, 6, 5), 3));
+        Assert.assertEquals(FastList.newListWith(1, 2, 3), Iterate.bottomK(new LinkedList<Integer>(Arrays.asList(2, 3, 1)), 5));
+        Assert.assertEquals(FastList.newListWith(9, 8), Iterate.bottomK(Interval.oneTo(9), 2, Collections.<Integer>reverseOrder()));
+        Assert.assertEquals(FastList.newListWith("a", "bb"), Iterate.bottomK(FastList.newListWith("ccc", "bb", "a"), 2, Comparators.byFunction(StringFunctions.length())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void topKThrowsOnNegativeK()
+    {
+        Iterate.topK(Interval.oneTo(9), -1);
+    }
 }